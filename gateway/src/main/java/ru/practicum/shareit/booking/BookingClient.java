@@ -6,24 +6,27 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingHoldRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.WaitlistRequestDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.resilience.RouteTimeoutRequestFactory;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         RouteTimeoutRequestFactory requestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
     }
@@ -42,6 +45,26 @@ public class BookingClient extends BaseClient {
         return post("", userId, requestDto);
     }
 
+    public ResponseEntity<Object> placeHold(long userId, BookingHoldRequestDto requestDto) {
+        return post("/holds", userId, requestDto);
+    }
+
+    public ResponseEntity<Object> releaseHold(long userId, Long holdId) {
+        return delete("/holds/" + holdId, userId);
+    }
+
+    public ResponseEntity<Object> joinWaitlist(long userId, WaitlistRequestDto requestDto) {
+        return post("/waitlist", userId, requestDto);
+    }
+
+    public ResponseEntity<Object> getWaitlist(long userId) {
+        return get("/waitlist", userId);
+    }
+
+    public ResponseEntity<Object> leaveWaitlist(long userId, Long entryId) {
+        return delete("/waitlist/" + entryId, userId);
+    }
+
     public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
@@ -59,4 +82,8 @@ public class BookingClient extends BaseClient {
         );
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
-}
\ No newline at end of file
+
+    public ResponseEntity<Object> getOwnerDashboard(long userId) {
+        return get("/owner/dashboard", userId);
+    }
+}
@@ -5,13 +5,18 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingHoldRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.WaitlistRequestDto;
+
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -20,6 +25,7 @@ import ru.practicum.shareit.booking.dto.BookingState;
 @Validated
 public class BookingController {
     private final BookingClient bookingClient;
+    private final BookingStreamRelay bookingStreamRelay;
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
 
     @GetMapping
@@ -44,6 +50,18 @@ public class BookingController {
         return bookingClient.getBookingsByOwner(userId, state, from, size);
     }
 
+    @GetMapping("/owner/dashboard")
+    public ResponseEntity<Object> getOwnerDashboard(@RequestHeader(USER_ID_HEADER) long userId) {
+        log.info("Get owner dashboard, userId={}", userId);
+        return bookingClient.getOwnerDashboard(userId);
+    }
+
+    @GetMapping("/stream")
+    public CompletableFuture<ResponseEntity<ResponseBodyEmitter>> streamBookings(@RequestHeader(USER_ID_HEADER) long userId) {
+        log.info("Subscribe to booking updates, userId={}", userId);
+        return bookingStreamRelay.open(userId);
+    }
+
     @PostMapping
     public ResponseEntity<Object> bookItem(@RequestHeader(USER_ID_HEADER) long userId,
                                            @RequestBody @Valid BookItemRequestDto requestDto) {
@@ -51,6 +69,46 @@ public class BookingController {
         return bookingClient.bookItem(userId, requestDto);
     }
 
+    @PostMapping("/holds")
+    public ResponseEntity<Object> placeHold(@RequestHeader(USER_ID_HEADER) long userId,
+                                            @RequestBody @Valid BookingHoldRequestDto requestDto) {
+        if (!requestDto.getStart().isBefore(requestDto.getEnd())) {
+            throw new ValidationException("Некорректные даты удержания");
+        }
+        log.info("Placing hold on item {}, userId={}", requestDto.getItemId(), userId);
+        return bookingClient.placeHold(userId, requestDto);
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<Object> releaseHold(@RequestHeader(USER_ID_HEADER) long userId,
+                                              @PathVariable Long holdId) {
+        log.info("Release hold {}, userId={}", holdId, userId);
+        return bookingClient.releaseHold(userId, holdId);
+    }
+
+    @PostMapping("/waitlist")
+    public ResponseEntity<Object> joinWaitlist(@RequestHeader(USER_ID_HEADER) long userId,
+                                               @RequestBody @Valid WaitlistRequestDto requestDto) {
+        if (!requestDto.getStart().isBefore(requestDto.getEnd())) {
+            throw new ValidationException("Некорректные даты ожидания");
+        }
+        log.info("Joining waitlist for item {}, userId={}", requestDto.getItemId(), userId);
+        return bookingClient.joinWaitlist(userId, requestDto);
+    }
+
+    @GetMapping("/waitlist")
+    public ResponseEntity<Object> getWaitlist(@RequestHeader(USER_ID_HEADER) long userId) {
+        log.info("Get waitlist, userId={}", userId);
+        return bookingClient.getWaitlist(userId);
+    }
+
+    @DeleteMapping("/waitlist/{entryId}")
+    public ResponseEntity<Object> leaveWaitlist(@RequestHeader(USER_ID_HEADER) long userId,
+                                                @PathVariable Long entryId) {
+        log.info("Leave waitlist entry {}, userId={}", entryId, userId);
+        return bookingClient.leaveWaitlist(userId, entryId);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<Object> approveBooking(@RequestHeader(USER_ID_HEADER) long userId,
                                                  @PathVariable Long bookingId,
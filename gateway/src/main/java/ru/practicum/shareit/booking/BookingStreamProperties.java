@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit-gateway.booking-stream")
+public class BookingStreamProperties {
+    Duration connectTimeout = Duration.ofSeconds(1);
+    Duration responseTimeout = Duration.ofSeconds(3);
+    Duration timeout = Duration.ofHours(1);
+    int threads = 2;
+    int queueCapacity = 256;
+    int maxWriterThreads = 256;
+}
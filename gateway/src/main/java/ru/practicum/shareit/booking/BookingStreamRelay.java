@@ -0,0 +1,250 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import ru.practicum.shareit.client.balancing.ServerInstance;
+import ru.practicum.shareit.client.balancing.ServerPool;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Relays the server's booking event stream to the client line by line. Lines go into a bounded
+ * per-stream queue and are written by a writer pool that grows up to {@code max-writer-threads}, so a client
+ * that stops reading blocks only its own writer, never the small executor shared by the HTTP client.
+ * When the queue overflows the stream is closed and the client reconnects.
+ * Idle streams hold no threads.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(BookingStreamProperties.class)
+public class BookingStreamRelay implements DisposableBean {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String STREAM_PATH = "/bookings/stream";
+
+    private final BookingStreamProperties properties;
+    private final URI serverUrl;
+    private final ObjectProvider<ServerPool> pool;
+    private final ExecutorService executor;
+    private final ExecutorService writer;
+    private final HttpClient httpClient;
+    private final AtomicInteger open = new AtomicInteger();
+
+    public BookingStreamRelay(BookingStreamProperties properties, @Value("${shareit-server.url}") String serverUrl,
+                              ObjectProvider<ServerPool> pool, MeterRegistry registry) {
+        this.properties = properties;
+        this.serverUrl = URI.create(serverUrl);
+        this.pool = pool;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(properties.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "booking-stream-relay-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger writers = new AtomicInteger();
+        this.writer = new ThreadPoolExecutor(0, properties.getMaxWriterThreads(), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "booking-stream-writer-" + writers.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .executor(executor)
+                .build();
+        Gauge.builder("gateway.booking-stream.open", open, AtomicInteger::get).register(registry);
+    }
+
+    /**
+     * Completes once the server has answered with headers. The server's status and content type are passed through,
+     * so errors such as an unknown user reach the client unchanged.
+     */
+    public CompletableFuture<ResponseEntity<ResponseBodyEmitter>> open(long userId) {
+        ServerPool serverPool = pool.getIfAvailable();
+        ServerInstance instance = serverPool != null ? serverPool.choose(System.nanoTime()) : null;
+        URI base = instance != null ? instance.getUri() : serverUrl;
+        HttpRequest request = HttpRequest.newBuilder(base.resolve(STREAM_PATH))
+                .timeout(properties.getResponseTimeout())
+                .header(USER_ID_HEADER, String.valueOf(userId))
+                .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE + ", " + MediaType.APPLICATION_JSON_VALUE)
+                .GET()
+                .build();
+
+        CompletableFuture<ResponseEntity<ResponseBodyEmitter>> result = new CompletableFuture<>();
+        httpClient.sendAsync(request, info -> {
+            if (instance != null) {
+                serverPool.onSuccess(instance);
+            }
+            ResponseBodyEmitter emitter = createEmitter(userId);
+            MediaType contentType = info.headers().firstValue(HttpHeaders.CONTENT_TYPE)
+                    .map(MediaType::parseMediaType)
+                    .orElse(MediaType.TEXT_EVENT_STREAM);
+            result.complete(ResponseEntity.status(info.statusCode())
+                    .contentType(contentType)
+                    .cacheControl(CacheControl.noCache())
+                    .header("X-Accel-Buffering", "no")
+                    .body(emitter));
+            return HttpResponse.BodySubscribers.fromLineSubscriber(new LineRelay(userId, emitter, contentType));
+        }).whenComplete((response, error) -> {
+            if (error != null && !result.isDone()) {
+                if (instance != null) {
+                    serverPool.onFailure(instance, System.nanoTime());
+                }
+                log.warn("Booking stream for user {} could not be opened: {}", userId, error.getMessage());
+                result.completeExceptionally(new ServiceUnavailableException("Сервер временно недоступен", 1));
+            }
+        });
+        return result;
+    }
+
+    ResponseBodyEmitter createEmitter(long userId) {
+        return new ResponseBodyEmitter(properties.getTimeout().toMillis());
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        writer.shutdownNow();
+    }
+
+    /**
+     * Lines are written by {@link #writer}; the emitter is completed there too, because {@code complete()} waits
+     * for a write that may be stuck on a client that does not read.
+     */
+    private class LineRelay implements Flow.Subscriber<String> {
+        private final long userId;
+        private final ResponseBodyEmitter emitter;
+        private final MediaType contentType;
+        private final BlockingQueue<String> queue;
+        private final AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile boolean upstreamDone;
+
+        LineRelay(long userId, ResponseBodyEmitter emitter, MediaType contentType) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.contentType = contentType;
+            this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription.set(subscription);
+            open.incrementAndGet();
+            emitter.onCompletion(this::close);
+            emitter.onTimeout(this::close);
+            emitter.onError(error -> close());
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(line)) {
+                log.debug("Booking stream for user {} closed: client is not reading", userId);
+                close();
+                return;
+            }
+            schedule();
+            Flow.Subscription current = subscription.get();
+            if (current != null) {
+                current.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            finish();
+        }
+
+        @Override
+        public void onComplete() {
+            finish();
+        }
+
+        private void finish() {
+            if (subscription.getAndSet(null) != null) {
+                upstreamDone = true;
+                schedule();
+            }
+        }
+
+        private void close() {
+            Flow.Subscription current = subscription.getAndSet(null);
+            if (current != null) {
+                current.cancel();
+            }
+            if (closed.compareAndSet(false, true)) {
+                open.decrementAndGet();
+                queue.clear();
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    writer.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                String line;
+                while (!closed.get() && (line = queue.poll()) != null) {
+                    emitter.send(line + "\n", contentType);
+                }
+                if (upstreamDone && queue.isEmpty()) {
+                    close();
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                scheduled.set(false);
+                if (closed.get()) {
+                    if (completed.compareAndSet(false, true)) {
+                        emitter.complete();
+                    }
+                } else if (upstreamDone || !queue.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingHoldRequestDto {
+
+    long itemId;
+
+    @NotNull
+    @FutureOrPresent
+    LocalDateTime start;
+
+    @NotNull
+    @Future
+    LocalDateTime end;
+
+    @Positive
+    @Max(30)
+    Integer minutes;
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.client;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BufferedResponse implements ClientHttpResponse {
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    HttpStatusCode statusCode;
+    String statusText;
+    HttpHeaders headers;
+    byte[] bodyBytes;
+
+    public BufferedResponse(HttpStatusCode statusCode, String statusText, HttpHeaders headers, byte[] bodyBytes) {
+        this.statusCode = statusCode;
+        this.statusText = statusText;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.bodyBytes = bodyBytes;
+    }
+
+    public static BufferedResponse of(ClientHttpResponse response) throws IOException {
+        try (response) {
+            return new BufferedResponse(
+                    response.getStatusCode(),
+                    response.getStatusText(),
+                    response.getHeaders(),
+                    StreamUtils.copyToByteArray(response.getBody())
+            );
+        }
+    }
+
+    public static BufferedResponse notModified(String eTag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        return new BufferedResponse(HttpStatus.NOT_MODIFIED, HttpStatus.NOT_MODIFIED.getReasonPhrase(), headers, EMPTY_BODY);
+    }
+
+    @Override
+    public InputStream getBody() {
+        return new ByteArrayInputStream(bodyBytes);
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.client.balancing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "shareit-gateway.load-balancer", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class HealthChecker implements InitializingBean, DisposableBean {
+    private final ServerPool pool;
+    private final String healthCheckPath;
+    private final long intervalMillis;
+    private final RestTemplate rest;
+    private ScheduledExecutorService scheduler;
+
+    public HealthChecker(ServerPool pool, LoadBalancerProperties properties) {
+        this.pool = pool;
+        this.healthCheckPath = properties.getHealthCheckPath();
+        this.intervalMillis = properties.getHealthCheckInterval().toMillis();
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.getHealthCheckTimeout());
+        requestFactory.setReadTimeout(properties.getHealthCheckTimeout());
+        this.rest = new RestTemplate(requestFactory);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "gateway-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::checkAll, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public void checkAll() {
+        for (ServerInstance instance : pool.getInstances()) {
+            pool.onHealthCheck(instance, check(instance));
+        }
+    }
+
+    private boolean check(ServerInstance instance) {
+        try {
+            return rest.getForEntity(instance.getUri().resolve(healthCheckPath), String.class)
+                    .getStatusCode()
+                    .is2xxSuccessful();
+        } catch (RestClientException e) {
+            log.debug("Health check of {} failed: {}", instance, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.client.balancing;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit-gateway.load-balancer")
+public class LoadBalancerProperties {
+    boolean enabled = true;
+    List<URI> instances = new ArrayList<>();
+    String healthCheckPath = "/actuator/health";
+    Duration healthCheckInterval = Duration.ofSeconds(5);
+    Duration healthCheckTimeout = Duration.ofSeconds(1);
+    int consecutiveFailures = 5;
+    Duration ejectionDuration = Duration.ofSeconds(30);
+    int maxEjectionPercent = 50;
+}
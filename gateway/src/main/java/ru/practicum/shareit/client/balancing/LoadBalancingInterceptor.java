@@ -0,0 +1,62 @@
+package ru.practicum.shareit.client.balancing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+
+@Component
+@Order(LoadBalancingInterceptor.ORDER)
+@ConditionalOnProperty(prefix = "shareit-gateway.load-balancer", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LoadBalancingInterceptor implements ClientHttpRequestInterceptor, RestTemplateCustomizer {
+    public static final int ORDER = 400;
+
+    private final ServerPool pool;
+
+    public LoadBalancingInterceptor(ServerPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void customize(RestTemplate restTemplate) {
+        restTemplate.getInterceptors().add(this);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        ServerInstance instance = pool.choose(System.nanoTime());
+        URI uri = instance.resolve(request.getURI());
+        HttpRequest balanced = new HttpRequestWrapper(request) {
+            @Override
+            public URI getURI() {
+                return uri;
+            }
+        };
+
+        ClientHttpResponse response;
+        instance.getOutstanding().incrementAndGet();
+        try {
+            response = execution.execute(balanced, body);
+        } catch (IOException | RuntimeException e) {
+            pool.onFailure(instance, System.nanoTime());
+            throw e;
+        } finally {
+            instance.getOutstanding().decrementAndGet();
+        }
+        if (response.getStatusCode().is5xxServerError()) {
+            pool.onFailure(instance, System.nanoTime());
+        } else {
+            pool.onSuccess(instance);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.client.balancing;
+
+import lombok.Getter;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Getter
+public class ServerInstance {
+    private final URI uri;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile boolean healthy = true;
+    private volatile long ejectedUntil;
+    private volatile boolean ejected;
+    private int ejections;
+
+    public ServerInstance(URI uri) {
+        this.uri = uri;
+    }
+
+    public boolean isAvailable(long nowNanos) {
+        return healthy && !isEjected(nowNanos);
+    }
+
+    public boolean isEjected(long nowNanos) {
+        return ejected && nowNanos - ejectedUntil < 0;
+    }
+
+    public URI resolve(URI requestUri) {
+        return UriComponentsBuilder.fromUri(requestUri)
+                .scheme(uri.getScheme())
+                .host(uri.getHost())
+                .port(uri.getPort())
+                .build(true)
+                .toUri();
+    }
+
+    void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    synchronized void eject(long nowNanos, long durationNanos) {
+        ejections++;
+        ejectedUntil = nowNanos + durationNanos * Math.min(ejections, 10);
+        ejected = true;
+        consecutiveFailures.set(0);
+    }
+
+    synchronized void resetEjections() {
+        ejections = 0;
+    }
+
+    @Override
+    public String toString() {
+        return uri.toString();
+    }
+}
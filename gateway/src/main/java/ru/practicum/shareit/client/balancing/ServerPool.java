@@ -0,0 +1,114 @@
+package ru.practicum.shareit.client.balancing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server instances the gateway balances across. Picks the available instance with the
+ * fewest outstanding requests and ejects instances that keep failing. When nothing is
+ * available every instance is tried again rather than failing all traffic.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(LoadBalancerProperties.class)
+@ConditionalOnProperty(prefix = "shareit-gateway.load-balancer", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ServerPool {
+    private final List<ServerInstance> instances;
+    private final int consecutiveFailures;
+    private final long ejectionNanos;
+    private final int maxEjected;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<ServerInstance, Counter> requests = new HashMap<>();
+    private final Map<ServerInstance, Counter> ejections = new HashMap<>();
+
+    public ServerPool(LoadBalancerProperties properties, @Value("${shareit-server.url}") String serverUrl,
+                      MeterRegistry registry) {
+        List<URI> uris = properties.getInstances().isEmpty() ? List.of(URI.create(serverUrl)) : properties.getInstances();
+        this.instances = uris.stream().map(ServerInstance::new).toList();
+        this.consecutiveFailures = properties.getConsecutiveFailures();
+        this.ejectionNanos = properties.getEjectionDuration().toNanos();
+        this.maxEjected = Math.max(1, instances.size() * properties.getMaxEjectionPercent() / 100);
+        for (ServerInstance instance : instances) {
+            String tag = instance.toString();
+            requests.put(instance, Counter.builder("gateway.lb.requests").tag("instance", tag).register(registry));
+            ejections.put(instance, Counter.builder("gateway.lb.ejections").tag("instance", tag).register(registry));
+            Gauge.builder("gateway.lb.outstanding", instance, i -> i.getOutstanding().get())
+                    .tag("instance", tag)
+                    .register(registry);
+            Gauge.builder("gateway.lb.available", instance, i -> i.isAvailable(System.nanoTime()) ? 1 : 0)
+                    .tag("instance", tag)
+                    .register(registry);
+        }
+    }
+
+    public List<ServerInstance> getInstances() {
+        return instances;
+    }
+
+    public ServerInstance choose(long nowNanos) {
+        ServerInstance chosen = leastOutstanding(nowNanos, true);
+        if (chosen == null) {
+            chosen = leastOutstanding(nowNanos, false);
+        }
+        requests.get(chosen).increment();
+        return chosen;
+    }
+
+    public void onSuccess(ServerInstance instance) {
+        instance.getConsecutiveFailures().set(0);
+        if (!instance.isEjected(System.nanoTime())) {
+            instance.resetEjections();
+        }
+    }
+
+    public void onFailure(ServerInstance instance, long nowNanos) {
+        if (instance.getConsecutiveFailures().incrementAndGet() < consecutiveFailures || instance.isEjected(nowNanos)) {
+            return;
+        }
+        long ejected = instances.stream().filter(i -> i.isEjected(nowNanos)).count();
+        if (ejected >= maxEjected) {
+            return;
+        }
+        instance.eject(nowNanos, ejectionNanos);
+        ejections.get(instance).increment();
+        log.warn("Server instance {} ejected after {} consecutive failures", instance, consecutiveFailures);
+    }
+
+    public void onHealthCheck(ServerInstance instance, boolean healthy) {
+        if (instance.isHealthy() != healthy) {
+            log.info("Server instance {} is {}", instance, healthy ? "healthy" : "unhealthy");
+        }
+        instance.setHealthy(healthy);
+    }
+
+    private ServerInstance leastOutstanding(long nowNanos, boolean availableOnly) {
+        int size = instances.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        ServerInstance best = null;
+        int bestOutstanding = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            ServerInstance instance = instances.get((start + i) % size);
+            if (availableOnly && !instance.isAvailable(nowNanos)) {
+                continue;
+            }
+            int outstanding = instance.getOutstanding().get();
+            if (outstanding < bestOutstanding) {
+                best = instance;
+                bestOutstanding = outstanding;
+            }
+        }
+        return best;
+    }
+}
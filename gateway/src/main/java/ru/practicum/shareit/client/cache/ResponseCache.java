@@ -0,0 +1,156 @@
+package ru.practicum.shareit.client.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.client.BufferedResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class ResponseCache {
+    private static final Map<String, Set<String>> RELATED_RESOURCES = Map.of(
+            "users", Set.of("users", "items", "bookings", "requests"),
+            "items", Set.of("items", "bookings", "requests"),
+            "bookings", Set.of("bookings", "items"),
+            "requests", Set.of("requests")
+    );
+
+    private final ResponseCacheProperties properties;
+    private final Clock clock;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Long> generations = new HashMap<>();
+    private long sizeBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter revalidations;
+    private final Counter evictions;
+    private final Counter invalidations;
+    private final Counter savedBytes;
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry registry, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.hits = requests(registry, "hit");
+        this.misses = requests(registry, "miss");
+        this.revalidations = requests(registry, "revalidated");
+        this.evictions = Counter.builder("gateway.cache.evictions").register(registry);
+        this.invalidations = Counter.builder("gateway.cache.invalidations").register(registry);
+        this.savedBytes = Counter.builder("gateway.cache.saved")
+                .baseUnit("bytes")
+                .description("Response bytes served from the gateway cache instead of the server")
+                .register(registry);
+        Gauge.builder("gateway.cache.entries", this, ResponseCache::size).register(registry);
+        Gauge.builder("gateway.cache.size", this, ResponseCache::sizeBytes).baseUnit("bytes").register(registry);
+        Gauge.builder("gateway.cache.hit.ratio", this, ResponseCache::hitRatio).register(registry);
+    }
+
+    public synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Invalidation count of a resource. Taken before the GET is sent upstream and passed to {@link #put}:
+     * if the resource was invalidated while the request was in flight, the response may predate the change
+     * and is not stored.
+     */
+    public synchronized long generation(String resource) {
+        return generations.getOrDefault(resource, 0L);
+    }
+
+    public synchronized void put(String key, String resource, BufferedResponse response, String eTag, Duration ttl,
+                                 long generation) {
+        int bytes = response.getBodyBytes().length;
+        if (bytes > properties.getMaxSize().toBytes() || generation != generation(resource)) {
+            return;
+        }
+        Entry previous = entries.put(key, new Entry(resource, response, eTag, clock.instant().plus(ttl)));
+        if (previous != null) {
+            sizeBytes -= previous.getResponse().getBodyBytes().length;
+        }
+        sizeBytes += bytes;
+        evictOverflow();
+    }
+
+    public synchronized void refresh(String key, Entry entry, Duration ttl) {
+        entries.replace(key, entry, new Entry(entry.getResource(), entry.getResponse(), entry.getETag(), clock.instant().plus(ttl)));
+    }
+
+    public synchronized void invalidate(String resource) {
+        Set<String> related = RELATED_RESOURCES.getOrDefault(resource, Set.of(resource));
+        related.forEach(name -> generations.merge(name, 1L, Long::sum));
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (related.contains(entry.getResource())) {
+                sizeBytes -= entry.getResponse().getBodyBytes().length;
+                iterator.remove();
+                invalidations.increment();
+            }
+        }
+    }
+
+    public boolean isFresh(Entry entry) {
+        return clock.instant().isBefore(entry.getExpiresAt());
+    }
+
+    public void recordHit(Entry entry, boolean revalidated) {
+        (revalidated ? revalidations : hits).increment();
+        savedBytes.increment(entry.getResponse().getBodyBytes().length);
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long sizeBytes() {
+        return sizeBytes;
+    }
+
+    public double hitRatio() {
+        double served = hits.count() + revalidations.count();
+        double total = served + misses.count();
+        return total == 0 ? 0 : served / total;
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()
+                && (entries.size() > properties.getMaxEntries() || sizeBytes > properties.getMaxSize().toBytes())) {
+            sizeBytes -= iterator.next().getResponse().getBodyBytes().length;
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("gateway.cache.requests")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    public static class Entry {
+        String resource;
+        BufferedResponse response;
+        String eTag;
+        Instant expiresAt;
+    }
+}
@@ -0,0 +1,150 @@
+package ru.practicum.shareit.client.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.client.BufferedResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+@Component
+@Order(ResponseCacheInterceptor.ORDER)
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+@ConditionalOnProperty(prefix = "shareit-gateway.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheInterceptor implements ClientHttpRequestInterceptor, RestTemplateCustomizer {
+    public static final int ORDER = 100;
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final Set<HttpMethod> MUTATING_METHODS = Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+
+    private final ResponseCacheProperties properties;
+    private final ResponseCache cache;
+
+    @Autowired
+    public ResponseCacheInterceptor(ResponseCacheProperties properties, MeterRegistry registry) {
+        this(properties, new ResponseCache(properties, registry, Clock.systemUTC()));
+    }
+
+    ResponseCacheInterceptor(ResponseCacheProperties properties, ResponseCache cache) {
+        this.properties = properties;
+        this.cache = cache;
+    }
+
+    @Override
+    public void customize(RestTemplate restTemplate) {
+        restTemplate.getInterceptors().add(this);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        String resource = resourceOf(request.getURI());
+        if (request.getMethod() != HttpMethod.GET) {
+            try {
+                return execution.execute(request, body);
+            } finally {
+                if (MUTATING_METHODS.contains(request.getMethod())) {
+                    cache.invalidate(resource);
+                }
+            }
+        }
+
+        String key = request.getHeaders().getFirst(USER_ID_HEADER) + " " + request.getURI();
+        List<String> clientETags = request.getHeaders().getIfNoneMatch();
+        ResponseCache.Entry cached = cache.get(key);
+
+        if (cached != null && cache.isFresh(cached)) {
+            cache.recordHit(cached, false);
+            return respondFromCache(cached, clientETags);
+        }
+
+        long generation = cache.generation(resource);
+        boolean revalidating = cached != null && cached.getETag() != null && clientETags.isEmpty();
+        if (revalidating) {
+            request.getHeaders().setIfNoneMatch(cached.getETag());
+        }
+
+        ClientHttpResponse response = execution.execute(request, body);
+        if (revalidating && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            response.close();
+            cache.refresh(key, cached, ttlOf(response.getHeaders(), cached.getETag()));
+            cache.recordHit(cached, true);
+            return cached.getResponse();
+        }
+
+        cache.recordMiss();
+        if (!response.getStatusCode().isSameCodeAs(HttpStatus.OK)) {
+            return response;
+        }
+        String eTag = response.getHeaders().getETag();
+        Duration ttl = ttlOf(response.getHeaders(), eTag);
+        if (ttl == null || (ttl.isZero() && eTag == null)) {
+            return response;
+        }
+        BufferedResponse buffered = BufferedResponse.of(response);
+        cache.put(key, resource, buffered, eTag, ttl, generation);
+        return buffered;
+    }
+
+    private static BufferedResponse respondFromCache(ResponseCache.Entry cached, List<String> clientETags) {
+        if (cached.getETag() != null && clientETags.contains(cached.getETag())) {
+            return BufferedResponse.notModified(cached.getETag());
+        }
+        return cached.getResponse();
+    }
+
+    /**
+     * Without {@code Cache-Control} a response with an ETag is kept only for revalidation: such resources (bookings
+     * expired by a background job, for example) can change without passing through the gateway, and checking them
+     * is cheap. A response without either (search, other users' requests) lives for the configured {@code ttl},
+     * relying on invalidation for writes made through the gateway. {@code max-age} is capped by the same {@code ttl}.
+     */
+    private Duration ttlOf(HttpHeaders headers, String eTag) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return eTag == null ? properties.getTtl() : Duration.ZERO;
+        }
+        Duration ttl = Duration.ZERO;
+        boolean noCache = false;
+        for (String directive : cacheControl.toLowerCase().split(",")) {
+            String value = directive.trim();
+            if (value.equals("no-store")) {
+                return null;
+            }
+            if (value.equals("no-cache")) {
+                noCache = true;
+            } else if (value.startsWith("max-age=")) {
+                try {
+                    Duration maxAge = Duration.ofSeconds(Long.parseLong(value.substring("max-age=".length())));
+                    ttl = maxAge.compareTo(properties.getTtl()) < 0 ? maxAge : properties.getTtl();
+                } catch (NumberFormatException ignored) {
+                    noCache = true;
+                }
+            }
+        }
+        return noCache ? Duration.ZERO : ttl;
+    }
+
+    private static String resourceOf(URI uri) {
+        String path = uri.getPath() == null ? "" : uri.getPath();
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.substring(start) : path.substring(start, end);
+    }
+}
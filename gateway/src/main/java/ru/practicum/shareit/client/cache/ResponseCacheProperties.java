@@ -0,0 +1,19 @@
+package ru.practicum.shareit.client.cache;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit-gateway.cache")
+public class ResponseCacheProperties {
+    boolean enabled = true;
+    Duration ttl = Duration.ofSeconds(5);
+    int maxEntries = 10_000;
+    DataSize maxSize = DataSize.ofMegabytes(16);
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.client.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.client.BufferedResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+@Component
+@Order(RequestCoalescingInterceptor.ORDER)
+@ConditionalOnProperty(prefix = "shareit-gateway.coalescing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RequestCoalescingInterceptor implements ClientHttpRequestInterceptor, RestTemplateCustomizer {
+    public static final int ORDER = 200;
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final ConcurrentMap<String, CompletableFuture<BufferedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public RequestCoalescingInterceptor(MeterRegistry registry) {
+        this.leaders = requests(registry, "leader");
+        this.followers = requests(registry, "coalesced");
+        Gauge.builder("gateway.coalescing.in.flight", inFlight, ConcurrentMap::size).register(registry);
+    }
+
+    @Override
+    public void customize(RestTemplate restTemplate) {
+        restTemplate.getInterceptors().add(this);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        if (request.getMethod() != HttpMethod.GET) {
+            return execution.execute(request, body);
+        }
+
+        String key = keyOf(request);
+        CompletableFuture<BufferedResponse> call = new CompletableFuture<>();
+        CompletableFuture<BufferedResponse> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            followers.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            BufferedResponse response = BufferedResponse.of(execution.execute(request, body));
+            inFlight.remove(key, call);
+            call.complete(response);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            inFlight.remove(key, call);
+            call.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static String keyOf(HttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        return headers.getFirst(USER_ID_HEADER) + " " + headers.getIfNoneMatch() + " " + request.getURI();
+    }
+
+    private static BufferedResponse await(CompletableFuture<BufferedResponse> call) throws IOException {
+        try {
+            return call.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a coalesced request");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static Counter requests(MeterRegistry registry, String role) {
+        return Counter.builder("gateway.coalescing.requests")
+                .tag("role", role)
+                .register(registry);
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.client.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Order(ResilienceInterceptor.ORDER)
+@EnableConfigurationProperties(ResilienceProperties.class)
+@ConditionalOnProperty(prefix = "shareit-gateway.resilience", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ResilienceInterceptor implements ClientHttpRequestInterceptor, RestTemplateCustomizer {
+    public static final int ORDER = 300;
+
+    private final Map<Route, Guard> guards = new EnumMap<>(Route.class);
+
+    public ResilienceInterceptor(ResilienceProperties properties, MeterRegistry registry) {
+        for (Route route : Route.values()) {
+            guards.put(route, new Guard(route, properties, registry));
+        }
+    }
+
+    @Override
+    public void customize(RestTemplate restTemplate) {
+        restTemplate.getInterceptors().add(this);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        Guard guard = guards.get(Route.of(request.getURI()));
+        if (!guard.bulkhead.tryAcquire()) {
+            guard.rejectedByBulkhead.increment();
+            throw new ServiceUnavailableException("Сервер перегружен, повторите запрос позже", 1);
+        }
+        try {
+            long start = System.nanoTime();
+            if (!guard.breaker.tryAcquire(start)) {
+                guard.rejectedByCircuit.increment();
+                long retryAfter = TimeUnit.NANOSECONDS.toSeconds(guard.breaker.remainingOpenNanos(start) - 1) + 1;
+                throw new ServiceUnavailableException("Сервер временно недоступен", Math.max(retryAfter, 1));
+            }
+            return execute(guard, request, body, execution, start);
+        } finally {
+            guard.bulkhead.release();
+        }
+    }
+
+    private static ClientHttpResponse execute(Guard guard, HttpRequest request, byte[] body,
+                                              ClientHttpRequestExecution execution, long start) throws IOException {
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            long now = System.nanoTime();
+            guard.breaker.onFailure(now);
+            guard.failures.record(now - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        long now = System.nanoTime();
+        if (response.getStatusCode().is5xxServerError()) {
+            guard.breaker.onFailure(now);
+            guard.failures.record(now - start, TimeUnit.NANOSECONDS);
+        } else {
+            guard.breaker.onSuccess();
+            guard.successes.record(now - start, TimeUnit.NANOSECONDS);
+        }
+        return response;
+    }
+
+    private static final class Guard {
+        private final Semaphore bulkhead;
+        private final CircuitBreaker breaker;
+        private final Timer successes;
+        private final Timer failures;
+        private final Counter rejectedByBulkhead;
+        private final Counter rejectedByCircuit;
+
+        private Guard(Route route, ResilienceProperties properties, MeterRegistry registry) {
+            String tag = route.name().toLowerCase();
+            this.bulkhead = new Semaphore(properties.route(route).getMaxConcurrentCalls());
+            this.breaker = new CircuitBreaker(properties.getCircuitBreaker());
+            this.successes = calls(registry, tag, "success");
+            this.failures = calls(registry, tag, "failure");
+            this.rejectedByBulkhead = rejected(registry, tag, "bulkhead");
+            this.rejectedByCircuit = rejected(registry, tag, "circuit");
+            Gauge.builder("gateway.resilience.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                    .tag("route", tag)
+                    .register(registry);
+            Gauge.builder("gateway.resilience.circuit.state", breaker, b -> b.getState().ordinal())
+                    .tag("route", tag)
+                    .description("0 - closed, 1 - half-open, 2 - open")
+                    .register(registry);
+        }
+
+        private static Timer calls(MeterRegistry registry, String route, String result) {
+            return Timer.builder("gateway.resilience.calls")
+                    .tag("route", route)
+                    .tag("result", result)
+                    .register(registry);
+        }
+
+        private static Counter rejected(MeterRegistry registry, String route, String reason) {
+            return Counter.builder("gateway.resilience.rejected")
+                    .tag("route", route)
+                    .tag("reason", reason)
+                    .register(registry);
+        }
+    }
+}
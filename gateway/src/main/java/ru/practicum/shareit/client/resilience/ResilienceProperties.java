@@ -0,0 +1,52 @@
+package ru.practicum.shareit.client.resilience;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit-gateway.resilience")
+public class ResilienceProperties {
+    boolean enabled = true;
+    Map<Route, RouteSettings> routes = new EnumMap<>(Map.of(
+            Route.SEARCH, new RouteSettings(Duration.ofSeconds(1), Duration.ofSeconds(2), 10),
+            Route.BOOKINGS, new RouteSettings(Duration.ofSeconds(1), Duration.ofSeconds(3), 40),
+            Route.USERS, new RouteSettings(Duration.ofSeconds(1), Duration.ofSeconds(2), 20),
+            Route.DEFAULT, new RouteSettings(Duration.ofSeconds(1), Duration.ofSeconds(3), 40)
+    ));
+    CircuitBreakerSettings circuitBreaker = new CircuitBreakerSettings();
+
+    public RouteSettings route(Route route) {
+        return routes.getOrDefault(route, routes.get(Route.DEFAULT));
+    }
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RouteSettings {
+        Duration connectTimeout;
+        Duration readTimeout;
+        int maxConcurrentCalls;
+    }
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CircuitBreakerSettings {
+        int failureRateThreshold = 50;
+        int slidingWindowSize = 20;
+        int minimumCalls = 10;
+        Duration openDuration = Duration.ofSeconds(10);
+        int halfOpenCalls = 3;
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.client.resilience;
+
+import java.net.URI;
+
+public enum Route {
+    SEARCH,
+    BOOKINGS,
+    USERS,
+    DEFAULT;
+
+    public static Route of(URI uri) {
+        String path = uri.getPath();
+        if (path == null) {
+            return DEFAULT;
+        }
+        if (path.startsWith("/items/search")) {
+            return SEARCH;
+        }
+        if (path.startsWith("/bookings")) {
+            return BOOKINGS;
+        }
+        if (path.startsWith("/users")) {
+            return USERS;
+        }
+        return DEFAULT;
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.client.resilience;
+
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class RouteTimeoutRequestFactory extends HttpComponentsClientHttpRequestFactory {
+    private final Map<Route, RequestConfig> configs = new EnumMap<>(Route.class);
+
+    public RouteTimeoutRequestFactory(ResilienceProperties properties) {
+        super(httpClient(properties));
+        for (Route route : Route.values()) {
+            configs.put(route, requestConfig(properties.route(route)));
+        }
+    }
+
+    @Override
+    protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+        HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(configs.get(Route.of(uri)));
+        return context;
+    }
+
+    /**
+     * One pool is shared by every client, so it has to fit all bulkheads at once: with the default
+     * 5 connections per host a slow route would hold the whole pool and starve the others.
+     */
+    static HttpClient httpClient(ResilienceProperties properties) {
+        int connections = 0;
+        for (Route route : Route.values()) {
+            connections += properties.route(route).getMaxConcurrentCalls();
+        }
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnPerRoute(connections)
+                .setMaxConnTotal(connections)
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .useSystemProperties()
+                .build();
+    }
+
+    @SuppressWarnings("deprecation")
+    private static RequestConfig requestConfig(ResilienceProperties.RouteSettings settings) {
+        return RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(settings.getConnectTimeout()))
+                .setConnectTimeout(Timeout.of(settings.getConnectTimeout()))
+                .setResponseTimeout(Timeout.of(settings.getReadTimeout()))
+                .build();
+    }
+}
@@ -3,13 +3,16 @@ package ru.practicum.shareit.item;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.resilience.RouteTimeoutRequestFactory;
 import ru.practicum.shareit.comment.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -17,10 +20,11 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     public ItemClient(@Value("${shareit-server.url}") String serverUrl,
-                      RestTemplateBuilder builder) {
+                      RestTemplateBuilder builder,
+                      RouteTimeoutRequestFactory requestFactory) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                .requestFactory(() -> requestFactory)
                 .build());
     }
 
@@ -45,10 +49,61 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}", null, parameters);
     }
 
+    public ResponseEntity<Object> searchItemsNear(String text, double lat, double lon, double radius) {
+        Map<String, Object> parameters = Map.of("text", text, "lat", lat, "lon", lon, "radius", radius);
+        return get("/search?text={text}&lat={lat}&lon={lon}&radius={radius}", null, parameters);
+    }
+
+    public ResponseEntity<Object> searchAvailableItems(String text, LocalDateTime start, LocalDateTime end) {
+        Map<String, Object> parameters = Map.of("text", text, "start", start, "end", end);
+        return get("/search/available?text={text}&start={start}&end={end}", null, parameters);
+    }
+
+    public ResponseEntity<Object> searchItemsFaceted(String text, List<String> tags, Integer limit) {
+        StringBuilder path = new StringBuilder("/search/facets?limit={limit}");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("limit", limit);
+        if (text != null && !text.isBlank()) {
+            path.append("&text={text}");
+            parameters.put("text", text);
+        }
+        if (tags != null && !tags.isEmpty()) {
+            path.append("&tags={tags}");
+            parameters.put("tags", String.join(",", tags));
+        }
+        return get(path.toString(), null, parameters);
+    }
+
+    public ResponseEntity<Object> fuzzySearchItems(String text, Double threshold, Integer limit) {
+        if (threshold == null) {
+            Map<String, Object> parameters = Map.of("text", text, "limit", limit);
+            return get("/search/fuzzy?text={text}&limit={limit}", null, parameters);
+        }
+        Map<String, Object> parameters = Map.of("text", text, "threshold", threshold, "limit", limit);
+        return get("/search/fuzzy?text={text}&threshold={threshold}&limit={limit}", null, parameters);
+    }
+
+    public ResponseEntity<Object> suggestItems(String prefix, Integer limit) {
+        Map<String, Object> parameters = Map.of("prefix", prefix, "limit", limit);
+        return get("/suggest?prefix={prefix}&limit={limit}", null, parameters);
+    }
+
     public ResponseEntity<Object> addComment(long userId, Long itemId, CommentCreateDto commentCreateDto) {
         return post("/" + itemId + "/comment", userId, commentCreateDto);
     }
 
+    public ResponseEntity<Object> getComments(long userId, Long itemId, String cursor, Integer size) {
+        if (cursor == null) {
+            Map<String, Object> parameters = Map.of("size", size);
+            return get("/" + itemId + "/comments?size={size}", userId, parameters);
+        }
+        Map<String, Object> parameters = Map.of(
+                "size", size,
+                "cursor", cursor
+        );
+        return get("/" + itemId + "/comments?size={size}&cursor={cursor}", userId, parameters);
+    }
+
     public ResponseEntity<Object> deleteItem(Long itemId, Long ownerId) {
         return delete("/" + itemId, ownerId);
     }
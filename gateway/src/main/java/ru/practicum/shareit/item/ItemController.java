@@ -1,17 +1,30 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.comment.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import jakarta.validation.Valid;
+import jakarta.validation.ValidationException;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
+@Validated
 public class ItemController {
     private final ItemClient itemClient;
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
@@ -41,8 +54,53 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam @NotBlank String text) {
-        return itemClient.searchItems(text);
+    public ResponseEntity<Object> searchItems(@RequestParam @NotBlank String text,
+                                              @DecimalMin("-90") @DecimalMax("90")
+                                              @RequestParam(required = false) Double lat,
+                                              @DecimalMin("-180") @DecimalMax("180")
+                                              @RequestParam(required = false) Double lon,
+                                              @DecimalMin(value = "0", inclusive = false) @DecimalMax("500")
+                                              @RequestParam(required = false) Double radius) {
+        if (lat == null && lon == null && radius == null) {
+            return itemClient.searchItems(text);
+        }
+        if (lat == null || lon == null || radius == null) {
+            throw new ValidationException("Для поиска поблизости нужны широта, долгота и радиус");
+        }
+        return itemClient.searchItemsNear(text, lat, lon, radius);
+    }
+
+    @GetMapping("/search/facets")
+    public ResponseEntity<Object> searchItemsFaceted(@RequestParam(required = false) String text,
+                                                     @RequestParam(required = false) List<String> tags,
+                                                     @Positive @Max(100) @RequestParam(defaultValue = "20") Integer limit) {
+        return itemClient.searchItemsFaceted(text, tags, limit);
+    }
+
+    @GetMapping("/search/available")
+    public ResponseEntity<Object> searchAvailableItems(@RequestParam @NotBlank String text,
+                                                       @FutureOrPresent
+                                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                                       @Future
+                                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        if (!start.isBefore(end)) {
+            throw new ValidationException("Начало периода должно быть раньше конца");
+        }
+        return itemClient.searchAvailableItems(text, start, end);
+    }
+
+    @GetMapping("/search/fuzzy")
+    public ResponseEntity<Object> fuzzySearchItems(@RequestParam @NotBlank String text,
+                                                   @DecimalMin(value = "0", inclusive = false) @DecimalMax("1")
+                                                   @RequestParam(required = false) Double threshold,
+                                                   @Positive @Max(100) @RequestParam(defaultValue = "20") Integer limit) {
+        return itemClient.fuzzySearchItems(text, threshold, limit);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<Object> suggestItems(@RequestParam @NotBlank String prefix,
+                                               @Positive @Max(20) @RequestParam(defaultValue = "10") Integer limit) {
+        return itemClient.suggestItems(prefix, limit);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -51,4 +109,12 @@ public class ItemController {
                                              @RequestHeader(USER_ID_HEADER) Long authorId) {
         return itemClient.addComment(authorId, itemId, commentCreateDto);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getComments(@PathVariable Long itemId,
+                                              @RequestParam(required = false) String cursor,
+                                              @Positive @Max(100) @RequestParam(defaultValue = "20") Integer size,
+                                              @RequestHeader(USER_ID_HEADER) Long userId) {
+        return itemClient.getComments(userId, itemId, cursor, size);
+    }
+}
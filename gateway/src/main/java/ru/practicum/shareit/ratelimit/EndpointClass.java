@@ -0,0 +1,16 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.springframework.http.HttpMethod;
+
+public enum EndpointClass {
+    SEARCH,
+    READ,
+    WRITE;
+
+    public static EndpointClass of(String method, String path) {
+        if (!HttpMethod.GET.matches(method)) {
+            return WRITE;
+        }
+        return path.startsWith("/items/search") || path.startsWith("/items/suggest") ? SEARCH : READ;
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final RateLimitProperties properties;
+    private final TokenBucketRateLimiter limiter;
+    private final Map<EndpointClass, Counter> allowed = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejected = new EnumMap<>(EndpointClass.class);
+
+    public RateLimitInterceptor(RateLimitProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.limiter = new TokenBucketRateLimiter(properties.getMaxKeys(), properties.getIdleTimeout().toNanos());
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            allowed.put(endpointClass, requests(registry, endpointClass, "allowed"));
+            rejected.put(endpointClass, requests(registry, endpointClass, "rejected"));
+        }
+        Gauge.builder("gateway.ratelimit.keys", limiter, TokenBucketRateLimiter::size).register(registry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        EndpointClass endpointClass = EndpointClass.of(request.getMethod(), request.getRequestURI());
+        RateLimitProperties.Limit limit = properties.getLimits().get(endpointClass);
+        if (limit == null) {
+            return true;
+        }
+
+        String userId = request.getHeader(USER_ID_HEADER);
+        String clientKey = userId != null ? userId : "ip:" + request.getRemoteAddr();
+        long wait = limiter.tryAcquire(endpointClass, clientKey, limit, System.nanoTime());
+        if (wait > 0) {
+            rejected.get(endpointClass).increment();
+            throw new TooManyRequestsException("Превышен лимит запросов", TimeUnit.NANOSECONDS.toSeconds(wait - 1) + 1);
+        }
+        allowed.get(endpointClass).increment();
+        return true;
+    }
+
+    private static Counter requests(MeterRegistry registry, EndpointClass endpointClass, String result) {
+        return Counter.builder("gateway.ratelimit.requests")
+                .tag("endpoint", endpointClass.name().toLowerCase())
+                .tag("result", result)
+                .register(registry);
+    }
+}
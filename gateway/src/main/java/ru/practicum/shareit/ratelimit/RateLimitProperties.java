@@ -0,0 +1,35 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit-gateway.rate-limit")
+public class RateLimitProperties {
+    boolean enabled = true;
+    int maxKeys = 100_000;
+    Duration idleTimeout = Duration.ofMinutes(10);
+    Map<EndpointClass, Limit> limits = new EnumMap<>(Map.of(
+            EndpointClass.SEARCH, new Limit(20, 10),
+            EndpointClass.READ, new Limit(100, 50),
+            EndpointClass.WRITE, new Limit(20, 5)
+    ));
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        int capacity;
+        double refillPerSecond;
+    }
+}
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket kept as a single "theoretical arrival time" per key (GCRA). A bucket whose arrival
+ * time is in the past is full, which makes idle buckets safe to drop: a re-created bucket behaves
+ * exactly the same.
+ * <p>
+ * Buckets live in striped concurrent maps. A request for a known key is a lock-free lookup plus
+ * one CAS. Only inserting a new key takes the stripe lock, and it pays for eviction: a clock hand
+ * walks the stripe's keys in insertion order, drops idle buckets and, while the stripe is full,
+ * buckets that were not used since the hand last passed them. Every client always gets its own
+ * bucket; a flood of new keys can only reset buckets, which refills them, and never throttles
+ * other clients.
+ */
+public class TokenBucketRateLimiter {
+    private static final int STRIPES = 16;
+    private static final int IDLE_CHECKS_PER_INSERT = 2;
+
+    private final Stripe[] stripes;
+    private final int maxKeysPerStripe;
+    private final long idleTimeoutNanos;
+
+    public TokenBucketRateLimiter(int maxKeys, long idleTimeoutNanos) {
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+        this.idleTimeoutNanos = idleTimeoutNanos;
+    }
+
+    /**
+     * @return 0 when a token was taken, otherwise nanoseconds until the next token is available
+     */
+    public long tryAcquire(EndpointClass endpointClass, String clientKey, RateLimitProperties.Limit limit, long nowNanos) {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / limit.getRefillPerSecond());
+        long tolerance = interval * limit.getCapacity();
+        Bucket bucket = bucketFor(endpointClass, clientKey, nowNanos);
+
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, nowNanos) + interval;
+            long wait = next - nowNanos - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.buckets.size();
+        }
+        return size;
+    }
+
+    private Bucket bucketFor(EndpointClass endpointClass, String clientKey, long nowNanos) {
+        String key = endpointClass.name() + ":" + clientKey;
+        Stripe stripe = stripes[(key.hashCode() & Integer.MAX_VALUE) % STRIPES];
+        Bucket bucket = stripe.buckets.get(key);
+        if (bucket != null) {
+            if (!bucket.referenced) {
+                bucket.referenced = true;
+            }
+            return bucket;
+        }
+
+        stripe.lock.lock();
+        try {
+            bucket = stripe.buckets.get(key);
+            if (bucket != null) {
+                return bucket;
+            }
+            evict(stripe, nowNanos);
+            bucket = new Bucket(nowNanos);
+            stripe.buckets.put(key, bucket);
+            stripe.clock.addLast(key);
+            return bucket;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Advances the clock hand: a few steps to drop idle buckets, then as many as needed to free a slot.
+     * A used bucket gets a second chance and goes to the back, so a full stripe takes at most two rounds,
+     * and each step either drops a bucket or clears a bit set by a request: amortised O(1) per insert.
+     */
+    private void evict(Stripe stripe, long nowNanos) {
+        int steps = 0;
+        while (!stripe.clock.isEmpty()
+                && (steps++ < IDLE_CHECKS_PER_INSERT || stripe.buckets.size() >= maxKeysPerStripe)) {
+            String key = stripe.clock.pollFirst();
+            Bucket bucket = stripe.buckets.get(key);
+            boolean idle = nowNanos - bucket.get() > idleTimeoutNanos;
+            if (idle || (!bucket.referenced && stripe.buckets.size() >= maxKeysPerStripe)) {
+                stripe.buckets.remove(key);
+            } else {
+                bucket.referenced = false;
+                stripe.clock.addLast(key);
+            }
+        }
+    }
+
+    private static final class Bucket extends AtomicLong {
+        volatile boolean referenced;
+
+        Bucket(long arrival) {
+            super(arrival);
+        }
+    }
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+        final ArrayDeque<String> clock = new ArrayDeque<>();
+    }
+}
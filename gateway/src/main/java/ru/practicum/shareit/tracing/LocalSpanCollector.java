@@ -0,0 +1,70 @@
+package ru.practicum.shareit.tracing;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Keeps the most recent finished spans in memory so a trace can be inspected through
+ * the {@code spans} actuator endpoint without an external tracing backend.
+ */
+public class LocalSpanCollector implements SpanProcessor {
+    private final SpanRecord[] buffer;
+    private long written;
+
+    public LocalSpanCollector(int capacity) {
+        this.buffer = new SpanRecord[capacity];
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        SpanRecord record = SpanRecord.of(span.toSpanData());
+        synchronized (this) {
+            buffer[(int) (written++ % buffer.length)] = record;
+        }
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    public List<SpanRecord> findByTraceId(String traceId) {
+        List<SpanRecord> result = new ArrayList<>();
+        for (SpanRecord record : snapshot()) {
+            if (record.getTraceId().equals(traceId)) {
+                result.add(record);
+            }
+        }
+        result.sort(Comparator.comparing(SpanRecord::getStart));
+        return result;
+    }
+
+    public List<SpanRecord> findRecent(int limit) {
+        List<SpanRecord> all = snapshot();
+        return all.subList(Math.max(0, all.size() - limit), all.size());
+    }
+
+    private synchronized List<SpanRecord> snapshot() {
+        int size = (int) Math.min(written, buffer.length);
+        List<SpanRecord> result = new ArrayList<>(size);
+        for (long i = written - size; i < written; i++) {
+            result.add(buffer[(int) (i % buffer.length)]);
+        }
+        return result;
+    }
+}
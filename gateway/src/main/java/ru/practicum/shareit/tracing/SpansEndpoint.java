@@ -0,0 +1,26 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+@Endpoint(id = "spans")
+public class SpansEndpoint {
+    private static final int DEFAULT_LIMIT = 100;
+
+    private final LocalSpanCollector collector;
+
+    public SpansEndpoint(LocalSpanCollector collector) {
+        this.collector = collector;
+    }
+
+    @ReadOperation
+    public List<SpanRecord> spans(@Nullable String traceId, @Nullable Integer limit) {
+        if (traceId != null) {
+            return collector.findByTraceId(traceId);
+        }
+        return collector.findRecent(limit != null ? limit : DEFAULT_LIMIT);
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit-gateway.tracing")
+public class TracingProperties {
+    int bufferSize = 10_000;
+    String file;
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ShareItGatewayTest {
+
+    @Test
+    void contextLoads() {
+        // Проверяем, что контекст шлюза со всеми перехватчиками клиента загружается
+        assertTrue(true);
+    }
+}
@@ -11,11 +11,18 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingHoldRequestDto;
+import ru.practicum.shareit.booking.dto.WaitlistRequestDto;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -34,6 +41,9 @@ class BookingControllerTest {
     @MockBean
     private BookingClient bookingClient;
 
+    @MockBean
+    private BookingStreamRelay bookingStreamRelay;
+
     private BookItemRequestDto bookingRequestDto;
 
     @BeforeEach
@@ -59,6 +69,128 @@ class BookingControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void testPlaceHoldWhenValid() throws Exception {
+        BookingHoldRequestDto holdRequestDto = new BookingHoldRequestDto(
+                1L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), 10);
+        when(bookingClient.placeHold(anyLong(), any(BookingHoldRequestDto.class)))
+                .thenReturn(new ResponseEntity<>("{}", HttpStatus.CREATED));
+
+        mockMvc.perform(post("/bookings/holds")
+                        .header(USER_ID_HEADER, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(holdRequestDto)))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void testPlaceHoldWhenInvalid() throws Exception {
+        BookingHoldRequestDto tooLong = new BookingHoldRequestDto(
+                1L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), 120);
+        BookingHoldRequestDto reversed = new BookingHoldRequestDto(
+                1L, LocalDateTime.now().plusDays(2), LocalDateTime.now().plusDays(1), null);
+
+        mockMvc.perform(post("/bookings/holds")
+                        .header(USER_ID_HEADER, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(tooLong)))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/bookings/holds")
+                        .header(USER_ID_HEADER, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reversed)))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingClient, never()).placeHold(anyLong(), any(BookingHoldRequestDto.class));
+    }
+
+    @Test
+    void testReleaseHold() throws Exception {
+        when(bookingClient.releaseHold(1L, 7L))
+                .thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+        mockMvc.perform(delete("/bookings/holds/7")
+                        .header(USER_ID_HEADER, 1L))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testJoinWaitlistWhenValid() throws Exception {
+        WaitlistRequestDto waitlistRequestDto = new WaitlistRequestDto(
+                1L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+        when(bookingClient.joinWaitlist(anyLong(), any(WaitlistRequestDto.class)))
+                .thenReturn(new ResponseEntity<>("{}", HttpStatus.CREATED));
+
+        mockMvc.perform(post("/bookings/waitlist")
+                        .header(USER_ID_HEADER, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(waitlistRequestDto)))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void testJoinWaitlistWhenInvalid() throws Exception {
+        WaitlistRequestDto past = new WaitlistRequestDto(
+                1L, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1));
+        WaitlistRequestDto reversed = new WaitlistRequestDto(
+                1L, LocalDateTime.now().plusDays(2), LocalDateTime.now().plusDays(1));
+
+        mockMvc.perform(post("/bookings/waitlist")
+                        .header(USER_ID_HEADER, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(past)))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/bookings/waitlist")
+                        .header(USER_ID_HEADER, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reversed)))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingClient, never()).joinWaitlist(anyLong(), any(WaitlistRequestDto.class));
+    }
+
+    @Test
+    void testLeaveWaitlist() throws Exception {
+        when(bookingClient.leaveWaitlist(1L, 3L))
+                .thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+        mockMvc.perform(delete("/bookings/waitlist/3")
+                        .header(USER_ID_HEADER, 1L))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testGetOwnerDashboard() throws Exception {
+        when(bookingClient.getOwnerDashboard(anyLong()))
+                .thenReturn(new ResponseEntity<>("{}", HttpStatus.OK));
+
+        mockMvc.perform(get("/bookings/owner/dashboard")
+                        .header(USER_ID_HEADER, 1L))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testStreamBookingsRelaysServerStream() throws Exception {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        emitter.send("data: {}\n", MediaType.TEXT_EVENT_STREAM);
+        emitter.complete();
+        when(bookingStreamRelay.open(1L))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok()
+                        .contentType(MediaType.TEXT_EVENT_STREAM)
+                        .body(emitter)));
+
+        MvcResult result = mockMvc.perform(get("/bookings/stream")
+                        .header(USER_ID_HEADER, 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("data: {}\n"));
+    }
+
     @Test
     void testBookItemWhenStartInPast() throws Exception {
         BookItemRequestDto invalidBooking = new BookItemRequestDto(
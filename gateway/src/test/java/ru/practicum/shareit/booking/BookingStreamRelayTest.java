@@ -0,0 +1,188 @@
+package ru.practicum.shareit.booking;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import ru.practicum.shareit.client.balancing.ServerPool;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BookingStreamRelayTest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String EVENT = "event:booking\ndata:{\"bookingId\":5,\"status\":\"APPROVED\"}\n\n";
+    private static final long STALLED_USER = 7L;
+    private static final long READING_USER = 8L;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private BookingStreamRelay relay;
+    private MockMvc mockMvc;
+    private final CountDownLatch secondEvent = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/bookings/stream", exchange -> {
+            String user = exchange.getRequestHeaders().getFirst(USER_ID_HEADER);
+            if (String.valueOf(STALLED_USER).equals(user) || String.valueOf(READING_USER).equals(user)) {
+                exchange.getResponseHeaders().add("Content-Type", MediaType.TEXT_EVENT_STREAM_VALUE);
+                exchange.sendResponseHeaders(200, 0);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    for (int i = 0; i < 300; i++) {
+                        out.write(":tick\n\n".getBytes(StandardCharsets.UTF_8));
+                        out.flush();
+                        Thread.sleep(10);
+                    }
+                } catch (IOException | InterruptedException e) {
+                    exchange.close();
+                }
+                return;
+            }
+            if ("404".equals(exchange.getRequestHeaders().getFirst(USER_ID_HEADER))) {
+                byte[] body = "{\"error\":\"not found\"}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+                exchange.sendResponseHeaders(404, body.length);
+                exchange.getResponseBody().write(body);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().add("Content-Type", MediaType.TEXT_EVENT_STREAM_VALUE);
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream out = exchange.getResponseBody();
+            out.write(":connected\n\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            try {
+                secondEvent.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            out.write(EVENT.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            exchange.close();
+        });
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.start();
+
+        relay = new BookingStreamRelay(new BookingStreamProperties(),
+                "http://localhost:" + server.getAddress().getPort(),
+                new DefaultListableBeanFactory().getBeanProvider(ServerPool.class),
+                new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(new BookingController(mock(BookingClient.class), relay)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.destroy();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void linesAreRelayedAsTheyArrive() throws Exception {
+        MvcResult result = mockMvc.perform(get("/bookings/stream").header(USER_ID_HEADER, 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(5000);
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        assertThat(awaitContent(result, ":connected\n\n")).isEqualTo(":connected\n\n");
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+
+        secondEvent.countDown();
+
+        assertThat(awaitContent(result, ":connected\n\n" + EVENT)).isEqualTo(":connected\n\n" + EVENT);
+    }
+
+    @Test
+    void serverErrorIsPassedThrough() throws Exception {
+        MvcResult result = mockMvc.perform(get("/bookings/stream").header(USER_ID_HEADER, 404L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(5000);
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isNotFound());
+
+        assertThat(awaitContent(result, "{\"error\":\"not found\"}\n")).isEqualTo("{\"error\":\"not found\"}\n");
+    }
+
+    @Test
+    void clientThatNeverReadsDoesNotStallOtherStreams() throws Exception {
+        BookingStreamProperties properties = new BookingStreamProperties();
+        properties.setThreads(1);
+        properties.setQueueCapacity(8);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Object> received = new CopyOnWriteArrayList<>();
+        BookingStreamRelay streams = new BookingStreamRelay(properties,
+                "http://localhost:" + server.getAddress().getPort(),
+                new DefaultListableBeanFactory().getBeanProvider(ServerPool.class),
+                registry) {
+            @Override
+            ResponseBodyEmitter createEmitter(long userId) {
+                return new ResponseBodyEmitter() {
+                    @Override
+                    public void send(Object object, MediaType mediaType) {
+                        if (userId != STALLED_USER) {
+                            received.add(object);
+                            return;
+                        }
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                };
+            }
+        };
+        try {
+            streams.open(STALLED_USER).get(5, TimeUnit.SECONDS);
+            streams.open(READING_USER).get(5, TimeUnit.SECONDS);
+
+            for (int i = 0; i < 100 && received.size() < 10; i++) {
+                Thread.sleep(10);
+            }
+            assertThat(received).hasSizeGreaterThanOrEqualTo(10).contains(":tick\n", "\n");
+            for (int i = 0; i < 100 && registry.get("gateway.booking-stream.open").gauge().value() > 1; i++) {
+                Thread.sleep(10);
+            }
+            assertThat(registry.get("gateway.booking-stream.open").gauge().value()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            streams.destroy();
+        }
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        String content = result.getResponse().getContentAsString();
+        for (int i = 0; i < 500 && !content.equals(expected); i++) {
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+        return content;
+    }
+}
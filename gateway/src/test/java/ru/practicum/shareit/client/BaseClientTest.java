@@ -0,0 +1,80 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BaseClientTest {
+
+    private MockRestServiceServer server;
+    private TestClient client;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090/items"));
+        server = MockRestServiceServer.bindTo(rest).build();
+        client = new TestClient(rest);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void forwardsIfNoneMatchAndNotModifiedResponse() {
+        MockHttpServletRequest incoming = new MockHttpServletRequest();
+        incoming.addHeader(HttpHeaders.IF_NONE_MATCH, "\"item-1-v3\"");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(incoming));
+
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.setETag("\"item-1-v3\"");
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"item-1-v3\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(responseHeaders));
+
+        ResponseEntity<Object> response = client.get("/1", 1L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"item-1-v3\"");
+        assertThat(response.hasBody()).isFalse();
+        server.verify();
+    }
+
+    @Test
+    void passesETagOnSuccessfulResponse() {
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.setETag("\"item-1-v3\"");
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(responseHeaders));
+
+        ResponseEntity<Object> response = client.get("/1", 1L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"item-1-v3\"");
+        server.verify();
+    }
+
+    private static class TestClient extends BaseClient {
+        TestClient(RestTemplate rest) {
+            super(rest);
+        }
+    }
+}
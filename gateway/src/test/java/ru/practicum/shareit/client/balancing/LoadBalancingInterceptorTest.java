@@ -0,0 +1,121 @@
+package ru.practicum.shareit.client.balancing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import ru.practicum.shareit.client.resilience.ResilienceProperties;
+import ru.practicum.shareit.client.resilience.RouteTimeoutRequestFactory;
+import ru.practicum.shareit.user.UserClient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadBalancingInterceptorTest {
+    private ServerInstancesHarness harness;
+    private RouteTimeoutRequestFactory requestFactory;
+    private ServerPool pool;
+    private HealthChecker healthChecker;
+    private UserClient userClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        harness = new ServerInstancesHarness(3);
+        LoadBalancerProperties properties = new LoadBalancerProperties();
+        properties.setInstances(harness.uris());
+        properties.setConsecutiveFailures(2);
+        properties.setEjectionDuration(Duration.ofMinutes(1));
+        pool = new ServerPool(properties, "http://localhost:9090", new SimpleMeterRegistry());
+        healthChecker = new HealthChecker(pool, properties);
+        requestFactory = new RouteTimeoutRequestFactory(new ResilienceProperties());
+        RestTemplateBuilder builder = new RestTemplateBuilder(new LoadBalancingInterceptor(pool));
+        userClient = new UserClient("http://localhost:9090", builder, requestFactory);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        requestFactory.destroy();
+        harness.close();
+    }
+
+    @Test
+    void spreadsSequentialCallsEvenly() {
+        callUsers(30);
+
+        assertThat(harness.get(0).hits()).isEqualTo(10);
+        assertThat(harness.get(1).hits()).isEqualTo(10);
+        assertThat(harness.get(2).hits()).isEqualTo(10);
+    }
+
+    @Test
+    void prefersInstancesWithFewerOutstandingRequests() throws Exception {
+        harness.get(0).setDelayMillis(300);
+        ExecutorService clients = Executors.newFixedThreadPool(4);
+        List<Future<?>> calls = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            calls.add(clients.submit(() -> callUsers(15)));
+        }
+        for (Future<?> call : calls) {
+            call.get(30, TimeUnit.SECONDS);
+        }
+        clients.shutdown();
+
+        assertThat(harness.get(0).hits()).isLessThan(harness.get(1).hits() / 2);
+        assertThat(harness.get(0).hits()).isLessThan(harness.get(2).hits() / 2);
+    }
+
+    @Test
+    void ejectsInstanceAfterConsecutiveFailures() {
+        harness.get(2).setStatus(500);
+
+        for (int i = 0; i < 30; i++) {
+            userClient.getUser(1L);
+        }
+
+        assertThat(harness.get(2).hits()).isEqualTo(2);
+        assertThat(harness.get(0).hits() + harness.get(1).hits()).isEqualTo(28);
+    }
+
+    @Test
+    void healthChecksRemoveAndRestoreInstance() {
+        harness.get(1).setHealthy(false);
+        healthChecker.checkAll();
+        callUsers(10);
+
+        assertThat(harness.get(1).hits()).isZero();
+
+        harness.get(1).setHealthy(true);
+        healthChecker.checkAll();
+        callUsers(9);
+
+        assertThat(harness.get(1).hits()).isPositive();
+    }
+
+    @Test
+    void fallsBackToAllInstancesWhenNoneIsHealthy() {
+        for (int i = 0; i < 3; i++) {
+            harness.get(i).setHealthy(false);
+        }
+        healthChecker.checkAll();
+
+        callUsers(3);
+
+        assertThat(harness.get(0).hits() + harness.get(1).hits() + harness.get(2).hits()).isEqualTo(3);
+    }
+
+    private void callUsers(int count) {
+        for (int i = 0; i < count; i++) {
+            assertThat(userClient.getUser(1L).getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.client.balancing;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Starts several local stub servers that answer like shareit-server instances, with
+ * adjustable latency, response status and health.
+ */
+class ServerInstancesHarness implements AutoCloseable {
+    private final List<StubInstance> instances = new ArrayList<>();
+
+    ServerInstancesHarness(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            instances.add(new StubInstance());
+        }
+    }
+
+    StubInstance get(int index) {
+        return instances.get(index);
+    }
+
+    List<URI> uris() {
+        return instances.stream().map(StubInstance::uri).toList();
+    }
+
+    @Override
+    public void close() {
+        instances.forEach(StubInstance::stop);
+    }
+
+    static class StubInstance {
+        private final HttpServer server;
+        private final ExecutorService executor = Executors.newCachedThreadPool();
+        private final AtomicInteger hits = new AtomicInteger();
+        private volatile long delayMillis;
+        private volatile int status = 200;
+        private volatile boolean healthy = true;
+
+        StubInstance() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(executor);
+            server.createContext("/actuator/health", exchange ->
+                    respond(exchange, healthy ? 200 : 503, healthy ? "{\"status\":\"UP\"}" : "{\"status\":\"DOWN\"}"));
+            server.createContext("/users", exchange -> {
+                hits.incrementAndGet();
+                sleep(delayMillis);
+                respond(exchange, status, "{\"id\":1}");
+            });
+            server.start();
+        }
+
+        URI uri() {
+            return URI.create("http://localhost:" + server.getAddress().getPort());
+        }
+
+        int hits() {
+            return hits.get();
+        }
+
+        void setDelayMillis(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        void setStatus(int status) {
+            this.status = status;
+        }
+
+        void setHealthy(boolean healthy) {
+            this.healthy = healthy;
+        }
+
+        void stop() {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+
+        private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+
+        private static void sleep(long millis) {
+            if (millis == 0) {
+                return;
+            }
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package ru.practicum.shareit.client.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.ExpectedCount.twice;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ResponseCacheInterceptorTest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String ITEM_URL = "http://localhost:9090/items/1";
+
+    private ResponseCacheProperties properties;
+    private SimpleMeterRegistry registry;
+    private RestTemplate rest;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ResponseCacheProperties();
+        registry = new SimpleMeterRegistry();
+    }
+
+    private void bind() {
+        rest = new RestTemplate();
+        server = MockRestServiceServer.bindTo(rest).ignoreExpectOrder(true).build();
+        new ResponseCacheInterceptor(properties, registry).customize(rest);
+    }
+
+    private static HttpHeaders maxAge(long seconds) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("max-age=" + seconds);
+        return headers;
+    }
+
+    private ResponseEntity<String> get(String url, long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(USER_ID_HEADER, String.valueOf(userId));
+        return rest.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    @Test
+    void servesRepeatedGetFromCache() {
+        bind();
+        server.expect(once(), requestTo(ITEM_URL))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(maxAge(60)));
+
+        get(ITEM_URL, 1L);
+        ResponseEntity<String> cached = get(ITEM_URL, 1L);
+
+        assertThat(cached.getBody()).isEqualTo("{\"id\":1}");
+        assertThat(registry.counter("gateway.cache.requests", "result", "hit").count()).isEqualTo(1);
+        assertThat(registry.counter("gateway.cache.saved").count()).isEqualTo(8);
+        server.verify();
+    }
+
+    @Test
+    void servesRepeatedSearchWithoutCacheControlForConfiguredTtl() {
+        bind();
+        String searchUrl = "http://localhost:9090/items/search?text=drill";
+        server.expect(once(), requestTo(searchUrl))
+                .andRespond(withSuccess("[{\"id\":1}]", MediaType.APPLICATION_JSON));
+
+        get(searchUrl, 1L);
+        ResponseEntity<String> cached = get(searchUrl, 1L);
+
+        assertThat(cached.getBody()).isEqualTo("[{\"id\":1}]");
+        assertThat(registry.counter("gateway.cache.requests", "result", "hit").count()).isEqualTo(1);
+        server.verify();
+    }
+
+    @Test
+    void keepsSeparateEntriesPerUser() {
+        bind();
+        server.expect(twice(), requestTo(ITEM_URL))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        get(ITEM_URL, 1L);
+        get(ITEM_URL, 2L);
+
+        server.verify();
+    }
+
+    @Test
+    void invalidatesRelatedResourcesOnMutation() {
+        bind();
+        server.expect(twice(), requestTo(ITEM_URL))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(maxAge(60)));
+        server.expect(once(), requestTo("http://localhost:9090/bookings"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+        get(ITEM_URL, 1L);
+        rest.postForEntity("http://localhost:9090/bookings", "{}", String.class);
+        get(ITEM_URL, 1L);
+
+        server.verify();
+    }
+
+    @Test
+    void doesNotStoreNoStoreResponses() {
+        bind();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("no-store");
+        server.expect(twice(), requestTo(ITEM_URL))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(headers));
+
+        get(ITEM_URL, 1L);
+        get(ITEM_URL, 1L);
+
+        server.verify();
+    }
+
+    @Test
+    void revalidatesEntryWithoutCacheControlOnEveryRead() {
+        bind();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"item-1-v1\"");
+        server.expect(once(), requestTo(ITEM_URL))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(headers));
+        get(ITEM_URL, 1L);
+
+        server.reset();
+        server.expect(once(), requestTo(ITEM_URL))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"item-1-v1\""))
+                .andRespond(withSuccess("{\"id\":1,\"name\":\"new\"}", MediaType.APPLICATION_JSON));
+
+        assertThat(get(ITEM_URL, 1L).getBody()).isEqualTo("{\"id\":1,\"name\":\"new\"}");
+        assertThat(registry.counter("gateway.cache.requests", "result", "hit").count()).isZero();
+        server.verify();
+    }
+
+    @Test
+    void invalidatesItemsAfterBookingMutationForEveryUser() {
+        bind();
+        server.expect(twice(), requestTo(ITEM_URL))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(maxAge(60)));
+        server.expect(once(), requestTo("http://localhost:9090/bookings/5?approved=true"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+        get(ITEM_URL, 2L);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(USER_ID_HEADER, "1");
+        rest.exchange("http://localhost:9090/bookings/5?approved=true", HttpMethod.PATCH,
+                new HttpEntity<>(headers), String.class);
+        get(ITEM_URL, 2L);
+
+        server.verify();
+    }
+
+    @Test
+    void dropsResponseOfGetThatRacedWithInvalidation() {
+        bind();
+        server.expect(once(), requestTo("http://localhost:9090/bookings"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+        server.expect(twice(), requestTo(ITEM_URL))
+                .andRespond(request -> {
+                    if (registry.counter("gateway.cache.requests", "result", "miss").count() == 0) {
+                        rest.postForEntity("http://localhost:9090/bookings", "{}", String.class);
+                    }
+                    return withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(maxAge(60))
+                            .createResponse(request);
+                });
+
+        get(ITEM_URL, 1L);
+        get(ITEM_URL, 1L);
+
+        server.verify();
+    }
+
+    @Test
+    void revalidatesExpiredEntryWithETag() {
+        properties.setTtl(Duration.ZERO);
+        bind();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"item-1-v1\"");
+        server.expect(once(), requestTo(ITEM_URL))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(headers));
+
+        get(ITEM_URL, 1L);
+
+        server.reset();
+        server.expect(once(), requestTo(ITEM_URL))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"item-1-v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(headers));
+
+        ResponseEntity<String> revalidated = get(ITEM_URL, 1L);
+
+        assertThat(revalidated.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(revalidated.getBody()).isEqualTo("{\"id\":1}");
+        assertThat(registry.counter("gateway.cache.requests", "result", "revalidated").count()).isEqualTo(1);
+        server.verify();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        properties.setMaxEntries(1);
+        bind();
+        server.expect(twice(), requestTo(ITEM_URL))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(maxAge(60)));
+        server.expect(once(), requestTo("http://localhost:9090/items/2"))
+                .andRespond(withSuccess("{\"id\":2}", MediaType.APPLICATION_JSON).headers(maxAge(60)));
+
+        get(ITEM_URL, 1L);
+        get("http://localhost:9090/items/2", 1L);
+        get(ITEM_URL, 1L);
+
+        assertThat(registry.counter("gateway.cache.evictions").count()).isEqualTo(2);
+        server.verify();
+    }
+}
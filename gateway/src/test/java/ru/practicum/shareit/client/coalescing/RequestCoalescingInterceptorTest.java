@@ -0,0 +1,116 @@
+package ru.practicum.shareit.client.coalescing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescingInterceptorTest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String SEARCH_URL = "http://localhost:9090/items/search?text=drill";
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SimpleMeterRegistry registry;
+    private RestTemplate rest;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        rest = new RestTemplate((uri, method) -> new MockClientHttpRequest(method, uri) {
+            @Override
+            protected ClientHttpResponse executeInternal() {
+                upstreamCalls.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                MockClientHttpResponse response = new MockClientHttpResponse(
+                        "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+                response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                return response;
+            }
+        });
+        new RequestCoalescingInterceptor(registry).customize(rest);
+    }
+
+    private ResponseEntity<String> get(String url, Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        if (userId != null) {
+            headers.set(USER_ID_HEADER, String.valueOf(userId));
+        }
+        return rest.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    @Test
+    void concurrentIdenticalGetsShareOneUpstreamCall() throws Exception {
+        int clients = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<ResponseEntity<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                responses.add(executor.submit(() -> get(SEARCH_URL, null)));
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (registry.counter("gateway.coalescing.requests", "role", "coalesced").count() < clients - 1
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<ResponseEntity<String>> response : responses) {
+                assertThat(response.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("[{\"id\":1}]");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+        assertThat(registry.counter("gateway.coalescing.requests", "role", "leader").count()).isEqualTo(1);
+        assertThat(registry.counter("gateway.coalescing.requests", "role", "coalesced").count()).isEqualTo(clients - 1);
+    }
+
+    @Test
+    void doesNotShareCallsBetweenUsers() {
+        release.countDown();
+
+        get("http://localhost:9090/items/1", 1L);
+        get("http://localhost:9090/items/1", 2L);
+
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotCoalesceMutations() {
+        release.countDown();
+
+        rest.postForEntity("http://localhost:9090/items", "{}", String.class);
+        rest.postForEntity("http://localhost:9090/items", "{}", String.class);
+
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+        assertThat(registry.counter("gateway.coalescing.requests", "role", "leader").count()).isZero();
+    }
+}
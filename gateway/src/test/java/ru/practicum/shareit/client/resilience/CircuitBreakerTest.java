@@ -0,0 +1,83 @@
+package ru.practicum.shareit.client.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final CircuitBreaker breaker = new CircuitBreaker(
+            new ResilienceProperties.CircuitBreakerSettings(50, 10, 4, Duration.ofSeconds(5), 2));
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        breaker.onFailure(0);
+        breaker.onFailure(0);
+        breaker.onFailure(0);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire(0)).isTrue();
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure(0);
+        breaker.onFailure(0);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire(SECOND)).isFalse();
+        assertThat(breaker.remainingOpenNanos(SECOND)).isEqualTo(4 * SECOND);
+    }
+
+    @Test
+    void slidingWindowForgetsOldFailures() {
+        breaker.onFailure(0);
+        breaker.onFailure(0);
+        for (int i = 0; i < 10; i++) {
+            breaker.onSuccess();
+        }
+        breaker.onFailure(0);
+        breaker.onFailure(0);
+        breaker.onFailure(0);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void closesAfterSuccessfulProbes() {
+        openBreaker();
+
+        assertThat(breaker.tryAcquire(5 * SECOND)).isTrue();
+        assertThat(breaker.tryAcquire(5 * SECOND)).isTrue();
+        assertThat(breaker.tryAcquire(5 * SECOND)).isFalse();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void reopensWhenProbeFails() {
+        openBreaker();
+        breaker.tryAcquire(5 * SECOND);
+
+        breaker.onFailure(5 * SECOND);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire(6 * SECOND)).isFalse();
+        assertThat(breaker.tryAcquire(10 * SECOND)).isTrue();
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(0);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package ru.practicum.shareit.client.resilience;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResilienceInterceptorTest {
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final AtomicInteger searchCalls = new AtomicInteger();
+    private volatile boolean searchSlow = true;
+
+    private SimpleMeterRegistry registry;
+    private RouteTimeoutRequestFactory requestFactory;
+    private ItemClient itemClient;
+    private UserClient userClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext("/items/search", exchange -> {
+            searchCalls.incrementAndGet();
+            if (searchSlow) {
+                sleep(1_500);
+            }
+            respond(exchange, "[]");
+        });
+        server.createContext("/users", exchange -> respond(exchange, "{\"id\":1}"));
+        server.start();
+
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getRoutes().put(Route.SEARCH,
+                new ResilienceProperties.RouteSettings(Duration.ofSeconds(1), Duration.ofMillis(300), 4));
+        properties.setCircuitBreaker(
+                new ResilienceProperties.CircuitBreakerSettings(50, 10, 4, Duration.ofMillis(500), 1));
+        registry = new SimpleMeterRegistry();
+        requestFactory = new RouteTimeoutRequestFactory(properties);
+        RestTemplateBuilder builder = new RestTemplateBuilder(new ResilienceInterceptor(properties, registry));
+        String url = "http://localhost:" + server.getAddress().getPort();
+        itemClient = new ItemClient(url, builder, requestFactory);
+        userClient = new UserClient(url, builder, requestFactory);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        requestFactory.destroy();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void slowSearchDoesNotBlockOtherRoutes() throws Exception {
+        userClient.getUser(1L);
+        ExecutorService clients = Executors.newFixedThreadPool(16);
+        List<Future<ResponseEntity<Object>>> searches = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            searches.add(clients.submit(() -> itemClient.searchItems("drill")));
+        }
+
+        for (int i = 0; i < 20; i++) {
+            long start = System.nanoTime();
+            ResponseEntity<Object> response = userClient.getUser(1L);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(System.nanoTime() - start).isLessThan(TimeUnit.MILLISECONDS.toNanos(500));
+        }
+
+        int timedOut = 0;
+        int rejected = 0;
+        for (Future<ResponseEntity<Object>> search : searches) {
+            try {
+                search.get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof ResourceAccessException) {
+                    timedOut++;
+                } else if (e.getCause() instanceof ServiceUnavailableException) {
+                    rejected++;
+                }
+            }
+        }
+        clients.shutdown();
+
+        assertThat(timedOut + rejected).isEqualTo(16);
+        assertThat(timedOut).isLessThanOrEqualTo(4);
+        assertThat(registry.get("gateway.resilience.rejected")
+                .tag("route", "search").tag("reason", "bulkhead").counter().count()).isPositive();
+        assertThat(registry.get("gateway.resilience.calls")
+                .tag("route", "users").tag("result", "success").timer().count()).isEqualTo(21);
+    }
+
+    @Test
+    void saturatedSearchWithProductionBulkheadsLeavesUsersWorking() throws Exception {
+        ResilienceProperties defaults = new ResilienceProperties();
+        int searchBulkhead = defaults.route(Route.SEARCH).getMaxConcurrentCalls();
+        RouteTimeoutRequestFactory sharedFactory = new RouteTimeoutRequestFactory(defaults);
+        RestTemplateBuilder builder = new RestTemplateBuilder(new ResilienceInterceptor(defaults, new SimpleMeterRegistry()));
+        String url = "http://localhost:" + server.getAddress().getPort();
+        ItemClient items = new ItemClient(url, builder, sharedFactory);
+        UserClient users = new UserClient(url, builder, sharedFactory);
+        ExecutorService clients = Executors.newFixedThreadPool(searchBulkhead);
+        try {
+            List<Future<ResponseEntity<Object>>> searches = new ArrayList<>();
+            for (int i = 0; i < searchBulkhead; i++) {
+                searches.add(clients.submit(() -> items.searchItems("drill")));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            while (searchCalls.get() < searchBulkhead && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(searchCalls.get()).isEqualTo(searchBulkhead);
+
+            for (int i = 0; i < 5; i++) {
+                long start = System.nanoTime();
+                assertThat(users.getUser(1L).getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(System.nanoTime() - start).isLessThan(TimeUnit.MILLISECONDS.toNanos(500));
+            }
+            for (Future<ResponseEntity<Object>> search : searches) {
+                assertThat(search.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.OK);
+            }
+        } finally {
+            clients.shutdownNow();
+            sharedFactory.destroy();
+        }
+    }
+
+    @Test
+    void opensCircuitAfterTimeoutsAndClosesAfterProbe() throws InterruptedException {
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> itemClient.searchItems("drill"))
+                    .isInstanceOf(ResourceAccessException.class);
+        }
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> itemClient.searchItems("drill"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(searchCalls.get()).isEqualTo(4);
+        assertThat(userClient.getUser(1L).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        searchSlow = false;
+        Thread.sleep(600);
+
+        assertThat(itemClient.searchItems("drill").getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(itemClient.searchItems("drill").getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(registry.get("gateway.resilience.circuit.state").tag("route", "search").gauge().value())
+                .isEqualTo(CircuitBreaker.State.CLOSED.ordinal());
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -13,7 +13,12 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.comment.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -136,6 +141,146 @@ class ItemControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void testSearchItemsNearWhenValid() throws Exception {
+        when(itemClient.searchItemsNear("дрель", 55.75, 37.62, 5.0))
+                .thenReturn(new ResponseEntity<>("[]", HttpStatus.OK));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "дрель")
+                        .param("lat", "55.75")
+                        .param("lon", "37.62")
+                        .param("radius", "5"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testSearchItemsNearWhenLocationIncompleteOrOutOfRange() throws Exception {
+        mockMvc.perform(get("/items/search")
+                        .param("text", "дрель")
+                        .param("lat", "55.75")
+                        .param("radius", "5"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "дрель")
+                        .param("lat", "95")
+                        .param("lon", "37.62")
+                        .param("radius", "5"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).searchItemsNear(anyString(), anyDouble(), anyDouble(), anyDouble());
+    }
+
+    @Test
+    void testSearchAvailableItemsWhenValid() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        LocalDateTime end = start.plusDays(2);
+        when(itemClient.searchAvailableItems("дрель", start, end))
+                .thenReturn(new ResponseEntity<>("[]", HttpStatus.OK));
+
+        mockMvc.perform(get("/items/search/available")
+                        .param("text", "дрель")
+                        .param("start", start.toString())
+                        .param("end", end.toString()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testSearchAvailableItemsWhenPeriodInvalid() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+
+        mockMvc.perform(get("/items/search/available")
+                        .param("text", "дрель")
+                        .param("start", start.toString())
+                        .param("end", start.minusHours(1).toString()))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/items/search/available")
+                        .param("text", "дрель")
+                        .param("start", start.minusDays(2).toString())
+                        .param("end", start.toString()))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/items/search/available")
+                        .param("text", "дрель")
+                        .param("start", start.toString()))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).searchAvailableItems(anyString(), any(), any());
+    }
+
+    @Test
+    void testFuzzySearchItemsWhenValid() throws Exception {
+        when(itemClient.fuzzySearchItems("drel", 0.4, 20))
+                .thenReturn(new ResponseEntity<>("[]", HttpStatus.OK));
+
+        mockMvc.perform(get("/items/search/fuzzy")
+                        .param("text", "drel")
+                        .param("threshold", "0.4"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testFuzzySearchItemsWhenThresholdOutOfRange() throws Exception {
+        mockMvc.perform(get("/items/search/fuzzy")
+                        .param("text", "drel")
+                        .param("threshold", "1.5"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).fuzzySearchItems(anyString(), any(), anyInt());
+    }
+
+    @Test
+    void testSearchItemsFacetedWhenValid() throws Exception {
+        when(itemClient.searchItemsFaceted("дрель", List.of("инструмент", "дача"), 10))
+                .thenReturn(new ResponseEntity<>("{}", HttpStatus.OK));
+
+        mockMvc.perform(get("/items/search/facets")
+                        .param("text", "дрель")
+                        .param("tags", "инструмент", "дача")
+                        .param("limit", "10"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testCreateItemWhenTooManyTags() throws Exception {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Дрель");
+        itemDto.setDescription("Ударная");
+        itemDto.setAvailable(true);
+        itemDto.setTags(List.of("a", "b", "c", "d", "e", "f", "g", "h", "i", "j", "k"));
+
+        mockMvc.perform(post("/items")
+                        .header(USER_ID_HEADER, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(itemDto)))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).createItem(anyLong(), any(ItemDto.class));
+    }
+
+    @Test
+    void testSuggestItemsWhenValid() throws Exception {
+        when(itemClient.suggestItems("дре", 5))
+                .thenReturn(new ResponseEntity<>("[]", HttpStatus.OK));
+
+        mockMvc.perform(get("/items/suggest")
+                        .param("prefix", "дре")
+                        .param("limit", "5"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testSuggestItemsWhenLimitTooLarge() throws Exception {
+        mockMvc.perform(get("/items/suggest")
+                        .param("prefix", "дре")
+                        .param("limit", "500"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).suggestItems(anyString(), anyInt());
+    }
+
     @Test
     void testAddCommentWhenValid() throws Exception {
         when(itemClient.addComment(anyLong(), anyLong(), any(CommentCreateDto.class)))
@@ -158,4 +303,23 @@ class ItemControllerTest {
                         .content(objectMapper.writeValueAsString(invalidComment)))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetCommentsWhenValid() throws Exception {
+        when(itemClient.getComments(anyLong(), anyLong(), any(), anyInt()))
+                .thenReturn(new ResponseEntity<>("{}", HttpStatus.OK));
+
+        mockMvc.perform(get("/items/{itemId}/comments", 1L)
+                        .header(USER_ID_HEADER, 1L)
+                        .param("size", "50"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testGetCommentsWhenSizeTooLarge() throws Exception {
+        mockMvc.perform(get("/items/{itemId}/comments", 1L)
+                        .header(USER_ID_HEADER, 1L)
+                        .param("size", "101"))
+                .andExpect(status().isBadRequest());
+    }
+}
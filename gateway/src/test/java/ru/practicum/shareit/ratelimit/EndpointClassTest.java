@@ -0,0 +1,30 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EndpointClassTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/items/search",
+            "/items/search/fuzzy",
+            "/items/search/available",
+            "/items/search/facets",
+            "/items/suggest"
+    })
+    void classifiesEverySearchEndpointAsSearch(String path) {
+        assertThat(EndpointClass.of("GET", path)).isEqualTo(EndpointClass.SEARCH);
+    }
+
+    @Test
+    void classifiesOtherGetsAsReadAndMutationsAsWrite() {
+        assertThat(EndpointClass.of("GET", "/items/1")).isEqualTo(EndpointClass.READ);
+        assertThat(EndpointClass.of("GET", "/bookings/owner")).isEqualTo(EndpointClass.READ);
+        assertThat(EndpointClass.of("POST", "/items/search")).isEqualTo(EndpointClass.WRITE);
+        assertThat(EndpointClass.of("PATCH", "/items/1")).isEqualTo(EndpointClass.WRITE);
+    }
+}
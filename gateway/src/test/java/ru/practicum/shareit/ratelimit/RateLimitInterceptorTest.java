@@ -0,0 +1,57 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemController;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ItemController.class)
+@TestPropertySource(properties = {
+        "shareit-gateway.rate-limit.limits.search.capacity=2",
+        "shareit-gateway.rate-limit.limits.search.refill-per-second=0.1"
+})
+class RateLimitInterceptorTest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ItemClient itemClient;
+
+    @Test
+    void rejectsSearchOverLimitWithRetryAfter() throws Exception {
+        when(itemClient.searchItems(anyString()))
+                .thenReturn(new ResponseEntity<>("[]", HttpStatus.OK));
+        when(itemClient.getItem(anyLong(), anyLong()))
+                .thenReturn(new ResponseEntity<>("{}", HttpStatus.OK));
+
+        mockMvc.perform(get("/items/search").param("text", "drill").header(USER_ID_HEADER, 1L))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/items/search").param("text", "drill").header(USER_ID_HEADER, 1L))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/items/search").param("text", "drill").header(USER_ID_HEADER, 1L))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "10"))
+                .andExpect(jsonPath("$.error").exists());
+
+        mockMvc.perform(get("/items/search").param("text", "drill").header(USER_ID_HEADER, 2L))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/items/{itemId}", 1L).header(USER_ID_HEADER, 1L))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Tag("benchmark")
+class TokenBucketRateLimiterBenchmark {
+    private static final long DURATION_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    @Test
+    void throughput() throws InterruptedException {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit(1_000, 1_000_000);
+        for (int threads : new int[]{1, 4, 16}) {
+            run("hot key", threads, limit, 1);
+            run("10k users", threads, limit, 10_000);
+        }
+    }
+
+    private static void run(String name, int threads, RateLimitProperties.Limit limit, int users) throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100_000, TimeUnit.MINUTES.toNanos(10));
+        String[] keys = new String[users];
+        for (int i = 0; i < users; i++) {
+            keys[i] = String.valueOf(i);
+        }
+        LongAdder operations = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long deadline = System.nanoTime() + DURATION_NANOS;
+                long count = 0;
+                int i = offset;
+                while ((count & 1023) != 0 || System.nanoTime() < deadline) {
+                    limiter.tryAcquire(EndpointClass.READ, keys[i++ % keys.length], limit, System.nanoTime());
+                    count++;
+                }
+                operations.add(count);
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double opsPerSecond = operations.sum() / (DURATION_NANOS / 1e9);
+        System.out.printf("TokenBucketRateLimiter %-10s threads=%-3d %,.0f ops/s%n", name, threads, opsPerSecond);
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitProperties.Limit limit = new RateLimitProperties.Limit(3, 1);
+
+    @Test
+    void allowsBurstUpToCapacityThenRejects() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1000, 60 * SECOND);
+        long now = 1_000 * SECOND;
+
+        assertThat(limiter.tryAcquire(EndpointClass.SEARCH, "1", limit, now)).isZero();
+        assertThat(limiter.tryAcquire(EndpointClass.SEARCH, "1", limit, now)).isZero();
+        assertThat(limiter.tryAcquire(EndpointClass.SEARCH, "1", limit, now)).isZero();
+        assertThat(limiter.tryAcquire(EndpointClass.SEARCH, "1", limit, now)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void refillsOverTime() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1000, 60 * SECOND);
+        long now = 1_000 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire(EndpointClass.WRITE, "1", limit, now);
+        }
+
+        assertThat(limiter.tryAcquire(EndpointClass.WRITE, "1", limit, now + SECOND / 2)).isPositive();
+        assertThat(limiter.tryAcquire(EndpointClass.WRITE, "1", limit, now + SECOND)).isZero();
+    }
+
+    @Test
+    void keepsUsersAndEndpointClassesApart() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1000, 60 * SECOND);
+        long now = 1_000 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire(EndpointClass.SEARCH, "1", limit, now);
+        }
+
+        assertThat(limiter.tryAcquire(EndpointClass.SEARCH, "1", limit, now)).isPositive();
+        assertThat(limiter.tryAcquire(EndpointClass.SEARCH, "2", limit, now)).isZero();
+        assertThat(limiter.tryAcquire(EndpointClass.WRITE, "1", limit, now)).isZero();
+    }
+
+    @Test
+    void evictsIdleKeysToStayWithinBound() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(16, SECOND);
+        long now = 1_000 * SECOND;
+        for (int i = 0; i < 1_000; i++) {
+            limiter.tryAcquire(EndpointClass.READ, String.valueOf(i), limit, now + i * 2 * SECOND);
+        }
+
+        assertThat(limiter.size()).isLessThanOrEqualTo(32);
+    }
+
+    @Test
+    void floodOfNewKeysNeverThrottlesAnotherClient() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(16, 60 * SECOND);
+        long now = 1_000 * SECOND;
+        for (int i = 0; i < 1_000; i++) {
+            for (int j = 0; j < 3; j++) {
+                limiter.tryAcquire(EndpointClass.READ, "flood-" + i, limit, now);
+            }
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(EndpointClass.READ, "legit", limit, now)).isZero();
+        }
+        assertThat(limiter.tryAcquire(EndpointClass.READ, "legit", limit, now)).isPositive();
+        assertThat(limiter.size()).isLessThanOrEqualTo(16);
+    }
+
+    @Test
+    void grantsExactlyCapacityUnderContention() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1000, 60 * SECOND);
+        RateLimitProperties.Limit burst = new RateLimitProperties.Limit(100, 1);
+        long now = 1_000 * SECOND;
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 1_000; i++) {
+                    if (limiter.tryAcquire(EndpointClass.SEARCH, "hot", burst, now) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(granted.get()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.tracing;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+class TracingPropagationTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String PARENT_SPAN_ID = "00f067aa0ba902b7";
+
+    private static final AtomicReference<String> receivedTraceparent = new AtomicReference<>();
+    private static final HttpServer server = startServer();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private LocalSpanCollector collector;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void forwardsTraceContextToServer() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "1");
+        headers.set("traceparent", "00-" + TRACE_ID + "-" + PARENT_SPAN_ID + "-01");
+
+        ResponseEntity<String> response = new RestTemplate().exchange("http://localhost:" + port + "/users/1",
+                HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String[] forwarded = receivedTraceparent.get().split("-");
+        assertThat(forwarded[1]).isEqualTo(TRACE_ID);
+        assertThat(forwarded[2]).isNotEqualTo(PARENT_SPAN_ID);
+
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> collector.findByTraceId(TRACE_ID).stream().anyMatch(span -> span.getKind().equals("SERVER")));
+        List<SpanRecord> spans = collector.findByTraceId(TRACE_ID);
+        SpanRecord serverSpan = spans.stream().filter(span -> span.getKind().equals("SERVER")).findFirst().orElseThrow();
+        SpanRecord clientSpan = spans.stream().filter(span -> span.getKind().equals("CLIENT")).findFirst().orElseThrow();
+        assertThat(serverSpan.getParentSpanId()).isEqualTo(PARENT_SPAN_ID);
+        assertThat(clientSpan.getParentSpanId()).isEqualTo(serverSpan.getSpanId());
+        assertThat(clientSpan.getSpanId()).isEqualTo(forwarded[2]);
+    }
+
+    private static HttpServer startServer() {
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            httpServer.createContext("/users", exchange -> {
+                receivedTraceparent.set(exchange.getRequestHeaders().getFirst("traceparent"));
+                byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            httpServer.start();
+            return httpServer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -3,10 +3,17 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingHoldDto;
+import ru.practicum.shareit.booking.dto.BookingHoldRequestDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.WaitlistEntryDto;
+import ru.practicum.shareit.booking.dto.WaitlistRequestDto;
+import ru.practicum.shareit.booking.hold.BookingHoldService;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.waitlist.WaitlistService;
 
 import java.util.List;
 
@@ -15,6 +22,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BookingController {
     private final BookingService bookingService;
+    private final BookingHoldService bookingHoldService;
+    private final WaitlistService waitlistService;
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
 
     @PostMapping
@@ -24,6 +33,37 @@ public class BookingController {
         return bookingService.createBooking(bookingRequestDto, userId);
     }
 
+    @PostMapping("/holds")
+    @ResponseStatus(HttpStatus.CREATED)
+    public BookingHoldDto placeHold(@RequestBody BookingHoldRequestDto holdRequestDto,
+                                    @RequestHeader(USER_ID_HEADER) Long userId) {
+        return bookingHoldService.placeHold(holdRequestDto, userId);
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    public void releaseHold(@PathVariable Long holdId,
+                            @RequestHeader(USER_ID_HEADER) Long userId) {
+        bookingHoldService.releaseHold(holdId, userId);
+    }
+
+    @PostMapping("/waitlist")
+    @ResponseStatus(HttpStatus.CREATED)
+    public WaitlistEntryDto joinWaitlist(@RequestBody WaitlistRequestDto waitlistRequestDto,
+                                         @RequestHeader(USER_ID_HEADER) Long userId) {
+        return waitlistService.join(waitlistRequestDto, userId);
+    }
+
+    @GetMapping("/waitlist")
+    public List<WaitlistEntryDto> getWaitlist(@RequestHeader(USER_ID_HEADER) Long userId) {
+        return waitlistService.getEntries(userId);
+    }
+
+    @DeleteMapping("/waitlist/{entryId}")
+    public void leaveWaitlist(@PathVariable Long entryId,
+                              @RequestHeader(USER_ID_HEADER) Long userId) {
+        waitlistService.leave(entryId, userId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto approveBooking(@PathVariable Long bookingId,
                                      @RequestParam Boolean approved,
@@ -33,7 +73,11 @@ public class BookingController {
 
     @GetMapping("/{bookingId}")
     public BookingDto getBookingById(@PathVariable Long bookingId,
-                                     @RequestHeader(USER_ID_HEADER) Long userId) {
+                                     @RequestHeader(USER_ID_HEADER) Long userId,
+                                     WebRequest webRequest) {
+        if (webRequest.checkNotModified(bookingService.getBookingETag(bookingId, userId))) {
+            return null;
+        }
         return bookingService.getBookingById(bookingId, userId);
     }
 
@@ -43,7 +87,7 @@ public class BookingController {
             @RequestParam(defaultValue = "ALL") BookingState state,
             @RequestParam(defaultValue = "0") Integer from,
             @RequestParam(defaultValue = "10") Integer size) {
-        return bookingService.getBookingsByBooker(userId, state);
+        return bookingService.getBookingsByBooker(userId, state, from, size);
     }
 
     @GetMapping("/owner")
@@ -52,6 +96,6 @@ public class BookingController {
             @RequestParam(defaultValue = "ALL") BookingState state,
             @RequestParam(defaultValue = "0") Integer from,
             @RequestParam(defaultValue = "10") Integer size) {
-        return bookingService.getBookingsByOwner(userId, state);
+        return bookingService.getBookingsByOwner(userId, state, from, size);
     }
 }
\ No newline at end of file
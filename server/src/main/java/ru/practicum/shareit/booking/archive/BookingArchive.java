@@ -0,0 +1,54 @@
+package ru.practicum.shareit.booking.archive;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Immutable;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Завершённое бронирование, перенесённое из {@code bookings} в холодную историю.
+ * Строки только читаются: в архив они попадают запросом {@code INSERT ... SELECT}.
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Immutable
+@Table(name = "bookings_archive")
+public class BookingArchive {
+    @Id
+    Long id;
+
+    @Column(name = "start_date", nullable = false)
+    LocalDateTime start;
+
+    @Column(name = "end_date", nullable = false)
+    LocalDateTime end;
+
+    @ManyToOne
+    @JoinColumn(name = "item_id", nullable = false)
+    Item item;
+
+    @ManyToOne
+    @JoinColumn(name = "booker_id", nullable = false)
+    User booker;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    BookingStatus status;
+
+    @Column(nullable = false)
+    long version;
+
+    @Column(name = "archived_at", nullable = false)
+    LocalDateTime archivedAt;
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.booking.archive;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(BookingArchiveProperties.class)
+public class BookingArchiveConfig {
+
+    @Bean
+    public BookingArchiveSchema bookingArchiveSchema(JdbcTemplate jdbcTemplate) {
+        return new BookingArchiveSchema(jdbcTemplate);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "shareit.booking-archive", name = "enabled", matchIfMissing = true)
+    static class ArchiverConfig {
+
+        @Bean
+        public BookingArchiver bookingArchiver(BookingArchiveService archiveService,
+                                               BookingArchiveProperties properties,
+                                               MeterRegistry registry) {
+            return new BookingArchiver(archiveService, properties, registry);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.archive;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.booking-archive")
+public class BookingArchiveProperties {
+    boolean enabled = true;
+    /**
+     * Сколько бронирование хранится в {@code bookings} после окончания. Постраничное чтение считает,
+     * что всё начавшееся позже {@code now - retention} лежит в {@code bookings}, поэтому увеличивать окно
+     * можно только вместе с возвратом строк из архива.
+     */
+    Duration retention = Duration.ofDays(365);
+    Duration interval = Duration.ofHours(1);
+    int batchSize = 1000;
+}
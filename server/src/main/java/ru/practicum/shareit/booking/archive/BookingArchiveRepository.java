@@ -0,0 +1,50 @@
+package ru.practicum.shareit.booking.archive;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingVersionDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.dashboard.dto.BookingStatusCount;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BookingArchiveRepository extends JpaRepository<BookingArchive, Long> {
+
+    @Query("SELECT a FROM BookingArchive a JOIN FETCH a.item JOIN FETCH a.booker WHERE a.booker.id = :bookerId")
+    List<BookingArchive> findByBookerIdWithRelations(@Param("bookerId") Long bookerId, Pageable pageable);
+
+    @Query("SELECT a FROM BookingArchive a JOIN FETCH a.item i JOIN FETCH a.booker WHERE i.owner.id = :ownerId")
+    List<BookingArchive> findByItemOwnerIdWithRelations(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    @Query("SELECT a FROM BookingArchive a JOIN FETCH a.item JOIN FETCH a.booker WHERE a.booker.id = :bookerId AND a.status = :status")
+    List<BookingArchive> findByBookerIdAndStatusWithRelations(@Param("bookerId") Long bookerId, @Param("status") BookingStatus status, Pageable pageable);
+
+    @Query("SELECT a FROM BookingArchive a JOIN FETCH a.item i JOIN FETCH a.booker WHERE i.owner.id = :ownerId AND a.status = :status")
+    List<BookingArchive> findByItemOwnerIdAndStatusWithRelations(@Param("ownerId") Long ownerId, @Param("status") BookingStatus status, Pageable pageable);
+
+    @Query("SELECT a FROM BookingArchive a JOIN FETCH a.item JOIN FETCH a.booker WHERE a.id = :id")
+    Optional<BookingArchive> findByIdWithRelations(@Param("id") Long id);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingVersionDto(a.booker.id, a.item.owner.id, a.version, a.item.version) FROM BookingArchive a WHERE a.id = :id")
+    Optional<BookingVersionDto> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(a) > 0 FROM BookingArchive a WHERE a.item.id = :itemId AND a.booker.id = :bookerId AND a.status = 'APPROVED'")
+    boolean existsApprovedByItemIdAndBookerId(@Param("itemId") Long itemId, @Param("bookerId") Long bookerId);
+
+    @Query("SELECT new ru.practicum.shareit.dashboard.dto.BookingStatusCount(a.status, COUNT(a)) " +
+            "FROM BookingArchive a WHERE a.item.owner.id = :ownerId GROUP BY a.status")
+    List<BookingStatusCount> countByOwnerGroupByStatus(@Param("ownerId") Long ownerId);
+
+    @Modifying
+    @Query(value = "INSERT INTO bookings_archive (id, start_date, end_date, item_id, booker_id, status, version, archived_at) " +
+            "SELECT b.id, b.start_date, b.end_date, b.item_id, b.booker_id, b.status, b.version, :archivedAt " +
+            "FROM bookings b WHERE b.id IN (:ids)", nativeQuery = true)
+    int copyFromBookings(@Param("ids") List<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.booking.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import ru.practicum.shareit.booking.partition.YearPartitions;
+
+import java.sql.DatabaseMetaData;
+import java.util.Collection;
+
+/**
+ * Создаёт таблицу {@code bookings_archive} после {@code schema.sql}. На PostgreSQL архив секционируется
+ * по {@code end_date} (секция на год создаётся перед первым переносом в неё), на остальных базах это обычная таблица.
+ */
+@Slf4j
+public class BookingArchiveSchema implements InitializingBean {
+    private final JdbcTemplate jdbcTemplate;
+    private YearPartitions partitions;
+
+    public BookingArchiveSchema(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws MetaDataAccessException {
+        String url = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(), DatabaseMetaData::getURL);
+        boolean partitioned = DatabaseDriver.fromJdbcUrl(url) == DatabaseDriver.POSTGRESQL;
+        ClassPathResource script = new ClassPathResource(partitioned
+                ? "db/bookings-archive-postgresql.sql"
+                : "db/bookings-archive.sql");
+        DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(script), jdbcTemplate.getDataSource());
+        if (partitioned) {
+            partitions = new YearPartitions(jdbcTemplate, "bookings_archive");
+        }
+        log.info("Архив бронирований готов, секционирование по годам: {}", partitioned);
+    }
+
+    public boolean isPartitioned() {
+        return partitions != null;
+    }
+
+    /**
+     * Гарантирует годовые секции для переносимых строк. Выполняется в транзакции переноса.
+     */
+    public void ensurePartitions(Collection<Integer> years) {
+        if (partitions != null) {
+            partitions.ensure(years);
+        }
+    }
+}
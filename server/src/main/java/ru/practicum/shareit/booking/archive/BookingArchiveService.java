@@ -0,0 +1,53 @@
+package ru.practicum.shareit.booking.archive;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.pointer.BookingPointerService;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Переносит бронирования, закончившиеся раньше окна хранения, из {@code bookings} в {@code bookings_archive}.
+ * Порция блокируется через {@code FOR UPDATE SKIP LOCKED}, копируется одним {@code INSERT ... SELECT}
+ * и удаляется из основной таблицы в той же транзакции.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingArchiveService {
+    private final BookingRepository bookingRepository;
+    private final BookingArchiveRepository archiveRepository;
+    private final ItemRepository itemRepository;
+    private final BookingPointerService bookingPointerService;
+    private final BookingArchiveSchema archiveSchema;
+    private final BookingArchiveProperties properties;
+
+    /**
+     * Граница, раньше которой бронирования могут лежать в архиве.
+     */
+    public LocalDateTime horizon(LocalDateTime now) {
+        return now.minus(properties.getRetention());
+    }
+
+    @Transactional
+    public int archiveBatch(LocalDateTime now, int batchSize) {
+        List<Long> bookingIds = bookingRepository.lockEndedBeforeIds(horizon(now), batchSize);
+        if (bookingIds.isEmpty()) {
+            return 0;
+        }
+
+        archiveSchema.ensurePartitions(bookingRepository.findEndYearsByIds(bookingIds));
+        // Удаление обнулит ссылки в указателях, поэтому затронутые вещи нужно найти заранее
+        List<Long> itemIds = bookingPointerService.findItemsReferencing(bookingIds);
+        int archived = archiveRepository.copyFromBookings(bookingIds, now);
+        bookingRepository.deleteByIds(bookingIds);
+        if (!itemIds.isEmpty()) {
+            itemRepository.incrementVersions(itemIds);
+            itemIds.forEach(itemId -> bookingPointerService.refresh(itemId, now));
+        }
+        return archived;
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.booking.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+public class BookingArchiver {
+    private final BookingArchiveService archiveService;
+    private final BookingArchiveProperties properties;
+    private final Counter archived;
+    private final Counter batches;
+    private final Timer runs;
+
+    public BookingArchiver(BookingArchiveService archiveService,
+                           BookingArchiveProperties properties,
+                           MeterRegistry registry) {
+        this.archiveService = archiveService;
+        this.properties = properties;
+        this.archived = Counter.builder("shareit.bookings.archived")
+                .description("Бронирования, перенесённые в архив")
+                .register(registry);
+        this.batches = Counter.builder("shareit.bookings.archive.batches")
+                .description("Перенесённые в архив порции бронирований")
+                .register(registry);
+        this.runs = Timer.builder("shareit.bookings.archive.runs")
+                .description("Длительность переноса бронирований в архив")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-archive.interval:PT1H}",
+            initialDelayString = "${shareit.booking-archive.interval:PT1H}")
+    public void archive() {
+        runs.record(() -> {
+            int total = archive(LocalDateTime.now());
+            if (total > 0) {
+                log.info("В архив перенесено {} бронирований", total);
+            }
+        });
+    }
+
+    int archive(LocalDateTime now) {
+        int total = 0;
+        int processed;
+        do {
+            processed = archiveService.archiveBatch(now, properties.getBatchSize());
+            batches.increment();
+            archived.increment(processed);
+            total += processed;
+        } while (processed == properties.getBatchSize());
+        return total;
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.hold.BookingHold;
+
+/**
+ * Публикуется в транзакции, сохранившей удержание.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class BookingHoldPlacedEvent {
+    BookingHold hold;
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * Публикуется в транзакции, которая сняла удержания: отменой, бронированием или по истечении срока.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class BookingHoldsReleasedEvent {
+    List<Long> holdIds;
+}
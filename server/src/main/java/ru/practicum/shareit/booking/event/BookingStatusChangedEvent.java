@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.util.List;
+
+/**
+ * Публикуется, когда бронирования переходят из одного статуса в другой: одиночное подтверждение или пакетное истечение.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class BookingStatusChangedEvent {
+    List<Long> bookingIds;
+    BookingStatus previous;
+    BookingStatus current;
+}
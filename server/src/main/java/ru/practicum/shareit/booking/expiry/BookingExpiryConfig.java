@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration(proxyBeanMethods = false)
+@EnableScheduling
+@EnableConfigurationProperties(BookingExpiryProperties.class)
+@ConditionalOnProperty(prefix = "shareit.booking-expiry", name = "enabled", matchIfMissing = true)
+public class BookingExpiryConfig {
+
+    @Bean
+    public WaitingBookingSweeper waitingBookingSweeper(WaitingBookingExpiryService expiryService,
+                                                       BookingExpiryProperties properties,
+                                                       MeterRegistry registry) {
+        return new WaitingBookingSweeper(expiryService, properties, registry);
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.expiry;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.booking-expiry")
+public class BookingExpiryProperties {
+    boolean enabled = true;
+    Duration interval = Duration.ofMinutes(1);
+    int batchSize = 500;
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.booking.expiry;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.event.BookingStatusChangedEvent;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.pointer.BookingPointerService;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Переводит в {@link BookingStatus#EXPIRED} бронирования, которые так и остались в ожидании к моменту начала.
+ * Строки порции блокируются через {@code FOR UPDATE SKIP LOCKED}, поэтому несколько экземпляров сервера
+ * разбирают разные порции и не ждут друг друга.
+ */
+@Service
+@RequiredArgsConstructor
+public class WaitingBookingExpiryService {
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final BookingPointerService bookingPointerService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public int expireBatch(LocalDateTime now, int batchSize) {
+        List<Long> bookingIds = bookingRepository.lockStartedWaitingIds(now, batchSize);
+        if (bookingIds.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> itemIds = bookingRepository.findItemIdsByIds(bookingIds);
+        int expired = bookingRepository.updateStatus(bookingIds, BookingStatus.WAITING, BookingStatus.EXPIRED);
+        itemRepository.incrementVersions(itemIds);
+        bookingPointerService.onBookingsWithdrawn(bookingIds, now);
+        eventPublisher.publishEvent(new BookingStatusChangedEvent(bookingIds, BookingStatus.WAITING, BookingStatus.EXPIRED));
+        return expired;
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.booking.expiry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+public class WaitingBookingSweeper {
+    private final WaitingBookingExpiryService expiryService;
+    private final BookingExpiryProperties properties;
+    private final Counter expired;
+    private final Counter batches;
+    private final Timer sweeps;
+
+    public WaitingBookingSweeper(WaitingBookingExpiryService expiryService,
+                                 BookingExpiryProperties properties,
+                                 MeterRegistry registry) {
+        this.expiryService = expiryService;
+        this.properties = properties;
+        this.expired = Counter.builder("shareit.bookings.expired")
+                .description("Бронирования, переведённые из WAITING в EXPIRED")
+                .register(registry);
+        this.batches = Counter.builder("shareit.bookings.expiry.batches")
+                .description("Обработанные порции бронирований")
+                .register(registry);
+        this.sweeps = Timer.builder("shareit.bookings.expiry.sweeps")
+                .description("Длительность прохода по просроченным бронированиям")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-expiry.interval:PT1M}",
+            initialDelayString = "${shareit.booking-expiry.interval:PT1M}")
+    public void sweep() {
+        sweeps.record(() -> {
+            int total = sweep(LocalDateTime.now());
+            if (total > 0) {
+                log.info("Истёк срок ожидания подтверждения у {} бронирований", total);
+            }
+        });
+    }
+
+    int sweep(LocalDateTime now) {
+        int total = 0;
+        int processed;
+        do {
+            processed = expiryService.expireBatch(now, properties.getBatchSize());
+            batches.increment();
+            expired.increment(processed);
+            total += processed;
+        } while (processed == properties.getBatchSize());
+        return total;
+    }
+}
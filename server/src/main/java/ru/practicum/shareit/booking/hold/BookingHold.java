@@ -0,0 +1,41 @@
+package ru.practicum.shareit.booking.hold;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Удержание интервала вещи за пользователем до {@code expiresAt}: пока оно действует,
+ * другие пользователи не могут удержать или забронировать пересекающийся интервал.
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "booking_holds")
+public class BookingHold {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "item_id", nullable = false)
+    Long itemId;
+
+    @Column(name = "user_id", nullable = false)
+    Long userId;
+
+    @Column(name = "start_date", nullable = false)
+    LocalDateTime start;
+
+    @Column(name = "end_date", nullable = false)
+    LocalDateTime end;
+
+    @Column(name = "expires_at", nullable = false)
+    LocalDateTime expiresAt;
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.booking.hold;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(BookingHoldProperties.class)
+public class BookingHoldConfig {
+
+    @Bean
+    public BookingHoldStore bookingHoldStore(BookingHoldProperties properties, MeterRegistry registry) {
+        return new BookingHoldStore(properties, registry);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "shareit.booking-holds", name = "enabled", matchIfMissing = true)
+    static class ExpiryConfig {
+
+        @Bean
+        public BookingHoldExpirer bookingHoldExpirer(BookingHoldService holdService, MeterRegistry registry) {
+            return new BookingHoldExpirer(holdService, registry);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.booking.hold;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+public class BookingHoldExpirer {
+    private final BookingHoldService holdService;
+    private final Counter expired;
+
+    public BookingHoldExpirer(BookingHoldService holdService, MeterRegistry registry) {
+        this.holdService = holdService;
+        this.expired = Counter.builder("shareit.booking-holds.expired")
+                .description("Удержания, снятые по истечении срока")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        int recovered = holdService.recover(LocalDateTime.now());
+        if (recovered > 0) {
+            log.info("Восстановлено {} действующих удержаний", recovered);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-holds.tick:PT1S}",
+            initialDelayString = "${shareit.booking-holds.tick:PT1S}")
+    public void expire() {
+        expire(LocalDateTime.now());
+    }
+
+    int expire(LocalDateTime now) {
+        int count = holdService.expire(now);
+        expired.increment(count);
+        return count;
+    }
+}
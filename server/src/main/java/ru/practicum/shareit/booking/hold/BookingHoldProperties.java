@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.hold;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.booking-holds")
+public class BookingHoldProperties {
+    boolean enabled = true;
+    Duration defaultDuration = Duration.ofMinutes(10);
+    Duration maxDuration = Duration.ofMinutes(30);
+    /**
+     * Тик колеса таймеров: удержание снимается не позже чем через тик после истечения.
+     */
+    Duration tick = Duration.ofSeconds(1);
+}
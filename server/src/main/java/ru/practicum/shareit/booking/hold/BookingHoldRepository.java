@@ -0,0 +1,35 @@
+package ru.practicum.shareit.booking.hold;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BookingHoldRepository extends JpaRepository<BookingHold, Long> {
+
+    @Query("SELECT COUNT(h) > 0 FROM BookingHold h WHERE h.itemId = :itemId AND h.userId <> :userId " +
+            "AND h.end > :start AND h.start < :end AND h.expiresAt > :now")
+    boolean existsConflicting(@Param("itemId") Long itemId,
+                              @Param("userId") Long userId,
+                              @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end,
+                              @Param("now") LocalDateTime now);
+
+    @Query("SELECT h.id FROM BookingHold h WHERE h.itemId = :itemId AND h.userId = :userId " +
+            "AND h.end > :start AND h.start < :end")
+    List<Long> findOverlappingIds(@Param("itemId") Long itemId,
+                                  @Param("userId") Long userId,
+                                  @Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end);
+
+    List<BookingHold> findByExpiresAtAfter(LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM BookingHold h WHERE h.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
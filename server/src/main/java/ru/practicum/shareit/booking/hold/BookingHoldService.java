@@ -0,0 +1,183 @@
+package ru.practicum.shareit.booking.hold;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingHoldDto;
+import ru.practicum.shareit.booking.dto.BookingHoldRequestDto;
+import ru.practicum.shareit.booking.event.BookingHoldPlacedEvent;
+import ru.practicum.shareit.booking.event.BookingHoldsReleasedEvent;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.ItemNotFoundException;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Удержания интервалов вещи на время оформления бронирования. Занятый интервал сначала ищется
+ * в {@link BookingHoldStore}, и конкурирующий запрос отклоняется без обращения к базе. Окончательная
+ * проверка идёт по {@code booking_holds} под блокировкой строки вещи, поэтому два экземпляра сервера
+ * не выдадут пересекающиеся удержания, а бронирование не пройдёт поверх чужого удержания.
+ */
+@Service
+public class BookingHoldService {
+    private final BookingHoldRepository holdRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final BookingHoldStore store;
+    private final BookingHoldProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry registry;
+    private final Counter placed;
+
+    public BookingHoldService(BookingHoldRepository holdRepository,
+                              BookingRepository bookingRepository,
+                              ItemRepository itemRepository,
+                              UserRepository userRepository,
+                              BookingHoldStore store,
+                              BookingHoldProperties properties,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry registry) {
+        this.holdRepository = holdRepository;
+        this.bookingRepository = bookingRepository;
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.store = store;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.registry = registry;
+        this.placed = Counter.builder("shareit.booking-holds.placed")
+                .description("Поставленные удержания")
+                .register(registry);
+    }
+
+    @Transactional
+    public BookingHoldDto placeHold(BookingHoldRequestDto request, Long userId) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(String.format("Пользователь с ID %d не найден", userId)));
+        Item item = itemRepository.findById(request.getItemId())
+                .orElseThrow(() -> new ItemNotFoundException(String.format("Вещь с ID %d не найдена", request.getItemId())));
+
+        if (!item.isAvailable()) {
+            throw new ValidationException("Вещь недоступна для бронирования");
+        }
+        if (item.getOwner().getId().equals(userId)) {
+            throw new ValidationException("Нельзя удерживать свою же вещь");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (request.getStart() == null || request.getEnd() == null || !request.getStart().isBefore(request.getEnd())) {
+            throw new ValidationException("Некорректные даты удержания");
+        }
+        if (request.getStart().isBefore(now)) {
+            throw new ValidationException("Нельзя удерживать интервал в прошлом");
+        }
+        Duration duration = request.getMinutes() == null
+                ? properties.getDefaultDuration()
+                : Duration.ofMinutes(request.getMinutes());
+        if (duration.compareTo(Duration.ZERO) <= 0 || duration.compareTo(properties.getMaxDuration()) > 0) {
+            throw new ValidationException(String.format("Срок удержания должен быть от 1 до %d минут",
+                    properties.getMaxDuration().toMinutes()));
+        }
+
+        rejectIfHeld("hold", item.getId(), userId, request.getStart(), request.getEnd(), now);
+        if (bookingRepository.existsOverlapping(item.getId(), request.getStart(), request.getEnd(),
+                List.of(BookingStatus.APPROVED))) {
+            throw new ConflictException("Вещь уже забронирована на этот период");
+        }
+
+        BookingHold hold = holdRepository.save(new BookingHold(null, item.getId(), userId,
+                request.getStart(), request.getEnd(), now.plus(duration)));
+        eventPublisher.publishEvent(new BookingHoldPlacedEvent(hold));
+        placed.increment();
+        return toDto(hold);
+    }
+
+    @Transactional
+    public void releaseHold(Long holdId, Long userId) {
+        BookingHold hold = holdRepository.findById(holdId)
+                .orElseThrow(() -> new ItemNotFoundException(String.format("Удержание с ID %d не найдено", holdId)));
+        if (!hold.getUserId().equals(userId)) {
+            throw new AccessDeniedException("Снять удержание может только его владелец");
+        }
+        holdRepository.delete(hold);
+        eventPublisher.publishEvent(new BookingHoldsReleasedEvent(List.of(holdId)));
+    }
+
+    /**
+     * Проверяет, что интервал не удержан другим пользователем, и снимает пересекающиеся с ним удержания
+     * самого бронирующего. Вызывается в транзакции создания бронирования.
+     */
+    @Transactional
+    public void claim(Long itemId, Long bookerId, LocalDateTime start, LocalDateTime end) {
+        rejectIfHeld("booking", itemId, bookerId, start, end, LocalDateTime.now());
+
+        List<Long> ownHolds = holdRepository.findOverlappingIds(itemId, bookerId, start, end);
+        if (!ownHolds.isEmpty()) {
+            holdRepository.deleteAllByIdInBatch(ownHolds);
+            eventPublisher.publishEvent(new BookingHoldsReleasedEvent(ownHolds));
+        }
+    }
+
+    /**
+     * Снимает истёкшие удержания этого экземпляра и удаляет их строки.
+     */
+    @Transactional
+    public int expire(LocalDateTime now) {
+        List<Long> expired = store.expire(now).stream()
+                .map(BookingHold::getId)
+                .toList();
+        if (!expired.isEmpty()) {
+            holdRepository.deleteAllByIdInBatch(expired);
+        }
+        return expired.size();
+    }
+
+    /**
+     * Загружает в память действующие удержания после перезапуска и удаляет строки истёкших,
+     * в том числе оставшиеся от остановленных экземпляров.
+     */
+    @Transactional
+    public int recover(LocalDateTime now) {
+        holdRepository.deleteExpired(now);
+        List<BookingHold> active = holdRepository.findByExpiresAtAfter(now);
+        active.forEach(store::add);
+        return active.size();
+    }
+
+    private void rejectIfHeld(String operation, Long itemId, Long userId, LocalDateTime start, LocalDateTime end,
+                              LocalDateTime now) {
+        if (store.findConflict(itemId, userId, start, end, now) != null) {
+            contention(operation, "memory").increment();
+            throw new ConflictException("Интервал удерживается другим пользователем");
+        }
+        itemRepository.findForUpdate(itemId);
+        if (holdRepository.existsConflicting(itemId, userId, start, end, now)) {
+            contention(operation, "database").increment();
+            throw new ConflictException("Интервал удерживается другим пользователем");
+        }
+    }
+
+    private Counter contention(String operation, String source) {
+        return Counter.builder("shareit.booking-holds.contention")
+                .description("Запросы, отклонённые из-за чужого удержания")
+                .tag("operation", operation)
+                .tag("source", source)
+                .register(registry);
+    }
+
+    private static BookingHoldDto toDto(BookingHold hold) {
+        return new BookingHoldDto(hold.getId(), hold.getItemId(), hold.getStart(), hold.getEnd(), hold.getExpiresAt());
+    }
+}
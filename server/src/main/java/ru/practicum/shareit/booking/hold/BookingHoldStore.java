@@ -0,0 +1,147 @@
+package ru.practicum.shareit.booking.hold;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.event.BookingHoldPlacedEvent;
+import ru.practicum.shareit.booking.event.BookingHoldsReleasedEvent;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Действующие удержания этого экземпляра сервера. Проверка пересечения читает неизменяемый список
+ * удержаний вещи без блокировок; изменения идут под одной блокировкой с колесом таймеров и заменяют
+ * список целиком. Сроки ведёт {@link TimerWheel}, поэтому снятие просроченных удержаний
+ * не перебирает все удержания.
+ * <p>
+ * Удержания, поставленные на других экземплярах, здесь не видны: окончательную проверку делает
+ * {@link BookingHoldService} по таблице {@code booking_holds}.
+ */
+public class BookingHoldStore {
+    private final ConcurrentMap<Long, List<BookingHold>> byItem = new ConcurrentHashMap<>();
+    private final Map<Long, TimerWheel.Timer<BookingHold>> timers = new HashMap<>();
+    private final TimerWheel<BookingHold> wheel;
+    private final ReentrantLock wheelLock = new ReentrantLock();
+
+    public BookingHoldStore(BookingHoldProperties properties, MeterRegistry registry) {
+        this.wheel = new TimerWheel<>(properties.getTick().toMillis(), toMillis(LocalDateTime.now()));
+        Gauge.builder("shareit.booking-holds.active", this, BookingHoldStore::size)
+                .description("Действующие удержания в памяти экземпляра")
+                .register(registry);
+    }
+
+    /**
+     * Действующее удержание другого пользователя, пересекающее {@code [start, end)}, или {@code null}.
+     */
+    public BookingHold findConflict(Long itemId, Long userId, LocalDateTime start, LocalDateTime end,
+                                    LocalDateTime now) {
+        for (BookingHold hold : byItem.getOrDefault(itemId, List.of())) {
+            if (!hold.getUserId().equals(userId) && hold.getExpiresAt().isAfter(now)
+                    && hold.getEnd().isAfter(start) && hold.getStart().isBefore(end)) {
+                return hold;
+            }
+        }
+        return null;
+    }
+
+    public void add(BookingHold hold) {
+        wheelLock.lock();
+        try {
+            if (timers.containsKey(hold.getId())) {
+                return;
+            }
+            timers.put(hold.getId(), wheel.schedule(hold, toMillis(hold.getExpiresAt())));
+            byItem.compute(hold.getItemId(), (itemId, holds) -> {
+                List<BookingHold> updated = holds == null ? new ArrayList<>() : new ArrayList<>(holds);
+                updated.add(hold);
+                return List.copyOf(updated);
+            });
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    public void remove(Collection<Long> holdIds) {
+        wheelLock.lock();
+        try {
+            for (Long holdId : holdIds) {
+                TimerWheel.Timer<BookingHold> timer = timers.remove(holdId);
+                if (timer != null) {
+                    wheel.cancel(timer);
+                    detach(timer.value);
+                }
+            }
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    /**
+     * Продвигает колесо до {@code now} и возвращает снятые удержания.
+     */
+    public List<BookingHold> expire(LocalDateTime now) {
+        List<BookingHold> expired = new ArrayList<>();
+        wheelLock.lock();
+        try {
+            wheel.advance(toMillis(now), hold -> {
+                timers.remove(hold.getId());
+                detach(hold);
+                expired.add(hold);
+            });
+        } finally {
+            wheelLock.unlock();
+        }
+        return expired;
+    }
+
+    public int size() {
+        wheelLock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPlaced(BookingHoldPlacedEvent event) {
+        add(event.getHold());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReleased(BookingHoldsReleasedEvent event) {
+        remove(event.getHoldIds());
+    }
+
+    boolean contains(Long holdId) {
+        wheelLock.lock();
+        try {
+            return timers.containsKey(holdId);
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    private void detach(BookingHold hold) {
+        byItem.computeIfPresent(hold.getItemId(), (itemId, holds) -> {
+            List<BookingHold> remaining = holds.stream()
+                    .filter(other -> !other.getId().equals(hold.getId()))
+                    .toList();
+            return remaining.isEmpty() ? null : remaining;
+        });
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
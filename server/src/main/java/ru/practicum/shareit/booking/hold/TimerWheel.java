@@ -0,0 +1,140 @@
+package ru.practicum.shareit.booking.hold;
+
+import java.util.function.Consumer;
+
+/**
+ * Иерархическое колесо таймеров: четыре уровня по 64 слота, слот нижнего уровня — один тик,
+ * слот каждого следующего — 64 слота предыдущего. Постановка и отмена таймера — O(1),
+ * продвижение на тик — O(1) плюс таймеры, которые в нём срабатывают или спускаются с верхнего уровня.
+ * Таймер не срабатывает раньше своего срока. Класс не потокобезопасен.
+ */
+final class TimerWheel<T> {
+    static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+    private final Timer<T>[][] wheels;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(long tickMillis, long nowMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Длительность тика должна быть положительной");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+        this.wheels = new Timer[LEVELS][SLOTS];
+        for (Timer<T>[] wheel : wheels) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                Timer<T> head = new Timer<>(null, 0);
+                head.prev = head;
+                head.next = head;
+                wheel[slot] = head;
+            }
+        }
+    }
+
+    /**
+     * Срок округляется вверх до тика; уже наступивший срок сработает при следующем продвижении.
+     */
+    Timer<T> schedule(T value, long deadlineMillis) {
+        long deadline = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        Timer<T> timer = new Timer<>(value, deadline);
+        insert(timer);
+        size++;
+        return timer;
+    }
+
+    boolean cancel(Timer<T> timer) {
+        if (timer.next == null) {
+            return false;
+        }
+        unlink(timer);
+        size--;
+        return true;
+    }
+
+    void advance(long nowMillis, Consumer<T> expired) {
+        long target = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < target) {
+            if (size == 0) {
+                currentTick = target;
+                return;
+            }
+            currentTick++;
+            cascade();
+            Timer<T> head = wheels[0][(int) (currentTick & SLOT_MASK)];
+            while (head.next != head) {
+                Timer<T> timer = head.next;
+                unlink(timer);
+                size--;
+                expired.accept(timer.value);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * На границе слота уровня {@code level} его таймеры раскладываются по нижним уровням. Таймеры
+     * верхнего уровня, которые должны сработать в текущем тике, попадают в текущий слот нижнего уровня
+     * и срабатывают сразу после спуска.
+     */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            int shift = SLOT_BITS * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                return;
+            }
+            Timer<T> head = wheels[level][(int) ((currentTick >>> shift) & SLOT_MASK)];
+            Timer<T> timer = head.next;
+            head.next = head;
+            head.prev = head;
+            while (timer != head) {
+                Timer<T> next = timer.next;
+                insert(timer);
+                timer = next;
+            }
+        }
+    }
+
+    private void insert(Timer<T> timer) {
+        long delta = timer.deadline - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        // Дальше горизонта колеса таймер ждёт в верхнем уровне и перераскладывается при спуске
+        long tick = Math.min(timer.deadline, currentTick + MAX_DELTA);
+        Timer<T> head = wheels[level][(int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK)];
+        timer.prev = head.prev;
+        timer.next = head;
+        head.prev.next = timer;
+        head.prev = timer;
+    }
+
+    private static <T> void unlink(Timer<T> timer) {
+        timer.prev.next = timer.next;
+        timer.next.prev = timer.prev;
+        timer.prev = null;
+        timer.next = null;
+    }
+
+    static final class Timer<T> {
+        final T value;
+        final long deadline;
+        Timer<T> prev;
+        Timer<T> next;
+
+        private Timer(T value, long deadline) {
+            this.value = value;
+            this.deadline = deadline;
+        }
+    }
+}
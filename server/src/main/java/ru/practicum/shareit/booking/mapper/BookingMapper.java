@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.mapper;
 
+import ru.practicum.shareit.booking.archive.BookingArchive;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingItemDto;
 import ru.practicum.shareit.booking.dto.BookingUserDto;
@@ -23,4 +24,21 @@ public class BookingMapper {
                 booking.getStatus()
         );
     }
+
+    public static BookingDto toBookingDto(BookingArchive booking) {
+        return new BookingDto(
+                booking.getId(),
+                booking.getStart(),
+                booking.getEnd(),
+                new BookingItemDto(
+                        booking.getItem().getId(),
+                        booking.getItem().getName()
+                ),
+                new BookingUserDto(
+                        booking.getBooker().getId(),
+                        booking.getBooker().getName()
+                ),
+                booking.getStatus()
+        );
+    }
 }
\ No newline at end of file
@@ -39,4 +39,7 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     BookingStatus status;
+
+    @Column(nullable = false, insertable = false, updatable = false)
+    long version;
 }
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.booking.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Секции таблицы {@code bookings}. На PostgreSQL она секционирована по {@code end_date} (см. {@code schema-postgresql.sql}):
+ * секции на текущий и следующий год создаются при запуске, более дальние — перед первым бронированием в них.
+ * На остальных базах таблица обычная и методы ничего не делают.
+ */
+@Slf4j
+@Component
+public class BookingPartitions implements InitializingBean {
+    private final JdbcTemplate jdbcTemplate;
+    private YearPartitions partitions;
+
+    public BookingPartitions(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws MetaDataAccessException {
+        String url = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(), DatabaseMetaData::getURL);
+        if (DatabaseDriver.fromJdbcUrl(url) != DatabaseDriver.POSTGRESQL) {
+            return;
+        }
+        partitions = new YearPartitions(jdbcTemplate, "bookings");
+        int year = LocalDate.now().getYear();
+        partitions.ensure(List.of(year, year + 1));
+        log.info("Секции бронирований на {} и {} годы готовы", year, year + 1);
+    }
+
+    public void ensureFor(LocalDateTime end) {
+        if (partitions != null) {
+            partitions.ensure(List.of(end.getYear()));
+        }
+    }
+}
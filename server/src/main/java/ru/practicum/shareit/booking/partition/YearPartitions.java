@@ -0,0 +1,52 @@
+package ru.practicum.shareit.booking.partition;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Годовые секции таблицы PostgreSQL, секционированной по {@code end_date}. Секция создаётся до первой записи
+ * в неё, чтобы строки не оседали в секции по умолчанию: пока там есть строки года, секцию на этот год не создать.
+ */
+public class YearPartitions {
+    private final JdbcTemplate jdbcTemplate;
+    private final String table;
+    private final Set<Integer> knownPartitions = ConcurrentHashMap.newKeySet();
+
+    public YearPartitions(JdbcTemplate jdbcTemplate, String table) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.table = table;
+    }
+
+    /**
+     * В транзакции секция запоминается только после фиксации: DDL в PostgreSQL транзакционен.
+     */
+    public void ensure(Collection<Integer> years) {
+        for (Integer year : years) {
+            if (knownPartitions.contains(year)) {
+                continue;
+            }
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %1$s_y%2$d PARTITION OF %1$s " +
+                            "FOR VALUES FROM ('%2$d-01-01') TO ('%3$d-01-01')", table, year, year + 1));
+            rememberAfterCommit(year);
+        }
+    }
+
+    private void rememberAfterCommit(Integer year) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            knownPartitions.add(year);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                knownPartitions.add(year);
+            }
+        });
+    }
+}
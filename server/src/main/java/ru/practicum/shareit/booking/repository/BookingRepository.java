@@ -1,14 +1,23 @@
 package ru.practicum.shareit.booking.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingVersionDto;
 import ru.practicum.shareit.booking.model.Booking;
-import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.stream.BookingParticipants;
+import ru.practicum.shareit.dashboard.dto.BookingStatusCount;
+import ru.practicum.shareit.dashboard.dto.OwnerBookingCount;
+import ru.practicum.shareit.item.pointer.BookingSnapshot;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,50 +25,119 @@ import java.util.Optional;
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     @Query("SELECT DISTINCT b FROM Booking b LEFT JOIN FETCH b.item i LEFT JOIN FETCH b.booker WHERE b.booker.id = :bookerId")
-    List<Booking> findByBookerIdWithRelations(@Param("bookerId") Long bookerId, Sort sort);
+    List<Booking> findByBookerIdWithRelations(@Param("bookerId") Long bookerId, Pageable pageable);
 
     @Query("SELECT DISTINCT b FROM Booking b LEFT JOIN FETCH b.item i LEFT JOIN FETCH b.booker WHERE b.item.owner.id = :ownerId")
-    List<Booking> findByItemOwnerIdWithRelations(@Param("ownerId") Long ownerId, Sort sort);
+    List<Booking> findByItemOwnerIdWithRelations(@Param("ownerId") Long ownerId, Pageable pageable);
 
     @Query("SELECT DISTINCT b FROM Booking b LEFT JOIN FETCH b.item i LEFT JOIN FETCH b.booker WHERE b.booker.id = :bookerId AND b.status = :status")
-    List<Booking> findByBookerIdAndStatusWithRelations(@Param("bookerId") Long bookerId, @Param("status") BookingStatus status, Sort sort);
+    List<Booking> findByBookerIdAndStatusWithRelations(@Param("bookerId") Long bookerId, @Param("status") BookingStatus status, Pageable pageable);
 
     @Query("SELECT DISTINCT b FROM Booking b LEFT JOIN FETCH b.item i LEFT JOIN FETCH b.booker WHERE b.item.owner.id = :ownerId AND b.status = :status")
-    List<Booking> findByItemOwnerIdAndStatusWithRelations(@Param("ownerId") Long ownerId, @Param("status") BookingStatus status, Sort sort);
+    List<Booking> findByItemOwnerIdAndStatusWithRelations(@Param("ownerId") Long ownerId, @Param("status") BookingStatus status, Pageable pageable);
 
     @Query("SELECT DISTINCT b FROM Booking b LEFT JOIN FETCH b.item i LEFT JOIN FETCH b.booker WHERE b.booker.id = :bookerId AND b.end < :end")
-    List<Booking> findByBookerIdAndEndBeforeWithRelations(@Param("bookerId") Long bookerId, @Param("end") LocalDateTime end, Sort sort);
+    List<Booking> findByBookerIdAndEndBeforeWithRelations(@Param("bookerId") Long bookerId, @Param("end") LocalDateTime end, Pageable pageable);
 
     @Query("SELECT DISTINCT b FROM Booking b LEFT JOIN FETCH b.item i LEFT JOIN FETCH b.booker WHERE b.booker.id = :bookerId AND b.start > :start")
-    List<Booking> findByBookerIdAndStartAfterWithRelations(@Param("bookerId") Long bookerId, @Param("start") LocalDateTime start, Sort sort);
+    List<Booking> findByBookerIdAndStartAfterWithRelations(@Param("bookerId") Long bookerId, @Param("start") LocalDateTime start, Pageable pageable);
 
     @Query("SELECT DISTINCT b FROM Booking b LEFT JOIN FETCH b.item i LEFT JOIN FETCH b.booker WHERE b.booker.id = :bookerId AND b.start < :start AND b.end > :end")
-    List<Booking> findByBookerIdAndStartBeforeAndEndAfterWithRelations(@Param("bookerId") Long bookerId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end, Sort sort);
+    List<Booking> findByBookerIdAndStartBeforeAndEndAfterWithRelations(@Param("bookerId") Long bookerId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end, Pageable pageable);
 
     @Query("SELECT DISTINCT b FROM Booking b LEFT JOIN FETCH b.item i LEFT JOIN FETCH b.booker WHERE b.item.owner.id = :ownerId AND b.end < :end")
-    List<Booking> findByItemOwnerIdAndEndBeforeWithRelations(@Param("ownerId") Long ownerId, @Param("end") LocalDateTime end, Sort sort);
+    List<Booking> findByItemOwnerIdAndEndBeforeWithRelations(@Param("ownerId") Long ownerId, @Param("end") LocalDateTime end, Pageable pageable);
 
     @Query("SELECT DISTINCT b FROM Booking b LEFT JOIN FETCH b.item i LEFT JOIN FETCH b.booker WHERE b.item.owner.id = :ownerId AND b.start > :start")
-    List<Booking> findByItemOwnerIdAndStartAfterWithRelations(@Param("ownerId") Long ownerId, @Param("start") LocalDateTime start, Sort sort);
+    List<Booking> findByItemOwnerIdAndStartAfterWithRelations(@Param("ownerId") Long ownerId, @Param("start") LocalDateTime start, Pageable pageable);
 
     @Query("SELECT DISTINCT b FROM Booking b LEFT JOIN FETCH b.item i LEFT JOIN FETCH b.booker WHERE b.item.owner.id = :ownerId AND b.start < :start AND b.end > :end")
-    List<Booking> findByItemOwnerIdAndStartBeforeAndEndAfterWithRelations(@Param("ownerId") Long ownerId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end, Sort sort);
+    List<Booking> findByItemOwnerIdAndStartBeforeAndEndAfterWithRelations(@Param("ownerId") Long ownerId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end, Pageable pageable);
 
     @Query("SELECT DISTINCT b FROM Booking b LEFT JOIN FETCH b.item i LEFT JOIN FETCH b.booker WHERE b.id = :id")
     Optional<Booking> findByIdWithRelations(@Param("id") Long id);
 
-    @Query("SELECT DISTINCT b FROM Booking b LEFT JOIN FETCH b.booker WHERE b.item.id = :itemId AND b.end < CURRENT_TIMESTAMP ORDER BY b.end DESC")
-    List<Booking> findPastBookingsForItem(@Param("itemId") Long itemId);
+    @Query("SELECT new ru.practicum.shareit.item.pointer.BookingSnapshot(b.id, b.booker.id, b.start, b.end) " +
+            "FROM Booking b WHERE b.item.id = :itemId AND b.status IN :statuses AND b.end < :now " +
+            "ORDER BY b.end DESC, b.id DESC")
+    List<BookingSnapshot> findLastBookingSnapshots(@Param("itemId") Long itemId,
+                                                   @Param("now") LocalDateTime now,
+                                                   @Param("statuses") List<BookingStatus> statuses,
+                                                   Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.item.pointer.BookingSnapshot(b.id, b.booker.id, b.start, b.end) " +
+            "FROM Booking b WHERE b.item.id = :itemId AND b.status IN :statuses AND b.start > :now " +
+            "ORDER BY b.start ASC, b.id ASC")
+    List<BookingSnapshot> findNextBookingSnapshots(@Param("itemId") Long itemId,
+                                                   @Param("now") LocalDateTime now,
+                                                   @Param("statuses") List<BookingStatus> statuses,
+                                                   Pageable pageable);
+
+    @Query("SELECT MIN(b.end) FROM Booking b WHERE b.item.id = :itemId AND b.status IN :statuses AND b.end >= :now")
+    LocalDateTime findEarliestEndNotBefore(@Param("itemId") Long itemId,
+                                           @Param("now") LocalDateTime now,
+                                           @Param("statuses") List<BookingStatus> statuses);
 
-    @Query("SELECT DISTINCT b FROM Booking b LEFT JOIN FETCH b.booker WHERE b.item.id = :itemId AND b.start > CURRENT_TIMESTAMP ORDER BY b.start ASC")
-    List<Booking> findFutureBookingsForItem(@Param("itemId") Long itemId);
+    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.item.id = :itemId AND b.booker.id = :bookerId AND b.status = 'APPROVED' AND b.end < CURRENT_TIMESTAMP")
+    boolean existsByItemIdAndBookerIdAndEndBefore(@Param("itemId") Long itemId, @Param("bookerId") Long bookerId);
 
-    @Query("SELECT DISTINCT b FROM Booking b LEFT JOIN FETCH b.booker WHERE b.item.id IN :itemIds AND b.end < CURRENT_TIMESTAMP ORDER BY b.end DESC")
-    List<Booking> findPastBookingsByItemIds(@Param("itemIds") List<Long> itemIds);
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingVersionDto(b.booker.id, b.item.owner.id, b.version, b.item.version) FROM Booking b WHERE b.id = :id")
+    Optional<BookingVersionDto> findVersionById(@Param("id") Long id);
 
-    @Query("SELECT DISTINCT b FROM Booking b LEFT JOIN FETCH b.booker WHERE b.item.id IN :itemIds AND b.start > CURRENT_TIMESTAMP ORDER BY b.start ASC")
-    List<Booking> findFutureBookingsByItemIds(@Param("itemIds") List<Long> itemIds);
+    @Modifying
+    @Query("UPDATE Booking b SET b.version = b.version + 1 WHERE b.id = :id")
+    void incrementVersion(@Param("id") Long id);
 
-    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.item.id = :itemId AND b.booker.id = :bookerId AND b.status = 'APPROVED' AND b.end < CURRENT_TIMESTAMP")
-    boolean existsByItemIdAndBookerIdAndEndBefore(@Param("itemId") Long itemId, @Param("bookerId") Long bookerId);
+    @Query("SELECT COUNT(b) FROM Booking b WHERE b.item.id = :itemId AND b.start < CURRENT_TIMESTAMP")
+    long countStartedBookingsForItem(@Param("itemId") Long itemId);
+
+    @Query("SELECT COUNT(b) FROM Booking b WHERE b.item.id = :itemId AND b.end < CURRENT_TIMESTAMP")
+    long countFinishedBookingsForItem(@Param("itemId") Long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findForUpdate(@Param("id") Long id);
+
+    @Query(value = "SELECT b.id FROM bookings b WHERE b.status = 'WAITING' AND b.start_date < :now " +
+            "ORDER BY b.start_date LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockStartedWaitingIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Query("SELECT DISTINCT b.item.id FROM Booking b WHERE b.id IN :ids")
+    List<Long> findItemIdsByIds(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status, b.version = b.version + 1 WHERE b.id IN :ids AND b.status = :expected")
+    int updateStatus(@Param("ids") List<Long> ids,
+                     @Param("expected") BookingStatus expected,
+                     @Param("status") BookingStatus status);
+
+    @Query(value = "SELECT b.id FROM bookings b WHERE b.end_date < :cutoff " +
+            "ORDER BY b.end_date LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockEndedBeforeIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Query("SELECT DISTINCT YEAR(b.end) FROM Booking b WHERE b.id IN :ids")
+    List<Integer> findEndYearsByIds(@Param("ids") List<Long> ids);
+
+    @Query("SELECT new ru.practicum.shareit.dashboard.dto.BookingStatusCount(b.status, COUNT(b)) " +
+            "FROM Booking b WHERE b.item.owner.id = :ownerId GROUP BY b.status")
+    List<BookingStatusCount> countByOwnerGroupByStatus(@Param("ownerId") Long ownerId);
+
+    @Query("SELECT new ru.practicum.shareit.dashboard.dto.OwnerBookingCount(b.item.owner.id, COUNT(b)) " +
+            "FROM Booking b WHERE b.id IN :ids GROUP BY b.item.owner.id ORDER BY b.item.owner.id")
+    List<OwnerBookingCount> countByOwnerForIds(@Param("ids") List<Long> ids);
+
+    @Query("SELECT new ru.practicum.shareit.booking.stream.BookingParticipants(b.id, b.item.id, b.booker.id, b.item.owner.id) " +
+            "FROM Booking b WHERE b.id IN :ids")
+    List<BookingParticipants> findParticipantsByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+
+    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.item.id = :itemId AND b.status IN :statuses " +
+            "AND b.end > :start AND b.start < :end")
+    boolean existsOverlapping(@Param("itemId") Long itemId,
+                              @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end,
+                              @Param("statuses") Collection<BookingStatus> statuses);
 }
@@ -13,7 +13,9 @@ public interface BookingService {
 
     BookingDto getBookingById(Long bookingId, Long userId);
 
-    List<BookingDto> getBookingsByBooker(Long bookerId, BookingState state);
+    String getBookingETag(Long bookingId, Long userId);
 
-    List<BookingDto> getBookingsByOwner(Long ownerId, BookingState state);
+    List<BookingDto> getBookingsByBooker(Long bookerId, BookingState state, int from, int size);
+
+    List<BookingDto> getBookingsByOwner(Long ownerId, BookingState state, int from, int size);
 }
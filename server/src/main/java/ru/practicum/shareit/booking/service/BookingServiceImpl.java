@@ -1,26 +1,42 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.archive.BookingArchive;
+import ru.practicum.shareit.booking.archive.BookingArchiveRepository;
+import ru.practicum.shareit.booking.archive.BookingArchiveService;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingVersionDto;
+import ru.practicum.shareit.booking.event.BookingCreatedEvent;
+import ru.practicum.shareit.booking.event.BookingStatusChangedEvent;
+import ru.practicum.shareit.booking.hold.BookingHoldService;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.partition.BookingPartitions;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.pointer.BookingPointerService;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -28,10 +44,21 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final BookingPointerService bookingPointerService;
+    private final BookingHoldService bookingHoldService;
+    private final BookingPartitions bookingPartitions;
 
-    private final Sort sort = Sort.by(Sort.Direction.DESC, "start");
+    private final BookingArchiveRepository archiveRepository;
+    private final BookingArchiveService archiveService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final Comparator<BookingDto> NEWEST_FIRST =
+            Comparator.comparing(BookingDto::getStart).thenComparing(BookingDto::getId).reversed();
+
+    private final Sort sort = Sort.by(Sort.Direction.DESC, "start").and(Sort.by(Sort.Direction.DESC, "id"));
 
     @Override
+    @Transactional
     public BookingDto createBooking(BookingRequestDto bookingRequestDto, Long bookerId) {
         User user = userRepository.findById(bookerId)
                 .orElseThrow(() -> new UserNotFoundException(String.format("Пользователь с ID %d не найден", bookerId)));
@@ -56,6 +83,8 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidationException("Нельзя бронировать в прошлом");
         }
 
+        bookingHoldService.claim(item.getId(), bookerId, bookingRequestDto.getStart(), bookingRequestDto.getEnd());
+
         Booking booking = new Booking();
         booking.setStart(bookingRequestDto.getStart());
         booking.setEnd(bookingRequestDto.getEnd());
@@ -63,13 +92,19 @@ public class BookingServiceImpl implements BookingService {
         booking.setBooker(user);
         booking.setStatus(BookingStatus.WAITING);
 
+        bookingPartitions.ensureFor(booking.getEnd());
         Booking savedBooking = bookingRepository.save(booking);
+        itemRepository.incrementVersion(item.getId());
+        bookingPointerService.onBookingCreated(savedBooking, LocalDateTime.now());
+        eventPublisher.publishEvent(new BookingCreatedEvent(savedBooking.getId(), item.getOwner().getId(), savedBooking.getStatus()));
         return BookingMapper.toBookingDto(savedBooking);
     }
 
     @Override
+    @Transactional
     public BookingDto approveBooking(Long bookingId, Long ownerId, boolean approved) {
-        Booking booking = bookingRepository.findById(bookingId)
+        // Блокировка строки не даёт подтвердить бронирование, которое параллельно снимает WaitingBookingSweeper
+        Booking booking = bookingRepository.findForUpdate(bookingId)
                 .orElseThrow(() -> new ItemNotFoundException(String.format("Бронирование с ID %d не найдено", bookingId)));
 
         if (!booking.getItem().getOwner().getId().equals(ownerId)) {
@@ -82,13 +117,19 @@ public class BookingServiceImpl implements BookingService {
 
         booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
         Booking updatedBooking = bookingRepository.save(booking);
+        bookingRepository.incrementVersion(bookingId);
+        itemRepository.incrementVersion(booking.getItem().getId());
+        bookingPointerService.onBookingStatusChanged(updatedBooking, LocalDateTime.now());
+        eventPublisher.publishEvent(new BookingStatusChangedEvent(List.of(bookingId), BookingStatus.WAITING, updatedBooking.getStatus()));
         return BookingMapper.toBookingDto(updatedBooking);
     }
 
     @Override
     public BookingDto getBookingById(Long bookingId, Long userId) {
-        Booking booking = bookingRepository.findByIdWithRelations(bookingId)
-                .orElseThrow(() -> new ItemNotFoundException(String.format("Бронирование с ID %d не найдено", bookingId)));
+        Booking booking = bookingRepository.findByIdWithRelations(bookingId).orElse(null);
+        if (booking == null) {
+            return getArchivedBookingById(bookingId, userId);
+        }
 
         if (!booking.getBooker().getId().equals(userId) && !booking.getItem().getOwner().getId().equals(userId)) {
             throw new ValidationException("Нет доступа к данному бронированию");
@@ -97,74 +138,146 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDto> getBookingsByBooker(Long bookerId, BookingState state) {
+    public String getBookingETag(Long bookingId, Long userId) {
+        BookingVersionDto version = bookingRepository.findVersionById(bookingId)
+                .or(() -> archiveRepository.findVersionById(bookingId))
+                .orElseThrow(() -> new ItemNotFoundException(String.format("Бронирование с ID %d не найдено", bookingId)));
+
+        if (!version.getBookerId().equals(userId) && !version.getOwnerId().equals(userId)) {
+            throw new ValidationException("Нет доступа к данному бронированию");
+        }
+        return "booking-" + bookingId + "-v" + version.getVersion() + "." + version.getItemVersion();
+    }
+
+    @Override
+    public List<BookingDto> getBookingsByBooker(Long bookerId, BookingState state, int from, int size) {
         userRepository.findById(bookerId)
                 .orElseThrow(() -> new UserNotFoundException(String.format("Пользователь с ID %d не найден", bookerId)));
+        validatePage(from, size);
 
-        List<Booking> bookings;
+        List<BookingDto> bookings;
         LocalDateTime now = LocalDateTime.now();
+        Pageable page = new OffsetPageRequest(from, size, sort);
+        Pageable firstRows = PageRequest.of(0, (int) Math.min((long) from + size, Integer.MAX_VALUE), sort);
 
         switch (state) {
             case ALL:
-                bookings = bookingRepository.findByBookerIdWithRelations(bookerId, sort);
+                bookings = withArchive(bookingRepository.findByBookerIdWithRelations(bookerId, page),
+                        () -> bookingRepository.findByBookerIdWithRelations(bookerId, firstRows),
+                        () -> archiveRepository.findByBookerIdWithRelations(bookerId, firstRows), from, size, now);
                 break;
             case CURRENT:
-                bookings = bookingRepository.findByBookerIdAndStartBeforeAndEndAfterWithRelations(bookerId, now, now, sort);
+                bookings = toDtos(bookingRepository.findByBookerIdAndStartBeforeAndEndAfterWithRelations(bookerId, now, now, page));
                 break;
             case PAST:
-                bookings = bookingRepository.findByBookerIdAndEndBeforeWithRelations(bookerId, now, sort);
+                bookings = withArchive(bookingRepository.findByBookerIdAndEndBeforeWithRelations(bookerId, now, page),
+                        () -> bookingRepository.findByBookerIdAndEndBeforeWithRelations(bookerId, now, firstRows),
+                        () -> archiveRepository.findByBookerIdWithRelations(bookerId, firstRows), from, size, now);
                 break;
             case FUTURE:
-                bookings = bookingRepository.findByBookerIdAndStartAfterWithRelations(bookerId, now, sort);
+                bookings = toDtos(bookingRepository.findByBookerIdAndStartAfterWithRelations(bookerId, now, page));
                 break;
             case WAITING:
-                bookings = bookingRepository.findByBookerIdAndStatusWithRelations(bookerId, BookingStatus.WAITING, sort);
+                bookings = toDtos(bookingRepository.findByBookerIdAndStatusWithRelations(bookerId, BookingStatus.WAITING, page));
                 break;
             case REJECTED:
-                bookings = bookingRepository.findByBookerIdAndStatusWithRelations(bookerId, BookingStatus.REJECTED, sort);
+                bookings = withArchive(bookingRepository.findByBookerIdAndStatusWithRelations(bookerId, BookingStatus.REJECTED, page),
+                        () -> bookingRepository.findByBookerIdAndStatusWithRelations(bookerId, BookingStatus.REJECTED, firstRows),
+                        () -> archiveRepository.findByBookerIdAndStatusWithRelations(bookerId, BookingStatus.REJECTED, firstRows),
+                        from, size, now);
                 break;
             default:
                 throw new ValidationException("Неизвестный статус: " + state);
         }
-
-        return bookings.stream()
-                .map(BookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+        return bookings;
     }
 
     @Override
-    public List<BookingDto> getBookingsByOwner(Long ownerId, BookingState state) {
+    public List<BookingDto> getBookingsByOwner(Long ownerId, BookingState state, int from, int size) {
         userRepository.findById(ownerId)
                 .orElseThrow(() -> new UserNotFoundException(String.format("Пользователь с ID %d не найден", ownerId)));
+        validatePage(from, size);
 
-        List<Booking> bookings;
+        List<BookingDto> bookings;
         LocalDateTime now = LocalDateTime.now();
+        Pageable page = new OffsetPageRequest(from, size, sort);
+        Pageable firstRows = PageRequest.of(0, (int) Math.min((long) from + size, Integer.MAX_VALUE), sort);
 
         switch (state) {
             case ALL:
-                bookings = bookingRepository.findByItemOwnerIdWithRelations(ownerId, sort);
+                bookings = withArchive(bookingRepository.findByItemOwnerIdWithRelations(ownerId, page),
+                        () -> bookingRepository.findByItemOwnerIdWithRelations(ownerId, firstRows),
+                        () -> archiveRepository.findByItemOwnerIdWithRelations(ownerId, firstRows), from, size, now);
                 break;
             case CURRENT:
-                bookings = bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterWithRelations(ownerId, now, now, sort);
+                bookings = toDtos(bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterWithRelations(ownerId, now, now, page));
                 break;
             case PAST:
-                bookings = bookingRepository.findByItemOwnerIdAndEndBeforeWithRelations(ownerId, now, sort);
+                bookings = withArchive(bookingRepository.findByItemOwnerIdAndEndBeforeWithRelations(ownerId, now, page),
+                        () -> bookingRepository.findByItemOwnerIdAndEndBeforeWithRelations(ownerId, now, firstRows),
+                        () -> archiveRepository.findByItemOwnerIdWithRelations(ownerId, firstRows), from, size, now);
                 break;
             case FUTURE:
-                bookings = bookingRepository.findByItemOwnerIdAndStartAfterWithRelations(ownerId, now, sort);
+                bookings = toDtos(bookingRepository.findByItemOwnerIdAndStartAfterWithRelations(ownerId, now, page));
                 break;
             case WAITING:
-                bookings = bookingRepository.findByItemOwnerIdAndStatusWithRelations(ownerId, BookingStatus.WAITING, sort);
+                bookings = toDtos(bookingRepository.findByItemOwnerIdAndStatusWithRelations(ownerId, BookingStatus.WAITING, page));
                 break;
             case REJECTED:
-                bookings = bookingRepository.findByItemOwnerIdAndStatusWithRelations(ownerId, BookingStatus.REJECTED, sort);
+                bookings = withArchive(bookingRepository.findByItemOwnerIdAndStatusWithRelations(ownerId, BookingStatus.REJECTED, page),
+                        () -> bookingRepository.findByItemOwnerIdAndStatusWithRelations(ownerId, BookingStatus.REJECTED, firstRows),
+                        () -> archiveRepository.findByItemOwnerIdAndStatusWithRelations(ownerId, BookingStatus.REJECTED, firstRows),
+                        from, size, now);
                 break;
             default:
                 throw new ValidationException("Неизвестный статус: " + state);
         }
+        return bookings;
+    }
+
+    private BookingDto getArchivedBookingById(Long bookingId, Long userId) {
+        BookingArchive booking = archiveRepository.findByIdWithRelations(bookingId)
+                .orElseThrow(() -> new ItemNotFoundException(String.format("Бронирование с ID %d не найдено", bookingId)));
+
+        if (!booking.getBooker().getId().equals(userId) && !booking.getItem().getOwner().getId().equals(userId)) {
+            throw new ValidationException("Нет доступа к данному бронированию");
+        }
+        return BookingMapper.toBookingDto(booking);
+    }
+
+    /**
+     * Отдаёт страницу основной таблицы со смещением {@code from}, если она целиком новее окна хранения:
+     * всё, что началось позже, ещё лежит в {@code bookings}, и архив стоит после неё. Иначе склеивает первые
+     * {@code from + size} строк основной таблицы и архива.
+     */
+    private List<BookingDto> withArchive(List<Booking> page, Supplier<List<Booking>> recent,
+                                         Supplier<List<BookingArchive>> archived,
+                                         int from, int size, LocalDateTime now) {
+        boolean pageIsRecent = page.size() == size
+                && !page.getLast().getStart().isBefore(archiveService.horizon(now));
+        if (pageIsRecent) {
+            return toDtos(page);
+        }
+
+        List<Booking> firstRows = from == 0 ? page : recent.get();
+        return Stream.concat(
+                        firstRows.stream().map(BookingMapper::toBookingDto),
+                        archived.get().stream().map(BookingMapper::toBookingDto))
+                .sorted(NEWEST_FIRST)
+                .skip(from)
+                .limit(size)
+                .collect(Collectors.toList());
+    }
+
+    private static void validatePage(int from, int size) {
+        if (from < 0 || size < 1) {
+            throw new ValidationException("Некорректные параметры пагинации");
+        }
+    }
 
+    private List<BookingDto> toDtos(List<Booking> bookings) {
         return bookings.stream()
                 .map(BookingMapper::toBookingDto)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.booking.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import ru.practicum.shareit.booking.event.BookingCreatedEvent;
+import ru.practicum.shareit.booking.event.BookingStatusChangedEvent;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.outbox.OutboxEvent;
+import ru.practicum.shareit.outbox.OutboxEventRepository;
+import ru.practicum.shareit.outbox.OutboxRecorder;
+import ru.practicum.shareit.outbox.OutboxTail;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Читает outbox вслед за записью и раздаёт события бронирований подписчикам этого экземпляра.
+ * Подключения есть только у конкретного экземпляра, поэтому ленту читает каждый из них через {@link OutboxTail}.
+ */
+@Slf4j
+public class BookingFeed {
+    private static final String CREATED = BookingCreatedEvent.class.getSimpleName();
+    private static final String STATUS_CHANGED = BookingStatusChangedEvent.class.getSimpleName();
+
+    private final OutboxTail tail;
+    private final BookingRepository bookingRepository;
+    private final BookingStreamHub hub;
+    private final ObjectMapper objectMapper;
+
+    public BookingFeed(OutboxEventRepository outboxRepository,
+                       BookingRepository bookingRepository,
+                       BookingStreamHub hub,
+                       ObjectMapper objectMapper,
+                       BookingStreamProperties properties) {
+        this.tail = new OutboxTail(outboxRepository, properties.getBatchSize(), properties.getGapTimeout());
+        this.bookingRepository = bookingRepository;
+        this.hub = hub;
+        this.objectMapper = objectMapper;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-stream.poll-interval:PT1S}")
+    public void poll() {
+        try {
+            poll(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("Не удалось прочитать outbox для потока бронирований: {}", e.getMessage());
+        }
+    }
+
+    synchronized int poll(LocalDateTime now) {
+        if (!tail.isStarted() || !hub.hasSubscribers()) {
+            // Без подписчиков догонять нечего: новые подключения получают события с момента подключения
+            tail.skipToEnd();
+            return 0;
+        }
+        return tail.poll(now, this::publish);
+    }
+
+    long getWatermark() {
+        return tail.getWatermark();
+    }
+
+    private int publish(List<OutboxEvent> events) {
+        List<OutboxEvent> bookingEvents = events.stream()
+                .filter(event -> OutboxRecorder.BOOKING.equals(event.getAggregateType()))
+                .toList();
+        if (bookingEvents.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, BookingParticipants> participants = bookingRepository.findParticipantsByIds(
+                        bookingEvents.stream().map(OutboxEvent::getAggregateId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(BookingParticipants::getBookingId, Function.identity()));
+        int published = 0;
+        for (OutboxEvent event : bookingEvents) {
+            BookingParticipants booking = participants.get(event.getAggregateId());
+            BookingUpdateDto update = booking == null ? null : toUpdate(event, booking);
+            if (update != null) {
+                hub.publish(List.of(booking.getBookerId(), booking.getOwnerId()), event.getId(), update);
+                published++;
+            }
+        }
+        return published;
+    }
+
+    private BookingUpdateDto toUpdate(OutboxEvent event, BookingParticipants booking) {
+        try {
+            JsonNode payload = objectMapper.readTree(event.getPayload());
+            if (CREATED.equals(event.getEventType())) {
+                return new BookingUpdateDto(booking.getBookingId(), booking.getItemId(),
+                        BookingStatus.valueOf(payload.path("status").asText()), null);
+            }
+            if (STATUS_CHANGED.equals(event.getEventType())) {
+                return new BookingUpdateDto(booking.getBookingId(), booking.getItemId(),
+                        BookingStatus.valueOf(payload.path("current").asText()),
+                        BookingStatus.valueOf(payload.path("previous").asText()));
+            }
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.warn("Пропущено событие outbox {}: {}", event.getId(), e.getMessage());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.stream;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingParticipants {
+    Long bookingId;
+    Long itemId;
+    Long bookerId;
+    Long ownerId;
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.booking.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.outbox.OutboxEventRepository;
+
+@Configuration(proxyBeanMethods = false)
+@EnableScheduling
+@EnableConfigurationProperties(BookingStreamProperties.class)
+public class BookingStreamConfig {
+
+    @Bean
+    public BookingStreamHub bookingStreamHub(BookingStreamProperties properties, MeterRegistry registry) {
+        return new BookingStreamHub(properties, registry);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "shareit.booking-stream", name = "enabled", matchIfMissing = true)
+    static class FeedConfig {
+
+        @Bean
+        public BookingFeed bookingFeed(OutboxEventRepository outboxRepository,
+                                       BookingRepository bookingRepository,
+                                       BookingStreamHub streamHub,
+                                       ObjectMapper objectMapper,
+                                       BookingStreamProperties properties) {
+            return new BookingFeed(outboxRepository, bookingRepository, streamHub, objectMapper, properties);
+        }
+    }
+}
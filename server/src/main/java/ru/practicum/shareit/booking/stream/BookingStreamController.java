@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.stream;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.user.service.UserService;
+
+@RestController
+@RequestMapping(path = "/bookings/stream")
+@RequiredArgsConstructor
+public class BookingStreamController {
+    private final BookingStreamHub streamHub;
+    private final UserService userService;
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @GetMapping
+    public SseEmitter subscribe(@RequestHeader(USER_ID_HEADER) Long userId) {
+        userService.getUserById(userId);
+        return streamHub.subscribe(userId);
+    }
+}
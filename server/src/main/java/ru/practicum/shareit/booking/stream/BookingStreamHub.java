@@ -0,0 +1,189 @@
+package ru.practicum.shareit.booking.stream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Открытые SSE-подписки этого экземпляра сервера. Простаивающее соединение не занимает поток:
+ * события складываются в ограниченную очередь соединения, а отправляет их поток из пула, который
+ * растёт до {@code max-sender-threads}. Запись в сокет блокирующая, поэтому клиент, который не читает,
+ * держит только свой поток и не задерживает остальных. Если очередь переполняется, соединение
+ * закрывается — после переподключения клиент перечитывает бронирования обычными запросами.
+ * Завершает эмиттер тоже поток отправки: {@code complete()} ждёт зависшую запись.
+ */
+@Slf4j
+public class BookingStreamHub implements DisposableBean {
+    static final String EVENT_NAME = "booking";
+
+    private final BookingStreamProperties properties;
+    private final ConcurrentMap<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final ExecutorService sender;
+    private final Counter events;
+    private final Counter overflows;
+
+    public BookingStreamHub(BookingStreamProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        AtomicInteger threads = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(properties.getSenderThreads(), properties.getMaxSenderThreads(),
+                60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "booking-stream-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.events = Counter.builder("shareit.booking-stream.events")
+                .description("События бронирований, поставленные в очереди подписчиков")
+                .register(registry);
+        this.overflows = Counter.builder("shareit.booking-stream.overflows")
+                .description("Подписки, закрытые из-за переполнения очереди")
+                .register(registry);
+        Gauge.builder("shareit.booking-stream.connections", connectionCount, AtomicInteger::get)
+                .description("Открытые подписки на бронирования")
+                .register(registry);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        register(userId, emitter);
+        return emitter;
+    }
+
+    void register(Long userId, SseEmitter emitter) {
+        if (connectionCount.incrementAndGet() > properties.getMaxConnections()) {
+            connectionCount.decrementAndGet();
+            throw new ServiceUnavailableException("Превышено число подписок на бронирования");
+        }
+        Connection connection = new Connection(userId, emitter, properties.getQueueCapacity());
+        connections.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(connection);
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(e -> remove(connection));
+        enqueue(connection, SseEmitter.event().comment("connected"));
+    }
+
+    public boolean hasSubscribers() {
+        return connectionCount.get() > 0;
+    }
+
+    public boolean isSubscribed(Long userId) {
+        return connections.containsKey(userId);
+    }
+
+    public void publish(Collection<Long> userIds, long eventId, BookingUpdateDto update) {
+        for (Long userId : userIds) {
+            for (Connection connection : connections.getOrDefault(userId, Set.of())) {
+                events.increment();
+                enqueue(connection, SseEmitter.event()
+                        .id(String.valueOf(eventId))
+                        .name(EVENT_NAME)
+                        .data(update));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-stream.heartbeat:PT15S}",
+            initialDelayString = "${shareit.booking-stream.heartbeat:PT15S}")
+    public void heartbeat() {
+        connections.values().forEach(userConnections ->
+                userConnections.forEach(connection -> enqueue(connection, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    @Override
+    public void destroy() {
+        sender.shutdownNow();
+        connections.values().forEach(userConnections ->
+                userConnections.forEach(connection -> connection.emitter.complete()));
+    }
+
+    private void enqueue(Connection connection, SseEmitter.SseEventBuilder event) {
+        if (connection.closed.get()) {
+            return;
+        }
+        if (!connection.queue.offer(event)) {
+            overflows.increment();
+            log.debug("Подписка пользователя {} закрыта: очередь переполнена", connection.userId);
+            remove(connection);
+            schedule(connection);
+            return;
+        }
+        schedule(connection);
+    }
+
+    private void schedule(Connection connection) {
+        if (connection.scheduled.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(connection));
+            } catch (RejectedExecutionException e) {
+                connection.scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain(Connection connection) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!connection.closed.get() && (event = connection.queue.poll()) != null) {
+                connection.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            remove(connection);
+        } finally {
+            connection.scheduled.set(false);
+            if (connection.closed.get()) {
+                if (connection.completed.compareAndSet(false, true)) {
+                    connection.emitter.complete();
+                }
+            } else if (!connection.queue.isEmpty()) {
+                schedule(connection);
+            }
+        }
+    }
+
+    private void remove(Connection connection) {
+        if (!connection.closed.compareAndSet(false, true)) {
+            return;
+        }
+        connections.computeIfPresent(connection.userId, (userId, userConnections) -> {
+            userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+        connectionCount.decrementAndGet();
+        connection.queue.clear();
+    }
+
+    private static final class Connection {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private Connection(Long userId, SseEmitter emitter, int capacity) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.stream;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.booking-stream")
+public class BookingStreamProperties {
+    boolean enabled = true;
+    Duration pollInterval = Duration.ofSeconds(1);
+    Duration heartbeat = Duration.ofSeconds(15);
+    Duration timeout = Duration.ofMinutes(30);
+    Duration gapTimeout = Duration.ofSeconds(10);
+    int batchSize = 500;
+    int queueCapacity = 64;
+    int senderThreads = 2;
+    int maxSenderThreads = 256;
+    int maxConnections = 10000;
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.stream;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+/**
+ * Уведомление о бронировании в потоке {@code /bookings/stream}. Для нового бронирования {@code previousStatus} пуст.
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingUpdateDto {
+    Long bookingId;
+    Long itemId;
+    BookingStatus status;
+    BookingStatus previousStatus;
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.waitlist;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(WaitlistProperties.class)
+public class WaitlistConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "shareit.waitlist", name = "enabled", matchIfMissing = true)
+    public WaitlistSubscriber waitlistSubscriber(WaitlistService waitlistService, ObjectMapper objectMapper) {
+        return new WaitlistSubscriber(waitlistService, objectMapper);
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.booking.waitlist;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Пользователь ждёт, когда освободится интервал вещи. Очередь вещи упорядочена по {@code id}.
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "booking_waitlist")
+public class WaitlistEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "item_id", nullable = false)
+    Long itemId;
+
+    @Column(name = "user_id", nullable = false)
+    Long userId;
+
+    @Column(name = "start_date", nullable = false)
+    LocalDateTime start;
+
+    @Column(name = "end_date", nullable = false)
+    LocalDateTime end;
+
+    @Column(nullable = false)
+    LocalDateTime created;
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.booking.waitlist;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.hold.BookingHoldRepository;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Продвигает одного ожидающего в собственной транзакции, чтобы отказ по одному не откатывал
+ * бронирования, уже созданные для остальных.
+ */
+@Service
+@RequiredArgsConstructor
+public class WaitlistPromoter {
+    private static final List<BookingStatus> OCCUPYING_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final WaitlistRepository waitlistRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingHoldRepository holdRepository;
+    private final ItemRepository itemRepository;
+    private final BookingService bookingService;
+
+    /**
+     * @return ID созданного бронирования или {@code null}, если интервал ещё занят или ожидание устарело
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Long promote(Long entryId, LocalDateTime now) {
+        WaitlistEntry entry = waitlistRepository.findById(entryId).orElse(null);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.getStart().isAfter(now)) {
+            waitlistRepository.delete(entry);
+            return null;
+        }
+        Item item = itemRepository.findById(entry.getItemId()).orElse(null);
+        if (item == null || !item.isAvailable()) {
+            return null;
+        }
+        if (bookingRepository.existsOverlapping(item.getId(), entry.getStart(), entry.getEnd(), OCCUPYING_STATUSES)
+                || holdRepository.existsConflicting(item.getId(), entry.getUserId(), entry.getStart(), entry.getEnd(), now)) {
+            return null;
+        }
+
+        Long bookingId = bookingService.createBooking(
+                new BookingRequestDto(item.getId(), entry.getStart(), entry.getEnd()), entry.getUserId()).getId();
+        waitlistRepository.delete(entry);
+        return bookingId;
+    }
+}
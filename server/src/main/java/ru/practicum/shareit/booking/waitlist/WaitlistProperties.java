@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.waitlist;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.waitlist")
+public class WaitlistProperties {
+    boolean enabled = true;
+    /**
+     * Сколько первых в очереди ожидающих проверяется при освобождении одного интервала.
+     */
+    int maxCandidates = 100;
+}
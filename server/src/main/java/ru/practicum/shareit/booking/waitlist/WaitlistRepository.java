@@ -0,0 +1,33 @@
+package ru.practicum.shareit.booking.waitlist;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    /**
+     * Ожидающие, чей интервал пересекает {@code [start, end)}, в порядке очереди. Идёт по индексу
+     * {@code idx_booking_waitlist_item_end (item_id, end_date)} и не читает ожидания, закончившиеся раньше начала.
+     */
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.itemId = :itemId AND w.end > :start AND w.start < :end ORDER BY w.id")
+    List<WaitlistEntry> findOverlapping(@Param("itemId") Long itemId,
+                                        @Param("start") LocalDateTime start,
+                                        @Param("end") LocalDateTime end,
+                                        Pageable pageable);
+
+    @Query("SELECT COUNT(w) > 0 FROM WaitlistEntry w WHERE w.itemId = :itemId AND w.userId = :userId " +
+            "AND w.start = :start AND w.end = :end")
+    boolean existsEntry(@Param("itemId") Long itemId,
+                        @Param("userId") Long userId,
+                        @Param("start") LocalDateTime start,
+                        @Param("end") LocalDateTime end);
+
+    List<WaitlistEntry> findByUserIdOrderById(Long userId);
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.booking.waitlist;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.WaitlistEntryDto;
+import ru.practicum.shareit.booking.dto.WaitlistRequestDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.ItemNotFoundException;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class WaitlistService {
+    static final Set<BookingStatus> RELEASING_STATUSES =
+            EnumSet.of(BookingStatus.REJECTED, BookingStatus.CANCELED, BookingStatus.EXPIRED);
+
+    private final WaitlistRepository waitlistRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final WaitlistPromoter promoter;
+    private final WaitlistProperties properties;
+    private final Counter promoted;
+
+    public WaitlistService(WaitlistRepository waitlistRepository,
+                           BookingRepository bookingRepository,
+                           ItemRepository itemRepository,
+                           UserRepository userRepository,
+                           WaitlistPromoter promoter,
+                           WaitlistProperties properties,
+                           MeterRegistry registry) {
+        this.waitlistRepository = waitlistRepository;
+        this.bookingRepository = bookingRepository;
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.promoter = promoter;
+        this.properties = properties;
+        this.promoted = Counter.builder("shareit.waitlist.promoted")
+                .description("Бронирования, созданные из листа ожидания")
+                .register(registry);
+    }
+
+    @Transactional
+    public WaitlistEntryDto join(WaitlistRequestDto request, Long userId) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(String.format("Пользователь с ID %d не найден", userId)));
+        Item item = itemRepository.findById(request.getItemId())
+                .orElseThrow(() -> new ItemNotFoundException(String.format("Вещь с ID %d не найдена", request.getItemId())));
+
+        if (item.getOwner().getId().equals(userId)) {
+            throw new ValidationException("Нельзя встать в очередь на свою же вещь");
+        }
+        if (request.getStart() == null || request.getEnd() == null || !request.getStart().isBefore(request.getEnd())) {
+            throw new ValidationException("Некорректные даты ожидания");
+        }
+        if (request.getStart().isBefore(LocalDateTime.now())) {
+            throw new ValidationException("Нельзя ждать интервал в прошлом");
+        }
+        if (waitlistRepository.existsEntry(item.getId(), userId, request.getStart(), request.getEnd())) {
+            throw new ConflictException("Этот интервал уже в листе ожидания");
+        }
+
+        WaitlistEntry entry = waitlistRepository.save(new WaitlistEntry(null, item.getId(), userId,
+                request.getStart(), request.getEnd(), LocalDateTime.now()));
+        return toDto(entry);
+    }
+
+    @Transactional
+    public void leave(Long entryId, Long userId) {
+        WaitlistEntry entry = waitlistRepository.findById(entryId)
+                .orElseThrow(() -> new ItemNotFoundException(String.format("Запись листа ожидания с ID %d не найдена", entryId)));
+        if (!entry.getUserId().equals(userId)) {
+            throw new AccessDeniedException("Покинуть очередь может только сам ожидающий");
+        }
+        waitlistRepository.delete(entry);
+    }
+
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryDto> getEntries(Long userId) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(String.format("Пользователь с ID %d не найден", userId)));
+        return waitlistRepository.findByUserIdOrderById(userId).stream()
+                .map(WaitlistService::toDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Создаёт бронирования в статусе WAITING для ожидающих, чей интервал пересекал освободившееся бронирование,
+     * в порядке очереди. Ожидающий пропускается, пока его интервал занят другим бронированием или чужим
+     * удержанием, а каждое созданное бронирование занимает интервал для следующих. Поэтому повторная
+     * доставка события ничего не создаёт. Каждый ожидающий продвигается в своей транзакции: если его
+     * бронирование отклонено, он остаётся в очереди, а остальные продвигаются.
+     */
+    public List<Long> promote(Long bookingId) {
+        Booking freed = bookingRepository.findById(bookingId).orElse(null);
+        if (freed == null || !RELEASING_STATUSES.contains(freed.getStatus())) {
+            return List.of();
+        }
+
+        Long itemId = freed.getItem().getId();
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> created = new ArrayList<>();
+        List<WaitlistEntry> candidates = waitlistRepository.findOverlapping(itemId, freed.getStart(), freed.getEnd(),
+                PageRequest.of(0, properties.getMaxCandidates()));
+        for (WaitlistEntry entry : candidates) {
+            try {
+                Long promotedId = promoter.promote(entry.getId(), now);
+                if (promotedId != null) {
+                    created.add(promotedId);
+                }
+            } catch (ConflictException | ValidationException e) {
+                log.info("Ожидание {} на вещь {} не продвинуто: {}", entry.getId(), itemId, e.getMessage());
+            }
+        }
+        promoted.increment(created.size());
+        return created;
+    }
+
+    private static WaitlistEntryDto toDto(WaitlistEntry entry) {
+        return new WaitlistEntryDto(entry.getId(), entry.getItemId(), entry.getStart(), entry.getEnd(), entry.getCreated());
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.booking.waitlist;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.booking.event.BookingStatusChangedEvent;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.outbox.OutboxEvent;
+import ru.practicum.shareit.outbox.OutboxRecorder;
+import ru.practicum.shareit.outbox.OutboxSubscriber;
+
+/**
+ * Продвигает лист ожидания, когда бронирование освобождает интервал. Работает в потоке outbox
+ * после фиксации транзакции подтверждения или истечения и не задерживает её.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class WaitlistSubscriber implements OutboxSubscriber {
+    private static final String STATUS_CHANGED = BookingStatusChangedEvent.class.getSimpleName();
+
+    private final WaitlistService waitlistService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean supports(OutboxEvent event) {
+        return OutboxRecorder.BOOKING.equals(event.getAggregateType())
+                && STATUS_CHANGED.equals(event.getEventType());
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        BookingStatus current;
+        try {
+            current = BookingStatus.valueOf(objectMapper.readTree(event.getPayload()).path("current").asText());
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.warn("Пропущено событие outbox {}: {}", event.getId(), e.getMessage());
+            return;
+        }
+        if (WaitlistService.RELEASING_STATUSES.contains(current)) {
+            waitlistService.promote(event.getAggregateId());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.comment.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@AllArgsConstructor
+public class CommentCountDto {
+    Long itemId;
+    long count;
+}
@@ -1,12 +1,16 @@
 package ru.practicum.shareit.comment.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.comment.dto.CommentCountDto;
 import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.comment.dto.CommentView;
 import ru.practicum.shareit.comment.model.Comment;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -19,4 +23,34 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     @Query("SELECT DISTINCT c FROM Comment c LEFT JOIN FETCH c.author WHERE c.item.id IN :itemIds")
     List<Comment> findByItemIdsWithAuthor(@Param("itemIds") List<Long> itemIds);
+
+    @Query("SELECT new ru.practicum.shareit.comment.dto.CommentDto(" +
+            "c.id, c.text, c.author.name, c.created) " +
+            "FROM Comment c WHERE c.item.id = :itemId " +
+            "ORDER BY c.created DESC, c.id DESC")
+    List<CommentDto> findLatestCommentDtos(@Param("itemId") Long itemId, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.comment.dto.CommentDto(" +
+            "c.id, c.text, c.author.name, c.created) " +
+            "FROM Comment c WHERE c.item.id = :itemId " +
+            "AND (c.created < :created OR (c.created = :created AND c.id < :id)) " +
+            "ORDER BY c.created DESC, c.id DESC")
+    List<CommentDto> findCommentDtosBefore(@Param("itemId") Long itemId,
+                                           @Param("created") LocalDateTime created,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    long countByItemId(Long itemId);
+
+    @Query("SELECT new ru.practicum.shareit.comment.dto.CommentCountDto(c.item.id, COUNT(c)) " +
+            "FROM Comment c WHERE c.item.id IN :itemIds GROUP BY c.item.id")
+    List<CommentCountDto> countByItemIds(@Param("itemIds") List<Long> itemIds);
+
+    @Query(value = "SELECT c.id AS id, c.item_id AS itemId, c.text AS text, u.name AS authorName, c.created AS created " +
+            "FROM (SELECT cm.*, ROW_NUMBER() OVER (PARTITION BY cm.item_id ORDER BY cm.created DESC, cm.id DESC) AS rn " +
+            "FROM comments cm WHERE cm.item_id IN (:itemIds)) c " +
+            "JOIN users u ON u.id = c.author_id " +
+            "WHERE c.rn <= :limit " +
+            "ORDER BY c.item_id, c.created DESC, c.id DESC", nativeQuery = true)
+    List<CommentView> findLatestByItemIds(@Param("itemIds") List<Long> itemIds, @Param("limit") int limit);
 }
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.dashboard;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import ru.practicum.shareit.dashboard.service.OwnerDashboardService;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(OwnerDashboardProperties.class)
+public class OwnerDashboardConfig {
+
+    @Bean
+    public OwnerDashboardEndpoint ownerDashboardEndpoint(OwnerDashboardService dashboardService) {
+        return new OwnerDashboardEndpoint(dashboardService);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "shareit.owner-dashboard", name = "prune-enabled", matchIfMissing = true)
+    static class PruneConfig {
+
+        @Bean
+        public OwnerDashboardPruneJob ownerDashboardPruneJob(OwnerDashboardService dashboardService,
+                                                             OwnerDashboardProperties properties) {
+            return new OwnerDashboardPruneJob(dashboardService, properties);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.dashboard;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.dashboard.dto.OwnerDashboardDto;
+import ru.practicum.shareit.dashboard.service.OwnerDashboardService;
+
+@RestController
+@RequestMapping(path = "/bookings/owner/dashboard")
+@RequiredArgsConstructor
+public class OwnerDashboardController {
+    private final OwnerDashboardService dashboardService;
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @GetMapping
+    public OwnerDashboardDto getDashboard(@RequestHeader(USER_ID_HEADER) Long userId) {
+        return dashboardService.getDashboard(userId);
+    }
+}
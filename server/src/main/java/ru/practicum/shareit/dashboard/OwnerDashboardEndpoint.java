@@ -0,0 +1,30 @@
+package ru.practicum.shareit.dashboard;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.dashboard.service.OwnerDashboardService;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Пересчёт сводок владельцев: одной сразу или всех лениво, сбросом отметки о сборке.
+ */
+@Endpoint(id = "ownerdashboards")
+public class OwnerDashboardEndpoint {
+    private final OwnerDashboardService dashboardService;
+
+    public OwnerDashboardEndpoint(OwnerDashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild(@Nullable Long ownerId) {
+        if (ownerId != null) {
+            dashboardService.rebuild(ownerId, LocalDateTime.now());
+            return Map.of("rebuilt", 1);
+        }
+        return Map.of("invalidated", dashboardService.invalidateAll());
+    }
+}
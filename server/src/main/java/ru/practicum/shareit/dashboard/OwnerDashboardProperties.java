@@ -0,0 +1,21 @@
+package ru.practicum.shareit.dashboard;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.owner-dashboard")
+public class OwnerDashboardProperties {
+    /**
+     * Сколько ближайших бронирований показывать в списках ожидающих подтверждения и предстоящих выдач.
+     */
+    int listSize = 10;
+    boolean pruneEnabled = true;
+    Duration pruneInterval = Duration.ofMinutes(1);
+    int pruneBatchSize = 500;
+}
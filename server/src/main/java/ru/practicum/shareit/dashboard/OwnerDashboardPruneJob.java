@@ -0,0 +1,31 @@
+package ru.practicum.shareit.dashboard;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import ru.practicum.shareit.dashboard.service.OwnerDashboardService;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@RequiredArgsConstructor
+public class OwnerDashboardPruneJob {
+    private final OwnerDashboardService dashboardService;
+    private final OwnerDashboardProperties properties;
+
+    @Scheduled(fixedDelayString = "${shareit.owner-dashboard.prune-interval:PT1M}",
+            initialDelayString = "${shareit.owner-dashboard.prune-interval:PT1M}")
+    public void prune() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int pruned;
+        do {
+            pruned = dashboardService.pruneEnded(now, properties.getPruneBatchSize());
+            total += pruned;
+        } while (pruned == properties.getPruneBatchSize());
+
+        if (total > 0) {
+            log.debug("Из сводок владельцев удалено {} закончившихся бронирований", total);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.dashboard.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class OwnerBookingCount {
+    Long ownerId;
+    long count;
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.dashboard.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+public class OwnerDashboardDto {
+    Long ownerId;
+    long itemCount;
+    long availableItemCount;
+    Map<BookingStatus, Long> bookingsByStatus;
+    long currentBookings;
+    long futureBookings;
+    List<BookingDto> pendingApprovals;
+    List<BookingDto> upcomingPickups;
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.dashboard.mapper;
+
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.booking.dto.BookingUserDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.dashboard.dto.OwnerDashboardDto;
+import ru.practicum.shareit.dashboard.model.OwnerDashboard;
+import ru.practicum.shareit.dashboard.model.OwnerDashboardEntry;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public class OwnerDashboardMapper {
+
+    public static BookingDto toBookingDto(OwnerDashboardEntry entry) {
+        return new BookingDto(
+                entry.getBookingId(),
+                entry.getStart(),
+                entry.getEnd(),
+                new BookingItemDto(entry.getItemId(), entry.getItemName()),
+                new BookingUserDto(entry.getBookerId(), entry.getBookerName()),
+                entry.getStatus()
+        );
+    }
+
+    public static OwnerDashboardDto toOwnerDashboardDto(OwnerDashboard dashboard,
+                                                        long currentBookings,
+                                                        long futureBookings,
+                                                        List<OwnerDashboardEntry> pendingApprovals,
+                                                        List<OwnerDashboardEntry> upcomingPickups) {
+        Map<BookingStatus, Long> bookingsByStatus = new EnumMap<>(BookingStatus.class);
+        for (BookingStatus status : BookingStatus.values()) {
+            bookingsByStatus.put(status, dashboard.getBookingCounts().getOrDefault(status, 0L));
+        }
+        return new OwnerDashboardDto(
+                dashboard.getOwnerId(),
+                dashboard.getItemCount(),
+                dashboard.getAvailableItemCount(),
+                bookingsByStatus,
+                currentBookings,
+                futureBookings,
+                pendingApprovals.stream().map(OwnerDashboardMapper::toBookingDto).toList(),
+                upcomingPickups.stream().map(OwnerDashboardMapper::toBookingDto).toList()
+        );
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.dashboard.model;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Сводка владельца: счётчики вещей и бронирований по статусам за всё время, включая архив.
+ * Пустой {@code rebuiltAt} означает, что строка ещё не собрана и при первом обращении пересчитывается из источника.
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "owner_dashboards")
+public class OwnerDashboard {
+    @Id
+    @Column(name = "owner_id")
+    Long ownerId;
+
+    @Column(name = "item_count", nullable = false)
+    long itemCount;
+
+    @Column(name = "available_item_count", nullable = false)
+    long availableItemCount;
+
+    @ElementCollection
+    @CollectionTable(name = "owner_dashboard_counts", joinColumns = @JoinColumn(name = "owner_id"))
+    @MapKeyEnumerated(EnumType.STRING)
+    @MapKeyColumn(name = "status")
+    @Column(name = "booking_count", nullable = false)
+    Map<BookingStatus, Long> bookingCounts = new EnumMap<>(BookingStatus.class);
+
+    @Column(name = "rebuilt_at")
+    LocalDateTime rebuiltAt;
+
+    public OwnerDashboard(Long ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public boolean isBuilt() {
+        return rebuiltAt != null;
+    }
+
+    public void adjustBookings(BookingStatus status, long delta) {
+        bookingCounts.merge(status, delta, Long::sum);
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.dashboard.model;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Незавершённое бронирование вещи владельца с уже подставленными названием вещи и именем арендатора.
+ * Хранятся только ожидающие и подтверждённые бронирования; строка удаляется вместе с бронированием.
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "owner_dashboard_entries")
+public class OwnerDashboardEntry {
+    @Id
+    @Column(name = "booking_id")
+    Long bookingId;
+
+    @Column(name = "owner_id", nullable = false)
+    Long ownerId;
+
+    @Column(name = "item_id", nullable = false)
+    Long itemId;
+
+    @Column(name = "item_name", nullable = false)
+    String itemName;
+
+    @Column(name = "booker_id", nullable = false)
+    Long bookerId;
+
+    @Column(name = "booker_name", nullable = false)
+    String bookerName;
+
+    @Column(name = "start_date", nullable = false)
+    LocalDateTime start;
+
+    @Column(name = "end_date", nullable = false)
+    LocalDateTime end;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    BookingStatus status;
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.dashboard.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.dashboard.model.OwnerDashboardEntry;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OwnerDashboardEntryRepository extends JpaRepository<OwnerDashboardEntry, Long> {
+
+    @Query("SELECT e FROM OwnerDashboardEntry e WHERE e.ownerId = :ownerId AND e.status = :status AND e.start > :now " +
+            "ORDER BY e.start ASC, e.bookingId ASC")
+    List<OwnerDashboardEntry> findUpcoming(@Param("ownerId") Long ownerId,
+                                           @Param("status") BookingStatus status,
+                                           @Param("now") LocalDateTime now,
+                                           Pageable pageable);
+
+    @Query("SELECT COUNT(e) FROM OwnerDashboardEntry e WHERE e.ownerId = :ownerId AND e.start <= :now AND e.end > :now")
+    long countCurrent(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT COUNT(e) FROM OwnerDashboardEntry e WHERE e.ownerId = :ownerId AND e.start > :now")
+    long countFuture(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT e.bookingId FROM OwnerDashboardEntry e WHERE e.end <= :now ORDER BY e.end ASC")
+    List<Long> findEndedBookingIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query(value = "INSERT INTO owner_dashboard_entries " +
+            "(booking_id, owner_id, item_id, item_name, booker_id, booker_name, start_date, end_date, status) " +
+            "SELECT b.id, i.owner_id, i.id, i.name, u.id, u.name, b.start_date, b.end_date, b.status " +
+            "FROM bookings b JOIN items i ON i.id = b.item_id JOIN users u ON u.id = b.booker_id " +
+            "WHERE i.owner_id = :ownerId AND b.status IN ('WAITING', 'APPROVED') AND b.end_date > :now",
+            nativeQuery = true)
+    int copyLiveBookings(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "INSERT INTO owner_dashboard_entries " +
+            "(booking_id, owner_id, item_id, item_name, booker_id, booker_name, start_date, end_date, status) " +
+            "SELECT b.id, i.owner_id, i.id, i.name, u.id, u.name, b.start_date, b.end_date, b.status " +
+            "FROM bookings b JOIN items i ON i.id = b.item_id JOIN users u ON u.id = b.booker_id " +
+            "WHERE b.id IN (:ids) AND b.status IN ('WAITING', 'APPROVED')",
+            nativeQuery = true)
+    int copyBookings(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM OwnerDashboardEntry e WHERE e.ownerId = :ownerId")
+    int deleteByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Modifying
+    @Query("DELETE FROM OwnerDashboardEntry e WHERE e.bookingId IN :ids")
+    int deleteByBookingIds(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("UPDATE OwnerDashboardEntry e SET e.status = :status WHERE e.bookingId IN :ids")
+    int updateStatus(@Param("ids") List<Long> ids, @Param("status") BookingStatus status);
+
+    @Modifying
+    @Query("UPDATE OwnerDashboardEntry e SET e.itemName = :name WHERE e.itemId = :itemId")
+    int renameItem(@Param("itemId") Long itemId, @Param("name") String name);
+
+    @Modifying
+    @Query("UPDATE OwnerDashboardEntry e SET e.bookerName = :name WHERE e.bookerId = :bookerId")
+    int renameBooker(@Param("bookerId") Long bookerId, @Param("name") String name);
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.dashboard.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.dashboard.model.OwnerDashboard;
+
+import java.util.Optional;
+
+@Repository
+public interface OwnerDashboardRepository extends JpaRepository<OwnerDashboard, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM OwnerDashboard d WHERE d.ownerId = :ownerId")
+    Optional<OwnerDashboard> findForUpdate(@Param("ownerId") Long ownerId);
+
+    @Modifying
+    @Query("UPDATE OwnerDashboard d SET d.rebuiltAt = NULL")
+    int invalidateAll();
+}
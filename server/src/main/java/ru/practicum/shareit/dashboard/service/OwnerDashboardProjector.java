@@ -0,0 +1,126 @@
+package ru.practicum.shareit.dashboard.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.event.BookingCreatedEvent;
+import ru.practicum.shareit.booking.event.BookingStatusChangedEvent;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.dashboard.dto.OwnerBookingCount;
+import ru.practicum.shareit.dashboard.model.OwnerDashboard;
+import ru.practicum.shareit.dashboard.repository.OwnerDashboardEntryRepository;
+import ru.practicum.shareit.dashboard.repository.OwnerDashboardRepository;
+import ru.practicum.shareit.item.event.ItemCreatedEvent;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.event.ItemUpdatedEvent;
+import ru.practicum.shareit.user.event.UserCreatedEvent;
+import ru.practicum.shareit.user.event.UserUpdatedEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Поддерживает сводку владельца по событиям сервисов. Обработчики выполняются синхронно в транзакции,
+ * опубликовавшей событие, так что сводка фиксируется или откатывается вместе с изменением.
+ */
+@Component
+@RequiredArgsConstructor
+public class OwnerDashboardProjector {
+    private static final List<BookingStatus> LIVE_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final OwnerDashboardService dashboardService;
+    private final OwnerDashboardRepository dashboardRepository;
+    private final OwnerDashboardEntryRepository entryRepository;
+    private final BookingRepository bookingRepository;
+
+    @EventListener
+    @Transactional
+    public void on(UserCreatedEvent event) {
+        dashboardService.initialize(event.getUserId(), LocalDateTime.now());
+    }
+
+    @EventListener
+    @Transactional
+    public void on(UserUpdatedEvent event) {
+        entryRepository.renameBooker(event.getUserId(), event.getName());
+    }
+
+    @EventListener
+    @Transactional
+    public void on(ItemCreatedEvent event) {
+        apply(event.getOwnerId(), dashboard -> {
+            dashboard.setItemCount(dashboard.getItemCount() + 1);
+            if (event.isAvailable()) {
+                dashboard.setAvailableItemCount(dashboard.getAvailableItemCount() + 1);
+            }
+        });
+    }
+
+    @EventListener
+    @Transactional
+    public void on(ItemUpdatedEvent event) {
+        if (event.isWasAvailable() != event.isAvailable()) {
+            apply(event.getOwnerId(), dashboard ->
+                    dashboard.setAvailableItemCount(dashboard.getAvailableItemCount() + (event.isAvailable() ? 1 : -1)));
+        }
+        entryRepository.renameItem(event.getItemId(), event.getName());
+    }
+
+    @EventListener
+    @Transactional
+    public void on(ItemDeletedEvent event) {
+        // Вместе с вещью каскадно удаляются её бронирования, проще пересчитать сводку целиком
+        if (dashboardRepository.findForUpdate(event.getOwnerId()).isPresent()) {
+            dashboardService.rebuild(event.getOwnerId(), LocalDateTime.now());
+        }
+    }
+
+    @EventListener
+    @Transactional
+    public void on(BookingCreatedEvent event) {
+        boolean applied = apply(event.getOwnerId(), dashboard -> dashboard.adjustBookings(event.getStatus(), 1));
+        if (applied && LIVE_STATUSES.contains(event.getStatus())) {
+            entryRepository.copyBookings(List.of(event.getBookingId()));
+        }
+    }
+
+    @EventListener
+    @Transactional
+    public void on(BookingStatusChangedEvent event) {
+        // Владельцы берутся по возрастанию id, чтобы параллельные пакеты блокировали сводки в одном порядке
+        for (OwnerBookingCount owner : bookingRepository.countByOwnerForIds(event.getBookingIds())) {
+            apply(owner.getOwnerId(), dashboard -> {
+                dashboard.adjustBookings(event.getPrevious(), -owner.getCount());
+                dashboard.adjustBookings(event.getCurrent(), owner.getCount());
+            });
+        }
+        if (LIVE_STATUSES.contains(event.getCurrent())) {
+            entryRepository.updateStatus(event.getBookingIds(), event.getCurrent());
+        } else {
+            entryRepository.deleteByBookingIds(event.getBookingIds());
+        }
+    }
+
+    /**
+     * Применяет изменение к заблокированной строке сводки. Несобранная строка вместо этого пересчитывается
+     * из источника, где изменение уже видно; строки нет — сводка соберётся при первом чтении.
+     *
+     * @return {@code true}, если изменение применено к уже собранной сводке
+     */
+    private boolean apply(Long ownerId, Consumer<OwnerDashboard> change) {
+        Optional<OwnerDashboard> locked = dashboardRepository.findForUpdate(ownerId);
+        if (locked.isEmpty()) {
+            return false;
+        }
+        if (!locked.get().isBuilt()) {
+            dashboardService.rebuild(ownerId, LocalDateTime.now());
+            return false;
+        }
+        change.accept(locked.get());
+        return true;
+    }
+}
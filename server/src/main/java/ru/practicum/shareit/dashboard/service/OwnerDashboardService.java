@@ -0,0 +1,18 @@
+package ru.practicum.shareit.dashboard.service;
+
+import ru.practicum.shareit.dashboard.dto.OwnerDashboardDto;
+import ru.practicum.shareit.dashboard.model.OwnerDashboard;
+
+import java.time.LocalDateTime;
+
+public interface OwnerDashboardService {
+    OwnerDashboardDto getDashboard(Long ownerId);
+
+    OwnerDashboard initialize(Long ownerId, LocalDateTime now);
+
+    OwnerDashboard rebuild(Long ownerId, LocalDateTime now);
+
+    int invalidateAll();
+
+    int pruneEnded(LocalDateTime now, int batchSize);
+}
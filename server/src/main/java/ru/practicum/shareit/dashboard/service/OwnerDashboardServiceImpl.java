@@ -0,0 +1,107 @@
+package ru.practicum.shareit.dashboard.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.archive.BookingArchiveRepository;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.dashboard.OwnerDashboardProperties;
+import ru.practicum.shareit.dashboard.dto.BookingStatusCount;
+import ru.practicum.shareit.dashboard.dto.OwnerDashboardDto;
+import ru.practicum.shareit.dashboard.mapper.OwnerDashboardMapper;
+import ru.practicum.shareit.dashboard.model.OwnerDashboard;
+import ru.practicum.shareit.dashboard.model.OwnerDashboardEntry;
+import ru.practicum.shareit.dashboard.repository.OwnerDashboardEntryRepository;
+import ru.practicum.shareit.dashboard.repository.OwnerDashboardRepository;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class OwnerDashboardServiceImpl implements OwnerDashboardService {
+    private final OwnerDashboardRepository dashboardRepository;
+    private final OwnerDashboardEntryRepository entryRepository;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingArchiveRepository archiveRepository;
+    private final OwnerDashboardProperties properties;
+
+    @Override
+    @Transactional
+    public OwnerDashboardDto getDashboard(Long ownerId) {
+        if (!userRepository.existsById(ownerId)) {
+            throw new UserNotFoundException(String.format("Пользователь с ID %d не найден", ownerId));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        OwnerDashboard dashboard = dashboardRepository.findById(ownerId)
+                .filter(OwnerDashboard::isBuilt)
+                .orElseGet(() -> rebuild(ownerId, now));
+        PageRequest firstRows = PageRequest.of(0, properties.getListSize());
+        List<OwnerDashboardEntry> pending = entryRepository.findUpcoming(ownerId, BookingStatus.WAITING, now, firstRows);
+        List<OwnerDashboardEntry> pickups = entryRepository.findUpcoming(ownerId, BookingStatus.APPROVED, now, firstRows);
+
+        return OwnerDashboardMapper.toOwnerDashboardDto(dashboard,
+                entryRepository.countCurrent(ownerId, now),
+                entryRepository.countFuture(ownerId, now),
+                pending,
+                pickups);
+    }
+
+    @Override
+    @Transactional
+    public OwnerDashboard initialize(Long ownerId, LocalDateTime now) {
+        OwnerDashboard dashboard = new OwnerDashboard(ownerId);
+        dashboard.setRebuiltAt(now);
+        return dashboardRepository.save(dashboard);
+    }
+
+    /**
+     * Пересчитывает сводку из {@code bookings}, архива и {@code items} под блокировкой строки сводки,
+     * поэтому параллельные события либо ждут пересчёта, либо уже видны в источнике.
+     */
+    @Override
+    @Transactional
+    public OwnerDashboard rebuild(Long ownerId, LocalDateTime now) {
+        OwnerDashboard dashboard = dashboardRepository.findForUpdate(ownerId)
+                .orElseGet(() -> new OwnerDashboard(ownerId));
+        dashboard.setItemCount(itemRepository.countByOwnerId(ownerId));
+        dashboard.setAvailableItemCount(itemRepository.countByOwnerIdAndAvailableTrue(ownerId));
+        dashboard.getBookingCounts().clear();
+        for (BookingStatusCount count : bookingRepository.countByOwnerGroupByStatus(ownerId)) {
+            dashboard.adjustBookings(count.getStatus(), count.getCount());
+        }
+        for (BookingStatusCount count : archiveRepository.countByOwnerGroupByStatus(ownerId)) {
+            dashboard.adjustBookings(count.getStatus(), count.getCount());
+        }
+        dashboard.setRebuiltAt(now);
+
+        entryRepository.deleteByOwnerId(ownerId);
+        entryRepository.copyLiveBookings(ownerId, now);
+        return dashboardRepository.save(dashboard);
+    }
+
+    @Override
+    @Transactional
+    public int invalidateAll() {
+        return dashboardRepository.invalidateAll();
+    }
+
+    /**
+     * Удаляет строки закончившихся бронирований: счётчики по статусам от них не зависят, а без удаления
+     * одобренные бронирования копились бы в {@code owner_dashboard_entries} до переноса в архив.
+     */
+    @Override
+    @Transactional
+    public int pruneEnded(LocalDateTime now, int batchSize) {
+        List<Long> ids = entryRepository.findEndedBookingIds(now, PageRequest.of(0, batchSize));
+        return ids.isEmpty() ? 0 : entryRepository.deleteByBookingIds(ids);
+    }
+}
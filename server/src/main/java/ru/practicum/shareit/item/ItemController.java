@@ -1,13 +1,20 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.comment.dto.CommentCreateDto;
 import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.comment.dto.CommentPageDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookings;
+import ru.practicum.shareit.item.dto.ItemFacetedSearchDto;
+import ru.practicum.shareit.item.dto.ItemNameSuggestionDto;
+import ru.practicum.shareit.item.dto.ItemSearchResultDto;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -32,7 +39,11 @@ public class ItemController {
 
     @GetMapping("/{itemId}")
     public ItemDtoWithBookings getItemById(@PathVariable Long itemId,
-                                           @RequestHeader(USER_ID_HEADER) Long userId) {
+                                           @RequestHeader(USER_ID_HEADER) Long userId,
+                                           WebRequest webRequest) {
+        if (webRequest.checkNotModified(itemService.getItemETag(itemId, userId))) {
+            return null;
+        }
         return itemService.getItemById(itemId, userId);
     }
 
@@ -42,8 +53,41 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemDto> searchItems(@RequestParam String text) {
-        return itemService.searchItems(text);
+    public List<ItemDto> searchItems(@RequestParam String text,
+                                     @RequestParam(required = false) Double lat,
+                                     @RequestParam(required = false) Double lon,
+                                     @RequestParam(required = false) Double radius) {
+        if (lat == null && lon == null && radius == null) {
+            return itemService.searchItems(text);
+        }
+        return itemService.searchItemsNear(text, lat, lon, radius);
+    }
+
+    @GetMapping("/search/facets")
+    public ItemFacetedSearchDto searchItemsFaceted(@RequestParam(required = false) String text,
+                                                   @RequestParam(required = false) List<String> tags,
+                                                   @RequestParam(defaultValue = "20") int limit) {
+        return itemService.searchItemsFaceted(text, tags, limit);
+    }
+
+    @GetMapping("/search/available")
+    public List<ItemDto> searchAvailableItems(@RequestParam String text,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        return itemService.searchAvailableItems(text, start, end);
+    }
+
+    @GetMapping("/search/fuzzy")
+    public List<ItemSearchResultDto> fuzzySearchItems(@RequestParam String text,
+                                                      @RequestParam(required = false) Double threshold,
+                                                      @RequestParam(defaultValue = "20") int limit) {
+        return itemService.fuzzySearchItems(text, threshold, limit);
+    }
+
+    @GetMapping("/suggest")
+    public List<ItemNameSuggestionDto> suggestItems(@RequestParam String prefix,
+                                                    @RequestParam(defaultValue = "10") int limit) {
+        return itemService.suggestItems(prefix, limit);
     }
 
     @DeleteMapping("/{itemId}")
@@ -58,4 +102,11 @@ public class ItemController {
                                  @RequestHeader(USER_ID_HEADER) Long authorId) {
         return itemService.addComment(itemId, commentCreateDto, authorId);
     }
+
+    @GetMapping("/{itemId}/comments")
+    public CommentPageDto getComments(@PathVariable Long itemId,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(defaultValue = "20") int size) {
+        return itemService.getComments(itemId, cursor, size);
+    }
 }
\ No newline at end of file
@@ -6,6 +6,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.FieldDefaults;
 
+import java.util.List;
+
 @Data
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @NoArgsConstructor
@@ -16,4 +18,7 @@ public class ItemDto {
     String description;
     Boolean available;
     Long requestId;
+    Double latitude;
+    Double longitude;
+    List<String> tags;
 }
@@ -23,6 +23,7 @@ public class ItemDtoWithBookings {
     BookingInfo lastBooking;
     BookingInfo nextBooking;
     List<CommentDto> comments;
+    long commentCount;
 
     @Data
     @FieldDefaults(level = AccessLevel.PRIVATE)
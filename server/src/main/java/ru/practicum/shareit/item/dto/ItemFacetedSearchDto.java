@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemFacetedSearchDto {
+    /**
+     * Число подходящих вещей; {@link #items} содержит не больше {@code limit} из них.
+     */
+    int total;
+    List<ItemDto> items;
+    List<TagFacetDto> facets;
+}
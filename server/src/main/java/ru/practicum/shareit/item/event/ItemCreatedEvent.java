@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Публикуется в транзакции создания вещи.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class ItemCreatedEvent {
+    Long itemId;
+    Long ownerId;
+    boolean available;
+}
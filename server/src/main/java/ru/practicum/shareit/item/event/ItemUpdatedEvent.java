@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Публикуется после изменения вещи владельцем.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class ItemUpdatedEvent {
+    Long itemId;
+    Long ownerId;
+    String name;
+    boolean wasAvailable;
+    boolean available;
+}
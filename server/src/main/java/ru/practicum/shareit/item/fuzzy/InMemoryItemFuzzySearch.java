@@ -0,0 +1,187 @@
+package ru.practicum.shareit.item.fuzzy;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.event.ItemCreatedEvent;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.event.ItemUpdatedEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Триграммный индекс в памяти для баз без {@code pg_trgm} (встроенная H2). Такая база живёт в одном процессе,
+ * поэтому индекс догоняет изменения по событиям вещей после фиксации, без чтения outbox.
+ * Загружается при первом поиске.
+ * <p>
+ * Кандидаты отбираются по спискам триграмм: при сходстве не ниже {@code t} у вещи должно быть
+ * хотя бы {@code t · |триграммы запроса|} общих триграмм, остальные не проверяются.
+ */
+@Slf4j
+public class InMemoryItemFuzzySearch implements ItemFuzzySearch {
+    private static final Comparator<ItemMatch> RANKING = Comparator.comparingDouble(ItemMatch::getScore).reversed()
+            .thenComparing(ItemMatch::getItemId);
+
+    private final ItemRepository itemRepository;
+    private final ItemSearchProperties properties;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private volatile boolean loaded;
+
+    public InMemoryItemFuzzySearch(ItemRepository itemRepository, ItemSearchProperties properties) {
+        this.itemRepository = itemRepository;
+        this.properties = properties;
+    }
+
+    @Override
+    public List<ItemMatch> search(List<String> queries, double threshold, int limit) {
+        ensureLoaded();
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (String query : queries) {
+                List<String> queryWords = Trigrams.words(query);
+                Set<String> trigrams = Trigrams.of(queryWords);
+                for (Long itemId : candidates(trigrams, threshold)) {
+                    Document document = documents.get(itemId);
+                    double score = Math.max(
+                            Trigrams.wordSimilarity(trigrams, queryWords.size(), document.name),
+                            Trigrams.wordSimilarity(trigrams, queryWords.size(), document.description));
+                    if (score >= threshold) {
+                        scores.merge(itemId, score, Math::max);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return scores.entrySet().stream()
+                .map(entry -> new ItemMatch(entry.getKey(), entry.getValue()))
+                .sorted(RANKING)
+                .limit(limit)
+                .toList();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void on(ItemCreatedEvent event) {
+        refresh(event.getItemId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void on(ItemUpdatedEvent event) {
+        refresh(event.getItemId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void on(ItemDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.getItemId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<Long> candidates(Set<String> trigrams, double threshold) {
+        Map<Long, Integer> hits = new HashMap<>();
+        for (String trigram : trigrams) {
+            for (Long itemId : postings.getOrDefault(trigram, Set.of())) {
+                hits.merge(itemId, 1, Integer::sum);
+            }
+        }
+        double required = threshold * trigrams.size();
+        Set<Long> candidates = new HashSet<>();
+        hits.forEach((itemId, count) -> {
+            if (count >= required) {
+                candidates.add(itemId);
+            }
+        });
+        return candidates;
+    }
+
+    private void refresh(Long itemId) {
+        if (!loaded) {
+            return;
+        }
+        List<ItemText> texts = itemRepository.findAvailableTexts(List.of(itemId));
+        lock.writeLock().lock();
+        try {
+            remove(itemId);
+            texts.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            long afterId = 0;
+            List<ItemText> page;
+            do {
+                page = itemRepository.findAvailableTextsAfter(afterId, PageRequest.of(0, properties.getLoadBatchSize()));
+                page.forEach(this::put);
+                if (!page.isEmpty()) {
+                    afterId = page.getLast().getItemId();
+                }
+            } while (page.size() == properties.getLoadBatchSize());
+            loaded = true;
+            log.info("Триграммный индекс вещей загружен: {} вещей", documents.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(ItemText text) {
+        Document document = new Document(Trigrams.words(text.getName()), Trigrams.words(text.getDescription()));
+        documents.put(text.getItemId(), document);
+        document.trigrams().forEach(trigram -> postings.computeIfAbsent(trigram, t -> new HashSet<>()).add(text.getItemId()));
+    }
+
+    private void remove(Long itemId) {
+        Document document = documents.remove(itemId);
+        if (document == null) {
+            return;
+        }
+        for (String trigram : document.trigrams()) {
+            Set<Long> items = postings.get(trigram);
+            if (items != null && items.remove(itemId) && items.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    private record Document(List<String> name, List<String> description) {
+        Set<String> trigrams() {
+            List<String> words = new ArrayList<>(name);
+            words.addAll(description);
+            return Trigrams.of(words);
+        }
+    }
+}
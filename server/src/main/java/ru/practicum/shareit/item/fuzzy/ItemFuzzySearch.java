@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.fuzzy;
+
+import java.util.List;
+
+/**
+ * Поиск доступных вещей по сходству триграмм с названием или описанием.
+ * Результат упорядочен по убыванию сходства, при равенстве — по идентификатору.
+ */
+public interface ItemFuzzySearch {
+
+    /**
+     * @param queries   варианты запроса, см. {@link Trigrams#variants(String)}
+     * @param threshold минимальное сходство от 0 до 1
+     */
+    List<ItemMatch> search(List<String> queries, double threshold, int limit);
+}
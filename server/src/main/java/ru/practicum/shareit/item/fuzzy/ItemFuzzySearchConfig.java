@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.fuzzy;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.sql.DatabaseMetaData;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ItemSearchProperties.class)
+public class ItemFuzzySearchConfig {
+
+    @Bean
+    public ItemFuzzySearch itemFuzzySearch(JdbcTemplate jdbcTemplate,
+                                           ItemRepository itemRepository,
+                                           ItemSearchProperties properties) throws MetaDataAccessException {
+        String url = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(), DatabaseMetaData::getURL);
+        if (DatabaseDriver.fromJdbcUrl(url) == DatabaseDriver.POSTGRESQL) {
+            return new PostgresItemFuzzySearch(jdbcTemplate);
+        }
+        return new InMemoryItemFuzzySearch(itemRepository, properties);
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.fuzzy;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.item-search")
+public class ItemSearchProperties {
+    double defaultThreshold = 0.3;
+    int maxResults = 100;
+    int loadBatchSize = 1000;
+}
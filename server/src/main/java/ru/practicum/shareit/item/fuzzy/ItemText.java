@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.fuzzy;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemText {
+    Long itemId;
+    String name;
+    String description;
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.item.fuzzy;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Поиск средствами {@code pg_trgm}: оператор {@code <%} по GIN-индексам на {@code lower(name)} и
+ * {@code lower(description)} отбирает кандидатов без полного просмотра {@code items}.
+ * Расширение и индексы создаёт {@code schema-postgresql.sql}.
+ */
+public class PostgresItemFuzzySearch implements ItemFuzzySearch {
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostgresItemFuzzySearch(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Порог оператора {@code <%} — настройка сеанса; {@code set_config(..., true)} действует до конца транзакции,
+     * поэтому поиск всегда выполняется в ней.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemMatch> search(List<String> queries, double threshold, int limit) {
+        if (queries.isEmpty()) {
+            return List.of();
+        }
+        jdbcTemplate.queryForObject("SELECT set_config('pg_trgm.word_similarity_threshold', ?, true)",
+                String.class, Double.toString(threshold));
+
+        StringJoiner score = new StringJoiner(", ", "GREATEST(", ")");
+        StringJoiner filter = new StringJoiner(" OR ", "(", ")");
+        List<Object> scoreArgs = new ArrayList<>();
+        List<Object> filterArgs = new ArrayList<>();
+        for (String query : queries) {
+            score.add("word_similarity(?, lower(name))").add("word_similarity(?, lower(description))");
+            filter.add("? <% lower(name)").add("? <% lower(description)");
+            scoreArgs.add(query);
+            scoreArgs.add(query);
+            filterArgs.add(query);
+            filterArgs.add(query);
+        }
+        List<Object> args = new ArrayList<>(scoreArgs);
+        args.addAll(filterArgs);
+        args.add(limit);
+
+        String sql = "SELECT id, " + score + " AS score FROM items " +
+                "WHERE is_available = TRUE AND " + filter + " ORDER BY score DESC, id LIMIT ?";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new ItemMatch(rs.getLong("id"), rs.getDouble("score")),
+                args.toArray());
+    }
+}
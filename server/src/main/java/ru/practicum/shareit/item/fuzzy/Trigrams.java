@@ -0,0 +1,100 @@
+package ru.practicum.shareit.item.fuzzy;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Триграммы в духе {@code pg_trgm}: слово дополняется двумя пробелами слева и одним справа,
+ * сходство — доля общих триграмм от объединения. Внутрипроцессный индекс считает так же,
+ * чтобы порог значил одно и то же на H2 и PostgreSQL.
+ */
+public final class Trigrams {
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Map<Character, String> LATIN_TO_CYRILLIC = Map.ofEntries(
+            Map.entry('a', "а"), Map.entry('b', "б"), Map.entry('c', "ц"), Map.entry('d', "д"), Map.entry('e', "е"),
+            Map.entry('f', "ф"), Map.entry('g', "г"), Map.entry('h', "х"), Map.entry('i', "и"), Map.entry('j', "й"),
+            Map.entry('k', "к"), Map.entry('l', "л"), Map.entry('m', "м"), Map.entry('n', "н"), Map.entry('o', "о"),
+            Map.entry('p', "п"), Map.entry('q', "к"), Map.entry('r', "р"), Map.entry('s', "с"), Map.entry('t', "т"),
+            Map.entry('u', "у"), Map.entry('v', "в"), Map.entry('w', "в"), Map.entry('x', "кс"), Map.entry('y', "ы"),
+            Map.entry('z', "з"));
+
+    private Trigrams() {
+    }
+
+    public static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : NON_WORD.split(text.toLowerCase(Locale.ROOT).replace('ё', 'е'))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    public static Set<String> of(List<String> words) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : words) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    public static double similarity(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        int common = 0;
+        for (String trigram : a) {
+            if (b.contains(trigram)) {
+                common++;
+            }
+        }
+        return (double) common / (a.size() + b.size() - common);
+    }
+
+    /**
+     * Лучшее сходство запроса с отрезком текста из стольких же подряд идущих слов —
+     * приближение {@code word_similarity}: короткий запрос не проигрывает из-за длины описания.
+     */
+    public static double wordSimilarity(Set<String> query, int queryWords, List<String> words) {
+        double best = 0;
+        int window = Math.min(Math.max(queryWords, 1), words.size());
+        for (int from = 0; from + window <= words.size(); from++) {
+            best = Math.max(best, similarity(query, of(words.subList(from, from + window))));
+        }
+        return best;
+    }
+
+    /**
+     * Запрос и, если он набран латиницей, его побуквенная транслитерация: «drel» ищется и как «дрел».
+     */
+    public static List<String> variants(String text) {
+        String query = String.join(" ", words(text));
+        Set<String> variants = new LinkedHashSet<>();
+        variants.add(query);
+        StringBuilder cyrillic = new StringBuilder(query.length());
+        boolean latin = false;
+        for (char c : query.toCharArray()) {
+            String mapped = LATIN_TO_CYRILLIC.get(c);
+            latin |= mapped != null;
+            cyrillic.append(mapped != null ? mapped : String.valueOf(c));
+        }
+        if (latin) {
+            variants.add(cyrillic.toString());
+        }
+        variants.remove("");
+        return List.copyOf(variants);
+    }
+}
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.item.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Геохеш в числовом виде: широта и долгота квантуются до {@value #BITS} бит каждая, и биты чередуются
+ * (кривая Мортона), поэтому каждая ячейка любого уровня — непрерывный диапазон кодов, а поиск по ячейкам —
+ * несколько диапазонных сканов обычного B-tree индекса без PostGIS.
+ * <p>
+ * Окрестность точки покрывается ячейками самого мелкого уровня, ячейка которого не меньше описанного
+ * вокруг круга прямоугольника: прямоугольник задевает не больше двух ячеек по каждой оси, то есть не больше четырёх
+ * диапазонов. Точное расстояние проверяется уже по найденным строкам.
+ */
+public final class GeoCells {
+    public static final int BITS = 26;
+    public static final int MAX_RANGES = 4;
+    static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    private static final long CELLS = 1L << BITS;
+
+    private GeoCells() {
+    }
+
+    public static long encode(double latitude, double longitude) {
+        return interleave(lonIndex(longitude), latIndex(latitude));
+    }
+
+    /**
+     * Диапазоны кодов {@code [from, to]}, покрывающие круг радиуса {@code radiusKm} вокруг точки;
+     * соседние диапазоны склеены.
+     */
+    public static List<Range> cover(double latitude, double longitude, double radiusKm) {
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double minLat = Math.max(-90, latitude - latDelta);
+        double maxLat = Math.min(90, latitude + latDelta);
+        double cos = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        double lonDelta = cos <= 0 ? 180 : radiusKm / (KM_PER_DEGREE * cos);
+        if (lonDelta >= 180) {
+            // У полюса круг охватывает все долготы: на первом уровне это две ячейки по долготе
+            int level = Math.min(1, level(maxLat - minLat, 180));
+            return merge(cells(level, latIndex(minLat), latIndex(maxLat), 0, CELLS - 1, true));
+        }
+
+        int level = Math.min(level(maxLat - minLat, 180), level(2 * lonDelta, 360));
+        return merge(cells(level, latIndex(minLat), latIndex(maxLat),
+                lonIndex(normalizeLongitude(longitude - lonDelta)), lonIndex(normalizeLongitude(longitude + lonDelta)),
+                false));
+    }
+
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Самый мелкий уровень, на котором ячейка по оси с размахом {@code span} градусов не меньше {@code extent}.
+     */
+    private static int level(double extent, double span) {
+        if (extent <= 0) {
+            return BITS;
+        }
+        int level = (int) Math.floor(Math.log(span / extent) / Math.log(2));
+        return Math.max(0, Math.min(BITS, level));
+    }
+
+    private static List<Range> cells(int level, long minLat, long maxLat, long minLon, long maxLon, boolean allLon) {
+        int drop = BITS - level;
+        int shift = 2 * drop;
+        long size = 1L << level;
+        long fromLat = minLat >>> drop;
+        long toLat = maxLat >>> drop;
+        long fromLon = allLon ? 0 : minLon >>> drop;
+        long toLon = allLon ? size - 1 : maxLon >>> drop;
+        // Окрестность через антимеридиан: от западной ячейки до конца и от начала до восточной
+        long lonCount = toLon >= fromLon ? toLon - fromLon + 1 : size - fromLon + toLon + 1;
+
+        List<Range> ranges = new ArrayList<>();
+        for (long lat = fromLat; lat <= toLat; lat++) {
+            for (long i = 0; i < lonCount; i++) {
+                long cell = interleave((fromLon + i) % size, lat);
+                ranges.add(new Range(cell << shift, ((cell + 1) << shift) - 1));
+            }
+        }
+        return ranges;
+    }
+
+    private static List<Range> merge(List<Range> ranges) {
+        ranges.sort((a, b) -> Long.compare(a.from(), b.from()));
+        List<Range> merged = new ArrayList<>();
+        for (Range range : ranges) {
+            Range last = merged.isEmpty() ? null : merged.getLast();
+            if (last != null && range.from() <= last.to() + 1) {
+                merged.set(merged.size() - 1, new Range(last.from(), Math.max(last.to(), range.to())));
+            } else {
+                merged.add(range);
+            }
+        }
+        return merged;
+    }
+
+    private static long latIndex(double latitude) {
+        return Math.min(CELLS - 1, (long) Math.floor((latitude + 90) / 180 * CELLS));
+    }
+
+    private static long lonIndex(double longitude) {
+        return Math.min(CELLS - 1, (long) Math.floor((longitude + 180) / 360 * CELLS));
+    }
+
+    private static double normalizeLongitude(double longitude) {
+        double normalized = ((longitude + 180) % 360 + 360) % 360 - 180;
+        return normalized == -180 && longitude > 0 ? 180 : normalized;
+    }
+
+    private static long interleave(long lon, long lat) {
+        return spread(lon) << 1 | spread(lat);
+    }
+
+    private static long spread(long value) {
+        long x = value & 0xFFFFFFFFL;
+        x = (x | (x << 16)) & 0x0000FFFF0000FFFFL;
+        x = (x | (x << 8)) & 0x00FF00FF00FF00FFL;
+        x = (x | (x << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        x = (x | (x << 2)) & 0x3333333333333333L;
+        x = (x | (x << 1)) & 0x5555555555555555L;
+        return x;
+    }
+
+    public record Range(long from, long to) {
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.mapper;
 
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchResultDto;
 import ru.practicum.shareit.item.model.Item;
 
 public class ItemMapper {
@@ -11,7 +12,21 @@ public class ItemMapper {
                 item.getName(),
                 item.getDescription(),
                 item.isAvailable(),
-                item.getRequest() != null ? item.getRequest().getId() : null
+                item.getRequest() != null ? item.getRequest().getId() : null,
+                item.getLocation() != null ? item.getLocation().getLatitude() : null,
+                item.getLocation() != null ? item.getLocation().getLongitude() : null,
+                null
+        );
+    }
+
+    public static ItemSearchResultDto toSearchResultDto(Item item, double score) {
+        return new ItemSearchResultDto(
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.isAvailable(),
+                item.getRequest() != null ? item.getRequest().getId() : null,
+                score
         );
     }
 
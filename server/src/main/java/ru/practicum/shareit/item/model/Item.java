@@ -36,4 +36,10 @@ public class Item {
     @ManyToOne
     @JoinColumn(name = "request_id")
     ItemRequest request;
+
+    @Column(nullable = false, insertable = false, updatable = false)
+    long version;
+
+    @Embedded
+    ItemLocation location;
 }
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class ItemLocation {
+    @Column(name = "latitude")
+    Double latitude;
+
+    @Column(name = "longitude")
+    Double longitude;
+
+    /**
+     * Ячейка геохеша точки, см. {@link ru.practicum.shareit.item.geo.GeoCells#encode}.
+     */
+    @Column(name = "geo_cell")
+    Long cell;
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item.pointer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(BookingPointerProperties.class)
+public class BookingPointerConfig {
+
+    @Bean
+    public BookingPointerEndpoint bookingPointerEndpoint(BookingPointerService pointerService,
+                                                         BookingPointerProperties properties) {
+        return new BookingPointerEndpoint(pointerService, properties);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "shareit.booking-pointers", name = "roll-forward-enabled", matchIfMissing = true)
+    static class RollForwardConfig {
+
+        @Bean
+        public BookingPointerRollForwardJob bookingPointerRollForwardJob(BookingPointerService pointerService,
+                                                                         BookingPointerProperties properties) {
+            return new BookingPointerRollForwardJob(pointerService, properties);
+        }
+    }
+}
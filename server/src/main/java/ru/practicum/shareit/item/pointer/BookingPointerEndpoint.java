@@ -0,0 +1,41 @@
+package ru.practicum.shareit.item.pointer;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.time.LocalDateTime;
+
+@Endpoint(id = "bookingpointers")
+public class BookingPointerEndpoint {
+    private final BookingPointerService pointerService;
+    private final BookingPointerProperties properties;
+
+    public BookingPointerEndpoint(BookingPointerService pointerService, BookingPointerProperties properties) {
+        this.pointerService = pointerService;
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public BookingPointerReport check() {
+        return scan(false);
+    }
+
+    @WriteOperation
+    public BookingPointerReport rebuild() {
+        return scan(true);
+    }
+
+    private BookingPointerReport scan(boolean repair) {
+        LocalDateTime now = LocalDateTime.now();
+        BookingPointerReport report = new BookingPointerReport();
+        report.setRepaired(repair);
+        BookingPointerReport batch;
+        do {
+            Long after = report.getLastItemId() != null ? report.getLastItemId() : 0L;
+            batch = pointerService.check(after, properties.getBatchSize(), repair, now);
+            report.add(batch);
+        } while (batch.getChecked() == properties.getBatchSize());
+        return report;
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.pointer;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.booking-pointers")
+public class BookingPointerProperties {
+    boolean rollForwardEnabled = true;
+    Duration rollInterval = Duration.ofMinutes(1);
+    int batchSize = 500;
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.pointer;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingPointerReport {
+    long checked;
+    long missing;
+    long mismatched;
+    long due;
+    boolean repaired;
+    List<Long> inconsistentItemIds = new ArrayList<>();
+    Long lastItemId;
+
+    void add(BookingPointerReport batch) {
+        checked += batch.checked;
+        missing += batch.missing;
+        mismatched += batch.mismatched;
+        due += batch.due;
+        batch.inconsistentItemIds.stream()
+                .limit(BookingPointerService.MAX_REPORTED_IDS - inconsistentItemIds.size())
+                .forEach(inconsistentItemIds::add);
+        lastItemId = batch.lastItemId;
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item.pointer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@RequiredArgsConstructor
+public class BookingPointerRollForwardJob {
+    private final BookingPointerService pointerService;
+    private final BookingPointerProperties properties;
+
+    @Scheduled(fixedDelayString = "${shareit.booking-pointers.roll-interval:PT1M}",
+            initialDelayString = "${shareit.booking-pointers.roll-interval:PT1M}")
+    public void rollForward() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int rolled;
+        do {
+            rolled = pointerService.rollForward(now, properties.getBatchSize());
+            total += rolled;
+        } while (rolled == properties.getBatchSize());
+
+        if (total > 0) {
+            log.debug("Пересчитаны указатели бронирований для {} вещей", total);
+        }
+    }
+}
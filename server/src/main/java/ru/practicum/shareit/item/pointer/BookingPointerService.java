@@ -0,0 +1,198 @@
+package ru.practicum.shareit.item.pointer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Поддерживает таблицу {@code item_booking_pointers}, чтобы карточка вещи для владельца
+ * читала последнее и следующее бронирование одной строкой, а не диапазонными запросами по {@code bookings}.
+ * Отклонённые и отменённые бронирования не учитываются.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingPointerService {
+    static final List<BookingStatus> COUNTED_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    static final int MAX_REPORTED_IDS = 100;
+    private static final Pageable FIRST = PageRequest.of(0, 1);
+
+    private final ItemBookingPointerRepository pointerRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+
+    @Transactional(readOnly = true)
+    public ItemBookingPointer getPointer(Long itemId, LocalDateTime now) {
+        return pointerRepository.findById(itemId)
+                .filter(pointer -> isFresh(pointer, now))
+                .orElseGet(() -> compute(itemId, now));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, ItemBookingPointer> getPointers(Collection<Long> itemIds, LocalDateTime now) {
+        Map<Long, ItemBookingPointer> pointers = pointerRepository.findAllById(itemIds).stream()
+                .filter(pointer -> isFresh(pointer, now))
+                .collect(Collectors.toMap(ItemBookingPointer::getItemId, Function.identity()));
+        for (Long itemId : itemIds) {
+            if (!pointers.containsKey(itemId)) {
+                pointers.put(itemId, compute(itemId, now));
+            }
+        }
+        return pointers;
+    }
+
+    @Transactional
+    public void initialize(Long itemId) {
+        pointerRepository.save(new ItemBookingPointer(itemId));
+    }
+
+    @Transactional
+    public ItemBookingPointer refresh(Long itemId, LocalDateTime now) {
+        return pointerRepository.save(compute(itemId, now));
+    }
+
+    /**
+     * Новое бронирование всегда в будущем, поэтому оно может стать только следующим:
+     * достаточно сравнить его с текущим указателем, не перечитывая бронирования вещи.
+     */
+    @Transactional
+    public void onBookingCreated(Booking booking, LocalDateTime now) {
+        Long itemId = booking.getItem().getId();
+        ItemBookingPointer pointer = pointerRepository.findById(itemId)
+                .filter(p -> isFresh(p, now))
+                .orElse(null);
+        if (pointer == null || !booking.getStart().isAfter(now) || !COUNTED_STATUSES.contains(booking.getStatus())) {
+            refresh(itemId, now);
+            return;
+        }
+
+        BookingSnapshot next = pointer.getNextBooking();
+        if (next == null || booking.getStart().isBefore(next.getStart())) {
+            pointer.setNextBooking(toSnapshot(booking));
+            pointer.setRollAt(earliest(pointer.getRollAt(), booking.getStart()));
+            pointerRepository.save(pointer);
+        }
+    }
+
+    @Transactional
+    public void onBookingStatusChanged(Booking booking, LocalDateTime now) {
+        if (COUNTED_STATUSES.contains(booking.getStatus())) {
+            return;
+        }
+        Long itemId = booking.getItem().getId();
+        boolean referenced = pointerRepository.findById(itemId)
+                .map(pointer -> references(pointer.getLastBooking(), booking) || references(pointer.getNextBooking(), booking))
+                .orElse(true);
+        if (referenced) {
+            refresh(itemId, now);
+        }
+    }
+
+    @Transactional
+    public void onBookingsWithdrawn(List<Long> bookingIds, LocalDateTime now) {
+        pointerRepository.findItemIdsReferencing(bookingIds)
+                .forEach(itemId -> refresh(itemId, now));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> findItemsReferencing(List<Long> bookingIds) {
+        return pointerRepository.findItemIdsReferencing(bookingIds);
+    }
+
+    @Transactional
+    public int rollForward(LocalDateTime now, int batchSize) {
+        List<Long> due = pointerRepository.findDueItemIds(now, PageRequest.of(0, batchSize));
+        due.forEach(itemId -> refresh(itemId, now));
+        return due.size();
+    }
+
+    /**
+     * Сверяет сохранённые указатели с пересчитанными для очередной порции вещей после {@code afterItemId}.
+     * Просроченные строки не считаются ошибкой — их догонит фоновая задача.
+     */
+    @Transactional
+    public BookingPointerReport check(Long afterItemId, int batchSize, boolean repair, LocalDateTime now) {
+        BookingPointerReport report = new BookingPointerReport();
+        report.setRepaired(repair);
+        List<Long> itemIds = itemRepository.findIdsAfter(afterItemId, PageRequest.of(0, batchSize));
+        Map<Long, ItemBookingPointer> stored = pointerRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(ItemBookingPointer::getItemId, Function.identity()));
+
+        for (Long itemId : itemIds) {
+            report.setChecked(report.getChecked() + 1);
+            report.setLastItemId(itemId);
+            ItemBookingPointer pointer = stored.get(itemId);
+            ItemBookingPointer expected = compute(itemId, now);
+            if (pointer == null) {
+                report.setMissing(report.getMissing() + 1);
+            } else if (pointer.getRollAt() != null && !now.isBefore(pointer.getRollAt())) {
+                report.setDue(report.getDue() + 1);
+                continue;
+            } else if (matches(pointer, expected)) {
+                continue;
+            } else {
+                report.setMismatched(report.getMismatched() + 1);
+            }
+
+            if (report.getInconsistentItemIds().size() < MAX_REPORTED_IDS) {
+                report.getInconsistentItemIds().add(itemId);
+            }
+            if (repair) {
+                pointerRepository.save(expected);
+            }
+        }
+        return report;
+    }
+
+    ItemBookingPointer compute(Long itemId, LocalDateTime now) {
+        BookingSnapshot last = first(bookingRepository.findLastBookingSnapshots(itemId, now, COUNTED_STATUSES, FIRST));
+        BookingSnapshot next = first(bookingRepository.findNextBookingSnapshots(itemId, now, COUNTED_STATUSES, FIRST));
+        LocalDateTime nextEnd = bookingRepository.findEarliestEndNotBefore(itemId, now, COUNTED_STATUSES);
+        return new ItemBookingPointer(itemId, last, next, earliest(next != null ? next.getStart() : null, nextEnd));
+    }
+
+    private boolean isFresh(ItemBookingPointer pointer, LocalDateTime now) {
+        // Удаление бронирования обнуляет только ссылку на него, остальные колонки снимка остаются
+        return (pointer.getRollAt() == null || now.isBefore(pointer.getRollAt()))
+                && (pointer.getLastBooking() == null || pointer.getLastBooking().getBookingId() != null)
+                && (pointer.getNextBooking() == null || pointer.getNextBooking().getBookingId() != null);
+    }
+
+    private boolean matches(ItemBookingPointer pointer, ItemBookingPointer expected) {
+        return Objects.equals(pointer.getLastBooking(), expected.getLastBooking())
+                && Objects.equals(pointer.getNextBooking(), expected.getNextBooking())
+                && Objects.equals(pointer.getRollAt(), expected.getRollAt());
+    }
+
+    private boolean references(BookingSnapshot snapshot, Booking booking) {
+        return snapshot != null && booking.getId().equals(snapshot.getBookingId());
+    }
+
+    private BookingSnapshot toSnapshot(Booking booking) {
+        return new BookingSnapshot(booking.getId(), booking.getBooker().getId(), booking.getStart(), booking.getEnd());
+    }
+
+    private static BookingSnapshot first(List<BookingSnapshot> snapshots) {
+        return snapshots.isEmpty() ? null : snapshots.getFirst();
+    }
+
+    private static LocalDateTime earliest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isBefore(b) ? a : b;
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item.pointer;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class BookingSnapshot {
+    @Column(name = "booking_id")
+    Long bookingId;
+
+    @Column(name = "booker_id")
+    Long bookerId;
+
+    @Column(name = "start_date")
+    LocalDateTime start;
+
+    @Column(name = "end_date")
+    LocalDateTime end;
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.item.pointer;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Последнее завершившееся и ближайшее предстоящее бронирование вещи.
+ * Строка остаётся верной до момента {@code rollAt}, после которого её пересчитывает фоновая задача.
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "item_booking_pointers")
+public class ItemBookingPointer {
+    @Id
+    @Column(name = "item_id")
+    Long itemId;
+
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "bookingId", column = @Column(name = "last_booking_id")),
+            @AttributeOverride(name = "bookerId", column = @Column(name = "last_booker_id")),
+            @AttributeOverride(name = "start", column = @Column(name = "last_start")),
+            @AttributeOverride(name = "end", column = @Column(name = "last_end"))
+    })
+    BookingSnapshot lastBooking;
+
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "bookingId", column = @Column(name = "next_booking_id")),
+            @AttributeOverride(name = "bookerId", column = @Column(name = "next_booker_id")),
+            @AttributeOverride(name = "start", column = @Column(name = "next_start")),
+            @AttributeOverride(name = "end", column = @Column(name = "next_end"))
+    })
+    BookingSnapshot nextBooking;
+
+    @Column(name = "roll_at")
+    LocalDateTime rollAt;
+
+    public ItemBookingPointer(Long itemId) {
+        this.itemId = itemId;
+    }
+}
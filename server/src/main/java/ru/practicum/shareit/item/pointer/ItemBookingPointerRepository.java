@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.pointer;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ItemBookingPointerRepository extends JpaRepository<ItemBookingPointer, Long> {
+
+    @Query("SELECT p.itemId FROM ItemBookingPointer p WHERE p.rollAt <= :now ORDER BY p.rollAt")
+    List<Long> findDueItemIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT p.itemId FROM ItemBookingPointer p " +
+            "WHERE p.lastBooking.bookingId IN :bookingIds OR p.nextBooking.bookingId IN :bookingIds")
+    List<Long> findItemIdsReferencing(@Param("bookingIds") List<Long> bookingIds);
+}
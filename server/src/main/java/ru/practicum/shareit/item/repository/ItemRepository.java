@@ -1,12 +1,25 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemVersionDto;
+import ru.practicum.shareit.item.fuzzy.ItemText;
+import ru.practicum.shareit.item.geo.GeoCells;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.suggest.ItemNameSource;
+import ru.practicum.shareit.item.tag.ItemAvailability;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
@@ -20,6 +33,102 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             "i.available = true")
     List<Item> searchWithRequest(String text);
 
+    /**
+     * Поиск по тексту среди вещей, у которых нет подтверждённого бронирования, пересекающего период
+     * {@code [start, end)}. Подзапрос идёт по индексу {@code idx_bookings_item_end (item_id, end_date)}
+     * и читает только бронирования вещи, заканчивающиеся после начала периода, а не всю историю.
+     */
+    @Query("SELECT DISTINCT i FROM Item i LEFT JOIN FETCH i.request WHERE " +
+            "(UPPER(i.name) LIKE UPPER(CONCAT('%', :text, '%')) OR " +
+            "UPPER(i.description) LIKE UPPER(CONCAT('%', :text, '%'))) AND " +
+            "i.available = true AND NOT EXISTS (" +
+            "SELECT b.id FROM Booking b WHERE b.item.id = i.id AND b.end > :start AND b.start < :end " +
+            "AND b.status = :status)")
+    List<Item> searchFreeWithRequest(@Param("text") String text,
+                                     @Param("start") LocalDateTime start,
+                                     @Param("end") LocalDateTime end,
+                                     @Param("status") BookingStatus status);
+
+    @Query("SELECT i.id FROM Item i WHERE " +
+            "(UPPER(i.name) LIKE UPPER(CONCAT('%', :text, '%')) OR " +
+            "UPPER(i.description) LIKE UPPER(CONCAT('%', :text, '%'))) AND " +
+            "i.available = true ORDER BY i.id")
+    List<Long> searchIds(@Param("text") String text);
+
+    @Query("SELECT DISTINCT i FROM Item i LEFT JOIN FETCH i.request WHERE " +
+            "(UPPER(i.name) LIKE UPPER(CONCAT('%', :text, '%')) OR " +
+            "UPPER(i.description) LIKE UPPER(CONCAT('%', :text, '%'))) AND " +
+            "i.available = true AND (" +
+            "i.location.cell BETWEEN :from1 AND :to1 OR i.location.cell BETWEEN :from2 AND :to2 OR " +
+            "i.location.cell BETWEEN :from3 AND :to3 OR i.location.cell BETWEEN :from4 AND :to4)")
+    List<Item> searchWithRequestInCells(@Param("text") String text,
+                                        @Param("from1") long from1, @Param("to1") long to1,
+                                        @Param("from2") long from2, @Param("to2") long to2,
+                                        @Param("from3") long from3, @Param("to3") long to3,
+                                        @Param("from4") long from4, @Param("to4") long to4);
+
+    /**
+     * Поиск по тексту среди вещей, чья ячейка геохеша попадает в один из диапазонов {@link GeoCells#cover};
+     * недостающие диапазоны заполняются пустыми.
+     */
+    default List<Item> searchWithRequestInCells(String text, List<GeoCells.Range> ranges) {
+        long[] bounds = new long[2 * GeoCells.MAX_RANGES];
+        for (int i = 0; i < GeoCells.MAX_RANGES; i++) {
+            GeoCells.Range range = i < ranges.size() ? ranges.get(i) : new GeoCells.Range(0, -1);
+            bounds[2 * i] = range.from();
+            bounds[2 * i + 1] = range.to();
+        }
+        return searchWithRequestInCells(text, bounds[0], bounds[1], bounds[2], bounds[3],
+                bounds[4], bounds[5], bounds[6], bounds[7]);
+    }
+
     @Query("SELECT i FROM Item i WHERE i.request.id = :requestId")
     List<Item> findAllByRequestId(@Param("requestId") Long requestId);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemVersionDto(i.owner.id, i.version) FROM Item i WHERE i.id = :id")
+    Optional<ItemVersionDto> findVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Item i SET i.version = i.version + 1 WHERE i.id = :id")
+    void incrementVersion(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Item i SET i.version = i.version + 1 WHERE i.id IN :ids")
+    void incrementVersions(@Param("ids") List<Long> ids);
+
+    long countByOwnerId(Long ownerId);
+
+    long countByOwnerIdAndAvailableTrue(Long ownerId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findForUpdate(@Param("id") Long id);
+
+    @Query("SELECT i.id FROM Item i WHERE i.id > :afterId ORDER BY i.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.item.suggest.ItemNameSource(i.id, i.name, COUNT(b.id)) " +
+            "FROM Item i LEFT JOIN Booking b ON b.item.id = i.id " +
+            "WHERE i.available = true AND i.id > :afterId GROUP BY i.id, i.name ORDER BY i.id")
+    List<ItemNameSource> findNameSourcesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.item.suggest.ItemNameSource(i.id, i.name, COUNT(b.id)) " +
+            "FROM Item i LEFT JOIN Booking b ON b.item.id = i.id " +
+            "WHERE i.available = true AND i.id IN :ids GROUP BY i.id, i.name")
+    List<ItemNameSource> findNameSources(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new ru.practicum.shareit.item.fuzzy.ItemText(i.id, i.name, i.description) FROM Item i " +
+            "WHERE i.available = true AND i.id > :afterId ORDER BY i.id")
+    List<ItemText> findAvailableTextsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.item.fuzzy.ItemText(i.id, i.name, i.description) FROM Item i " +
+            "WHERE i.available = true AND i.id IN :ids")
+    List<ItemText> findAvailableTexts(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new ru.practicum.shareit.item.tag.ItemAvailability(i.id, i.available) FROM Item i " +
+            "WHERE i.id > :afterId ORDER BY i.id")
+    List<ItemAvailability> findAvailabilityAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.item.tag.ItemAvailability(i.id, i.available) FROM Item i WHERE i.id IN :ids")
+    List<ItemAvailability> findAvailability(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,132 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.event.ItemCreatedEvent;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.event.ItemUpdatedEvent;
+import ru.practicum.shareit.item.fuzzy.ItemText;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Кэш результатов поиска вещей: по нормализованному запросу хранятся идентификаторы найденных вещей в порядке выдачи,
+ * сами вещи читаются из базы при каждом попадании. Вытеснение — {@link WTinyLfuCache}.
+ * <p>
+ * Изменение вещи сбрасывает только те запросы, в выдаче которых она была или в названии либо описании
+ * которой запрос теперь встречается. Результат, посчитанный до сброса, в кэш уже не попадёт:
+ * {@link #put} сверяет поколение, полученное перед запросом к базе.
+ */
+public class ItemSearchCache {
+    private final WTinyLfuCache<String, List<Long>> entries;
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter invalidations;
+    private long generation;
+
+    public ItemSearchCache(ItemRepository itemRepository, ItemSearchCacheProperties properties, MeterRegistry registry) {
+        this.entries = new WTinyLfuCache<>(properties.getMaxEntries());
+        this.itemRepository = itemRepository;
+        this.enabled = properties.isEnabled();
+        this.hits = requests(registry, "hit");
+        this.misses = requests(registry, "miss");
+        this.evictions = Counter.builder("shareit.items.search.cache.evictions").register(registry);
+        this.invalidations = Counter.builder("shareit.items.search.cache.invalidations").register(registry);
+        Gauge.builder("shareit.items.search.cache.entries", this, ItemSearchCache::size).register(registry);
+    }
+
+    /**
+     * Регистр не важен для поиска в базе, пробелы по краям не несут смысла, поэтому «Дрель » и «дрель» — один ключ.
+     * Запросы с символами шаблона LIKE не кэшируются: для них нельзя проверить совпадение подстрокой.
+     */
+    public static String normalize(String text) {
+        String key = text.trim().toLowerCase(Locale.ROOT);
+        return key.indexOf('%') >= 0 || key.indexOf('_') >= 0 ? null : key;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized List<Long> get(String key) {
+        List<Long> itemIds = entries.get(key);
+        (itemIds != null ? hits : misses).increment();
+        return itemIds;
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized void put(String key, List<Long> itemIds, long expectedGeneration) {
+        if (expectedGeneration != generation) {
+            return;
+        }
+        long evictedBefore = entries.evictions();
+        entries.put(key, List.copyOf(itemIds));
+        evictions.increment(entries.evictions() - evictedBefore);
+    }
+
+    /**
+     * Перечитывает тексты вещей из базы и сбрасывает затронутые ими запросы.
+     */
+    public void invalidate(Collection<Long> itemIds) {
+        if (!enabled || itemIds.isEmpty()) {
+            return;
+        }
+        List<String> texts = itemRepository.findAvailableTexts(itemIds).stream()
+                .map(ItemSearchCache::searchableText)
+                .toList();
+        Set<Long> changed = new HashSet<>(itemIds);
+        synchronized (this) {
+            generation++;
+            int removed = entries.removeIf((key, cached) -> cached.stream().anyMatch(changed::contains)
+                    || texts.stream().anyMatch(text -> text.contains(key)));
+            invalidations.increment(removed);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void on(ItemCreatedEvent event) {
+        invalidate(List.of(event.getItemId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void on(ItemUpdatedEvent event) {
+        invalidate(List.of(event.getItemId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void on(ItemDeletedEvent event) {
+        invalidate(List.of(event.getItemId()));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    private static String searchableText(ItemText text) {
+        return (text.getName() + "\n" + text.getDescription()).toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("shareit.items.search.cache.requests")
+                .tag("result", result)
+                .register(registry);
+    }
+}
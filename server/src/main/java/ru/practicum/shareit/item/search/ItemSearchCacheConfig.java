@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.outbox.OutboxEventRepository;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ItemSearchCacheProperties.class)
+public class ItemSearchCacheConfig {
+
+    @Bean
+    public ItemSearchCache itemSearchCache(ItemRepository itemRepository,
+                                           ItemSearchCacheProperties properties,
+                                           MeterRegistry registry) {
+        return new ItemSearchCache(itemRepository, properties, registry);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "shareit.search-cache", name = "enabled", matchIfMissing = true)
+    static class FeedConfig {
+
+        @Bean
+        public ItemSearchCacheFeed itemSearchCacheFeed(OutboxEventRepository outboxRepository,
+                                                       ItemSearchCache cache,
+                                                       ItemSearchCacheProperties properties) {
+            return new ItemSearchCacheFeed(outboxRepository, cache, properties);
+        }
+    }
+}
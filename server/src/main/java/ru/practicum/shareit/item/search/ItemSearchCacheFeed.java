@@ -0,0 +1,59 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import ru.practicum.shareit.outbox.OutboxEvent;
+import ru.practicum.shareit.outbox.OutboxEventRepository;
+import ru.practicum.shareit.outbox.OutboxRecorder;
+import ru.practicum.shareit.outbox.OutboxTail;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Сбрасывает {@link ItemSearchCache} этого экземпляра по изменениям вещей, сделанным на других узлах.
+ * Свои изменения кэш видит сразу по событиям после фиксации, повторный сброс по outbox безвреден.
+ */
+@Slf4j
+public class ItemSearchCacheFeed {
+    private final OutboxTail tail;
+    private final ItemSearchCache cache;
+
+    public ItemSearchCacheFeed(OutboxEventRepository outboxRepository,
+                               ItemSearchCache cache,
+                               ItemSearchCacheProperties properties) {
+        this.tail = new OutboxTail(outboxRepository, properties.getBatchSize(), properties.getGapTimeout());
+        this.cache = cache;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.search-cache.poll-interval:PT1S}")
+    public void poll() {
+        try {
+            poll(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("Не удалось прочитать изменения вещей для кэша поиска: {}", e.getMessage());
+        }
+    }
+
+    synchronized int poll(LocalDateTime now) {
+        if (!tail.isStarted()) {
+            // Кэш заполняется уже после старта, прошлые события его не касаются
+            tail.skipToEnd();
+            return 0;
+        }
+        return tail.poll(now, this::apply);
+    }
+
+    private int apply(List<OutboxEvent> events) {
+        Set<Long> itemIds = new HashSet<>();
+        for (OutboxEvent event : events) {
+            if (OutboxRecorder.ITEM.equals(event.getAggregateType())) {
+                itemIds.add(event.getAggregateId());
+            }
+        }
+        cache.invalidate(itemIds);
+        return itemIds.size();
+    }
+}
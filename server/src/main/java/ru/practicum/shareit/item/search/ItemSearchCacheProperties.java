@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.search-cache")
+public class ItemSearchCacheProperties {
+    boolean enabled = true;
+    int maxEntries = 10_000;
+    Duration pollInterval = Duration.ofSeconds(1);
+    Duration gapTimeout = Duration.ofSeconds(10);
+    int batchSize = 1000;
+}
@@ -2,9 +2,14 @@ package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.comment.dto.CommentCreateDto;
 import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.comment.dto.CommentPageDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookings;
+import ru.practicum.shareit.item.dto.ItemFacetedSearchDto;
+import ru.practicum.shareit.item.dto.ItemNameSuggestionDto;
+import ru.practicum.shareit.item.dto.ItemSearchResultDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -14,11 +19,25 @@ public interface ItemService {
 
     ItemDtoWithBookings getItemById(Long id, Long userId);
 
+    String getItemETag(Long id, Long userId);
+
     List<ItemDtoWithBookings> getItemsByOwner(Long ownerId);
 
     List<ItemDto> searchItems(String text);
 
+    ItemFacetedSearchDto searchItemsFaceted(String text, List<String> tags, int limit);
+
+    List<ItemDto> searchItemsNear(String text, Double latitude, Double longitude, Double radiusKm);
+
+    List<ItemDto> searchAvailableItems(String text, LocalDateTime start, LocalDateTime end);
+
+    List<ItemNameSuggestionDto> suggestItems(String prefix, int limit);
+
+    List<ItemSearchResultDto> fuzzySearchItems(String text, Double threshold, int limit);
+
     void deleteItem(Long id, Long ownerId);
 
     CommentDto addComment(Long itemId, CommentCreateDto commentCreateDto, Long authorId);
+
+    CommentPageDto getComments(Long itemId, String cursor, int size);
 }
\ No newline at end of file
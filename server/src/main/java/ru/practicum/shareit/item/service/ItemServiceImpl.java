@@ -1,12 +1,20 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.model.Booking;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.archive.BookingArchiveRepository;
+import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.comment.dto.CommentCreateDto;
+import ru.practicum.shareit.comment.dto.CommentCountDto;
+import ru.practicum.shareit.comment.dto.CommentCursor;
 import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.comment.dto.CommentPageDto;
+import ru.practicum.shareit.comment.dto.CommentView;
 import ru.practicum.shareit.comment.mapper.CommentMapper;
 import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.comment.repository.CommentRepository;
@@ -16,30 +24,71 @@ import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookings;
+import ru.practicum.shareit.item.dto.ItemFacetedSearchDto;
+import ru.practicum.shareit.item.dto.ItemNameSuggestionDto;
+import ru.practicum.shareit.item.dto.ItemSearchResultDto;
+import ru.practicum.shareit.item.dto.ItemVersionDto;
+import ru.practicum.shareit.item.event.ItemCreatedEvent;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.event.ItemUpdatedEvent;
+import ru.practicum.shareit.item.fuzzy.ItemFuzzySearch;
+import ru.practicum.shareit.item.fuzzy.ItemMatch;
+import ru.practicum.shareit.item.fuzzy.ItemSearchProperties;
+import ru.practicum.shareit.item.fuzzy.Trigrams;
+import ru.practicum.shareit.item.geo.GeoCells;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemLocation;
+import ru.practicum.shareit.item.pointer.BookingPointerService;
+import ru.practicum.shareit.item.pointer.BookingSnapshot;
+import ru.practicum.shareit.item.pointer.ItemBookingPointer;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.tag.ItemTag;
+import ru.practicum.shareit.item.tag.ItemTagIndex;
+import ru.practicum.shareit.item.tag.ItemTagMatches;
+import ru.practicum.shareit.item.tag.ItemTagProperties;
+import ru.practicum.shareit.item.tag.ItemTagRepository;
+import ru.practicum.shareit.item.tag.RoaringBitmap;
+import ru.practicum.shareit.item.suggest.ItemSuggestIndex;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    static final int RECENT_COMMENTS_LIMIT = 10;
+    static final int MAX_COMMENTS_PAGE_SIZE = 100;
+    static final int MAX_SEARCH_RADIUS_KM = 500;
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final ItemRequestRepository itemRequestRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final BookingPointerService bookingPointerService;
+    private final BookingArchiveRepository bookingArchiveRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ItemSuggestIndex suggestIndex;
+    private final ItemFuzzySearch fuzzySearch;
+    private final ItemSearchProperties searchProperties;
+    private final ItemSearchCache searchCache;
+    private final ItemTagRepository tagRepository;
+    private final ItemTagIndex tagIndex;
+    private final ItemTagProperties tagProperties;
 
     @Override
+    @Transactional
     public ItemDto createItem(ItemDto itemDto, Long ownerId) {
         if (itemDto.getName() == null || itemDto.getName().isBlank()) {
             throw new ValidationException("Название не может быть пустым");
@@ -53,6 +102,9 @@ public class ItemServiceImpl implements ItemService {
 
         Item item = ItemMapper.toItem(itemDto);
         item.setOwner(owner);
+        if (itemDto.getLatitude() != null || itemDto.getLongitude() != null) {
+            item.setLocation(toLocation(itemDto.getLatitude(), itemDto.getLongitude()));
+        }
 
         if (itemDto.getRequestId() != null) {
             ItemRequest request = itemRequestRepository.findById(itemDto.getRequestId())
@@ -60,11 +112,19 @@ public class ItemServiceImpl implements ItemService {
             item.setRequest(request);
         }
 
+        List<String> tags = itemDto.getTags() != null ? normalizeTags(itemDto.getTags()) : List.of();
         Item savedItem = itemRepository.save(item);
-        return ItemMapper.toItemDto(savedItem);
+        saveTags(savedItem.getId(), tags);
+        bookingPointerService.initialize(savedItem.getId());
+        touchRequest(savedItem);
+        eventPublisher.publishEvent(new ItemCreatedEvent(savedItem.getId(), ownerId, savedItem.isAvailable()));
+        ItemDto created = ItemMapper.toItemDto(savedItem);
+        created.setTags(tags);
+        return created;
     }
 
     @Override
+    @Transactional
     public ItemDto updateItem(Long itemId, ItemDto itemDto, Long ownerId) {
         Item existingItem = itemRepository.findById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException(String.format("Вещь с ID %d не найдена", itemId)));
@@ -72,6 +132,7 @@ public class ItemServiceImpl implements ItemService {
         if (!existingItem.getOwner().getId().equals(ownerId)) {
             throw new AccessDeniedException("Только владелец может редактировать вещь");
         }
+        boolean wasAvailable = existingItem.isAvailable();
 
         if (itemDto.getName() != null) {
             existingItem.setName(itemDto.getName());
@@ -82,9 +143,27 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getAvailable() != null) {
             existingItem.setAvailable(itemDto.getAvailable());
         }
+        if (itemDto.getLatitude() != null || itemDto.getLongitude() != null) {
+            existingItem.setLocation(toLocation(itemDto.getLatitude(), itemDto.getLongitude()));
+        }
+
+        List<String> tags;
+        if (itemDto.getTags() != null) {
+            tags = normalizeTags(itemDto.getTags());
+            tagRepository.deleteByItemId(itemId);
+            saveTags(itemId, tags);
+        } else {
+            tags = tagRepository.findByItemIds(List.of(itemId)).stream().map(ItemTag::getTag).toList();
+        }
 
         Item updatedItem = itemRepository.save(existingItem);
-        return ItemMapper.toItemDto(updatedItem);
+        itemRepository.incrementVersion(itemId);
+        touchRequest(updatedItem);
+        eventPublisher.publishEvent(new ItemUpdatedEvent(itemId, ownerId, updatedItem.getName(),
+                wasAvailable, updatedItem.isAvailable()));
+        ItemDto updated = ItemMapper.toItemDto(updatedItem);
+        updated.setTags(tags);
+        return updated;
     }
 
     @Override
@@ -97,20 +176,13 @@ public class ItemServiceImpl implements ItemService {
         ItemDtoWithBookings.BookingInfo nextBooking = null;
 
         if (item.getOwner().getId().equals(userId)) {
-            List<Booking> pastBookings = bookingRepository.findPastBookingsForItem(id);
-            if (!pastBookings.isEmpty()) {
-                Booking last = pastBookings.getFirst();
-                lastBooking = new ItemDtoWithBookings.BookingInfo(last.getId(), last.getBooker().getId(), last.getStart(), last.getEnd());
-            }
-
-            List<Booking> futureBookings = bookingRepository.findFutureBookingsForItem(id);
-            if (!futureBookings.isEmpty()) {
-                Booking next = futureBookings.getFirst();
-                nextBooking = new ItemDtoWithBookings.BookingInfo(next.getId(), next.getBooker().getId(), next.getStart(), next.getEnd());
-            }
+            ItemBookingPointer pointer = bookingPointerService.getPointer(id, LocalDateTime.now());
+            lastBooking = toBookingInfo(pointer.getLastBooking());
+            nextBooking = toBookingInfo(pointer.getNextBooking());
         }
 
-        List<CommentDto> comments = commentRepository.findCommentDtoByItemId(id);
+        List<CommentDto> comments = commentRepository.findLatestCommentDtos(id, PageRequest.of(0, RECENT_COMMENTS_LIMIT));
+        long commentCount = comments.size() < RECENT_COMMENTS_LIMIT ? comments.size() : commentRepository.countByItemId(id);
 
         return new ItemDtoWithBookings(
                 item.getId(),
@@ -120,10 +192,25 @@ public class ItemServiceImpl implements ItemService {
                 item.getRequest() != null ? item.getRequest().getId() : null,
                 lastBooking,
                 nextBooking,
-                comments
+                comments,
+                commentCount
         );
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getItemETag(Long id, Long userId) {
+        ItemVersionDto version = itemRepository.findVersionById(id)
+                .orElseThrow(() -> new ItemNotFoundException(String.format("Вещь с ID %d не найдена", id)));
+
+        String eTag = "item-" + id + "-v" + version.getVersion();
+        if (version.getOwnerId().equals(userId)) {
+            eTag += "-o" + bookingRepository.countStartedBookingsForItem(id)
+                    + "." + bookingRepository.countFinishedBookingsForItem(id);
+        }
+        return eTag;
+    }
+
     @Override
     public List<ItemDtoWithBookings> getItemsByOwner(Long ownerId) {
         userRepository.findById(ownerId)
@@ -136,22 +223,19 @@ public class ItemServiceImpl implements ItemService {
 
         List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
 
-        List<Booking> allPastBookings = bookingRepository.findPastBookingsByItemIds(itemIds);
-        List<Booking> allFutureBookings = bookingRepository.findFutureBookingsByItemIds(itemIds);
-
-        List<Comment> allComments = commentRepository.findByItemIdsWithAuthor(itemIds);
-
-        Map<Long, List<Booking>> pastBookingsMap = groupBookingsByItemId(allPastBookings);
-        Map<Long, List<Booking>> futureBookingsMap = groupBookingsByItemId(allFutureBookings);
-        Map<Long, List<Comment>> commentsMap = allComments.stream()
-                .collect(Collectors.groupingBy(c -> c.getItem().getId()));
+        Map<Long, ItemBookingPointer> pointers = bookingPointerService.getPointers(itemIds, LocalDateTime.now());
+        Map<Long, List<CommentDto>> commentsMap = commentRepository.findLatestByItemIds(itemIds, RECENT_COMMENTS_LIMIT).stream()
+                .collect(Collectors.groupingBy(CommentView::getItemId,
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+        Map<Long, Long> commentCounts = commentRepository.countByItemIds(itemIds).stream()
+                .collect(Collectors.toMap(CommentCountDto::getItemId, CommentCountDto::getCount));
 
         return items.stream()
                 .map(item -> mapItemToDtoWithRelations(
                         item,
-                        pastBookingsMap.getOrDefault(item.getId(), Collections.emptyList()),
-                        futureBookingsMap.getOrDefault(item.getId(), Collections.emptyList()),
-                        commentsMap.getOrDefault(item.getId(), Collections.emptyList())
+                        pointers.get(item.getId()),
+                        commentsMap.getOrDefault(item.getId(), Collections.emptyList()),
+                        commentCounts.getOrDefault(item.getId(), 0L)
                 ))
                 .collect(Collectors.toList());
     }
@@ -162,12 +246,171 @@ public class ItemServiceImpl implements ItemService {
             return Collections.emptyList();
         }
 
-        return itemRepository.searchWithRequest(text).stream()
+        String key = ItemSearchCache.normalize(text);
+        // Внутри чужой транзакции поиск может увидеть незафиксированные изменения, такой результат не кэшируется
+        if (key == null || !searchCache.isEnabled() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return itemRepository.searchWithRequest(text).stream()
+                    .map(ItemMapper::toItemDto)
+                    .collect(Collectors.toList());
+        }
+
+        List<Long> cachedIds = searchCache.get(key);
+        if (cachedIds != null) {
+            Map<Long, Item> items = itemRepository.findAllById(cachedIds).stream()
+                    .collect(Collectors.toMap(Item::getId, item -> item));
+            return cachedIds.stream()
+                    .map(items::get)
+                    .filter(item -> item != null && item.isAvailable())
+                    .map(ItemMapper::toItemDto)
+                    .collect(Collectors.toList());
+        }
+
+        long generation = searchCache.generation();
+        List<Item> found = itemRepository.searchWithRequest(key);
+        searchCache.put(key, found.stream().map(Item::getId).toList(), generation);
+        return found.stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Текст ищется в базе (через кэш результатов), фильтр по тегам и фасеты считаются пересечением карт
+     * {@link ItemTagIndex}; индекс отстаёт от записи не больше чем на интервал опроса outbox.
+     */
     @Override
+    public ItemFacetedSearchDto searchItemsFaceted(String text, List<String> tags, int limit) {
+        if (limit <= 0) {
+            throw new ValidationException("Количество результатов должно быть положительным");
+        }
+        List<String> selected = tags == null ? List.of() : tags.stream()
+                .filter(tag -> tag != null && !tag.isBlank())
+                .map(tag -> tag.trim().toLowerCase(Locale.ROOT))
+                .distinct()
+                .toList();
+        RoaringBitmap candidates = null;
+        if (text != null && !text.isBlank()) {
+            candidates = new RoaringBitmap();
+            for (Long itemId : searchIds(text)) {
+                candidates.add(Math.toIntExact(itemId));
+            }
+        }
+
+        ItemTagMatches matches = tagIndex.search(candidates, selected,
+                Math.min(limit, tagProperties.getMaxResults()), tagProperties.getMaxFacets());
+        Map<Long, Item> items = itemRepository.findAllById(matches.getItemIds()).stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+        Map<Long, List<String>> itemTags = matches.getItemIds().isEmpty() ? Map.of()
+                : tagRepository.findByItemIds(matches.getItemIds()).stream()
+                .collect(Collectors.groupingBy(ItemTag::getItemId,
+                        Collectors.mapping(ItemTag::getTag, Collectors.toList())));
+        List<ItemDto> found = matches.getItemIds().stream()
+                .map(items::get)
+                .filter(item -> item != null && item.isAvailable())
+                .map(item -> {
+                    ItemDto dto = ItemMapper.toItemDto(item);
+                    dto.setTags(itemTags.getOrDefault(item.getId(), List.of()));
+                    return dto;
+                })
+                .collect(Collectors.toList());
+        return new ItemFacetedSearchDto(matches.getTotal(), found, matches.getFacets());
+    }
+
+    /**
+     * Вещи, свободные весь период {@code [start, end)}: пересечение с подтверждёнными бронированиями
+     * проверяется в том же запросе, что и текст, поэтому результат не зависит от кэша поиска.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemDto> searchAvailableItems(String text, LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            throw new ValidationException("Для поиска свободных вещей нужны начало и конец периода");
+        }
+        if (!start.isBefore(end)) {
+            throw new ValidationException("Начало периода должно быть раньше конца");
+        }
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+
+        return itemRepository.searchFreeWithRequest(text, start, end, BookingStatus.APPROVED).stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Индекс по ячейкам геохеша отбирает вещи в описанном вокруг круга прямоугольнике, точное расстояние
+     * и порядок считаются по найденным строкам.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemDto> searchItemsNear(String text, Double latitude, Double longitude, Double radiusKm) {
+        if (latitude == null || longitude == null || radiusKm == null) {
+            throw new ValidationException("Для поиска поблизости нужны широта, долгота и радиус");
+        }
+        validateCoordinates(latitude, longitude);
+        if (radiusKm <= 0 || radiusKm > MAX_SEARCH_RADIUS_KM) {
+            throw new ValidationException(
+                    String.format("Радиус поиска должен быть больше 0 и не больше %d км", MAX_SEARCH_RADIUS_KM));
+        }
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+
+        List<GeoCells.Range> ranges = GeoCells.cover(latitude, longitude, radiusKm);
+        List<Map.Entry<Item, Double>> nearby = new ArrayList<>();
+        for (Item item : itemRepository.searchWithRequestInCells(text, ranges)) {
+            ItemLocation location = item.getLocation();
+            double distance = GeoCells.distanceKm(latitude, longitude, location.getLatitude(), location.getLongitude());
+            if (distance <= radiusKm) {
+                nearby.add(Map.entry(item, distance));
+            }
+        }
+        return nearby.stream()
+                .sorted(Map.Entry.<Item, Double>comparingByValue()
+                        .thenComparing(entry -> entry.getKey().getId()))
+                .map(entry -> ItemMapper.toItemDto(entry.getKey()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Отвечает из индекса в памяти без обращения к базе; индекс отстаёт от записи не больше чем на интервал опроса outbox.
+     */
+    @Override
+    public List<ItemNameSuggestionDto> suggestItems(String prefix, int limit) {
+        if (limit <= 0) {
+            throw new ValidationException("Количество подсказок должно быть положительным");
+        }
+        return suggestIndex.suggest(prefix, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemSearchResultDto> fuzzySearchItems(String text, Double threshold, int limit) {
+        double minSimilarity = threshold != null ? threshold : searchProperties.getDefaultThreshold();
+        if (minSimilarity <= 0 || minSimilarity > 1) {
+            throw new ValidationException("Порог сходства должен быть больше 0 и не больше 1");
+        }
+        if (limit <= 0) {
+            throw new ValidationException("Количество результатов должно быть положительным");
+        }
+        List<String> queries = Trigrams.variants(text);
+        if (queries.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<ItemMatch> matches = fuzzySearch.search(queries, minSimilarity,
+                Math.min(limit, searchProperties.getMaxResults()));
+        Map<Long, Item> items = itemRepository.findAllById(matches.stream().map(ItemMatch::getItemId).toList()).stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+        // Индекс в памяти может отставать от базы: пропавшие и скрытые вещи отбрасываются
+        return matches.stream()
+                .filter(match -> items.containsKey(match.getItemId()) && items.get(match.getItemId()).isAvailable())
+                .map(match -> ItemMapper.toSearchResultDto(items.get(match.getItemId()), match.getScore()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
     public void deleteItem(Long id, Long ownerId) {
         Item item = itemRepository.findById(id)
                 .orElseThrow(() -> new ItemNotFoundException(String.format("Вещь с ID %d не найдена", id)));
@@ -176,10 +419,13 @@ public class ItemServiceImpl implements ItemService {
             throw new AccessDeniedException("Только владелец может удалить вещь");
         }
 
+        touchRequest(item);
         itemRepository.deleteById(id);
+        eventPublisher.publishEvent(new ItemDeletedEvent(id, ownerId));
     }
 
     @Override
+    @Transactional
     public CommentDto addComment(Long itemId, CommentCreateDto commentCreateDto, Long authorId) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException(String.format("Вещь с ID %d не найдена", itemId)));
@@ -187,7 +433,8 @@ public class ItemServiceImpl implements ItemService {
         User author = userRepository.findById(authorId)
                 .orElseThrow(() -> new UserNotFoundException(String.format("Пользователь с ID %d не найден", authorId)));
 
-        boolean hasBooked = bookingRepository.existsByItemIdAndBookerIdAndEndBefore(itemId, authorId);
+        boolean hasBooked = bookingRepository.existsByItemIdAndBookerIdAndEndBefore(itemId, authorId)
+                || bookingArchiveRepository.existsApprovedByItemIdAndBookerId(itemId, authorId);
 
         if (!hasBooked) {
             throw new ValidationException("Пользователь не брал вещь в аренду или аренда еще не завершена");
@@ -204,40 +451,105 @@ public class ItemServiceImpl implements ItemService {
         comment.setCreated(LocalDateTime.now());
 
         Comment savedComment = commentRepository.save(comment);
+        itemRepository.incrementVersion(itemId);
         return CommentMapper.toCommentDto(savedComment);
     }
 
-    private Map<Long, List<Booking>> groupBookingsByItemId(List<Booking> bookings) {
-        return bookings.stream()
-                .collect(Collectors.groupingBy(b -> b.getItem().getId()));
+    @Override
+    @Transactional(readOnly = true)
+    public CommentPageDto getComments(Long itemId, String cursor, int size) {
+        if (size < 1 || size > MAX_COMMENTS_PAGE_SIZE) {
+            throw new ValidationException(String.format("Размер страницы должен быть от 1 до %d", MAX_COMMENTS_PAGE_SIZE));
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new ItemNotFoundException(String.format("Вещь с ID %d не найдена", itemId));
+        }
+
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<CommentDto> comments;
+        if (cursor == null || cursor.isBlank()) {
+            comments = commentRepository.findLatestCommentDtos(itemId, page);
+        } else {
+            CommentCursor after = CommentCursor.decode(cursor);
+            comments = commentRepository.findCommentDtosBefore(itemId, after.getCreated(), after.getId(), page);
+        }
+
+        if (comments.size() <= size) {
+            return new CommentPageDto(comments, null);
+        }
+        List<CommentDto> pageComments = comments.subList(0, size);
+        return new CommentPageDto(pageComments, CommentCursor.after(pageComments.getLast()).encode());
+    }
+
+    private List<Long> searchIds(String text) {
+        String key = ItemSearchCache.normalize(text);
+        if (key == null || !searchCache.isEnabled() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return itemRepository.searchIds(text);
+        }
+        List<Long> cachedIds = searchCache.get(key);
+        if (cachedIds != null) {
+            return cachedIds;
+        }
+        long generation = searchCache.generation();
+        List<Long> itemIds = itemRepository.searchIds(key);
+        searchCache.put(key, itemIds, generation);
+        return itemIds;
+    }
+
+    private List<String> normalizeTags(List<String> tags) {
+        List<String> normalized = new ArrayList<>();
+        for (String tag : tags) {
+            if (tag == null || tag.isBlank()) {
+                throw new ValidationException("Тег не может быть пустым");
+            }
+            String value = tag.trim().toLowerCase(Locale.ROOT);
+            if (value.length() > tagProperties.getMaxTagLength()) {
+                throw new ValidationException(
+                        String.format("Тег не может быть длиннее %d символов", tagProperties.getMaxTagLength()));
+            }
+            if (!normalized.contains(value)) {
+                normalized.add(value);
+            }
+        }
+        if (normalized.size() > tagProperties.getMaxTagsPerItem()) {
+            throw new ValidationException(
+                    String.format("У вещи может быть не больше %d тегов", tagProperties.getMaxTagsPerItem()));
+        }
+        Collections.sort(normalized);
+        return normalized;
+    }
+
+    private void saveTags(Long itemId, List<String> tags) {
+        if (!tags.isEmpty()) {
+            tagRepository.saveAll(tags.stream().map(tag -> new ItemTag(itemId, tag)).toList());
+        }
+    }
+
+    private ItemLocation toLocation(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            throw new ValidationException("Широта и долгота задаются вместе");
+        }
+        validateCoordinates(latitude, longitude);
+        return new ItemLocation(latitude, longitude, GeoCells.encode(latitude, longitude));
+    }
+
+    private void validateCoordinates(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new ValidationException("Широта должна быть от -90 до 90, долгота — от -180 до 180");
+        }
+    }
+
+    private void touchRequest(Item item) {
+        if (item.getRequest() != null) {
+            itemRequestRepository.incrementVersion(item.getRequest().getId());
+        }
     }
 
     private ItemDtoWithBookings mapItemToDtoWithRelations(
             Item item,
-            List<Booking> pastBookings,
-            List<Booking> futureBookings,
-            List<Comment> comments) {
-
-
-        ItemDtoWithBookings.BookingInfo lastBooking = pastBookings.isEmpty() ? null :
-                new ItemDtoWithBookings.BookingInfo(
-                        pastBookings.getFirst().getId(),
-                        pastBookings.getFirst().getBooker().getId(),
-                        pastBookings.getFirst().getStart(),
-                        pastBookings.getFirst().getEnd()
-                );
-
-        ItemDtoWithBookings.BookingInfo nextBooking = futureBookings.isEmpty() ? null :
-                new ItemDtoWithBookings.BookingInfo(
-                        futureBookings.getFirst().getId(),
-                        futureBookings.getFirst().getBooker().getId(),
-                        futureBookings.getFirst().getStart(),
-                        futureBookings.getFirst().getEnd()
-                );
-
-        List<CommentDto> commentDtos = comments.stream()
-                .map(CommentMapper::toCommentDto)
-                .collect(Collectors.toList());
+            ItemBookingPointer pointer,
+            List<CommentDto> comments,
+            long commentCount) {
 
         return new ItemDtoWithBookings(
                 item.getId(),
@@ -245,9 +557,18 @@ public class ItemServiceImpl implements ItemService {
                 item.getDescription(),
                 item.isAvailable(),
                 item.getRequest() != null ? item.getRequest().getId() : null,
-                lastBooking,
-                nextBooking,
-                commentDtos
+                toBookingInfo(pointer.getLastBooking()),
+                toBookingInfo(pointer.getNextBooking()),
+                comments,
+                commentCount
         );
     }
+
+    private ItemDtoWithBookings.BookingInfo toBookingInfo(BookingSnapshot snapshot) {
+        if (snapshot == null) {
+            return null;
+        }
+        return new ItemDtoWithBookings.BookingInfo(snapshot.getBookingId(), snapshot.getBookerId(),
+                snapshot.getStart(), snapshot.getEnd());
+    }
 }
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.suggest;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Доступная вещь с числом её бронирований — исходные данные для подсказок.
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemNameSource {
+    Long itemId;
+    String name;
+    long bookings;
+}
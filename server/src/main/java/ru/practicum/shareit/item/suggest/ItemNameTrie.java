@@ -0,0 +1,250 @@
+package ru.practicum.shareit.item.suggest;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Сжатое префиксное дерево: у каждого узла метка-строка, а цепочки узлов с одним потомком склеены.
+ * В каждом узле хранятся лучшие {@code topK} записей поддерева, поэтому поиск по префиксу —
+ * это спуск по дереву без обхода поддерева. Добавление просто предлагает запись каждому узлу на пути к ключу,
+ * а удаление пересобирает лучшие записи только в тех узлах пути, где удалённая запись в них была.
+ * <p>
+ * Не потокобезопасно: синхронизацию обеспечивает {@link ItemSuggestIndex}.
+ */
+class ItemNameTrie {
+    static final Comparator<Entry> RANKING = (a, b) -> a.weight() != b.weight()
+            ? Long.compare(b.weight(), a.weight())
+            : Long.compare(a.itemId(), b.itemId());
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private final int topK;
+    private final Node root = new Node("");
+    private int nodes = 1;
+
+    ItemNameTrie(int topK) {
+        this.topK = topK;
+    }
+
+    record Entry(long itemId, String name, long weight) {
+    }
+
+    int getNodes() {
+        return nodes;
+    }
+
+    List<Entry> find(String prefix, int limit) {
+        Node node = root;
+        int pos = 0;
+        while (pos < prefix.length()) {
+            Node child = node.child(prefix.charAt(pos));
+            if (child == null) {
+                return List.of();
+            }
+            int remaining = prefix.length() - pos;
+            if (child.label.length() >= remaining) {
+                if (!child.label.startsWith(prefix.substring(pos))) {
+                    return List.of();
+                }
+                node = child;
+                break;
+            }
+            if (!prefix.startsWith(child.label, pos)) {
+                return List.of();
+            }
+            node = child;
+            pos += child.label.length();
+        }
+        Entry[] top = node.top;
+        return List.of(Arrays.copyOf(top, Math.min(limit, top.length)));
+    }
+
+    void add(String key, Entry entry) {
+        add(root, key, 0, entry);
+    }
+
+    void remove(String key, long itemId) {
+        remove(root, key, 0, itemId);
+    }
+
+    private void add(Node node, String key, int pos, Entry entry) {
+        if (pos == key.length()) {
+            node.own = append(node.own, entry);
+        } else {
+            Node child = node.child(key.charAt(pos));
+            if (child == null) {
+                Node leaf = new Node(key.substring(pos));
+                leaf.own = new Entry[]{entry};
+                leaf.top = leaf.own;
+                node.children = append(node.children, leaf);
+                nodes++;
+            } else {
+                int common = commonPrefix(child.label, key, pos);
+                if (common < child.label.length()) {
+                    child = split(node, child, common);
+                }
+                add(child, key, pos + common, entry);
+            }
+        }
+        node.top = offer(node.top, entry);
+    }
+
+    private boolean remove(Node node, String key, int pos, long itemId) {
+        boolean removed;
+        if (pos == key.length()) {
+            Entry[] own = Arrays.stream(node.own).filter(e -> e.itemId() != itemId).toArray(Entry[]::new);
+            removed = own.length != node.own.length;
+            node.own = own;
+        } else {
+            Node child = node.child(key.charAt(pos));
+            if (child == null || !key.startsWith(child.label, pos)) {
+                return false;
+            }
+            removed = remove(child, key, pos + child.label.length(), itemId);
+            if (removed) {
+                compact(node, child);
+            }
+        }
+        if (removed && contains(node.top, itemId)) {
+            node.top = rank(node);
+        }
+        return removed;
+    }
+
+    /**
+     * Удаляет опустевший узел или склеивает его с единственным потомком, чтобы дерево оставалось сжатым.
+     */
+    private void compact(Node parent, Node child) {
+        if (child.own.length > 0) {
+            return;
+        }
+        if (child.children.length == 0) {
+            parent.children = Arrays.stream(parent.children).filter(c -> c != child).toArray(Node[]::new);
+            nodes--;
+        } else if (child.children.length == 1) {
+            Node grandchild = child.children[0];
+            grandchild.label = child.label + grandchild.label;
+            parent.replace(child, grandchild);
+            nodes--;
+        }
+    }
+
+    private Node split(Node parent, Node child, int at) {
+        Node middle = new Node(child.label.substring(0, at));
+        child.label = child.label.substring(at);
+        middle.children = new Node[]{child};
+        middle.top = child.top;
+        parent.replace(child, middle);
+        nodes++;
+        return middle;
+    }
+
+    private Entry[] offer(Entry[] top, Entry entry) {
+        if (contains(top, entry.itemId())) {
+            return top;
+        }
+        int at = 0;
+        while (at < top.length && RANKING.compare(top[at], entry) < 0) {
+            at++;
+        }
+        if (at >= topK) {
+            return top;
+        }
+        Entry[] offered = new Entry[Math.min(topK, top.length + 1)];
+        System.arraycopy(top, 0, offered, 0, at);
+        offered[at] = entry;
+        System.arraycopy(top, at, offered, at + 1, offered.length - at - 1);
+        return offered;
+    }
+
+    private static boolean contains(Entry[] entries, long itemId) {
+        return contains(entries, entries.length, itemId);
+    }
+
+    private static boolean contains(Entry[] entries, int size, long itemId) {
+        for (int i = 0; i < size; i++) {
+            if (entries[i].itemId() == itemId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Сливает уже упорядоченные лучшие записи потомков с записями самого узла, не сортируя их заново.
+     */
+    private Entry[] rank(Node node) {
+        Entry[][] sources = new Entry[node.children.length + 1][];
+        sources[0] = node.own.clone();
+        Arrays.sort(sources[0], RANKING);
+        for (int i = 0; i < node.children.length; i++) {
+            sources[i + 1] = node.children[i].top;
+        }
+        int[] heads = new int[sources.length];
+        Entry[] top = new Entry[topK];
+        int size = 0;
+        while (size < topK) {
+            int best = -1;
+            for (int i = 0; i < sources.length; i++) {
+                if (heads[i] < sources[i].length
+                        && (best < 0 || RANKING.compare(sources[i][heads[i]], sources[best][heads[best]]) < 0)) {
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            Entry candidate = sources[best][heads[best]++];
+            // Вещь попадает в поддерево несколькими ключами, если её слова начинаются одинаково
+            if (!contains(top, size, candidate.itemId())) {
+                top[size++] = candidate;
+            }
+        }
+        return Arrays.copyOf(top, size);
+    }
+
+    private static int commonPrefix(String label, String key, int pos) {
+        int max = Math.min(label.length(), key.length() - pos);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(pos + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static <T> T[] append(T[] array, T value) {
+        T[] copy = Arrays.copyOf(array, array.length + 1);
+        copy[array.length] = value;
+        return copy;
+    }
+
+    private static final class Node {
+        String label;
+        Node[] children = NO_CHILDREN;
+        Entry[] own = NO_ENTRIES;
+        Entry[] top = NO_ENTRIES;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char first) {
+            for (Node child : children) {
+                if (child.label.charAt(0) == first) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        void replace(Node old, Node replacement) {
+            for (int i = 0; i < children.length; i++) {
+                if (children[i] == old) {
+                    children[i] = replacement;
+                    return;
+                }
+            }
+        }
+    }
+}
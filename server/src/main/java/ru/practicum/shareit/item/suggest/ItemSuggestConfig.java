@@ -0,0 +1,36 @@
+package ru.practicum.shareit.item.suggest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.outbox.OutboxEventRepository;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ItemSuggestProperties.class)
+public class ItemSuggestConfig {
+
+    @Bean
+    public ItemSuggestIndex itemSuggestIndex(ItemSuggestProperties properties, MeterRegistry registry) {
+        return new ItemSuggestIndex(properties, registry);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "shareit.item-suggest", name = "enabled", matchIfMissing = true)
+    static class FeedConfig {
+
+        @Bean
+        public ItemSuggestFeed itemSuggestFeed(OutboxEventRepository outboxRepository,
+                                               ItemRepository itemRepository,
+                                               BookingRepository bookingRepository,
+                                               ItemSuggestIndex index,
+                                               ItemSuggestProperties properties) {
+            return new ItemSuggestFeed(outboxRepository, itemRepository, bookingRepository, index, properties);
+        }
+    }
+}
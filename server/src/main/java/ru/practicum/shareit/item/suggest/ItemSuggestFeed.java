@@ -0,0 +1,121 @@
+package ru.practicum.shareit.item.suggest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import ru.practicum.shareit.booking.event.BookingCreatedEvent;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.outbox.OutboxEvent;
+import ru.practicum.shareit.outbox.OutboxEventRepository;
+import ru.practicum.shareit.outbox.OutboxRecorder;
+import ru.practicum.shareit.outbox.OutboxTail;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Поддерживает {@link ItemSuggestIndex} этого экземпляра: при старте и раз в {@code rebuild-interval}
+ * загружает все доступные вещи, а между перестройками читает outbox и перечитывает из базы
+ * только вещи, затронутые событиями. Перечитывание идемпотентно, поэтому повтор события безопасен.
+ */
+@Slf4j
+public class ItemSuggestFeed {
+    private static final String BOOKING_CREATED = BookingCreatedEvent.class.getSimpleName();
+
+    private final OutboxTail tail;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemSuggestIndex index;
+    private final ItemSuggestProperties properties;
+    private LocalDateTime rebuildAt;
+
+    public ItemSuggestFeed(OutboxEventRepository outboxRepository,
+                           ItemRepository itemRepository,
+                           BookingRepository bookingRepository,
+                           ItemSuggestIndex index,
+                           ItemSuggestProperties properties) {
+        this.tail = new OutboxTail(outboxRepository, properties.getBatchSize(), properties.getGapTimeout());
+        this.itemRepository = itemRepository;
+        this.bookingRepository = bookingRepository;
+        this.index = index;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.item-suggest.poll-interval:PT1S}")
+    public void poll() {
+        try {
+            poll(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("Не удалось обновить индекс подсказок: {}", e.getMessage());
+        }
+    }
+
+    synchronized int poll(LocalDateTime now) {
+        if (!tail.isStarted() || !now.isBefore(rebuildAt)) {
+            // Отметка ставится до загрузки: события, пришедшие во время неё, будут применены повторно
+            tail.skipToEnd();
+            rebuild();
+            rebuildAt = now.plus(properties.getRebuildInterval());
+            return index.size();
+        }
+        return tail.poll(now, this::apply);
+    }
+
+    long getWatermark() {
+        return tail.getWatermark();
+    }
+
+    private void rebuild() {
+        List<ItemNameSource> sources = new ArrayList<>();
+        List<ItemNameSource> page;
+        long afterId = 0;
+        do {
+            page = itemRepository.findNameSourcesAfter(afterId, PageRequest.of(0, properties.getBatchSize()));
+            sources.addAll(page);
+            if (!page.isEmpty()) {
+                afterId = page.getLast().getItemId();
+            }
+        } while (page.size() == properties.getBatchSize());
+        index.replaceAll(sources);
+        log.info("Индекс подсказок перестроен: {} вещей", index.size());
+    }
+
+    private int apply(List<OutboxEvent> events) {
+        Set<Long> itemIds = new HashSet<>();
+        Set<Long> bookingIds = new HashSet<>();
+        for (OutboxEvent event : events) {
+            if (OutboxRecorder.ITEM.equals(event.getAggregateType())) {
+                itemIds.add(event.getAggregateId());
+            } else if (OutboxRecorder.BOOKING.equals(event.getAggregateType())
+                    && BOOKING_CREATED.equals(event.getEventType())) {
+                bookingIds.add(event.getAggregateId());
+            }
+        }
+        if (!bookingIds.isEmpty()) {
+            bookingRepository.findParticipantsByIds(bookingIds)
+                    .forEach(booking -> itemIds.add(booking.getItemId()));
+        }
+        if (itemIds.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, ItemNameSource> sources = itemRepository.findNameSources(itemIds).stream()
+                .collect(Collectors.toMap(ItemNameSource::getItemId, Function.identity()));
+        for (Long itemId : itemIds) {
+            ItemNameSource source = sources.get(itemId);
+            if (source == null) {
+                index.remove(itemId);
+            } else {
+                index.put(source);
+            }
+        }
+        return itemIds.size();
+    }
+}
@@ -0,0 +1,169 @@
+package ru.practicum.shareit.item.suggest;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import ru.practicum.shareit.item.dto.ItemNameSuggestionDto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Подсказки названий доступных вещей по префиксу, упорядоченные по числу бронирований.
+ * Индекс живёт в памяти экземпляра и ограничен {@code max-items}: при переполнении вытесняются
+ * наименее популярные вещи, а новая вещь не попадает в индекс, если она не популярнее вытесняемой.
+ */
+public class ItemSuggestIndex {
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private final ItemSuggestProperties properties;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Timer lookups;
+    private State state;
+
+    public ItemSuggestIndex(ItemSuggestProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.state = new State();
+        this.lookups = Timer.builder("shareit.items.suggest.lookups")
+                .description("Поиск подсказок по префиксу")
+                .register(registry);
+        Gauge.builder("shareit.items.suggest.items", this, ItemSuggestIndex::size)
+                .description("Вещи в индексе подсказок")
+                .register(registry);
+        Gauge.builder("shareit.items.suggest.nodes", this, ItemSuggestIndex::nodes)
+                .description("Узлы префиксного дерева подсказок")
+                .register(registry);
+    }
+
+    public List<ItemNameSuggestionDto> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        int size = Math.min(limit, properties.getMaxResults());
+        return lookups.record(() -> {
+            lock.readLock().lock();
+            try {
+                return state.trie.find(key, size).stream()
+                        .map(entry -> new ItemNameSuggestionDto(entry.itemId(), entry.name()))
+                        .toList();
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    public void put(ItemNameSource source) {
+        lock.writeLock().lock();
+        try {
+            state.put(source);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            state.remove(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Строит индекс заново в стороне и подменяет текущий целиком: чтения не ждут перестройки.
+     */
+    public void replaceAll(Collection<ItemNameSource> sources) {
+        State rebuilt = new State();
+        sources.forEach(rebuilt::put);
+        lock.writeLock().lock();
+        try {
+            state = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return state.items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int nodes() {
+        lock.readLock().lock();
+        try {
+            return state.trie.getNodes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = text.toLowerCase(Locale.ROOT).replace('ё', 'е').trim();
+        return SPACES.matcher(normalized).replaceAll(" ");
+    }
+
+    List<String> keys(String name) {
+        String normalized = normalize(name);
+        List<String> keys = new ArrayList<>();
+        int start = 0;
+        int words = 0;
+        while (start >= 0 && words <= properties.getMaxWords() && start < normalized.length()) {
+            String key = normalized.substring(start);
+            keys.add(key.length() > properties.getMaxKeyLength() ? key.substring(0, properties.getMaxKeyLength()) : key);
+            int space = normalized.indexOf(' ', start);
+            start = space < 0 ? -1 : space + 1;
+            words++;
+        }
+        return keys;
+    }
+
+    private final class State {
+        final ItemNameTrie trie = new ItemNameTrie(properties.getMaxResults());
+        final Map<Long, ItemNameTrie.Entry> items = new HashMap<>();
+        final TreeSet<ItemNameTrie.Entry> byRank = new TreeSet<>(ItemNameTrie.RANKING);
+
+        void put(ItemNameSource source) {
+            ItemNameTrie.Entry entry = new ItemNameTrie.Entry(source.getItemId(), source.getName(), source.getBookings());
+            ItemNameTrie.Entry current = items.get(source.getItemId());
+            if (entry.equals(current)) {
+                return;
+            }
+            remove(source.getItemId());
+            if (items.size() >= properties.getMaxItems()) {
+                ItemNameTrie.Entry weakest = byRank.last();
+                if (ItemNameTrie.RANKING.compare(entry, weakest) >= 0) {
+                    return;
+                }
+                remove(weakest.itemId());
+            }
+            keys(entry.name()).forEach(key -> trie.add(key, entry));
+            items.put(entry.itemId(), entry);
+            byRank.add(entry);
+        }
+
+        void remove(Long itemId) {
+            ItemNameTrie.Entry entry = items.remove(itemId);
+            if (entry != null) {
+                byRank.remove(entry);
+                keys(entry.name()).forEach(key -> trie.remove(key, itemId));
+            }
+        }
+    }
+}
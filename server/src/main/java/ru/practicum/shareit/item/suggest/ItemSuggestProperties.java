@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.suggest;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.item-suggest")
+public class ItemSuggestProperties {
+    boolean enabled = true;
+    int maxResults = 10;
+    /**
+     * Предел числа вещей в индексе; при переполнении вытесняются наименее популярные.
+     */
+    int maxItems = 200_000;
+    int maxKeyLength = 64;
+    /**
+     * Сколько слов названия, кроме первого, служат началом ключа: «дрель макита» находится и по «мак».
+     */
+    int maxWords = 4;
+    Duration pollInterval = Duration.ofSeconds(1);
+    Duration gapTimeout = Duration.ofSeconds(10);
+    Duration rebuildInterval = Duration.ofHours(1);
+    int batchSize = 1000;
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item.tag;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(ItemTag.Key.class)
+@Table(name = "item_tags")
+public class ItemTag {
+    @Id
+    @Column(name = "item_id")
+    Long itemId;
+
+    @Id
+    String tag;
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        Long itemId;
+        String tag;
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item.tag;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.outbox.OutboxEventRepository;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ItemTagProperties.class)
+public class ItemTagConfig {
+
+    @Bean
+    public ItemTagIndex itemTagIndex(MeterRegistry registry) {
+        return new ItemTagIndex(registry);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "shareit.item-tags", name = "enabled", matchIfMissing = true)
+    static class FeedConfig {
+
+        @Bean
+        public ItemTagFeed itemTagFeed(OutboxEventRepository outboxRepository,
+                                       ItemRepository itemRepository,
+                                       ItemTagRepository tagRepository,
+                                       ItemTagIndex index,
+                                       ItemTagProperties properties) {
+            return new ItemTagFeed(outboxRepository, itemRepository, tagRepository, index, properties);
+        }
+    }
+}
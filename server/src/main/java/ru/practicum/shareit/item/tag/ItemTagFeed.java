@@ -0,0 +1,116 @@
+package ru.practicum.shareit.item.tag;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.outbox.OutboxEvent;
+import ru.practicum.shareit.outbox.OutboxEventRepository;
+import ru.practicum.shareit.outbox.OutboxRecorder;
+import ru.practicum.shareit.outbox.OutboxTail;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Поддерживает {@link ItemTagIndex} этого экземпляра так же, как {@link ru.practicum.shareit.item.suggest.ItemSuggestFeed}:
+ * полная загрузка при старте и раз в {@code rebuild-interval}, между ними — перечитывание вещей из событий outbox.
+ */
+@Slf4j
+public class ItemTagFeed {
+    private final OutboxTail tail;
+    private final ItemRepository itemRepository;
+    private final ItemTagRepository tagRepository;
+    private final ItemTagIndex index;
+    private final ItemTagProperties properties;
+    private LocalDateTime rebuildAt;
+
+    public ItemTagFeed(OutboxEventRepository outboxRepository,
+                       ItemRepository itemRepository,
+                       ItemTagRepository tagRepository,
+                       ItemTagIndex index,
+                       ItemTagProperties properties) {
+        this.tail = new OutboxTail(outboxRepository, properties.getBatchSize(), properties.getGapTimeout());
+        this.itemRepository = itemRepository;
+        this.tagRepository = tagRepository;
+        this.index = index;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.item-tags.poll-interval:PT1S}")
+    public void poll() {
+        try {
+            poll(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("Не удалось обновить индекс тегов: {}", e.getMessage());
+        }
+    }
+
+    synchronized int poll(LocalDateTime now) {
+        if (!tail.isStarted() || !now.isBefore(rebuildAt)) {
+            tail.skipToEnd();
+            int items = rebuild();
+            rebuildAt = now.plus(properties.getRebuildInterval());
+            return items;
+        }
+        return tail.poll(now, this::apply);
+    }
+
+    private int rebuild() {
+        ItemTagIndex.Builder builder = ItemTagIndex.builder();
+        int items = 0;
+        List<ItemAvailability> page;
+        long afterId = 0;
+        do {
+            page = itemRepository.findAvailabilityAfter(afterId, PageRequest.of(0, properties.getBatchSize()));
+            Map<Long, List<String>> tags = tagsOf(page);
+            page.forEach(item -> builder.put(item.getItemId(), item.isAvailable(),
+                    tags.getOrDefault(item.getItemId(), List.of())));
+            items += page.size();
+            if (!page.isEmpty()) {
+                afterId = page.getLast().getItemId();
+            }
+        } while (page.size() == properties.getBatchSize());
+        index.replaceAll(builder);
+        log.info("Индекс тегов перестроен: {} вещей, {} тегов", items, index.tagCount());
+        return items;
+    }
+
+    private int apply(List<OutboxEvent> events) {
+        Set<Long> itemIds = new HashSet<>();
+        for (OutboxEvent event : events) {
+            if (OutboxRecorder.ITEM.equals(event.getAggregateType())) {
+                itemIds.add(event.getAggregateId());
+            }
+        }
+        if (itemIds.isEmpty()) {
+            return 0;
+        }
+
+        List<ItemAvailability> items = itemRepository.findAvailability(itemIds);
+        Map<Long, List<String>> tags = tagsOf(items);
+        Set<Long> missing = new HashSet<>(itemIds);
+        for (ItemAvailability item : items) {
+            missing.remove(item.getItemId());
+            index.put(item.getItemId(), item.isAvailable(), tags.getOrDefault(item.getItemId(), List.of()));
+        }
+        missing.forEach(index::remove);
+        return itemIds.size();
+    }
+
+    private Map<Long, List<String>> tagsOf(List<ItemAvailability> items) {
+        if (items.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> itemIds = new ArrayList<>(items.size());
+        items.forEach(item -> itemIds.add(item.getItemId()));
+        return tagRepository.findByItemIds(itemIds).stream()
+                .collect(Collectors.groupingBy(ItemTag::getItemId,
+                        Collectors.mapping(ItemTag::getTag, Collectors.toList())));
+    }
+}
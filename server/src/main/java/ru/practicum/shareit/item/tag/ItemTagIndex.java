@@ -0,0 +1,247 @@
+package ru.practicum.shareit.item.tag;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import ru.practicum.shareit.item.dto.TagFacetDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Теги вещей и признак доступности в виде {@link RoaringBitmap} на каждый тег: фильтр по тегам — пересечение
+ * карт в памяти, число вещей по каждому тегу в выдаче считается без GROUP BY по {@code item_tags}.
+ * Идентификаторы вещей должны помещаться в {@code int}.
+ */
+public class ItemTagIndex {
+    private static final Comparator<TagFacetDto> FACET_ORDER = Comparator.comparingInt(TagFacetDto::getCount).reversed()
+            .thenComparing(TagFacetDto::getTag);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Timer queries;
+    private State state = new State();
+
+    public ItemTagIndex(MeterRegistry registry) {
+        this.queries = Timer.builder("shareit.items.tags.queries")
+                .description("Фильтр по тегам и подсчёт фасетов")
+                .register(registry);
+        Gauge.builder("shareit.items.tags.tags", this, ItemTagIndex::tagCount)
+                .description("Теги в индексе")
+                .register(registry);
+        Gauge.builder("shareit.items.tags.size", this, ItemTagIndex::sizeInBytes)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Доступные вещи из {@code candidates} (или все доступные, если {@code null}), отмеченные всеми {@code tags};
+     * фасеты — сколько из них отмечено каждым тегом.
+     */
+    public ItemTagMatches search(RoaringBitmap candidates, Collection<String> tags, int limit, int maxFacets) {
+        return queries.record(() -> {
+            lock.readLock().lock();
+            try {
+                RoaringBitmap result = candidates == null ? state.available : candidates.and(state.available);
+                for (String tag : tags) {
+                    Integer ordinal = state.ordinals.get(tag);
+                    result = ordinal == null ? new RoaringBitmap() : result.and(state.bitmaps.get(ordinal));
+                }
+
+                int[] counts = state.facetCounts(result);
+                List<TagFacetDto> facets = new ArrayList<>();
+                for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+                    if (counts[ordinal] > 0) {
+                        facets.add(new TagFacetDto(state.names.get(ordinal), counts[ordinal]));
+                    }
+                }
+                facets.sort(FACET_ORDER);
+
+                List<Long> itemIds = new ArrayList<>();
+                for (int itemId : result.toArray(limit)) {
+                    itemIds.add((long) itemId);
+                }
+                return new ItemTagMatches(result.cardinality(), itemIds,
+                        List.copyOf(facets.subList(0, Math.min(maxFacets, facets.size()))));
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    public void put(Long itemId, boolean available, Collection<String> tags) {
+        lock.writeLock().lock();
+        try {
+            state.remove(itemId);
+            state.put(itemId, available, tags);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            state.remove(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Заменяет содержимое индекса целиком; новое состояние собирается вне блокировки.
+     */
+    public void replaceAll(Builder builder) {
+        lock.writeLock().lock();
+        try {
+            state = builder.state;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int tagCount() {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (RoaringBitmap bitmap : state.bitmaps) {
+                if (!bitmap.isEmpty()) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = state.available.sizeInBytes() + 8L * state.itemTags.length;
+            for (RoaringBitmap bitmap : state.bitmaps) {
+                bytes += bitmap.sizeInBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static class Builder {
+        private final State state = new State();
+
+        public Builder put(Long itemId, boolean available, Collection<String> tags) {
+            state.put(itemId, available, tags);
+            return this;
+        }
+    }
+
+    /**
+     * Теги хранятся порядковыми номерами: у каждого тега карта вещей, у каждой вещи — номера её тегов.
+     * Обратный список нужен, чтобы обновление вещи трогало только её теги, а фасеты небольшой выдачи
+     * считались по её вещам, а не пересечением с картой каждого тега.
+     */
+    private static class State {
+        final Map<String, Integer> ordinals = new HashMap<>();
+        final List<String> names = new ArrayList<>();
+        final List<RoaringBitmap> bitmaps = new ArrayList<>();
+        final RoaringBitmap available = new RoaringBitmap();
+        int[] availableCounts = new int[16];
+        int[][] itemTags = new int[1024][];
+        long postings;
+
+        void put(Long itemId, boolean isAvailable, Collection<String> tags) {
+            int id = Math.toIntExact(itemId);
+            if (isAvailable) {
+                available.add(id);
+            }
+            if (tags.isEmpty()) {
+                return;
+            }
+            int[] itemOrdinals = tags.stream().mapToInt(this::ordinal).distinct().toArray();
+            for (int ordinal : itemOrdinals) {
+                bitmaps.get(ordinal).add(id);
+                if (isAvailable) {
+                    availableCounts[ordinal]++;
+                }
+            }
+            if (id >= itemTags.length) {
+                itemTags = Arrays.copyOf(itemTags, Math.max(id + 1, itemTags.length * 2));
+            }
+            itemTags[id] = itemOrdinals;
+            postings += itemOrdinals.length;
+        }
+
+        void remove(Long itemId) {
+            int id = Math.toIntExact(itemId);
+            boolean wasAvailable = available.remove(id);
+            int[] itemOrdinals = id < itemTags.length ? itemTags[id] : null;
+            if (itemOrdinals == null) {
+                return;
+            }
+            for (int ordinal : itemOrdinals) {
+                bitmaps.get(ordinal).remove(id);
+                if (wasAvailable) {
+                    availableCounts[ordinal]--;
+                }
+            }
+            itemTags[id] = null;
+            postings -= itemOrdinals.length;
+        }
+
+        /**
+         * Без фильтров числа уже посчитаны. Иначе выбирается дешёвый путь: обход выдачи стоит
+         * {@code |выдача| × тегов на вещь} случайных обращений к памяти (отсюда множитель),
+         * пересечение с картами — порядка общего числа отметок, но подряд.
+         */
+        int[] facetCounts(RoaringBitmap result) {
+            if (result == available) {
+                return Arrays.copyOf(availableCounts, names.size());
+            }
+            int[] counts = new int[names.size()];
+            int cardinality = result.cardinality();
+            double tagsPerItem = available.isEmpty() ? 0 : (double) postings / Math.max(1, available.cardinality());
+            if (4 * cardinality * tagsPerItem <= postings) {
+                result.forEach(id -> {
+                    int[] itemOrdinals = id < itemTags.length ? itemTags[id] : null;
+                    if (itemOrdinals != null) {
+                        for (int ordinal : itemOrdinals) {
+                            counts[ordinal]++;
+                        }
+                    }
+                });
+            } else {
+                for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+                    counts[ordinal] = result.andCardinality(bitmaps.get(ordinal));
+                }
+            }
+            return counts;
+        }
+
+        private int ordinal(String tag) {
+            Integer ordinal = ordinals.get(tag);
+            if (ordinal != null) {
+                return ordinal;
+            }
+            ordinal = names.size();
+            ordinals.put(tag, ordinal);
+            names.add(tag);
+            bitmaps.add(new RoaringBitmap());
+            if (ordinal >= availableCounts.length) {
+                availableCounts = Arrays.copyOf(availableCounts, availableCounts.length * 2);
+            }
+            return ordinal;
+        }
+    }
+}
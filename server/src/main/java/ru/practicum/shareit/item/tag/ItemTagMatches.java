@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.tag;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.item.dto.TagFacetDto;
+
+import java.util.List;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemTagMatches {
+    int total;
+    List<Long> itemIds;
+    List<TagFacetDto> facets;
+}
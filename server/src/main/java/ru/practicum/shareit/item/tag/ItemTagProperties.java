@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.tag;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.item-tags")
+public class ItemTagProperties {
+    boolean enabled = true;
+    int maxTagsPerItem = 10;
+    int maxTagLength = 50;
+    /**
+     * Сколько тегов с наибольшим числом вещей возвращается в фасетах.
+     */
+    int maxFacets = 50;
+    int maxResults = 100;
+    Duration pollInterval = Duration.ofSeconds(1);
+    Duration gapTimeout = Duration.ofSeconds(10);
+    Duration rebuildInterval = Duration.ofHours(1);
+    int batchSize = 1000;
+}
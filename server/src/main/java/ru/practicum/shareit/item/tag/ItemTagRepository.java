@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.tag;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ItemTagRepository extends JpaRepository<ItemTag, ItemTag.Key> {
+
+    @Query("SELECT t FROM ItemTag t WHERE t.itemId IN :itemIds ORDER BY t.itemId, t.tag")
+    List<ItemTag> findByItemIds(@Param("itemIds") Collection<Long> itemIds);
+
+    @Modifying
+    @Query("DELETE FROM ItemTag t WHERE t.itemId = :itemId")
+    int deleteByItemId(@Param("itemId") Long itemId);
+}
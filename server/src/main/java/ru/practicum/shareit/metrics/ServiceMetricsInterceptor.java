@@ -0,0 +1,89 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import ru.practicum.shareit.booking.model.BookingState;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замеряет вызовы сервисов в {@code shareit.service.calls} с тегами сервиса, метода,
+ * состояния бронирования (если метод его принимает) и результата.
+ */
+public class ServiceMetricsInterceptor implements MethodInterceptor {
+    public static final String METRIC_NAME = "shareit.service.calls";
+
+    private static final String NO_STATE = "none";
+    private static final String SUCCESS = "success";
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private final ConcurrentMap<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    public ServiceMetricsInterceptor(ObjectProvider<MeterRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (invocation.getMethod().getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        long start = System.nanoTime();
+        String outcome = SUCCESS;
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            timer(invocation, outcome).record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(MethodInvocation invocation, String outcome) {
+        Method method = invocation.getMethod();
+        String state = stateOf(invocation.getArguments());
+        TimerKey key = new TimerKey(method, state, outcome);
+        Timer timer = timers.get(key);
+        if (timer == null) {
+            Class<?> targetClass = AopUtils.getTargetClass(invocation.getThis());
+            timer = timers.computeIfAbsent(key, k -> Timer.builder(METRIC_NAME)
+                    .tag("service", targetClass.getSimpleName())
+                    .tag("method", method.getName())
+                    .tag("state", state)
+                    .tag("outcome", outcome)
+                    .register(registry()));
+        }
+        return timer;
+    }
+
+    private MeterRegistry registry() {
+        MeterRegistry current = registry;
+        if (current == null) {
+            current = registryProvider.getObject();
+            registry = current;
+        }
+        return current;
+    }
+
+    private static String stateOf(Object[] arguments) {
+        for (Object argument : arguments) {
+            if (argument instanceof BookingState state) {
+                return state.name();
+            }
+        }
+        return NO_STATE;
+    }
+
+    private record TimerKey(Method method, String state, String outcome) {
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * Результат захвата порции: сколько строк удалось заблокировать и какие из них можно доставлять.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class OutboxBatch {
+    int locked;
+    List<OutboxEvent> events;
+}
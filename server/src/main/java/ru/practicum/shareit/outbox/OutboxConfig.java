@@ -0,0 +1,28 @@
+package ru.practicum.shareit.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "shareit.outbox", name = "enabled", matchIfMissing = true)
+    static class DispatcherConfig {
+
+        @Bean
+        public OutboxDispatcher outboxDispatcher(OutboxService outboxService,
+                                                 ObjectProvider<OutboxSubscriber> subscribers,
+                                                 OutboxProperties properties,
+                                                 MeterRegistry registry) {
+            return new OutboxDispatcher(outboxService, subscribers.orderedStream().toList(), properties, registry);
+        }
+    }
+}
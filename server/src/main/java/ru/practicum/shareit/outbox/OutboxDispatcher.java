@@ -0,0 +1,178 @@
+package ru.practicum.shareit.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Разбирает outbox в отдельном потоке и передаёт события подписчикам внутри сервера.
+ * Запускается после фиксации транзакции, записавшей событие, и по расписанию — чтобы подобрать
+ * повторы, истёкшие аренды и события, записанные другими экземплярами.
+ */
+@Slf4j
+public class OutboxDispatcher implements DisposableBean {
+    private final OutboxService outboxService;
+    private final List<OutboxSubscriber> subscribers;
+    private final OutboxProperties properties;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean wakeUpRequested = new AtomicBoolean();
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicReference<LocalDateTime> oldestPending = new AtomicReference<>();
+    private final Counter dispatched;
+    private final Counter failures;
+    private final Counter parked;
+    private final Timer latency;
+    private final Timer runs;
+
+    public OutboxDispatcher(OutboxService outboxService,
+                            List<OutboxSubscriber> subscribers,
+                            OutboxProperties properties,
+                            MeterRegistry registry) {
+        this.outboxService = outboxService;
+        this.subscribers = subscribers;
+        this.properties = properties;
+        this.dispatched = Counter.builder("shareit.outbox.dispatched")
+                .description("События outbox, доставленные всем подписчикам")
+                .register(registry);
+        this.failures = Counter.builder("shareit.outbox.failures")
+                .description("Неудачные попытки доставки событий outbox")
+                .register(registry);
+        this.parked = Counter.builder("shareit.outbox.parked")
+                .description("События outbox, отложенные в FAILED после исчерпания попыток")
+                .register(registry);
+        this.latency = Timer.builder("shareit.outbox.delivery.latency")
+                .description("Время от записи события до его доставки")
+                .register(registry);
+        this.runs = Timer.builder("shareit.outbox.runs")
+                .description("Длительность разбора outbox")
+                .register(registry);
+        Gauge.builder("shareit.outbox.backlog", backlog, AtomicLong::get)
+                .description("Недоставленные события outbox")
+                .register(registry);
+        TimeGauge.builder("shareit.outbox.lag", oldestPending, TimeUnit.MILLISECONDS, OutboxDispatcher::lagMillis)
+                .description("Возраст самого старого недоставленного события")
+                .register(registry);
+    }
+
+    /**
+     * Запрашивает разбор очереди. Повторные вызовы, пока разбор ещё не начался, схлопываются в один.
+     */
+    public void wakeUp() {
+        if (wakeUpRequested.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                wakeUpRequested.set(false);
+                runs.record(this::drain);
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.outbox.interval:PT5S}",
+            initialDelayString = "${shareit.outbox.interval:PT5S}")
+    public void poll() {
+        wakeUp();
+        int purged = outboxService.purgeDispatched(LocalDateTime.now().minus(properties.getRetention()),
+                properties.getBatchSize());
+        if (purged > 0) {
+            log.debug("Удалено {} доставленных событий outbox", purged);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void drain() {
+        try {
+            dispatchAll(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("Разбор outbox прерван: {}", e.getMessage(), e);
+        }
+    }
+
+    int dispatchAll(LocalDateTime now) {
+        int total = 0;
+        OutboxBatch batch;
+        do {
+            batch = outboxService.claimBatch(now, properties.getBatchSize());
+            total += deliver(batch.getEvents(), now);
+        } while (batch.getLocked() == properties.getBatchSize());
+        refreshBacklog();
+        return total;
+    }
+
+    private int deliver(List<OutboxEvent> events, LocalDateTime now) {
+        List<Long> delivered = new ArrayList<>();
+        Map<Long, String> failed = new HashMap<>();
+        List<Long> deferred = new ArrayList<>();
+        Set<String> failedAggregates = new HashSet<>();
+
+        for (OutboxEvent event : events) {
+            String aggregate = OutboxService.aggregateKey(event);
+            if (failedAggregates.contains(aggregate)) {
+                deferred.add(event.getId());
+                continue;
+            }
+            try {
+                for (OutboxSubscriber subscriber : subscribers) {
+                    if (subscriber.supports(event)) {
+                        subscriber.handle(event);
+                    }
+                }
+                delivered.add(event.getId());
+                latency.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+            } catch (RuntimeException e) {
+                log.warn("Не удалось доставить событие outbox {} ({} {}): {}",
+                        event.getId(), event.getEventType(), aggregate, e.getMessage());
+                failedAggregates.add(aggregate);
+                failed.put(event.getId(), e.toString());
+            }
+        }
+
+        if (!events.isEmpty()) {
+            int parkedNow = outboxService.complete(delivered, failed, deferred, now);
+            if (parkedNow > 0) {
+                log.error("{} событий outbox исчерпали попытки доставки и помечены FAILED", parkedNow);
+            }
+            parked.increment(parkedNow);
+        }
+        dispatched.increment(delivered.size());
+        failures.increment(failed.size());
+        return delivered.size();
+    }
+
+    private void refreshBacklog() {
+        OutboxBacklog current = outboxService.getBacklog();
+        backlog.set(current.getPending());
+        oldestPending.set(current.getOldestCreatedAt());
+    }
+
+    private static double lagMillis(AtomicReference<LocalDateTime> oldest) {
+        LocalDateTime createdAt = oldest.get();
+        return createdAt == null ? 0 : Math.max(0, Duration.between(createdAt, LocalDateTime.now()).toMillis());
+    }
+}
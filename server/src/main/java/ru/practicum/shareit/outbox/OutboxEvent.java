@@ -0,0 +1,63 @@
+package ru.practicum.shareit.outbox;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Доменное событие, записанное в той же транзакции, что и изменение, которое его породило.
+ * Порядок доставки внутри агрегата задаёт {@code id}.
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "aggregate_type", nullable = false)
+    String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    Long aggregateId;
+
+    @Column(name = "event_type", nullable = false)
+    String eventType;
+
+    @Column(nullable = false)
+    String payload;
+
+    @Column(name = "created_at", nullable = false)
+    LocalDateTime createdAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    int attempts;
+
+    @Column(name = "claimed_until")
+    LocalDateTime claimedUntil;
+
+    @Column(name = "dispatched_at")
+    LocalDateTime dispatchedAt;
+
+    @Column(name = "last_error")
+    String lastError;
+
+    public OutboxEvent(String aggregateType, Long aggregateId, String eventType, String payload, LocalDateTime createdAt) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.outbox;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query(value = "SELECT e.id FROM outbox_events e WHERE e.status = 'PENDING' " +
+            "AND (e.claimed_until IS NULL OR e.claimed_until < :now) " +
+            "ORDER BY e.id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockClaimableIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id IN :ids ORDER BY e.id")
+    List<OutboxEvent> findByIdsOrdered(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Все ожидающие события тех же агрегатов до {@code maxId}, в том числе захваченные другим экземпляром.
+     */
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = 'PENDING' " +
+            "AND e.aggregateId IN :aggregateIds AND e.id <= :maxId ORDER BY e.id")
+    List<OutboxEvent> findPendingUpTo(@Param("aggregateIds") Collection<Long> aggregateIds, @Param("maxId") Long maxId);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedUntil = :until WHERE e.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = 'DISPATCHED', " +
+            "e.dispatchedAt = :now, e.claimedUntil = NULL WHERE e.id IN :ids")
+    int markDispatched(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedUntil = NULL WHERE e.id IN :ids")
+    int release(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new ru.practicum.shareit.outbox.OutboxBacklog(COUNT(e), MIN(e.createdAt)) " +
+            "FROM OutboxEvent e WHERE e.status = 'PENDING'")
+    OutboxBacklog findBacklog();
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id > :afterId ORDER BY e.id")
+    List<OutboxEvent> findAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM OutboxEvent e")
+    long findMaxId();
+
+    @Query(value = "SELECT e.id FROM outbox_events e WHERE e.status = 'DISPATCHED' AND e.dispatched_at < :cutoff " +
+            "ORDER BY e.id LIMIT :limit", nativeQuery = true)
+    List<Long> findDispatchedBeforeIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.outbox")
+public class OutboxProperties {
+    boolean enabled = true;
+    boolean dispatchOnCommit = true;
+    Duration interval = Duration.ofSeconds(5);
+    int batchSize = 200;
+    Duration lease = Duration.ofSeconds(30);
+    Duration retryDelay = Duration.ofSeconds(5);
+    int maxAttempts = 10;
+    Duration retention = Duration.ofDays(7);
+}
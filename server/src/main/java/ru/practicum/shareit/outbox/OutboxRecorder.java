@@ -0,0 +1,118 @@
+package ru.practicum.shareit.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.event.BookingCreatedEvent;
+import ru.practicum.shareit.booking.event.BookingStatusChangedEvent;
+import ru.practicum.shareit.item.event.ItemCreatedEvent;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.event.ItemUpdatedEvent;
+import ru.practicum.shareit.request.event.ItemRequestCreatedEvent;
+import ru.practicum.shareit.user.event.UserCreatedEvent;
+import ru.practicum.shareit.user.event.UserUpdatedEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Записывает события сервисов в {@code outbox_events} в транзакции, которая их опубликовала:
+ * событие сохраняется тогда и только тогда, когда фиксируется само изменение.
+ * Пакетная смена статуса раскладывается по строке на бронирование, чтобы порядок соблюдался для каждого агрегата.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxRecorder {
+    public static final String BOOKING = "booking";
+    public static final String ITEM = "item";
+    public static final String USER = "user";
+    public static final String REQUEST = "request";
+
+    private final OutboxEventRepository repository;
+    private final ObjectMapper objectMapper;
+    private final OutboxProperties properties;
+    private final ObjectProvider<OutboxDispatcher> dispatcher;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(BookingCreatedEvent event) {
+        append(BOOKING, event.getBookingId(), event);
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(BookingStatusChangedEvent event) {
+        for (Long bookingId : event.getBookingIds()) {
+            append(BOOKING, bookingId,
+                    new BookingStatusChangedEvent(List.of(bookingId), event.getPrevious(), event.getCurrent()));
+        }
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(ItemCreatedEvent event) {
+        append(ITEM, event.getItemId(), event);
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(ItemUpdatedEvent event) {
+        append(ITEM, event.getItemId(), event);
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(ItemDeletedEvent event) {
+        append(ITEM, event.getItemId(), event);
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(UserCreatedEvent event) {
+        append(USER, event.getUserId(), event);
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(UserUpdatedEvent event) {
+        append(USER, event.getUserId(), event);
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(ItemRequestCreatedEvent event) {
+        append(REQUEST, event.getRequestId(), event);
+    }
+
+    private void append(String aggregateType, Long aggregateId, Object event) {
+        repository.save(new OutboxEvent(aggregateType, aggregateId, event.getClass().getSimpleName(),
+                toJson(event), LocalDateTime.now()));
+        if (properties.isDispatchOnCommit()) {
+            dispatcher.ifAvailable(this::wakeUpAfterCommit);
+        }
+    }
+
+    private void wakeUpAfterCommit(OutboxDispatcher outboxDispatcher) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxDispatcher.wakeUp();
+            }
+        });
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать событие " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Транзакционная часть доставки из outbox: захват порции, фиксация результата и очистка.
+ * Сама доставка идёт вне транзакции, поэтому строки захватываются на срок аренды,
+ * а при падении экземпляра возвращаются в очередь по её истечении.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+    static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository repository;
+    private final OutboxProperties properties;
+
+    /**
+     * Блокирует очередную порцию через {@code FOR UPDATE SKIP LOCKED} и оставляет из каждого агрегата
+     * только непрерывное начало очереди: если более раннее событие агрегата ещё не доставлено и не попало в порцию
+     * (его держит другой экземпляр или оно ждёт повтора), события этого агрегата откладываются.
+     */
+    @Transactional
+    public OutboxBatch claimBatch(LocalDateTime now, int batchSize) {
+        List<Long> lockedIds = repository.lockClaimableIds(now, batchSize);
+        if (lockedIds.isEmpty()) {
+            return new OutboxBatch(0, List.of());
+        }
+
+        List<OutboxEvent> locked = repository.findByIdsOrdered(lockedIds);
+        Set<Long> lockedSet = new HashSet<>(lockedIds);
+        Set<Long> aggregateIds = locked.stream().map(OutboxEvent::getAggregateId).collect(Collectors.toSet());
+        Long maxId = locked.getLast().getId();
+
+        Set<String> blocked = new HashSet<>();
+        Set<Long> claimedIds = new HashSet<>();
+        for (OutboxEvent pending : repository.findPendingUpTo(aggregateIds, maxId)) {
+            String key = aggregateKey(pending);
+            if (blocked.contains(key)) {
+                continue;
+            }
+            if (lockedSet.contains(pending.getId())) {
+                claimedIds.add(pending.getId());
+            } else {
+                blocked.add(key);
+            }
+        }
+
+        List<OutboxEvent> claimed = new ArrayList<>();
+        List<Long> deferred = new ArrayList<>();
+        for (OutboxEvent event : locked) {
+            if (claimedIds.contains(event.getId())) {
+                claimed.add(event);
+            } else {
+                deferred.add(event.getId());
+            }
+        }
+        if (!claimed.isEmpty()) {
+            repository.claim(claimedIds, now.plus(properties.getLease()));
+        }
+        if (!deferred.isEmpty()) {
+            repository.claim(deferred, now.plus(properties.getRetryDelay()));
+        }
+        return new OutboxBatch(locked.size(), claimed);
+    }
+
+    /**
+     * Фиксирует итог доставки порции. Неудачное событие откладывается с растущей задержкой,
+     * а после {@code maxAttempts} попыток помечается {@link OutboxStatus#FAILED} и больше не держит свой агрегат.
+     * Следующие за ним события того же агрегата ({@code deferredIds}) ждут повтора.
+     */
+    @Transactional
+    public int complete(List<Long> dispatchedIds, Map<Long, String> failures, List<Long> deferredIds, LocalDateTime now) {
+        if (!dispatchedIds.isEmpty()) {
+            repository.markDispatched(dispatchedIds, now);
+        }
+        if (!deferredIds.isEmpty()) {
+            repository.claim(deferredIds, now.plus(properties.getRetryDelay()));
+        }
+
+        int parked = 0;
+        for (OutboxEvent event : repository.findAllById(failures.keySet())) {
+            event.setAttempts(event.getAttempts() + 1);
+            event.setLastError(truncate(failures.get(event.getId())));
+            if (event.getAttempts() >= properties.getMaxAttempts()) {
+                event.setStatus(OutboxStatus.FAILED);
+                event.setClaimedUntil(null);
+                parked++;
+            } else {
+                event.setClaimedUntil(now.plus(properties.getRetryDelay().multipliedBy(event.getAttempts())));
+            }
+        }
+        return parked;
+    }
+
+    @Transactional
+    public int purgeDispatched(LocalDateTime cutoff, int batchSize) {
+        List<Long> ids = repository.findDispatchedBeforeIds(cutoff, batchSize);
+        return ids.isEmpty() ? 0 : repository.deleteByIds(ids);
+    }
+
+    @Transactional(readOnly = true)
+    public OutboxBacklog getBacklog() {
+        return repository.findBacklog();
+    }
+
+    static String aggregateKey(OutboxEvent event) {
+        return event.getAggregateType() + ":" + event.getAggregateId();
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.outbox;
+
+public enum OutboxStatus {
+    PENDING,
+    DISPATCHED,
+    FAILED
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.outbox;
+
+/**
+ * Получатель событий из outbox внутри сервера. Доставка «хотя бы один раз»: после сбоя любого подписчика
+ * событие придёт повторно всем, поэтому обработка должна быть идемпотентной.
+ * События одного агрегата приходят в порядке записи.
+ */
+public interface OutboxSubscriber {
+
+    default boolean supports(OutboxEvent event) {
+        return true;
+    }
+
+    void handle(OutboxEvent event);
+}
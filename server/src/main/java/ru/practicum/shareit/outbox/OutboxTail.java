@@ -0,0 +1,107 @@
+package ru.practicum.shareit.outbox;
+
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.ToIntFunction;
+
+/**
+ * Позиция чтения outbox вслед за записью для компонентов, которые должен увидеть каждый экземпляр сервера.
+ * В отличие от {@link OutboxDispatcher}, который доставляет событие один раз на весь кластер,
+ * хвост читает каждый экземпляр сам по себе.
+ * <p>
+ * Идентификаторы выдаются при вставке, а видны строки после фиксации, поэтому пропуск в нумерации может означать
+ * ещё не зафиксированную транзакцию. Отметка прочитанного не проходит пропуск, пока он не простоит
+ * {@code gapTimeout}; после этого номер считается откатившимся.
+ */
+public class OutboxTail {
+    static final long MAX_TRACKED_GAP = 10_000;
+
+    private final OutboxEventRepository repository;
+    private final int batchSize;
+    private final Duration gapTimeout;
+    private final NavigableSet<Long> seen = new TreeSet<>();
+    private final Map<Long, LocalDateTime> gaps = new HashMap<>();
+    private long watermark = -1;
+
+    public OutboxTail(OutboxEventRepository repository, int batchSize, Duration gapTimeout) {
+        this.repository = repository;
+        this.batchSize = batchSize;
+        this.gapTimeout = gapTimeout;
+    }
+
+    public synchronized boolean isStarted() {
+        return watermark >= 0;
+    }
+
+    public synchronized long getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * Пропускает всё, что уже записано: дальше читаются только события после текущего конца очереди.
+     */
+    public synchronized void skipToEnd() {
+        skipTo(repository.findMaxId());
+    }
+
+    /**
+     * Передаёт обработчику ещё не прочитанные события порциями в порядке идентификаторов.
+     * Обработчик возвращает число событий, которые он учёл; сумма возвращается вызывающему.
+     */
+    public synchronized int poll(LocalDateTime now, ToIntFunction<List<OutboxEvent>> handler) {
+        if (watermark < 0) {
+            skipToEnd();
+            return 0;
+        }
+
+        int handled = 0;
+        boolean more;
+        do {
+            List<OutboxEvent> events = repository.findAfter(watermark, PageRequest.of(0, batchSize));
+            List<OutboxEvent> fresh = events.stream()
+                    .filter(event -> !seen.contains(event.getId()))
+                    .toList();
+            handled += handler.applyAsInt(fresh);
+            fresh.forEach(event -> seen.add(event.getId()));
+            advance(now);
+            more = events.size() == batchSize && !fresh.isEmpty();
+        } while (more);
+        return handled;
+    }
+
+    private void advance(LocalDateTime now) {
+        long highest = seen.isEmpty() ? watermark : seen.last();
+        if (highest - watermark > MAX_TRACKED_GAP) {
+            skipTo(highest);
+            return;
+        }
+        for (long id = watermark + 1; id < highest; id++) {
+            if (!seen.contains(id)) {
+                gaps.putIfAbsent(id, now);
+            }
+        }
+        while (watermark < highest) {
+            long next = watermark + 1;
+            LocalDateTime missingSince = gaps.get(next);
+            if (seen.remove(next) || !now.isBefore(missingSince.plus(gapTimeout))) {
+                gaps.remove(next);
+                watermark = next;
+            } else {
+                break;
+            }
+        }
+    }
+
+    private void skipTo(long id) {
+        watermark = Math.max(watermark, id);
+        seen.headSet(watermark, true).clear();
+        gaps.keySet().removeIf(gap -> gap <= watermark);
+    }
+}
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -39,7 +40,11 @@ public class ItemRequestController {
 
     @GetMapping("/{requestId}")
     public ItemRequestResponseDto getRequestById(@PathVariable Long requestId,
-                                                 @RequestHeader(USER_ID_HEADER) Long userId) {
+                                                 @RequestHeader(USER_ID_HEADER) Long userId,
+                                                 WebRequest webRequest) {
+        if (webRequest.checkNotModified(itemRequestService.getRequestETag(userId, requestId))) {
+            return null;
+        }
         return itemRequestService.getRequestById(userId, requestId);
     }
 }
\ No newline at end of file
@@ -19,4 +19,5 @@ public class ItemRequestResponseDto {
     String description;
     LocalDateTime created;
     List<ItemDto> items;
+    List<ItemSuggestionDto> suggestions;
 }
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.request.event;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Публикуется после создания запроса вещи.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+public class ItemRequestCreatedEvent {
+    Long requestId;
+    Long requesterId;
+}
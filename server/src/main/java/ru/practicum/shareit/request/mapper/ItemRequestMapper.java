@@ -22,6 +22,7 @@ public class ItemRequestMapper {
                 request.getId(),
                 request.getDescription(),
                 request.getCreated(),
+                null,
                 null
         );
     }
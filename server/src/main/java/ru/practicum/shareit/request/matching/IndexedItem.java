@@ -0,0 +1,26 @@
+package ru.practicum.shareit.request.matching;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Версия вещи, по которой построены её термы. Расхождение с {@code items.version} означает, что индекс отстал.
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "indexed_items")
+public class IndexedItem {
+    @Id
+    @Column(name = "item_id")
+    Long itemId;
+
+    @Column(nullable = false)
+    long version;
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.request.matching;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface IndexedItemRepository extends JpaRepository<IndexedItem, Long> {
+
+    /**
+     * Вещи, чей индекс разошёлся с таблицей {@code items}: доступные без термов или с устаревшей версией
+     * и недоступные, у которых термы остались.
+     */
+    @Query(value = "SELECT i.id FROM items i LEFT JOIN indexed_items x ON x.item_id = i.id " +
+            "WHERE i.id > :afterId AND ((i.is_available = TRUE AND (x.item_id IS NULL OR x.version <> i.version)) " +
+            "OR (i.is_available = FALSE AND x.item_id IS NOT NULL)) " +
+            "ORDER BY i.id LIMIT :limit", nativeQuery = true)
+    List<Long> findStaleItemIds(@Param("afterId") Long afterId, @Param("limit") int limit);
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.request.matching;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+
+/**
+ * Догоняет индекс для вещей, изменённых в обход сервисов или до появления индекса:
+ * сравнивает версии в {@code indexed_items} с {@code items} и переиндексирует расхождения.
+ */
+@Slf4j
+public class ItemIndexReconciler {
+    private final IndexedItemRepository indexedItemRepository;
+    private final ItemTextIndexer indexer;
+    private final RequestMatchingProperties properties;
+    private final Counter reindexed;
+
+    public ItemIndexReconciler(IndexedItemRepository indexedItemRepository,
+                               ItemTextIndexer indexer,
+                               RequestMatchingProperties properties,
+                               MeterRegistry registry) {
+        this.indexedItemRepository = indexedItemRepository;
+        this.indexer = indexer;
+        this.properties = properties;
+        this.reindexed = Counter.builder("shareit.request-matching.reindexed")
+                .description("Вещи, переиндексированные сверкой")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.request-matching.reconcile-interval:PT10M}",
+            initialDelayString = "PT30S")
+    public void reconcile() {
+        int total = run();
+        if (total > 0) {
+            log.info("Сверка индекса вещей переиндексировала {} вещей", total);
+        }
+    }
+
+    int run() {
+        int total = 0;
+        long afterId = 0;
+        List<Long> stale;
+        do {
+            stale = indexedItemRepository.findStaleItemIds(afterId, properties.getBatchSize());
+            for (Long itemId : stale) {
+                indexer.reindex(itemId);
+                afterId = itemId;
+            }
+            total += stale.size();
+            reindexed.increment(stale.size());
+        } while (stale.size() == properties.getBatchSize());
+        return total;
+    }
+}
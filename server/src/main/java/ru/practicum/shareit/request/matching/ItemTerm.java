@@ -0,0 +1,41 @@
+package ru.practicum.shareit.request.matching;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+
+/**
+ * Запись инвертированного индекса: терм, вещь и нормированный вес терма в её названии и описании.
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(ItemTerm.Key.class)
+@Table(name = "item_terms")
+public class ItemTerm {
+    @Id
+    String term;
+
+    @Id
+    @Column(name = "item_id")
+    Long itemId;
+
+    @Column(nullable = false)
+    double weight;
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        String term;
+        Long itemId;
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.request.matching;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ItemTermRepository extends JpaRepository<ItemTerm, ItemTerm.Key> {
+
+    @Query("SELECT new ru.practicum.shareit.request.matching.TermFrequency(t.term, COUNT(t)) " +
+            "FROM ItemTerm t WHERE t.term IN :terms GROUP BY t.term")
+    List<TermFrequency> countDocuments(@Param("terms") Collection<String> terms);
+
+    @Query("SELECT t FROM ItemTerm t WHERE t.term IN :terms")
+    List<ItemTerm> findPostings(@Param("terms") Collection<String> terms);
+
+    @Modifying
+    @Query("DELETE FROM ItemTerm t WHERE t.itemId = :itemId")
+    int deleteByItemId(@Param("itemId") Long itemId);
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.request.matching;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Поддерживает инвертированный индекс {@code item_terms} по названиям и описаниям доступных вещей.
+ * Вес терма — {@code 1 + ln(tf)} с усилением для названия, нормированный по длине вектора вещи,
+ * поэтому длинные описания не получают преимущества перед короткими.
+ */
+@Service
+@RequiredArgsConstructor
+public class ItemTextIndexer {
+    private final ItemRepository itemRepository;
+    private final ItemTermRepository termRepository;
+    private final IndexedItemRepository indexedItemRepository;
+    private final RequestMatchingProperties properties;
+
+    /**
+     * Перестраивает термы одной вещи. Строка вещи блокируется, чтобы параллельная переиндексация
+     * не записала термы устаревшей версии.
+     */
+    @Transactional
+    public void reindex(Long itemId) {
+        Optional<Item> found = itemRepository.findForUpdate(itemId);
+        termRepository.deleteByItemId(itemId);
+        if (found.isEmpty() || !found.get().isAvailable()) {
+            indexedItemRepository.deleteById(itemId);
+            return;
+        }
+
+        Item item = found.get();
+        termRepository.saveAll(toTerms(itemId, weigh(item)));
+        indexedItemRepository.save(new IndexedItem(itemId, item.getVersion()));
+    }
+
+    Map<String, Double> weigh(Item item) {
+        Map<String, Double> frequencies = new HashMap<>();
+        TextAnalyzer.termFrequencies(item.getName())
+                .forEach((term, tf) -> frequencies.merge(term, tf * properties.getNameWeight(), Double::sum));
+        TextAnalyzer.termFrequencies(item.getDescription())
+                .forEach((term, tf) -> frequencies.merge(term, (double) tf, Double::sum));
+
+        Map<String, Double> weights = new HashMap<>();
+        double norm = 0;
+        for (Map.Entry<String, Double> entry : frequencies.entrySet()) {
+            double weight = 1 + Math.log(entry.getValue());
+            weights.put(entry.getKey(), weight);
+            norm += weight * weight;
+        }
+        double length = Math.sqrt(norm);
+        weights.replaceAll((term, weight) -> weight / length);
+        return weights;
+    }
+
+    private List<ItemTerm> toTerms(Long itemId, Map<String, Double> weights) {
+        List<ItemTerm> terms = new ArrayList<>(weights.size());
+        weights.forEach((term, weight) -> terms.add(new ItemTerm(term, itemId, weight)));
+        return terms;
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.request.matching;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Подбирает к запросу вещи по сходству текста. Читаются только списки вещей для термов описания,
+ * поэтому стоимость зависит от числа совпадений, а не от числа вещей в базе.
+ */
+@Service
+@RequiredArgsConstructor
+public class RequestMatcher {
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final ItemTermRepository termRepository;
+    private final RequestSuggestionRepository suggestionRepository;
+    private final RequestMatchingProperties properties;
+
+    /**
+     * Заменяет подборку запроса свежей и меняет его версию, чтобы клиенты с ETag получили обновление.
+     */
+    @Transactional
+    public List<RequestSuggestion> match(Long requestId) {
+        ItemRequest request = itemRequestRepository.findById(requestId).orElse(null);
+        if (request == null) {
+            return List.of();
+        }
+
+        List<RequestSuggestion> suggestions = rank(request);
+        suggestionRepository.deleteByRequestId(requestId);
+        suggestionRepository.saveAll(suggestions);
+        itemRequestRepository.incrementVersion(requestId);
+        return suggestions;
+    }
+
+    private List<RequestSuggestion> rank(ItemRequest request) {
+        Map<String, Integer> query = TextAnalyzer.termFrequencies(request.getDescription());
+        if (query.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Double> queryWeights = new HashMap<>();
+        for (TermFrequency frequency : termRepository.countDocuments(query.keySet())) {
+            if (frequency.getDocuments() <= properties.getMaxPostings()) {
+                double idf = 1 / (1 + Math.log(frequency.getDocuments()));
+                queryWeights.put(frequency.getTerm(), (1 + Math.log(query.get(frequency.getTerm()))) * idf);
+            }
+        }
+        if (queryWeights.isEmpty()) {
+            return List.of();
+        }
+        double queryLength = Math.sqrt(queryWeights.values().stream().mapToDouble(w -> w * w).sum());
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (ItemTerm posting : termRepository.findPostings(queryWeights.keySet())) {
+            scores.merge(posting.getItemId(), posting.getWeight() * queryWeights.get(posting.getTerm()), Double::sum);
+        }
+        List<Map.Entry<Long, Double>> ranked = scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .toList();
+
+        Long requesterId = request.getRequester().getId();
+        int limit = properties.getMaxSuggestions();
+        List<RequestSuggestion> picked = new ArrayList<>(limit);
+        for (int from = 0; from < ranked.size() && picked.size() < limit; from += limit * 2) {
+            List<Map.Entry<Long, Double>> chunk = ranked.subList(from, Math.min(ranked.size(), from + limit * 2));
+            Map<Long, Item> items = itemRepository.findAllById(chunk.stream().map(Map.Entry::getKey).toList()).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            for (Map.Entry<Long, Double> entry : chunk) {
+                Item item = items.get(entry.getKey());
+                if (item != null && item.isAvailable() && !item.getOwner().getId().equals(requesterId)
+                        && picked.size() < limit) {
+                    picked.add(new RequestSuggestion(request.getId(), item.getId(), entry.getValue() / queryLength));
+                }
+            }
+        }
+        return picked;
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.request.matching;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(RequestMatchingProperties.class)
+public class RequestMatchingConfig {
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "shareit.request-matching", name = "enabled", matchIfMissing = true)
+    static class MatchingJobsConfig {
+
+        @Bean
+        public RequestMatchingSubscriber requestMatchingSubscriber(ItemTextIndexer indexer, RequestMatcher matcher) {
+            return new RequestMatchingSubscriber(indexer, matcher);
+        }
+
+        @Bean
+        public ItemIndexReconciler itemIndexReconciler(IndexedItemRepository indexedItemRepository,
+                                                       ItemTextIndexer indexer,
+                                                       RequestMatchingProperties properties,
+                                                       MeterRegistry registry) {
+            return new ItemIndexReconciler(indexedItemRepository, indexer, properties, registry);
+        }
+    }
+}
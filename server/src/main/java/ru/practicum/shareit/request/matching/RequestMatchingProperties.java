@@ -0,0 +1,23 @@
+package ru.practicum.shareit.request.matching;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.request-matching")
+public class RequestMatchingProperties {
+    boolean enabled = true;
+    int maxSuggestions = 5;
+    /**
+     * Термы, встречающиеся у большего числа вещей, не различают их и пропускаются при подборе.
+     */
+    int maxPostings = 10000;
+    double nameWeight = 2.0;
+    Duration reconcileInterval = Duration.ofMinutes(10);
+    int batchSize = 500;
+}
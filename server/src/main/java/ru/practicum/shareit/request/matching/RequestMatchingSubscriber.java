@@ -0,0 +1,31 @@
+package ru.practicum.shareit.request.matching;
+
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.outbox.OutboxEvent;
+import ru.practicum.shareit.outbox.OutboxRecorder;
+import ru.practicum.shareit.outbox.OutboxSubscriber;
+
+/**
+ * Обновляет индекс по событиям вещей и подбирает вещи к новым запросам вне транзакции, создавшей запрос.
+ * Оба действия пересчитывают состояние целиком, поэтому повторная доставка безопасна.
+ */
+@RequiredArgsConstructor
+public class RequestMatchingSubscriber implements OutboxSubscriber {
+    private final ItemTextIndexer indexer;
+    private final RequestMatcher matcher;
+
+    @Override
+    public boolean supports(OutboxEvent event) {
+        return OutboxRecorder.ITEM.equals(event.getAggregateType())
+                || OutboxRecorder.REQUEST.equals(event.getAggregateType());
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        if (OutboxRecorder.ITEM.equals(event.getAggregateType())) {
+            indexer.reindex(event.getAggregateId());
+        } else {
+            matcher.match(event.getAggregateId());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.request.matching;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.item.model.Item;
+
+import java.io.Serializable;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(RequestSuggestion.Key.class)
+@Table(name = "request_suggestions")
+public class RequestSuggestion {
+    @Id
+    @Column(name = "request_id")
+    Long requestId;
+
+    @Id
+    @Column(name = "item_id")
+    Long itemId;
+
+    @Column(nullable = false)
+    double score;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", insertable = false, updatable = false)
+    Item item;
+
+    public RequestSuggestion(Long requestId, Long itemId, double score) {
+        this.requestId = requestId;
+        this.itemId = itemId;
+        this.score = score;
+    }
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        Long requestId;
+        Long itemId;
+    }
+}
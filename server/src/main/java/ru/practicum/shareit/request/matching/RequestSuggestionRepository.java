@@ -0,0 +1,29 @@
+package ru.practicum.shareit.request.matching;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RequestSuggestionRepository extends JpaRepository<RequestSuggestion, RequestSuggestion.Key> {
+
+    @Query("SELECT s FROM RequestSuggestion s JOIN FETCH s.item i " +
+            "WHERE s.requestId IN :requestIds AND i.available = true ORDER BY s.score DESC, s.itemId")
+    List<RequestSuggestion> findAvailableByRequestIds(@Param("requestIds") Collection<Long> requestIds);
+
+    /**
+     * Сумма версий подобранных вещей. Набор подборки меняется вместе с версией запроса, поэтому сумма растёт
+     * при любом изменении подобранной вещи, в том числе её доступности.
+     */
+    @Query("SELECT COALESCE(SUM(i.version), 0) FROM RequestSuggestion s JOIN s.item i WHERE s.requestId = :requestId")
+    long sumItemVersions(@Param("requestId") Long requestId);
+
+    @Modifying
+    @Query("DELETE FROM RequestSuggestion s WHERE s.requestId = :requestId")
+    int deleteByRequestId(@Param("requestId") Long requestId);
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.request.matching;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Разбивает текст на термы для сопоставления запросов с вещами: нижний регистр, {@code ё → е},
+ * отбрасывание служебных слов и коротких токенов, грубое усечение окончаний, чтобы «дрель» и «дрели»
+ * давали один терм.
+ */
+public final class TextAnalyzer {
+    static final int MIN_TERM_LENGTH = 3;
+    static final int MAX_TERM_LENGTH = 64;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "для", "без", "при", "над", "под", "про", "что", "как", "или", "его", "она", "они", "это", "так",
+            "нужен", "нужна", "нужно", "нужны", "ищу", "хочу", "возьму", "взять", "аренду", "напрокат",
+            "the", "and", "for", "with", "need", "want", "any", "some", "rent");
+    private static final List<String> ENDINGS = List.of(
+            "ами", "ями", "ого", "его", "ому", "ему", "ыми", "ими", "ой", "ей", "ий", "ый", "ая", "яя",
+            "ое", "ее", "ие", "ые", "ов", "ев", "ам", "ям", "ах", "ях", "ом", "ем", "ую", "юю",
+            "а", "я", "ы", "и", "у", "ю", "е", "о", "ь", "й",
+            "ing", "es", "s");
+
+    private TextAnalyzer() {
+    }
+
+    public static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        if (text == null) {
+            return frequencies;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).replace('ё', 'е').split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() < MIN_TERM_LENGTH || STOP_WORDS.contains(token)) {
+                continue;
+            }
+            frequencies.merge(stem(token), 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    static String stem(String token) {
+        for (String ending : ENDINGS) {
+            if (token.endsWith(ending) && token.length() - ending.length() >= MIN_TERM_LENGTH) {
+                token = token.substring(0, token.length() - ending.length());
+                break;
+            }
+        }
+        return token.length() > MAX_TERM_LENGTH ? token.substring(0, MAX_TERM_LENGTH) : token;
+    }
+}
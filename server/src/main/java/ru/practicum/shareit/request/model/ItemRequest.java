@@ -29,4 +29,7 @@ public class ItemRequest {
 
     @Column(nullable = false)
     LocalDateTime created;
+
+    @Column(nullable = false, insertable = false, updatable = false)
+    long version;
 }
@@ -2,10 +2,14 @@ package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.request.dto.RequestVersionDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
@@ -18,4 +22,14 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
 
     @Query("SELECT ir FROM ItemRequest ir LEFT JOIN FETCH ir.requester ORDER BY ir.created DESC")
     List<ItemRequest> findAllWithRequestor();
+
+    @Query("SELECT ir.version FROM ItemRequest ir WHERE ir.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new ru.practicum.shareit.request.dto.RequestVersionDto(ir.requester.id, ir.version) FROM ItemRequest ir WHERE ir.id = :id")
+    Optional<RequestVersionDto> findRequestVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE ItemRequest ir SET ir.version = ir.version + 1 WHERE ir.id = :id")
+    void incrementVersion(@Param("id") Long id);
 }
\ No newline at end of file
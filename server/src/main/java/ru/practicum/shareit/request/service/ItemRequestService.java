@@ -14,4 +14,6 @@ public interface ItemRequestService {
     List<ItemRequestResponseDto> getAllRequests(Long userId, Pageable pageable);
 
     ItemRequestResponseDto getRequestById(Long userId, Long requestId);
+
+    String getRequestETag(Long userId, Long requestId);
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,6 +13,11 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.dto.ItemSuggestionDto;
+import ru.practicum.shareit.request.dto.RequestVersionDto;
+import ru.practicum.shareit.request.event.ItemRequestCreatedEvent;
+import ru.practicum.shareit.request.matching.RequestSuggestion;
+import ru.practicum.shareit.request.matching.RequestSuggestionRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -20,6 +26,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +36,8 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final RequestSuggestionRepository suggestionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -46,7 +55,8 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         request.setCreated(LocalDateTime.now());
 
         ItemRequest savedRequest = itemRequestRepository.save(request);
-        return toResponseDto(savedRequest, Collections.emptyList());
+        eventPublisher.publishEvent(new ItemRequestCreatedEvent(savedRequest.getId(), userId));
+        return toResponseDto(savedRequest, Collections.emptyList(), Collections.emptyList());
     }
 
     @Override
@@ -55,10 +65,12 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .orElseThrow(() -> new UserNotFoundException("Пользователь с ID=" + userId + " не найден"));
 
         List<ItemRequest> requests = itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(userId);
+        Map<Long, List<ItemSuggestionDto>> suggestions = getSuggestions(requests.stream().map(ItemRequest::getId).toList());
         return requests.stream()
                 .map(request -> {
                     List<ItemDto> items = getItemsForRequest(request.getId());
-                    return toResponseDto(request, items);
+                    return toResponseDto(request, items,
+                            suggestions.getOrDefault(request.getId(), Collections.emptyList()));
                 })
                 .collect(Collectors.toList());
     }
@@ -72,7 +84,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return requests.stream()
                 .map(request -> {
                     List<ItemDto> items = getItemsForRequest(request.getId());
-                    return toResponseDto(request, items);
+                    return toResponseDto(request, items, null);
                 })
                 .collect(Collectors.toList());
     }
@@ -86,7 +98,26 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .orElseThrow(() -> new AccessDeniedException("Запрос с ID=" + requestId + " не найден"));
 
         List<ItemDto> items = getItemsForRequest(requestId);
-        return toResponseDto(request, items);
+        List<ItemSuggestionDto> suggestions = request.getRequester().getId().equals(userId)
+                ? getSuggestions(List.of(requestId)).getOrDefault(requestId, Collections.emptyList())
+                : null;
+        return toResponseDto(request, items, suggestions);
+    }
+
+    @Override
+    public String getRequestETag(Long userId, Long requestId) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("Пользователь с ID=" + userId + " не найден");
+        }
+
+        RequestVersionDto version = itemRequestRepository.findRequestVersionById(requestId)
+                .orElseThrow(() -> new AccessDeniedException("Запрос с ID=" + requestId + " не найден"));
+        String eTag = "request-" + requestId + "-v" + version.getVersion();
+        if (!version.getRequesterId().equals(userId)) {
+            return eTag;
+        }
+        // Автор видит подборку: её вещи могут измениться, не меняя версию запроса
+        return eTag + ".s" + suggestionRepository.sumItemVersions(requestId);
     }
 
     private List<ItemDto> getItemsForRequest(Long requestId) {
@@ -96,22 +127,44 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Подборка видна только автору запроса; вещи, ставшие недоступными после подбора, отбрасываются.
+     */
+    private Map<Long, List<ItemSuggestionDto>> getSuggestions(List<Long> requestIds) {
+        if (requestIds.isEmpty()) {
+            return Map.of();
+        }
+        return suggestionRepository.findAvailableByRequestIds(requestIds).stream()
+                .collect(Collectors.groupingBy(RequestSuggestion::getRequestId,
+                        Collectors.mapping(this::toSuggestionDto, Collectors.toList())));
+    }
+
+    private ItemSuggestionDto toSuggestionDto(RequestSuggestion suggestion) {
+        Item item = suggestion.getItem();
+        return new ItemSuggestionDto(item.getId(), item.getName(), item.getDescription(), suggestion.getScore());
+    }
+
     private ItemDto toItemDto(Item item) {
         return new ItemDto(
                 item.getId(),
                 item.getName(),
                 item.getDescription(),
                 item.isAvailable(),
-                item.getRequest() != null ? item.getRequest().getId() : null
+                item.getRequest() != null ? item.getRequest().getId() : null,
+                item.getLocation() != null ? item.getLocation().getLatitude() : null,
+                item.getLocation() != null ? item.getLocation().getLongitude() : null,
+                null
         );
     }
 
-    private ItemRequestResponseDto toResponseDto(ItemRequest request, List<ItemDto> items) {
+    private ItemRequestResponseDto toResponseDto(ItemRequest request, List<ItemDto> items,
+                                                 List<ItemSuggestionDto> suggestions) {
         return new ItemRequestResponseDto(
                 request.getId(),
                 request.getDescription(),
                 request.getCreated(),
-                items
+                items,
+                suggestions
         );
     }
 }
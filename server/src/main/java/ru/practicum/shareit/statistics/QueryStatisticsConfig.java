@@ -0,0 +1,32 @@
+package ru.practicum.shareit.statistics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(QueryStatisticsProperties.class)
+public class QueryStatisticsConfig {
+
+    @Bean
+    public static SlowQueryPostProcessor slowQueryPostProcessor(ObjectProvider<QueryStatisticsProperties> properties,
+                                                                ObjectProvider<MeterRegistry> registry) {
+        return new SlowQueryPostProcessor(properties, registry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlCaptureCustomizer(QueryStatisticsProperties properties) {
+        SqlCaptureInspector inspector = new SqlCaptureInspector(properties.getMaxLoggedStatements());
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+
+    @Bean
+    public QueryStatisticsEndpoint queryStatisticsEndpoint(EntityManagerFactory entityManagerFactory) {
+        return new QueryStatisticsEndpoint(entityManagerFactory);
+    }
+}
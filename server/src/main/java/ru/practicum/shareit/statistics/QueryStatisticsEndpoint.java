@@ -0,0 +1,79 @@
+package ru.practicum.shareit.statistics;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Endpoint(id = "queries")
+public class QueryStatisticsEndpoint {
+    private final Statistics statistics;
+
+    public QueryStatisticsEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public Map<String, Object> queries() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        result.put("queryExecutionCount", statistics.getQueryExecutionCount());
+        result.put("queryExecutionMaxTimeMs", statistics.getQueryExecutionMaxTime());
+        result.put("slowestQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        result.put("prepareStatementCount", statistics.getPrepareStatementCount());
+        result.put("entityLoadCount", statistics.getEntityLoadCount());
+        result.put("entityFetchCount", statistics.getEntityFetchCount());
+        result.put("queries", queryStatistics());
+        result.put("entities", entityStatistics());
+        return result;
+    }
+
+    @DeleteOperation
+    public void clear() {
+        statistics.clear();
+    }
+
+    private List<Map<String, Object>> queryStatistics() {
+        return Arrays.stream(statistics.getQueries())
+                .map(query -> {
+                    QueryStatistics stats = statistics.getQueryStatistics(query);
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("query", query);
+                    row.put("executionCount", stats.getExecutionCount());
+                    row.put("meanTimeMs", stats.getExecutionAvgTimeAsDouble());
+                    row.put("maxTimeMs", stats.getExecutionMaxTime());
+                    row.put("totalTimeMs", stats.getExecutionTotalTime());
+                    row.put("rowsFetched", stats.getExecutionRowCount());
+                    return row;
+                })
+                .sorted(Comparator.comparingLong((Map<String, Object> row) -> (Long) row.get("totalTimeMs")).reversed())
+                .toList();
+    }
+
+    private List<Map<String, Object>> entityStatistics() {
+        return Arrays.stream(statistics.getEntityNames())
+                .sorted()
+                .map(entity -> {
+                    EntityStatistics stats = statistics.getEntityStatistics(entity);
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("entity", entity.substring(entity.lastIndexOf('.') + 1));
+                    row.put("loadCount", stats.getLoadCount());
+                    row.put("fetchCount", stats.getFetchCount());
+                    row.put("insertCount", stats.getInsertCount());
+                    row.put("updateCount", stats.getUpdateCount());
+                    row.put("deleteCount", stats.getDeleteCount());
+                    return row;
+                })
+                .toList();
+    }
+}
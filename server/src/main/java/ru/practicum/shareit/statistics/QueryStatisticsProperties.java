@@ -0,0 +1,16 @@
+package ru.practicum.shareit.statistics;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.queries")
+public class QueryStatisticsProperties {
+    Duration slowThreshold = Duration.ofMillis(200);
+    int maxLoggedStatements = 5;
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.statistics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class SlowQueryInterceptor implements MethodInterceptor {
+    private static final String APPLICATION_PACKAGE = "ru.practicum.shareit.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final String repository;
+    private final long thresholdNanos;
+    private final ObjectProvider<MeterRegistry> registry;
+
+    public SlowQueryInterceptor(Class<?> repositoryInterface, QueryStatisticsProperties properties,
+                                ObjectProvider<MeterRegistry> registry) {
+        this.repository = repositoryInterface.getSimpleName();
+        this.thresholdNanos = properties.getSlowThreshold().toNanos();
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (SqlCaptureInspector.isCapturing()) {
+            return invocation.proceed();
+        }
+        SqlCaptureInspector.start();
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            List<String> statements = SqlCaptureInspector.stop();
+            if (elapsed >= thresholdNanos) {
+                reportSlowQuery(invocation.getMethod().getName(), elapsed, statements);
+            }
+        }
+    }
+
+    private void reportSlowQuery(String method, long elapsedNanos, List<String> statements) {
+        String caller = callerOf().orElse("unknown");
+        log.warn("Медленный запрос {}.{} выполнялся {} мс (вызван из {}): {}", repository, method,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), caller, statements);
+        MeterRegistry meterRegistry = registry.getIfAvailable();
+        if (meterRegistry != null) {
+            Counter.builder("shareit.queries.slow")
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private static Optional<String> callerOf() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE))
+                .filter(frame -> !frame.getClassName().contains("$$"))
+                .filter(frame -> !frame.getClassName().startsWith(APPLICATION_PACKAGE + "statistics.")
+                        && !frame.getClassName().startsWith(APPLICATION_PACKAGE + "metrics.")
+                        && !frame.getClassName().startsWith(APPLICATION_PACKAGE + "tracing."))
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName()));
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.statistics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+public class SlowQueryPostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<QueryStatisticsProperties> properties;
+    private final ObjectProvider<MeterRegistry> registry;
+
+    public SlowQueryPostProcessor(ObjectProvider<QueryStatisticsProperties> properties,
+                                  ObjectProvider<MeterRegistry> registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> proxyFactory.addAdvice(new SlowQueryInterceptor(
+                            information.getRepositoryInterface(), properties.getObject(), registry))));
+        }
+        return bean;
+    }
+}
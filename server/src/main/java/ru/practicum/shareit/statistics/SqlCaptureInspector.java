@@ -0,0 +1,43 @@
+package ru.practicum.shareit.statistics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Запоминает SQL, подготовленный в текущем потоке во время отслеживаемого вызова репозитория,
+ * чтобы медленный вызов попал в лог вместе с выполненными запросами.
+ */
+public class SqlCaptureInspector implements StatementInspector {
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    private final int maxStatements;
+
+    public SqlCaptureInspector(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> captured = CAPTURED.get();
+        if (captured != null && captured.size() < maxStatements) {
+            captured.add(sql);
+        }
+        return sql;
+    }
+
+    static boolean isCapturing() {
+        return CAPTURED.get() != null;
+    }
+
+    static void start() {
+        CAPTURED.set(new ArrayList<>());
+    }
+
+    static List<String> stop() {
+        List<String> captured = CAPTURED.get();
+        CAPTURED.remove();
+        return captured != null ? captured : List.of();
+    }
+}
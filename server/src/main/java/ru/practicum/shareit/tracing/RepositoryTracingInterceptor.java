@@ -0,0 +1,39 @@
+package ru.practicum.shareit.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+public class RepositoryTracingInterceptor implements MethodInterceptor {
+    private final ObjectProvider<Tracer> tracerProvider;
+    private final String repository;
+
+    public RepositoryTracingInterceptor(ObjectProvider<Tracer> tracerProvider, Class<?> repositoryInterface) {
+        this.tracerProvider = tracerProvider;
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Tracer tracer = tracerProvider.getIfAvailable();
+        if (tracer == null || tracer.currentSpan() == null) {
+            return invocation.proceed();
+        }
+        String method = invocation.getMethod().getName();
+        Span span = tracer.nextSpan()
+                .name(repository + "." + method)
+                .tag("db.repository", repository)
+                .tag("db.method", method)
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
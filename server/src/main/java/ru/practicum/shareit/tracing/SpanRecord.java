@@ -0,0 +1,45 @@
+package ru.practicum.shareit.tracing;
+
+import io.opentelemetry.api.trace.SpanId;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@AllArgsConstructor
+public class SpanRecord {
+    String traceId;
+    String spanId;
+    String parentSpanId;
+    String name;
+    String kind;
+    Instant start;
+    long durationMicros;
+    String status;
+    Map<String, String> attributes;
+
+    public static SpanRecord of(SpanData span) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+        String parentSpanId = SpanId.isValid(span.getParentSpanId()) ? span.getParentSpanId() : null;
+        return new SpanRecord(
+                span.getTraceId(),
+                span.getSpanId(),
+                parentSpanId,
+                span.getName(),
+                span.getKind().name(),
+                Instant.ofEpochSecond(0, span.getStartEpochNanos()),
+                TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - span.getStartEpochNanos()),
+                span.getStatus().getStatusCode().name(),
+                attributes
+        );
+    }
+}
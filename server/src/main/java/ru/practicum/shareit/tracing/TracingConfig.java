@@ -0,0 +1,38 @@
+package ru.practicum.shareit.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingConfig {
+
+    @Bean
+    public static RepositoryTracingPostProcessor repositoryTracingPostProcessor(ObjectProvider<Tracer> tracer) {
+        return new RepositoryTracingPostProcessor(tracer);
+    }
+
+    @Bean
+    public LocalSpanCollector localSpanCollector(TracingProperties properties) {
+        return new LocalSpanCollector(properties.getBufferSize());
+    }
+
+    @Bean
+    public SpansEndpoint spansEndpoint(LocalSpanCollector collector) {
+        return new SpansEndpoint(collector);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "shareit.tracing", name = "file")
+    public JsonFileSpanExporter jsonFileSpanExporter(TracingProperties properties, ObjectMapper objectMapper) throws IOException {
+        return new JsonFileSpanExporter(Path.of(properties.getFile()), objectMapper);
+    }
+}
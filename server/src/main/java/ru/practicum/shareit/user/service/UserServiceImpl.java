@@ -1,11 +1,15 @@
 package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.DuplicateEmailException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.event.UserCreatedEvent;
+import ru.practicum.shareit.user.event.UserUpdatedEvent;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -17,8 +21,10 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional
     public UserDto createUser(UserDto userDto) {
         if (!isValidEmail(userDto.getEmail())) {
             throw new ValidationException("Некорректный формат email");
@@ -29,10 +35,12 @@ public class UserServiceImpl implements UserService {
 
         User user = UserMapper.toUser(userDto);
         User saveUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserCreatedEvent(saveUser.getId()));
         return UserMapper.toUserDto(saveUser);
     }
 
     @Override
+    @Transactional
     public UserDto updateUser(Long userId, UserDto userDto) {
         User existingUser = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(String.format("Пользователь с ID %d не найден", userId)));
@@ -52,6 +60,7 @@ public class UserServiceImpl implements UserService {
         }
 
         User updatedUser = userRepository.save(existingUser);
+        eventPublisher.publishEvent(new UserUpdatedEvent(userId, updatedUser.getName()));
         return UserMapper.toUserDto(updatedUser);
     }
 
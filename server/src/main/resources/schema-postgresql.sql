@@ -0,0 +1,35 @@
+-- Объекты, которые есть только в PostgreSQL; выполняется после schema.sql.
+
+-- Бронирования секционированы по end_date: завершённые годы не задевают
+-- горячие запросы, а архивация удаляет строки из старых секций. Ключ секционирования входит в первичный ключ,
+-- поэтому внешних ключей на bookings(id) нет: указатели и сводки сами обрабатывают пропавшие бронирования.
+-- Identity-столбцы секционированных таблиц поддерживаются только с PostgreSQL 17, поэтому id берётся из sequence.
+CREATE SEQUENCE IF NOT EXISTS bookings_id_seq;
+
+CREATE TABLE IF NOT EXISTS bookings (
+    id BIGINT DEFAULT nextval('bookings_id_seq') NOT NULL,
+    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    item_id BIGINT NOT NULL,
+    booker_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_booking PRIMARY KEY (id, end_date),
+    CONSTRAINT fk_booking_item FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
+    CONSTRAINT fk_booking_booker FOREIGN KEY (booker_id) REFERENCES users(id) ON DELETE CASCADE
+) PARTITION BY RANGE (end_date);
+
+ALTER SEQUENCE bookings_id_seq OWNED BY bookings.id;
+
+-- Годовые секции создаёт BookingPartitions; сюда попадают только строки, для которых секции ещё нет
+CREATE TABLE IF NOT EXISTS bookings_default PARTITION OF bookings DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_end ON bookings (item_id, end_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_status_start ON bookings (status, start_date);
+
+-- Нечёткий поиск вещей, см. PostgresItemFuzzySearch
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm ON items USING GIN (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm ON items USING GIN (lower(description) gin_trgm_ops);
@@ -11,6 +11,7 @@ CREATE TABLE IF NOT EXISTS requests (
     description TEXT NOT NULL,
     requester_id BIGINT NOT NULL,
     created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
     CONSTRAINT pk_request PRIMARY KEY (id),
     CONSTRAINT fk_request_requester FOREIGN KEY (requester_id) REFERENCES users(id) ON DELETE CASCADE
 );
@@ -22,23 +23,71 @@ CREATE TABLE IF NOT EXISTS items (
     is_available BOOLEAN NOT NULL,
     owner_id BIGINT NOT NULL,
     request_id BIGINT,
+    version BIGINT DEFAULT 0 NOT NULL,
+    latitude DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
+    geo_cell BIGINT,
     CONSTRAINT pk_item PRIMARY KEY (id),
     CONSTRAINT fk_item_owner FOREIGN KEY (owner_id) REFERENCES users(id) ON DELETE CASCADE,
     CONSTRAINT fk_item_request FOREIGN KEY (request_id) REFERENCES requests(id) ON DELETE SET NULL
 );
 
-CREATE TABLE IF NOT EXISTS bookings (
+CREATE INDEX IF NOT EXISTS idx_items_geo_cell ON items (geo_cell);
+
+CREATE TABLE IF NOT EXISTS item_tags (
+    item_id BIGINT NOT NULL,
+    tag VARCHAR(50) NOT NULL,
+    CONSTRAINT pk_item_tag PRIMARY KEY (item_id, tag),
+    CONSTRAINT fk_item_tag_item FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS booking_holds (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    item_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
     start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    expires_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_booking_hold PRIMARY KEY (id),
+    CONSTRAINT fk_booking_hold_item FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
+    CONSTRAINT fk_booking_hold_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_booking_holds_item_end ON booking_holds (item_id, end_date);
+CREATE INDEX IF NOT EXISTS idx_booking_holds_expires_at ON booking_holds (expires_at);
+
+CREATE TABLE IF NOT EXISTS booking_waitlist (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     item_id BIGINT NOT NULL,
-    booker_id BIGINT NOT NULL,
-    status VARCHAR(20) NOT NULL,
-    CONSTRAINT pk_booking PRIMARY KEY (id),
-    CONSTRAINT fk_booking_item FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
-    CONSTRAINT fk_booking_booker FOREIGN KEY (booker_id) REFERENCES users(id) ON DELETE CASCADE
+    user_id BIGINT NOT NULL,
+    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_booking_waitlist PRIMARY KEY (id),
+    CONSTRAINT fk_booking_waitlist_item FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
+    CONSTRAINT fk_booking_waitlist_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
+CREATE INDEX IF NOT EXISTS idx_booking_waitlist_item_end ON booking_waitlist (item_id, end_date);
+CREATE INDEX IF NOT EXISTS idx_booking_waitlist_user ON booking_waitlist (user_id);
+
+CREATE TABLE IF NOT EXISTS item_booking_pointers (
+    item_id BIGINT NOT NULL,
+    last_booking_id BIGINT,
+    last_booker_id BIGINT,
+    last_start TIMESTAMP WITHOUT TIME ZONE,
+    last_end TIMESTAMP WITHOUT TIME ZONE,
+    next_booking_id BIGINT,
+    next_booker_id BIGINT,
+    next_start TIMESTAMP WITHOUT TIME ZONE,
+    next_end TIMESTAMP WITHOUT TIME ZONE,
+    roll_at TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_item_booking_pointer PRIMARY KEY (item_id),
+    CONSTRAINT fk_pointer_item FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_booking_pointers_roll_at ON item_booking_pointers (roll_at);
+
 CREATE TABLE IF NOT EXISTS comments (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     text TEXT NOT NULL,
@@ -48,4 +97,96 @@ CREATE TABLE IF NOT EXISTS comments (
     CONSTRAINT pk_comment PRIMARY KEY (id),
     CONSTRAINT fk_comment_item FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
     CONSTRAINT fk_comment_author FOREIGN KEY (author_id) REFERENCES users(id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item_created ON comments (item_id, created DESC, id DESC);
+
+CREATE TABLE IF NOT EXISTS owner_dashboards (
+    owner_id BIGINT NOT NULL,
+    item_count BIGINT DEFAULT 0 NOT NULL,
+    available_item_count BIGINT DEFAULT 0 NOT NULL,
+    rebuilt_at TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_owner_dashboard PRIMARY KEY (owner_id),
+    CONSTRAINT fk_owner_dashboard_owner FOREIGN KEY (owner_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS owner_dashboard_counts (
+    owner_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    booking_count BIGINT NOT NULL,
+    CONSTRAINT pk_owner_dashboard_count PRIMARY KEY (owner_id, status),
+    CONSTRAINT fk_owner_dashboard_count_owner FOREIGN KEY (owner_id) REFERENCES owner_dashboards(owner_id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS owner_dashboard_entries (
+    booking_id BIGINT NOT NULL,
+    owner_id BIGINT NOT NULL,
+    item_id BIGINT NOT NULL,
+    item_name VARCHAR(255) NOT NULL,
+    booker_id BIGINT NOT NULL,
+    booker_name VARCHAR(255) NOT NULL,
+    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    CONSTRAINT pk_owner_dashboard_entry PRIMARY KEY (booking_id),
+    CONSTRAINT fk_owner_dashboard_entry_item FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
+    CONSTRAINT fk_owner_dashboard_entry_booker FOREIGN KEY (booker_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_owner_dashboard_entry_owner FOREIGN KEY (owner_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_owner_dashboard_entries_owner_start ON owner_dashboard_entries (owner_id, start_date);
+CREATE INDEX IF NOT EXISTS idx_owner_dashboard_entries_owner_end ON owner_dashboard_entries (owner_id, end_date);
+CREATE INDEX IF NOT EXISTS idx_owner_dashboard_entries_end ON owner_dashboard_entries (end_date);
+CREATE INDEX IF NOT EXISTS idx_owner_dashboard_entries_item ON owner_dashboard_entries (item_id);
+CREATE INDEX IF NOT EXISTS idx_owner_dashboard_entries_booker ON owner_dashboard_entries (booker_id);
+
+-- Пользователи, заведённые до появления сводки, получают пустую строку; она пересчитается при первом обращении
+INSERT INTO owner_dashboards (owner_id)
+SELECT u.id FROM users u WHERE NOT EXISTS (SELECT 1 FROM owner_dashboards d WHERE d.owner_id = u.id);
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT DEFAULT 0 NOT NULL,
+    claimed_until TIMESTAMP WITHOUT TIME ZONE,
+    dispatched_at TIMESTAMP WITHOUT TIME ZONE,
+    last_error VARCHAR(1000),
+    CONSTRAINT pk_outbox_event PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_status_id ON outbox_events (status, id);
+CREATE INDEX IF NOT EXISTS idx_outbox_events_aggregate ON outbox_events (aggregate_type, aggregate_id, id);
+CREATE INDEX IF NOT EXISTS idx_outbox_events_dispatched_at ON outbox_events (dispatched_at);
+
+CREATE TABLE IF NOT EXISTS item_terms (
+    term VARCHAR(64) NOT NULL,
+    item_id BIGINT NOT NULL,
+    weight DOUBLE PRECISION NOT NULL,
+    CONSTRAINT pk_item_term PRIMARY KEY (term, item_id),
+    CONSTRAINT fk_item_term_item FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_terms_item ON item_terms (item_id);
+
+CREATE TABLE IF NOT EXISTS indexed_items (
+    item_id BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    CONSTRAINT pk_indexed_item PRIMARY KEY (item_id),
+    CONSTRAINT fk_indexed_item_item FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS request_suggestions (
+    request_id BIGINT NOT NULL,
+    item_id BIGINT NOT NULL,
+    score DOUBLE PRECISION NOT NULL,
+    CONSTRAINT pk_request_suggestion PRIMARY KEY (request_id, item_id),
+    CONSTRAINT fk_request_suggestion_request FOREIGN KEY (request_id) REFERENCES requests(id) ON DELETE CASCADE,
+    CONSTRAINT fk_request_suggestion_item FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_request_suggestions_item ON request_suggestions (item_id);
@@ -8,14 +8,22 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingHoldDto;
+import ru.practicum.shareit.booking.dto.BookingHoldRequestDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.WaitlistEntryDto;
+import ru.practicum.shareit.booking.dto.WaitlistRequestDto;
+import ru.practicum.shareit.booking.hold.BookingHoldService;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.waitlist.WaitlistService;
+import ru.practicum.shareit.exception.ConflictException;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -30,6 +38,12 @@ class BookingControllerTest {
     @MockBean
     private BookingService bookingService;
 
+    @MockBean
+    private BookingHoldService bookingHoldService;
+
+    @MockBean
+    private WaitlistService waitlistService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -91,7 +105,7 @@ class BookingControllerTest {
         BookingDto bookingDto = new BookingDto();
         bookingDto.setId(bookingId);
 
-        when(bookingService.getBookingsByBooker(anyLong(), any(BookingState.class)))
+        when(bookingService.getBookingsByBooker(anyLong(), any(BookingState.class), anyInt(), anyInt()))
                 .thenReturn(List.of(bookingDto));
 
         mockMvc.perform(get("/bookings")
@@ -108,7 +122,7 @@ class BookingControllerTest {
         BookingDto bookingDto = new BookingDto();
         bookingDto.setId(bookingId);
 
-        when(bookingService.getBookingsByOwner(anyLong(), any(BookingState.class)))
+        when(bookingService.getBookingsByOwner(anyLong(), any(BookingState.class), anyInt(), anyInt()))
                 .thenReturn(List.of(bookingDto));
 
         mockMvc.perform(get("/bookings/owner")
@@ -119,4 +133,85 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(bookingId));
     }
-}
\ No newline at end of file
+
+    @Test
+    void placeHold() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 5, 10, 10, 0);
+        BookingHoldRequestDto requestDto = new BookingHoldRequestDto(1L, start, start.plusDays(1), 5);
+        BookingHoldDto holdDto = new BookingHoldDto(7L, 1L, start, start.plusDays(1), LocalDateTime.now().plusMinutes(5));
+
+        when(bookingHoldService.placeHold(any(BookingHoldRequestDto.class), eq(userId)))
+                .thenReturn(holdDto);
+
+        mockMvc.perform(post("/bookings/holds")
+                        .header(USER_ID_HEADER, userId)
+                        .content(objectMapper.writeValueAsString(requestDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(7L))
+                .andExpect(jsonPath("$.itemId").value(1L));
+    }
+
+    @Test
+    void placeHoldWhenIntervalHeld() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 5, 10, 10, 0);
+        BookingHoldRequestDto requestDto = new BookingHoldRequestDto(1L, start, start.plusDays(1), null);
+
+        when(bookingHoldService.placeHold(any(BookingHoldRequestDto.class), eq(userId)))
+                .thenThrow(new ConflictException("Интервал удерживается другим пользователем"));
+
+        mockMvc.perform(post("/bookings/holds")
+                        .header(USER_ID_HEADER, userId)
+                        .content(objectMapper.writeValueAsString(requestDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void releaseHold() throws Exception {
+        mockMvc.perform(delete("/bookings/holds/7")
+                        .header(USER_ID_HEADER, userId))
+                .andExpect(status().isOk());
+
+        verify(bookingHoldService).releaseHold(7L, userId);
+    }
+
+    @Test
+    void joinWaitlist() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 5, 10, 10, 0);
+        WaitlistRequestDto requestDto = new WaitlistRequestDto(1L, start, start.plusDays(1));
+        WaitlistEntryDto entryDto = new WaitlistEntryDto(3L, 1L, start, start.plusDays(1), LocalDateTime.now());
+
+        when(waitlistService.join(any(WaitlistRequestDto.class), eq(userId)))
+                .thenReturn(entryDto);
+
+        mockMvc.perform(post("/bookings/waitlist")
+                        .header(USER_ID_HEADER, userId)
+                        .content(objectMapper.writeValueAsString(requestDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(3L))
+                .andExpect(jsonPath("$.itemId").value(1L));
+    }
+
+    @Test
+    void getWaitlist() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 5, 10, 10, 0);
+        when(waitlistService.getEntries(userId))
+                .thenReturn(List.of(new WaitlistEntryDto(3L, 1L, start, start.plusDays(1), LocalDateTime.now())));
+
+        mockMvc.perform(get("/bookings/waitlist")
+                        .header(USER_ID_HEADER, userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(3L));
+    }
+
+    @Test
+    void leaveWaitlist() throws Exception {
+        mockMvc.perform(delete("/bookings/waitlist/3")
+                        .header(USER_ID_HEADER, userId))
+                .andExpect(status().isOk());
+
+        verify(waitlistService).leave(3L, userId);
+    }
+}
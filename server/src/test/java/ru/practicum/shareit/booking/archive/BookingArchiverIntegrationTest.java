@@ -0,0 +1,143 @@
+package ru.practicum.shareit.booking.archive;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.comment.dto.CommentCreateDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "shareit.booking-archive.batch-size=2",
+        "shareit.booking-archive.interval=PT1H",
+        "shareit.booking-pointers.roll-forward-enabled=false"
+})
+@ActiveProfiles("test")
+class BookingArchiverIntegrationTest {
+
+    @Autowired
+    private BookingArchiver archiver;
+
+    @Autowired
+    private BookingArchiveRepository archiveRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "archive-owner@example.com"));
+        booker = userRepository.save(new User(null, "Booker", "archive-booker@example.com"));
+        item = itemRepository.save(new Item(null, "Drill", "Powerful drill", true, owner, null, 0, null));
+        now = LocalDateTime.now().withNano(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(owner.getId());
+        userRepository.deleteById(booker.getId());
+    }
+
+    @Test
+    void archiveMovesBookingsOlderThanRetention() {
+        Booking recent = save(now.minusDays(11), BookingStatus.APPROVED);
+        Booking old1 = save(now.minusDays(401), BookingStatus.APPROVED);
+        Booking old2 = save(now.minusDays(501), BookingStatus.REJECTED);
+        Booking old3 = save(now.minusDays(601), BookingStatus.APPROVED);
+        double archivedBefore = registry.counter("shareit.bookings.archived").count();
+
+        int archived = archiver.archive(now);
+
+        assertThat(archived).isGreaterThanOrEqualTo(3);
+        assertThat(registry.counter("shareit.bookings.archived").count() - archivedBefore).isEqualTo(archived);
+        assertThat(bookingRepository.findAllById(List.of(old1.getId(), old2.getId(), old3.getId()))).isEmpty();
+        assertThat(bookingRepository.findById(recent.getId())).isPresent();
+
+        BookingArchive copy = archiveRepository.findByIdWithRelations(old2.getId()).orElseThrow();
+        assertThat(copy.getStart()).isEqualTo(old2.getStart());
+        assertThat(copy.getEnd()).isEqualTo(old2.getEnd());
+        assertThat(copy.getStatus()).isEqualTo(BookingStatus.REJECTED);
+        assertThat(copy.getBooker().getId()).isEqualTo(booker.getId());
+        assertThat(copy.getArchivedAt()).isEqualTo(now);
+    }
+
+    @Test
+    void pastBookingsPageContinuesIntoArchive() {
+        Booking recent = save(now.minusDays(11), BookingStatus.APPROVED);
+        Booking old1 = save(now.minusDays(401), BookingStatus.APPROVED);
+        Booking old2 = save(now.minusDays(501), BookingStatus.REJECTED);
+        Booking old3 = save(now.minusDays(601), BookingStatus.APPROVED);
+        archiver.archive(now);
+
+        List<BookingDto> firstPage = bookingService.getBookingsByBooker(booker.getId(), BookingState.PAST, 0, 2);
+        List<BookingDto> secondPage = bookingService.getBookingsByOwner(owner.getId(), BookingState.PAST, 2, 2);
+        List<BookingDto> rejected = bookingService.getBookingsByBooker(booker.getId(), BookingState.REJECTED, 0, 10);
+
+        assertThat(firstPage).extracting(BookingDto::getId).containsExactly(recent.getId(), old1.getId());
+        assertThat(secondPage).extracting(BookingDto::getId).containsExactly(old2.getId(), old3.getId());
+        assertThat(rejected).extracting(BookingDto::getId).containsExactly(old2.getId());
+    }
+
+    @Test
+    void archivedBookingStaysReadableAndCommentable() {
+        Booking old = save(now.minusDays(401), BookingStatus.APPROVED);
+        archiver.archive(now);
+
+        BookingDto booking = bookingService.getBookingById(old.getId(), booker.getId());
+        String eTag = bookingService.getBookingETag(old.getId(), owner.getId());
+        CommentCreateDto comment = new CommentCreateDto();
+        comment.setText("Still works");
+
+        assertThat(booking.getStatus()).isEqualTo(BookingStatus.APPROVED);
+        assertThat(eTag).startsWith("booking-" + old.getId() + "-v");
+        assertThat(itemService.addComment(item.getId(), comment, booker.getId()).getText()).isEqualTo("Still works");
+    }
+
+    private Booking save(LocalDateTime start, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(start.plusDays(1));
+        booking.setStatus(status);
+        return bookingRepository.save(booking);
+    }
+}
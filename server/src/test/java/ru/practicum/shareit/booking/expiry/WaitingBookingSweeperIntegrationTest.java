@@ -0,0 +1,201 @@
+package ru.practicum.shareit.booking.expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "shareit.booking-expiry.batch-size=2",
+        "shareit.booking-expiry.interval=PT1H",
+        "shareit.booking-pointers.roll-forward-enabled=false"
+})
+@ActiveProfiles("test")
+class WaitingBookingSweeperIntegrationTest {
+
+    @Autowired
+    private WaitingBookingSweeper sweeper;
+
+    @Autowired
+    private WaitingBookingExpiryService expiryService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "sweeper-owner@example.com"));
+        booker = userRepository.save(new User(null, "Booker", "sweeper-booker@example.com"));
+        item = itemRepository.save(new Item(null, "Drill", "Powerful drill", true, owner, null, 0, null));
+        now = LocalDateTime.now().withNano(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(owner.getId());
+        userRepository.deleteById(booker.getId());
+    }
+
+    @Test
+    void sweepExpiresStartedWaitingBookingsInBatches() {
+        Booking started1 = save(now.minusHours(3), BookingStatus.WAITING);
+        Booking started2 = save(now.minusHours(2), BookingStatus.WAITING);
+        Booking started3 = save(now.minusHours(1), BookingStatus.WAITING);
+        Booking approved = save(now.minusHours(1), BookingStatus.APPROVED);
+        Booking upcoming = save(now.plusHours(1), BookingStatus.WAITING);
+        long itemVersion = itemRepository.findById(item.getId()).orElseThrow().getVersion();
+        double expiredBefore = registry.counter("shareit.bookings.expired").count();
+        double batchesBefore = registry.counter("shareit.bookings.expiry.batches").count();
+
+        int expired = sweeper.sweep(now);
+
+        assertThat(expired).isEqualTo(3);
+        assertThat(statusOf(started1)).isEqualTo(BookingStatus.EXPIRED);
+        assertThat(statusOf(started2)).isEqualTo(BookingStatus.EXPIRED);
+        assertThat(statusOf(started3)).isEqualTo(BookingStatus.EXPIRED);
+        assertThat(statusOf(approved)).isEqualTo(BookingStatus.APPROVED);
+        assertThat(statusOf(upcoming)).isEqualTo(BookingStatus.WAITING);
+        assertThat(bookingRepository.findById(started1.getId()).orElseThrow().getVersion()).isEqualTo(1);
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getVersion()).isGreaterThan(itemVersion);
+        assertThat(registry.counter("shareit.bookings.expired").count() - expiredBefore).isEqualTo(3);
+        assertThat(registry.counter("shareit.bookings.expiry.batches").count() - batchesBefore).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentSweepsSkipRowsLockedByAnotherNode() throws Exception {
+        Booking started = save(now.minusHours(1), BookingStatus.WAITING);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<List<Long>> otherNode = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    List<Long> ids = bookingRepository.lockStartedWaitingIds(now, 10);
+                    locked.countDown();
+                    await(release);
+                    return ids;
+                }));
+
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+        int expiredWhileLocked = expiryService.expireBatch(now, 10);
+        release.countDown();
+
+        assertThat(otherNode.get(5, TimeUnit.SECONDS)).containsExactly(started.getId());
+        assertThat(expiredWhileLocked).isZero();
+        assertThat(expiryService.expireBatch(now, 10)).isEqualTo(1);
+        assertThat(statusOf(started)).isEqualTo(BookingStatus.EXPIRED);
+    }
+
+    @Test
+    void approveWaitsForSweepAndDoesNotOverwriteExpiredBooking() throws Exception {
+        Booking started = save(now.minusHours(1), BookingStatus.WAITING);
+        CountDownLatch swept = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Integer> sweep = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    int expired = expiryService.expireBatch(now, 10);
+                    swept.countDown();
+                    await(release);
+                    return expired;
+                }));
+
+        assertThat(swept.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> approve = CompletableFuture.runAsync(() ->
+                bookingService.approveBooking(started.getId(), owner.getId(), true));
+        Thread.sleep(200);
+        assertThat(approve).isNotDone();
+        release.countDown();
+
+        assertThat(sweep.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThatThrownBy(() -> approve.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ValidationException.class);
+        assertThat(statusOf(started)).isEqualTo(BookingStatus.EXPIRED);
+    }
+
+    @Test
+    void sweepSkipsBookingLockedByApprove() throws Exception {
+        Booking started = save(now.minusHours(1), BookingStatus.WAITING);
+        CountDownLatch approved = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> approve = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    bookingService.approveBooking(started.getId(), owner.getId(), true);
+                    approved.countDown();
+                    await(release);
+                }));
+
+        assertThat(approved.await(5, TimeUnit.SECONDS)).isTrue();
+        int expiredWhileLocked = expiryService.expireBatch(now, 10);
+        release.countDown();
+        approve.get(5, TimeUnit.SECONDS);
+
+        assertThat(expiredWhileLocked).isZero();
+        assertThat(expiryService.expireBatch(now, 10)).isZero();
+        assertThat(statusOf(started)).isEqualTo(BookingStatus.APPROVED);
+    }
+
+    private Booking save(LocalDateTime start, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(start.plusDays(1));
+        booking.setStatus(status);
+        return bookingRepository.save(booking);
+    }
+
+    private BookingStatus statusOf(Booking booking) {
+        return bookingRepository.findById(booking.getId()).orElseThrow().getStatus();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
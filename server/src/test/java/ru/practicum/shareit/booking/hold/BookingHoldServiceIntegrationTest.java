@@ -0,0 +1,176 @@
+package ru.practicum.shareit.booking.hold;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingHoldDto;
+import ru.practicum.shareit.booking.dto.BookingHoldRequestDto;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingHoldServiceIntegrationTest {
+
+    @Autowired
+    private BookingHoldService holdService;
+
+    @Autowired
+    private BookingHoldExpirer expirer;
+
+    @Autowired
+    private BookingHoldStore store;
+
+    @Autowired
+    private BookingHoldRepository holdRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private User owner;
+    private User first;
+    private User second;
+    private Item item;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "hold-owner@example.com"));
+        first = userRepository.save(new User(null, "First", "hold-first@example.com"));
+        second = userRepository.save(new User(null, "Second", "hold-second@example.com"));
+        item = itemRepository.save(new Item(null, "Drill", "Powerful drill", true, owner, null, 0, null));
+        start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(owner.getId());
+        userRepository.deleteById(first.getId());
+        userRepository.deleteById(second.getId());
+    }
+
+    @Test
+    void overlappingHoldOfAnotherUserIsRejectedFromMemory() {
+        BookingHoldDto hold = hold(first, start, start.plusDays(2));
+        double before = contention("hold", "memory");
+
+        assertThatThrownBy(() -> hold(second, start.plusDays(1), start.plusDays(3)))
+                .isInstanceOf(ConflictException.class);
+
+        assertThat(contention("hold", "memory") - before).isEqualTo(1);
+        assertThat(store.contains(hold.getId())).isTrue();
+        assertThat(hold(second, start.plusDays(2), start.plusDays(3)).getId()).isNotNull();
+        assertThat(hold(first, start, start.plusDays(1)).getId()).isNotNull();
+    }
+
+    @Test
+    void holdPlacedByAnotherNodeIsRejectedFromDatabase() {
+        holdRepository.save(new BookingHold(null, item.getId(), first.getId(), start, start.plusDays(2),
+                LocalDateTime.now().plusMinutes(10)));
+        double before = contention("hold", "database");
+
+        assertThatThrownBy(() -> hold(second, start, start.plusDays(1)))
+                .isInstanceOf(ConflictException.class);
+
+        assertThat(contention("hold", "database") - before).isEqualTo(1);
+    }
+
+    @Test
+    void bookingOverAnotherUsersHoldIsRejectedAndOwnHoldIsConsumed() {
+        BookingHoldDto hold = hold(first, start, start.plusDays(2));
+
+        assertThatThrownBy(() -> book(second, start.plusHours(1), start.plusDays(1)))
+                .isInstanceOf(ConflictException.class);
+
+        BookingDto booking = book(first, start, start.plusDays(2));
+
+        assertThat(booking.getId()).isNotNull();
+        assertThat(holdRepository.findById(hold.getId())).isEmpty();
+        assertThat(store.contains(hold.getId())).isFalse();
+        assertThat(store.findConflict(item.getId(), second.getId(), start, start.plusDays(2), LocalDateTime.now()))
+                .isNull();
+    }
+
+    @Test
+    void onlyHolderCanReleaseHold() {
+        BookingHoldDto hold = hold(first, start, start.plusDays(2));
+
+        assertThatThrownBy(() -> holdService.releaseHold(hold.getId(), second.getId()))
+                .isInstanceOf(AccessDeniedException.class);
+
+        holdService.releaseHold(hold.getId(), first.getId());
+
+        assertThat(holdRepository.findById(hold.getId())).isEmpty();
+        assertThat(store.contains(hold.getId())).isFalse();
+        assertThat(hold(second, start, start.plusDays(2)).getId()).isNotNull();
+    }
+
+    @Test
+    void expiredHoldsAreRemovedByTimerWheel() {
+        BookingHoldDto shortHold = holdService.placeHold(
+                new BookingHoldRequestDto(item.getId(), start, start.plusDays(1), 1), first.getId());
+        BookingHoldDto longHold = holdService.placeHold(
+                new BookingHoldRequestDto(item.getId(), start.plusDays(1), start.plusDays(2), 20), first.getId());
+
+        assertThat(expirer.expire(LocalDateTime.now().plusMinutes(2))).isGreaterThanOrEqualTo(1);
+
+        assertThat(holdRepository.findById(shortHold.getId())).isEmpty();
+        assertThat(store.contains(shortHold.getId())).isFalse();
+        assertThat(holdRepository.findById(longHold.getId())).isPresent();
+        assertThat(store.contains(longHold.getId())).isTrue();
+        assertThat(hold(second, start, start.plusDays(1)).getId()).isNotNull();
+    }
+
+    @Test
+    void recoverLoadsActiveHoldsAndDeletesExpiredRows() {
+        LocalDateTime now = LocalDateTime.now();
+        BookingHold active = holdRepository.save(new BookingHold(null, item.getId(), first.getId(),
+                start, start.plusDays(1), now.plusMinutes(10)));
+        BookingHold expired = holdRepository.save(new BookingHold(null, item.getId(), first.getId(),
+                start.plusDays(1), start.plusDays(2), now.minusMinutes(1)));
+
+        holdService.recover(now);
+
+        assertThat(store.contains(active.getId())).isTrue();
+        assertThat(store.contains(expired.getId())).isFalse();
+        assertThat(holdRepository.findById(expired.getId())).isEmpty();
+    }
+
+    private BookingHoldDto hold(User user, LocalDateTime from, LocalDateTime to) {
+        return holdService.placeHold(new BookingHoldRequestDto(item.getId(), from, to, null), user.getId());
+    }
+
+    private BookingDto book(User user, LocalDateTime from, LocalDateTime to) {
+        return bookingService.createBooking(new BookingRequestDto(item.getId(), from, to), user.getId());
+    }
+
+    private double contention(String operation, String source) {
+        return registry.counter("shareit.booking-holds.contention", "operation", operation, "source", source).count();
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.booking.hold;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimerWheelTest {
+
+    @Test
+    void timerFiresAtDeadlineRoundedUpToTick() {
+        TimerWheel<String> wheel = new TimerWheel<>(1000, 10_000);
+        List<String> fired = new ArrayList<>();
+        wheel.schedule("hold", 11_500);
+
+        wheel.advance(11_999, fired::add);
+        assertThat(fired).isEmpty();
+
+        wheel.advance(12_000, fired::add);
+        assertThat(fired).containsExactly("hold");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelledTimerDoesNotFire() {
+        TimerWheel<String> wheel = new TimerWheel<>(1, 0);
+        List<String> fired = new ArrayList<>();
+        TimerWheel.Timer<String> cancelled = wheel.schedule("cancelled", 5000);
+        wheel.schedule("kept", 5000);
+
+        assertThat(wheel.cancel(cancelled)).isTrue();
+        assertThat(wheel.cancel(cancelled)).isFalse();
+        wheel.advance(10_000, fired::add);
+
+        assertThat(fired).containsExactly("kept");
+    }
+
+    @Test
+    void overdueTimerFiresOnNextAdvance() {
+        TimerWheel<String> wheel = new TimerWheel<>(1000, 10_000);
+        List<String> fired = new ArrayList<>();
+        wheel.schedule("late", 5_000);
+
+        wheel.advance(11_000, fired::add);
+
+        assertThat(fired).containsExactly("late");
+    }
+
+    @Test
+    void timersAcrossAllLevelsFireExactlyOnceNotBeforeDeadline() {
+        Random random = new Random(42);
+        long now = 1_000;
+        TimerWheel<Integer> wheel = new TimerWheel<>(1, now);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            long deadline = now + 1 + random.nextInt(1 << 20);
+            deadlines.put(i, deadline);
+            wheel.schedule(i, deadline);
+        }
+        // Таймер дальше горизонта колеса перекладывается в верхнем уровне и всё равно срабатывает в срок
+        long far = now + (1L << 25);
+        deadlines.put(-1, far);
+        wheel.schedule(-1, far);
+
+        Map<Integer, Long> firedAt = new HashMap<>();
+        long previous = now;
+        while (!deadlines.keySet().equals(firedAt.keySet())) {
+            long target = previous + 1 + random.nextInt(5_000);
+            long from = previous;
+            wheel.advance(target, id -> {
+                assertThat(firedAt.put(id, target)).isNull();
+                assertThat(deadlines.get(id)).isGreaterThan(from).isLessThanOrEqualTo(target);
+            });
+            previous = target;
+        }
+        assertThat(wheel.size()).isZero();
+    }
+}
@@ -17,7 +17,7 @@ class BookingMapperTest {
     void toBookingDto() {
         User owner = new User(1L, "Owner", "owner@example.com");
         User booker = new User(2L, "Booker", "booker@example.com");
-        Item item = new Item(1L, "Drill", "Powerful drill", true, owner, null);
+        Item item = new Item(1L, "Drill", "Powerful drill", true, owner, null, 0L, null);
 
         Booking booking = new Booking(
                 1L,
@@ -25,7 +25,8 @@ class BookingMapperTest {
                 LocalDateTime.of(2024, 1, 15, 10, 0),
                 item,
                 booker,
-                BookingStatus.APPROVED
+                BookingStatus.APPROVED,
+                0L
         );
 
         BookingDto dto = BookingMapper.toBookingDto(booking);
@@ -29,7 +29,7 @@ class BookingTest {
         Item item = new Item();
         User booker = new User();
 
-        Booking booking = new Booking(1L, start, end, item, booker, BookingStatus.APPROVED);
+        Booking booking = new Booking(1L, start, end, item, booker, BookingStatus.APPROVED, 0L);
 
         assertThat(booking.getId()).isEqualTo(1L);
         assertThat(booking.getStart()).isEqualTo(start);
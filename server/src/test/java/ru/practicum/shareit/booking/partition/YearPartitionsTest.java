@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking.partition;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class YearPartitionsTest {
+
+    @Test
+    void createsEachYearPartitionOnce() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        YearPartitions partitions = new YearPartitions(jdbcTemplate, "bookings");
+
+        partitions.ensure(List.of(2026, 2027));
+        partitions.ensure(List.of(2026));
+
+        verify(jdbcTemplate, times(1)).execute("CREATE TABLE IF NOT EXISTS bookings_y2026 PARTITION OF bookings " +
+                "FOR VALUES FROM ('2026-01-01') TO ('2027-01-01')");
+        verify(jdbcTemplate, times(1)).execute("CREATE TABLE IF NOT EXISTS bookings_y2027 PARTITION OF bookings " +
+                "FOR VALUES FROM ('2027-01-01') TO ('2028-01-01')");
+    }
+}
@@ -5,10 +5,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.pointer.BookingSnapshot;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
@@ -85,7 +87,7 @@ class BookingRepositoryTest {
         entityManager.clear();
         List<Booking> bookings = bookingRepository.findByBookerIdWithRelations(
                 booker1.getId(),
-                Sort.by(Sort.Direction.DESC, "start")
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start"))
         );
 
         assertThat(bookings).hasSize(2);
@@ -115,7 +117,7 @@ class BookingRepositoryTest {
 
         List<Booking> bookings = bookingRepository.findByItemOwnerIdWithRelations(
                 owner.getId(),
-                Sort.by(Sort.Direction.ASC, "start")
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "start"))
         );
 
         assertThat(bookings).hasSize(3);
@@ -147,7 +149,7 @@ class BookingRepositoryTest {
         List<Booking> approvedBookings = bookingRepository.findByBookerIdAndStatusWithRelations(
                 booker1.getId(),
                 BookingStatus.APPROVED,
-                Sort.by(Sort.Direction.DESC, "start")
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start"))
         );
 
         assertThat(approvedBookings).hasSize(1);
@@ -173,7 +175,7 @@ class BookingRepositoryTest {
         List<Booking> pastBookings = bookingRepository.findByBookerIdAndEndBeforeWithRelations(
                 booker1.getId(),
                 pastTime,
-                Sort.by(Sort.Direction.DESC, "end")
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "end"))
         );
 
         assertThat(pastBookings).hasSize(1);
@@ -199,7 +201,7 @@ class BookingRepositoryTest {
         List<Booking> futureBookings = bookingRepository.findByBookerIdAndStartAfterWithRelations(
                 booker1.getId(),
                 futureTime,
-                Sort.by(Sort.Direction.ASC, "start")
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "start"))
         );
 
         assertThat(futureBookings).hasSize(1);
@@ -226,7 +228,7 @@ class BookingRepositoryTest {
                 booker1.getId(),
                 start,
                 end,
-                Sort.by(Sort.Direction.ASC, "start")
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "start"))
         );
 
         assertThat(currentBookings).hasSize(1);
@@ -254,104 +256,66 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void shouldFindPastBookingsForItem() {
+    void shouldFindLastBookingSnapshotIgnoringRejected() {
         LocalDateTime now = LocalDateTime.now();
 
-        Booking pastBooking1 = createBooking(now.minusDays(3), now.minusDays(2), item1, booker1, BookingStatus.APPROVED);
-        Booking pastBooking2 = createBooking(now.minusDays(5), now.minusDays(4), item1, booker2, BookingStatus.APPROVED);
-        Booking currentBooking = createBooking(now.minusDays(1), now.plusDays(1), item1, booker1, BookingStatus.APPROVED);
-        Booking otherItemBooking = createBooking(now.minusDays(2), now.minusDays(1), item2, booker1, BookingStatus.APPROVED);
-
-        entityManager.persist(pastBooking1);
-        entityManager.persist(pastBooking2);
-        entityManager.persist(currentBooking);
-        entityManager.persist(otherItemBooking);
-        entityManager.flush();
-        entityManager.clear();
-
-        List<Booking> pastBookings = bookingRepository.findPastBookingsForItem(item1.getId());
-
-        assertThat(pastBookings).hasSize(2);
-        assertThat(pastBookings).allMatch(b -> b.getItem().getId().equals(item1.getId()));
-        assertThat(pastBookings).allMatch(b -> b.getEnd().isBefore(now));
-        assertThat(pastBookings.get(0).getEnd()).isAfter(pastBookings.get(1).getEnd());
-    }
-
-    @Test
-    void shouldFindFutureBookingsForItem() {
-        LocalDateTime now = LocalDateTime.now();
-
-        Booking futureBooking1 = createBooking(now.plusDays(1), now.plusDays(2), item1, booker1, BookingStatus.APPROVED);
-        Booking futureBooking2 = createBooking(now.plusDays(3), now.plusDays(4), item1, booker2, BookingStatus.WAITING);
-        Booking currentBooking = createBooking(now.minusDays(1), now.plusDays(1), item1, booker1, BookingStatus.APPROVED);
-        Booking pastBooking = createBooking(now.minusDays(3), now.minusDays(2), item1, booker1, BookingStatus.APPROVED);
+        Booking older = createBooking(now.minusDays(5), now.minusDays(4), item1, booker2, BookingStatus.APPROVED);
+        Booking latest = createBooking(now.minusDays(3), now.minusDays(2), item1, booker1, BookingStatus.APPROVED);
+        Booking rejected = createBooking(now.minusDays(2), now.minusDays(1), item1, booker1, BookingStatus.REJECTED);
+        Booking current = createBooking(now.minusDays(1), now.plusDays(1), item1, booker1, BookingStatus.APPROVED);
+        Booking otherItem = createBooking(now.minusDays(2), now.minusHours(1), item2, booker1, BookingStatus.APPROVED);
 
-        entityManager.persist(futureBooking1);
-        entityManager.persist(futureBooking2);
-        entityManager.persist(currentBooking);
-        entityManager.persist(pastBooking);
+        entityManager.persist(older);
+        entityManager.persist(latest);
+        entityManager.persist(rejected);
+        entityManager.persist(current);
+        entityManager.persist(otherItem);
         entityManager.flush();
-        entityManager.clear();
 
-        List<Booking> futureBookings = bookingRepository.findFutureBookingsForItem(item1.getId());
+        List<BookingSnapshot> snapshots = bookingRepository.findLastBookingSnapshots(item1.getId(), now,
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED), PageRequest.of(0, 1));
 
-        assertThat(futureBookings).hasSize(2);
-        assertThat(futureBookings).allMatch(b -> b.getItem().getId().equals(item1.getId()));
-        assertThat(futureBookings).allMatch(b -> b.getStart().isAfter(now));
-        assertThat(futureBookings.get(0).getStart()).isBefore(futureBookings.get(1).getStart());
+        assertThat(snapshots).hasSize(1);
+        assertThat(snapshots.getFirst().getBookingId()).isEqualTo(latest.getId());
+        assertThat(snapshots.getFirst().getBookerId()).isEqualTo(booker1.getId());
     }
 
     @Test
-    void shouldFindPastBookingsByItemIds() {
-        LocalDateTime now = LocalDateTime.now();
-        List<Long> itemIds = List.of(item1.getId(), item2.getId());
+    void shouldFindNextBookingSnapshot() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
 
-        Booking past1 = createBooking(now.minusDays(3), now.minusDays(2), item1, booker1, BookingStatus.APPROVED);
-        Booking past2 = createBooking(now.minusDays(5), now.minusDays(4), item1, booker2, BookingStatus.APPROVED);
-        Booking past3 = createBooking(now.minusDays(2), now.minusDays(1), item2, booker1, BookingStatus.APPROVED);
+        Booking later = createBooking(now.plusDays(3), now.plusDays(4), item1, booker2, BookingStatus.APPROVED);
+        Booking nearest = createBooking(now.plusDays(1), now.plusDays(2), item1, booker2, BookingStatus.WAITING);
         Booking current = createBooking(now.minusDays(1), now.plusDays(1), item1, booker1, BookingStatus.APPROVED);
 
-        entityManager.persist(past1);
-        entityManager.persist(past2);
-        entityManager.persist(past3);
+        entityManager.persist(later);
+        entityManager.persist(nearest);
         entityManager.persist(current);
         entityManager.flush();
-        entityManager.clear();
 
-        List<Booking> pastBookings = bookingRepository.findPastBookingsByItemIds(itemIds);
+        List<BookingSnapshot> snapshots = bookingRepository.findNextBookingSnapshots(item1.getId(), now,
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED), PageRequest.of(0, 1));
 
-        assertThat(pastBookings).hasSize(3);
-        assertThat(pastBookings)
-                .extracting(b -> b.getItem().getId())
-                .containsExactlyInAnyOrder(item1.getId(), item1.getId(), item2.getId());
+        assertThat(snapshots).extracting(BookingSnapshot::getBookingId).containsExactly(nearest.getId());
+        assertThat(snapshots.getFirst().getStart()).isEqualTo(nearest.getStart());
     }
 
     @Test
-    void shouldFindFutureBookingsByItemIds() {
-        LocalDateTime now = LocalDateTime.now();
-        List<Long> itemIds = List.of(item1.getId(), item2.getId());
-
-        Booking future1 = createBooking(now.plusDays(1), now.plusDays(2), item1, booker1, BookingStatus.APPROVED);
-        Booking future2 = createBooking(now.plusDays(3), now.plusDays(4), item1, booker2, BookingStatus.WAITING);
-        Booking future3 = createBooking(now.plusDays(2), now.plusDays(3), item2, booker1, BookingStatus.APPROVED);
-        Booking past = createBooking(now.minusDays(3), now.minusDays(2), item1, booker1, BookingStatus.APPROVED);
+    void shouldFindEarliestEndNotBefore() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
 
-        entityManager.persist(future1);
-        entityManager.persist(future2);
-        entityManager.persist(future3);
-        entityManager.persist(past);
+        entityManager.persist(createBooking(now.minusDays(3), now.minusDays(2), item1, booker1, BookingStatus.APPROVED));
+        entityManager.persist(createBooking(now.minusDays(1), now.plusHours(5), item1, booker1, BookingStatus.APPROVED));
+        entityManager.persist(createBooking(now.minusDays(1), now.plusHours(2), item1, booker2, BookingStatus.REJECTED));
+        entityManager.persist(createBooking(now.plusDays(1), now.plusDays(2), item1, booker2, BookingStatus.WAITING));
         entityManager.flush();
-        entityManager.clear();
-
-        List<Booking> futureBookings = bookingRepository.findFutureBookingsByItemIds(itemIds);
 
-        assertThat(futureBookings).hasSize(3);
-        assertThat(futureBookings)
-                .extracting(b -> b.getItem().getId())
-                .containsExactlyInAnyOrder(item1.getId(), item1.getId(), item2.getId());
+        LocalDateTime earliestEnd = bookingRepository.findEarliestEndNotBefore(item1.getId(), now,
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED));
 
-        assertThat(futureBookings.get(0).getStart()).isBefore(futureBookings.get(1).getStart());
-        assertThat(futureBookings.get(1).getStart()).isBefore(futureBookings.get(2).getStart());
+        assertThat(earliestEnd).isEqualTo(now.plusHours(5));
+        assertThat(bookingRepository.findEarliestEndNotBefore(item2.getId(), now,
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED))).isNull();
     }
 
     @Test
@@ -304,7 +304,7 @@ class BookingServiceImplIntegrationTest {
         booking2.setStatus(BookingStatus.REJECTED);
         bookingRepository.save(booking2);
 
-        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.ALL);
+        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.ALL, 0, 10);
 
         assertThat(result).hasSize(2);
     }
@@ -319,7 +319,7 @@ class BookingServiceImplIntegrationTest {
         currentBooking.setStatus(BookingStatus.APPROVED);
         bookingRepository.save(currentBooking);
 
-        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.CURRENT);
+        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.CURRENT, 0, 10);
 
         assertThat(result).hasSize(1);
     }
@@ -334,7 +334,7 @@ class BookingServiceImplIntegrationTest {
         pastBooking.setStatus(BookingStatus.APPROVED);
         bookingRepository.save(pastBooking);
 
-        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.PAST);
+        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.PAST, 0, 10);
 
         assertThat(result).hasSize(1);
     }
@@ -349,7 +349,7 @@ class BookingServiceImplIntegrationTest {
         futureBooking.setStatus(BookingStatus.APPROVED);
         bookingRepository.save(futureBooking);
 
-        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.FUTURE);
+        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.FUTURE, 0, 10);
 
         assertThat(result).hasSize(1);
     }
@@ -364,7 +364,7 @@ class BookingServiceImplIntegrationTest {
         waitingBooking.setStatus(BookingStatus.WAITING);
         bookingRepository.save(waitingBooking);
 
-        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.WAITING);
+        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.WAITING, 0, 10);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getStatus()).isEqualTo(BookingStatus.WAITING);
@@ -381,7 +381,7 @@ class BookingServiceImplIntegrationTest {
         rejectedBooking.setStatus(BookingStatus.REJECTED);
         bookingRepository.save(rejectedBooking);
 
-        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.REJECTED);
+        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.REJECTED, 0, 10);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getStatus()).isEqualTo(BookingStatus.REJECTED);
@@ -397,16 +397,75 @@ class BookingServiceImplIntegrationTest {
         booking1.setStatus(BookingStatus.APPROVED);
         bookingRepository.save(booking1);
 
-        List<BookingDto> result = bookingService.getBookingsByOwner(owner.getId(), BookingState.ALL);
+        List<BookingDto> result = bookingService.getBookingsByOwner(owner.getId(), BookingState.ALL, 0, 10);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getItem().getId()).isEqualTo(availableItem.getId());
     }
 
+    @Test
+    void getBookingsByBookerStartsEveryStateAtTheSameOffset() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 6; i++) {
+            Booking booking = new Booking();
+            booking.setStart(start.plusDays(i));
+            booking.setEnd(start.plusDays(i).plusHours(1));
+            booking.setItem(availableItem);
+            booking.setBooker(booker);
+            booking.setStatus(BookingStatus.WAITING);
+            bookingRepository.save(booking);
+        }
+
+        List<LocalDateTime> all = bookingService.getBookingsByBooker(booker.getId(), BookingState.ALL, 2, 3).stream()
+                .map(BookingDto::getStart)
+                .toList();
+
+        assertThat(all).containsExactly(start.plusDays(3), start.plusDays(2), start.plusDays(1));
+        assertThat(bookingService.getBookingsByBooker(booker.getId(), BookingState.FUTURE, 2, 3))
+                .extracting(BookingDto::getStart)
+                .containsExactlyElementsOf(all);
+        assertThat(bookingService.getBookingsByBooker(booker.getId(), BookingState.WAITING, 2, 3))
+                .extracting(BookingDto::getStart)
+                .containsExactlyElementsOf(all);
+    }
+
+    @Test
+    void getBookingsWhenPageParamsInvalid() {
+        assertThatThrownBy(() -> bookingService.getBookingsByBooker(booker.getId(), BookingState.FUTURE, 0, 0))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> bookingService.getBookingsByOwner(owner.getId(), BookingState.ALL, -1, 10))
+                .isInstanceOf(ValidationException.class);
+    }
+
     @Test
     void getBookingsByOwnerWhenUserNotFound() {
-        assertThatThrownBy(() -> bookingService.getBookingsByOwner(999L, BookingState.ALL))
+        assertThatThrownBy(() -> bookingService.getBookingsByOwner(999L, BookingState.ALL, 0, 10))
                 .isInstanceOf(UserNotFoundException.class)
                 .hasMessageContaining("Пользователь с ID 999 не найден");
     }
-}
\ No newline at end of file
+
+    @Test
+    void getBookingETagChangesOnApprove() {
+        BookingDto createdBooking = bookingService.createBooking(bookingRequestDto, booker.getId());
+
+        String initial = bookingService.getBookingETag(createdBooking.getId(), booker.getId());
+        assertThat(bookingService.getBookingETag(createdBooking.getId(), owner.getId())).isEqualTo(initial);
+
+        bookingService.approveBooking(createdBooking.getId(), owner.getId(), true);
+
+        assertThat(bookingService.getBookingETag(createdBooking.getId(), booker.getId())).isNotEqualTo(initial);
+    }
+
+    @Test
+    void getBookingETagWhenNotBookerOrOwner() {
+        BookingDto createdBooking = bookingService.createBooking(bookingRequestDto, booker.getId());
+
+        User stranger = new User();
+        stranger.setName("Stranger");
+        stranger.setEmail("stranger@example.com");
+        User savedStranger = userRepository.save(stranger);
+
+        assertThatThrownBy(() -> bookingService.getBookingETag(createdBooking.getId(), savedStranger.getId()))
+                .isInstanceOf(ValidationException.class);
+    }
+}
@@ -3,20 +3,29 @@ package ru.practicum.shareit.booking.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.archive.BookingArchive;
+import ru.practicum.shareit.booking.archive.BookingArchiveRepository;
+import ru.practicum.shareit.booking.archive.BookingArchiveService;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.hold.BookingHoldService;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.partition.BookingPartitions;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.pointer.BookingPointerService;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -42,6 +51,24 @@ class BookingServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private BookingPointerService bookingPointerService;
+
+    @Mock
+    private BookingHoldService bookingHoldService;
+
+    @Mock
+    private BookingPartitions bookingPartitions;
+
+    @Mock
+    private BookingArchiveRepository archiveRepository;
+
+    @Mock
+    private BookingArchiveService archiveService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -99,6 +126,21 @@ class BookingServiceImplTest {
         verify(userRepository).findById(eq(booker.getId()));
         verify(itemRepository).findById(eq(item.getId()));
         verify(bookingRepository).save(any(Booking.class));
+        verify(bookingPointerService).onBookingCreated(eq(booking), any(LocalDateTime.class));
+        verify(bookingHoldService).claim(item.getId(), booker.getId(), bookingRequestDto.getStart(), bookingRequestDto.getEnd());
+    }
+
+    @Test
+    void createBookingWhenIntervalHeldByAnotherUser() {
+        when(userRepository.findById(eq(booker.getId()))).thenReturn(Optional.of(booker));
+        when(itemRepository.findById(eq(item.getId()))).thenReturn(Optional.of(item));
+        doThrow(new ConflictException("Интервал удерживается другим пользователем"))
+                .when(bookingHoldService).claim(item.getId(), booker.getId(), bookingRequestDto.getStart(), bookingRequestDto.getEnd());
+
+        assertThatThrownBy(() -> bookingService.createBooking(bookingRequestDto, booker.getId()))
+                .isInstanceOf(ConflictException.class);
+
+        verify(bookingRepository, never()).save(any(Booking.class));
     }
 
     @Test
@@ -200,7 +242,7 @@ class BookingServiceImplTest {
         approvedBooking.setEnd(booking.getEnd());
         approvedBooking.setStatus(BookingStatus.APPROVED);
 
-        when(bookingRepository.findById(eq(1L))).thenReturn(Optional.of(booking));
+        when(bookingRepository.findForUpdate(eq(1L))).thenReturn(Optional.of(booking));
         when(bookingRepository.save(any(Booking.class))).thenReturn(approvedBooking);
 
         BookingDto result = bookingService.approveBooking(1L, owner.getId(), true);
@@ -208,32 +250,33 @@ class BookingServiceImplTest {
         assertThat(result).isNotNull();
         assertThat(result.getStatus()).isEqualTo(BookingStatus.APPROVED);
 
-        verify(bookingRepository).findById(eq(1L));
+        verify(bookingRepository).findForUpdate(eq(1L));
         verify(bookingRepository).save(any(Booking.class));
+        verify(bookingPointerService).onBookingStatusChanged(eq(approvedBooking), any(LocalDateTime.class));
     }
 
     @Test
     void approveBookingWhenNotOwnerApproves() {
-        when(bookingRepository.findById(eq(1L))).thenReturn(Optional.of(booking));
+        when(bookingRepository.findForUpdate(eq(1L))).thenReturn(Optional.of(booking));
 
         assertThatThrownBy(() -> bookingService.approveBooking(1L, 999L, true))
                 .isInstanceOf(ValidationException.class)
                 .hasMessageContaining("Только владелец вещи может подтверждать бронирование");
 
-        verify(bookingRepository).findById(eq(1L));
+        verify(bookingRepository).findForUpdate(eq(1L));
         verify(bookingRepository, never()).save(any());
     }
 
     @Test
     void approveBookingWhenAlreadyApproved() {
         booking.setStatus(BookingStatus.APPROVED);
-        when(bookingRepository.findById(eq(1L))).thenReturn(Optional.of(booking));
+        when(bookingRepository.findForUpdate(eq(1L))).thenReturn(Optional.of(booking));
 
         assertThatThrownBy(() -> bookingService.approveBooking(1L, owner.getId(), true))
                 .isInstanceOf(ValidationException.class)
                 .hasMessageContaining("Бронирование уже обработано");
 
-        verify(bookingRepository).findById(eq(1L));
+        verify(bookingRepository).findForUpdate(eq(1L));
         verify(bookingRepository, never()).save(any());
     }
 
@@ -275,16 +318,16 @@ class BookingServiceImplTest {
     @Test
     void getBookingsByBookerWhenAllState() {
         when(userRepository.findById(eq(booker.getId()))).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerIdWithRelations(eq(booker.getId()), any(Sort.class)))
+        when(bookingRepository.findByBookerIdWithRelations(eq(booker.getId()), any(Pageable.class)))
                 .thenReturn(List.of(booking));
 
-        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.ALL);
+        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.ALL, 0, 10);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getId()).isEqualTo(1L);
 
         verify(userRepository).findById(eq(booker.getId()));
-        verify(bookingRepository).findByBookerIdWithRelations(eq(booker.getId()), any(Sort.class));
+        verify(bookingRepository).findByBookerIdWithRelations(eq(booker.getId()), any(Pageable.class));
     }
 
     @Test
@@ -296,10 +339,10 @@ class BookingServiceImplTest {
 
         when(userRepository.findById(eq(booker.getId()))).thenReturn(Optional.of(booker));
         when(bookingRepository.findByBookerIdAndStartBeforeAndEndAfterWithRelations(
-                eq(booker.getId()), any(LocalDateTime.class), any(LocalDateTime.class), any(Sort.class)))
+                eq(booker.getId()), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(List.of(booking));
 
-        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.CURRENT);
+        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.CURRENT, 0, 10);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getId()).isEqualTo(1L);
@@ -309,10 +352,10 @@ class BookingServiceImplTest {
     void getBookingsByBookerWhenPastState() {
         when(userRepository.findById(eq(booker.getId()))).thenReturn(Optional.of(booker));
         when(bookingRepository.findByBookerIdAndEndBeforeWithRelations(
-                eq(booker.getId()), any(LocalDateTime.class), any(Sort.class)))
+                eq(booker.getId()), any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(List.of(booking));
 
-        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.PAST);
+        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.PAST, 0, 10);
 
         assertThat(result).hasSize(1);
     }
@@ -321,10 +364,10 @@ class BookingServiceImplTest {
     void getBookingsByBookerWhenFutureState() {
         when(userRepository.findById(eq(booker.getId()))).thenReturn(Optional.of(booker));
         when(bookingRepository.findByBookerIdAndStartAfterWithRelations(
-                eq(booker.getId()), any(LocalDateTime.class), any(Sort.class)))
+                eq(booker.getId()), any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(List.of(booking));
 
-        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.FUTURE);
+        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.FUTURE, 0, 10);
 
         assertThat(result).hasSize(1);
     }
@@ -333,10 +376,10 @@ class BookingServiceImplTest {
     void getBookingsByBookerWhenWaitingState() {
         when(userRepository.findById(eq(booker.getId()))).thenReturn(Optional.of(booker));
         when(bookingRepository.findByBookerIdAndStatusWithRelations(
-                eq(booker.getId()), eq(BookingStatus.WAITING), any(Sort.class)))
+                eq(booker.getId()), eq(BookingStatus.WAITING), any(Pageable.class)))
                 .thenReturn(List.of(booking));
 
-        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.WAITING);
+        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.WAITING, 0, 10);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getStatus()).isEqualTo(BookingStatus.WAITING);
@@ -348,10 +391,10 @@ class BookingServiceImplTest {
 
         when(userRepository.findById(eq(booker.getId()))).thenReturn(Optional.of(booker));
         when(bookingRepository.findByBookerIdAndStatusWithRelations(
-                eq(booker.getId()), eq(BookingStatus.REJECTED), any(Sort.class)))
+                eq(booker.getId()), eq(BookingStatus.REJECTED), any(Pageable.class)))
                 .thenReturn(List.of(booking));
 
-        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.REJECTED);
+        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.REJECTED, 0, 10);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getStatus()).isEqualTo(BookingStatus.REJECTED);
@@ -361,9 +404,50 @@ class BookingServiceImplTest {
     void getBookingsByBookerWhenInvalidState() {
         when(userRepository.findById(eq(booker.getId()))).thenReturn(Optional.of(booker));
 
-        assertThatThrownBy(() -> bookingService.getBookingsByBooker(booker.getId(), null))
+        assertThatThrownBy(() -> bookingService.getBookingsByBooker(booker.getId(), null, 0, 10))
                 .isInstanceOf(NullPointerException.class);
 
         verify(userRepository).findById(eq(booker.getId()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getBookingsByBookerSkipsArchiveWhenPageIsRecent() {
+        LocalDateTime now = LocalDateTime.now();
+        booking.setStart(now.minusDays(5));
+        when(userRepository.findById(eq(booker.getId()))).thenReturn(Optional.of(booker));
+        when(bookingRepository.findByBookerIdAndEndBeforeWithRelations(
+                eq(booker.getId()), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(booking));
+        when(archiveService.horizon(any(LocalDateTime.class))).thenReturn(now.minusDays(365));
+
+        List<BookingDto> result = bookingService.getBookingsByBooker(booker.getId(), BookingState.PAST, 1, 1);
+
+        assertThat(result).extracting(BookingDto::getId).containsExactly(1L);
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        verify(bookingRepository).findByBookerIdAndEndBeforeWithRelations(
+                eq(booker.getId()), any(LocalDateTime.class), page.capture());
+        assertThat(page.getValue().getOffset()).isEqualTo(1);
+        assertThat(page.getValue().getPageSize()).isEqualTo(1);
+        verifyNoInteractions(archiveRepository);
+    }
+
+    @Test
+    void getBookingsByOwnerMergesArchiveWhenPageReachesIt() {
+        LocalDateTime now = LocalDateTime.now();
+        booking.setStart(now.minusDays(5));
+        BookingArchive older = new BookingArchive(7L, now.minusDays(400), now.minusDays(399), item, booker,
+                BookingStatus.APPROVED, 0, now);
+        BookingArchive oldest = new BookingArchive(5L, now.minusDays(500), now.minusDays(499), item, booker,
+                BookingStatus.APPROVED, 0, now);
+        when(userRepository.findById(eq(owner.getId()))).thenReturn(Optional.of(owner));
+        when(bookingRepository.findByItemOwnerIdWithRelations(eq(owner.getId()), any(Pageable.class)))
+                .thenReturn(List.of(booking));
+        when(archiveRepository.findByItemOwnerIdWithRelations(eq(owner.getId()), any(Pageable.class)))
+                .thenReturn(List.of(older, oldest));
+
+        List<BookingDto> result = bookingService.getBookingsByOwner(owner.getId(), BookingState.ALL, 1, 2);
+
+        assertThat(result).extracting(BookingDto::getId).containsExactly(7L, 5L);
+        verify(archiveRepository).findByItemOwnerIdWithRelations(eq(owner.getId()), any(Pageable.class));
+    }
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.booking.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.outbox.OutboxEvent;
+import ru.practicum.shareit.outbox.OutboxEventRepository;
+import ru.practicum.shareit.outbox.OutboxRecorder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingFeedTest {
+
+    @Mock
+    private OutboxEventRepository outboxRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingStreamHub hub;
+
+    private BookingFeed feed;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        BookingStreamProperties properties = new BookingStreamProperties();
+        properties.setGapTimeout(Duration.ofSeconds(10));
+        feed = new BookingFeed(outboxRepository, bookingRepository, hub, new ObjectMapper(), properties);
+        now = LocalDateTime.now();
+
+        when(outboxRepository.findMaxId()).thenReturn(10L);
+        feed.poll(now);
+        lenient().when(hub.hasSubscribers()).thenReturn(true);
+    }
+
+    @Test
+    void firstPollStartsFromLatestEvent() {
+        assertThat(feed.getWatermark()).isEqualTo(10L);
+        verify(outboxRepository, never()).findAfter(anyLong(), any());
+    }
+
+    @Test
+    void bookingEventsArePushedToBookerAndOwner() {
+        when(outboxRepository.findAfter(eq(10L), any())).thenReturn(List.of(
+                event(11L, OutboxRecorder.BOOKING, 5L, "BookingCreatedEvent", "{\"bookingId\":5,\"ownerId\":2,\"status\":\"WAITING\"}"),
+                event(12L, OutboxRecorder.ITEM, 7L, "ItemUpdatedEvent", "{}"),
+                event(13L, OutboxRecorder.BOOKING, 5L, "BookingStatusChangedEvent",
+                        "{\"bookingIds\":[5],\"previous\":\"WAITING\",\"current\":\"APPROVED\"}")));
+        when(bookingRepository.findParticipantsByIds(anyCollection()))
+                .thenReturn(List.of(new BookingParticipants(5L, 7L, 1L, 2L)));
+
+        assertThat(feed.poll(now)).isEqualTo(2);
+
+        verify(hub).publish(List.of(1L, 2L), 11L, new BookingUpdateDto(5L, 7L, BookingStatus.WAITING, null));
+        verify(hub).publish(List.of(1L, 2L), 13L, new BookingUpdateDto(5L, 7L, BookingStatus.APPROVED, BookingStatus.WAITING));
+        assertThat(feed.getWatermark()).isEqualTo(13L);
+    }
+
+    @Test
+    void gapHoldsWatermarkUntilLateCommitArrives() {
+        when(outboxRepository.findAfter(eq(10L), any()))
+                .thenReturn(List.of(event(12L, OutboxRecorder.USER, 1L, "UserUpdatedEvent", "{}")))
+                .thenReturn(List.of(
+                        event(11L, OutboxRecorder.USER, 2L, "UserCreatedEvent", "{}"),
+                        event(12L, OutboxRecorder.USER, 1L, "UserUpdatedEvent", "{}")));
+
+        feed.poll(now);
+        assertThat(feed.getWatermark()).isEqualTo(10L);
+
+        feed.poll(now.plusSeconds(1));
+        assertThat(feed.getWatermark()).isEqualTo(12L);
+        verify(hub, never()).publish(anyList(), anyLong(), any());
+    }
+
+    @Test
+    void gapIsSkippedAfterTimeout() {
+        when(outboxRepository.findAfter(eq(10L), any()))
+                .thenReturn(List.of(event(12L, OutboxRecorder.USER, 1L, "UserUpdatedEvent", "{}")));
+
+        feed.poll(now);
+        feed.poll(now.plusSeconds(5));
+        assertThat(feed.getWatermark()).isEqualTo(10L);
+
+        feed.poll(now.plusSeconds(10));
+        assertThat(feed.getWatermark()).isEqualTo(12L);
+    }
+
+    @Test
+    void withoutSubscribersFeedJumpsToLatestEvent() {
+        when(hub.hasSubscribers()).thenReturn(false);
+        when(outboxRepository.findMaxId()).thenReturn(42L);
+
+        assertThat(feed.poll(now)).isZero();
+
+        assertThat(feed.getWatermark()).isEqualTo(42L);
+    }
+
+    private static OutboxEvent event(Long id, String aggregateType, Long aggregateId, String eventType, String payload) {
+        OutboxEvent event = new OutboxEvent(aggregateType, aggregateId, eventType, payload, LocalDateTime.now());
+        event.setId(id);
+        return event;
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.booking.stream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingStreamHubTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final BookingStreamProperties properties = new BookingStreamProperties();
+    private BookingStreamHub hub;
+
+    @BeforeEach
+    void setUp() {
+        properties.setQueueCapacity(2);
+        properties.setMaxConnections(3);
+        hub = new BookingStreamHub(properties, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.destroy();
+    }
+
+    @Test
+    void publishReachesEveryConnectionOfAddressedUsersOnly() throws Exception {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        RecordingEmitter stranger = new RecordingEmitter();
+        hub.register(1L, first);
+        hub.register(1L, second);
+        hub.register(2L, stranger);
+        BookingUpdateDto update = new BookingUpdateDto(10L, 20L, BookingStatus.APPROVED, BookingStatus.WAITING);
+
+        hub.publish(List.of(1L, 3L), 100L, update);
+
+        assertThat(first.next()).isEqualTo(update);
+        assertThat(second.next()).isEqualTo(update);
+        assertThat(stranger.received()).isEmpty();
+        assertThat(registry.counter("shareit.booking-stream.events").count()).isEqualTo(2);
+        assertThat(registry.get("shareit.booking-stream.connections").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    void slowConnectionIsClosedWhenQueueOverflows() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        hub.register(1L, slow);
+
+        for (long i = 0; i < 5; i++) {
+            hub.publish(List.of(1L), i, new BookingUpdateDto(i, 20L, BookingStatus.WAITING, null));
+        }
+        release.countDown();
+        for (int i = 0; i < 100 && !slow.isCompleted(); i++) {
+            Thread.sleep(10);
+        }
+
+        assertThat(slow.isCompleted()).isTrue();
+        assertThat(hub.isSubscribed(1L)).isFalse();
+        assertThat(registry.counter("shareit.booking-stream.overflows").count()).isEqualTo(1);
+    }
+
+    @Test
+    void subscribersThatNeverReadDoNotDelayOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            for (long userId = 1; userId <= properties.getSenderThreads(); userId++) {
+                hub.register(userId, new RecordingEmitter(release));
+            }
+            RecordingEmitter reader = new RecordingEmitter();
+            hub.register(3L, reader);
+            BookingUpdateDto update = new BookingUpdateDto(10L, 20L, BookingStatus.APPROVED, BookingStatus.WAITING);
+
+            hub.publish(List.of(1L, 2L, 3L), 100L, update);
+
+            for (int i = 0; i < 100 && reader.received().isEmpty(); i++) {
+                Thread.sleep(10);
+            }
+
+            assertThat(reader.received()).containsExactly(update);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void failedSendDropsConnection() throws Exception {
+        CountDownLatch sent = new CountDownLatch(1);
+        hub.register(1L, new RecordingEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                sent.countDown();
+                throw new IOException("Broken pipe");
+            }
+        });
+
+        assertThat(sent.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 100 && hub.hasSubscribers(); i++) {
+            Thread.sleep(10);
+        }
+
+        assertThat(hub.hasSubscribers()).isFalse();
+    }
+
+    @Test
+    void subscriptionsBeyondLimitAreRejected() {
+        for (long userId = 1; userId <= 3; userId++) {
+            hub.register(userId, new RecordingEmitter());
+        }
+
+        assertThatThrownBy(() -> hub.register(4L, new RecordingEmitter()))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(hub.isSubscribed(4L)).isFalse();
+    }
+}
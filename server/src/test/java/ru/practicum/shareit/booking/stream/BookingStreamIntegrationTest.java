@@ -0,0 +1,121 @@
+package ru.practicum.shareit.booking.stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit.booking-stream.poll-interval=PT1H")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BookingStreamIntegrationTest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private BookingFeed feed;
+
+    @Autowired
+    private BookingStreamHub hub;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Long ownerId;
+    private Long bookerId;
+    private Long itemId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userService.createUser(new UserDto(null, "Owner", "stream-owner@example.com")).getId();
+        bookerId = userService.createUser(new UserDto(null, "Booker", "stream-booker@example.com")).getId();
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Drill");
+        itemDto.setDescription("Powerful drill");
+        itemDto.setAvailable(true);
+        itemId = itemService.createItem(itemDto, ownerId).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(ownerId);
+        userRepository.deleteById(bookerId);
+    }
+
+    @Test
+    void createdAndApprovedBookingsArePushedToOwnerAndBooker() throws Exception {
+        RecordingEmitter owner = new RecordingEmitter();
+        RecordingEmitter booker = new RecordingEmitter();
+        hub.register(ownerId, owner);
+        hub.register(bookerId, booker);
+        feed.poll(LocalDateTime.now());
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        BookingDto booking = bookingService.createBooking(new BookingRequestDto(itemId, start, start.plusDays(1)), bookerId);
+        feed.poll(LocalDateTime.now());
+
+        BookingUpdateDto created = new BookingUpdateDto(booking.getId(), itemId, BookingStatus.WAITING, null);
+        assertThat(owner.next()).isEqualTo(created);
+        assertThat(booker.next()).isEqualTo(created);
+
+        bookingService.approveBooking(booking.getId(), ownerId, true);
+        feed.poll(LocalDateTime.now());
+
+        BookingUpdateDto approved = new BookingUpdateDto(booking.getId(), itemId, BookingStatus.APPROVED, BookingStatus.WAITING);
+        assertThat(owner.next()).isEqualTo(approved);
+        assertThat(booker.next()).isEqualTo(approved);
+        owner.complete();
+        booker.complete();
+    }
+
+    @Test
+    void subscribeOpensEventStream() throws Exception {
+        mockMvc.perform(get("/bookings/stream")
+                        .header(USER_ID_HEADER, bookerId)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        assertThat(hub.isSubscribed(bookerId)).isTrue();
+    }
+
+    @Test
+    void subscribeForUnknownUserIsRejected() throws Exception {
+        mockMvc.perform(get("/bookings/stream")
+                        .header(USER_ID_HEADER, Long.MAX_VALUE)
+                        .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.booking.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Эмиттер без HTTP-ответа: запоминает отправленные события, при необходимости задерживает отправку.
+ */
+class RecordingEmitter extends SseEmitter {
+    private final BlockingQueue<BookingUpdateDto> updates = new LinkedBlockingQueue<>();
+    private final CountDownLatch release;
+    private volatile boolean completed;
+
+    RecordingEmitter() {
+        this(new CountDownLatch(0));
+    }
+
+    RecordingEmitter(CountDownLatch release) {
+        this.release = release;
+    }
+
+    @Override
+    public void send(SseEventBuilder builder) throws IOException {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        builder.build().stream()
+                .map(DataWithMediaType::getData)
+                .filter(BookingUpdateDto.class::isInstance)
+                .map(BookingUpdateDto.class::cast)
+                .forEach(updates::add);
+    }
+
+    @Override
+    public synchronized void complete() {
+        completed = true;
+    }
+
+    BookingUpdateDto next() throws InterruptedException {
+        return updates.poll(5, TimeUnit.SECONDS);
+    }
+
+    List<BookingUpdateDto> received() {
+        return List.copyOf(updates);
+    }
+
+    boolean isCompleted() {
+        return completed;
+    }
+}
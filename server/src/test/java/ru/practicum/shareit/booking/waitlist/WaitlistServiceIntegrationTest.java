@@ -0,0 +1,192 @@
+package ru.practicum.shareit.booking.waitlist;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.WaitlistEntryDto;
+import ru.practicum.shareit.booking.dto.WaitlistRequestDto;
+import ru.practicum.shareit.booking.hold.BookingHold;
+import ru.practicum.shareit.booking.hold.BookingHoldStore;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class WaitlistServiceIntegrationTest {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingHoldStore holdStore;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private User owner;
+    private User booker;
+    private User first;
+    private User second;
+    private User third;
+    private Item item;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "waitlist-owner@example.com"));
+        booker = userRepository.save(new User(null, "Booker", "waitlist-booker@example.com"));
+        first = userRepository.save(new User(null, "First", "waitlist-first@example.com"));
+        second = userRepository.save(new User(null, "Second", "waitlist-second@example.com"));
+        third = userRepository.save(new User(null, "Third", "waitlist-third@example.com"));
+        item = itemRepository.save(new Item(null, "Drill", "Powerful drill", true, owner, null, 0, null));
+        start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(owner.getId());
+        userRepository.deleteById(booker.getId());
+        userRepository.deleteById(first.getId());
+        userRepository.deleteById(second.getId());
+        userRepository.deleteById(third.getId());
+    }
+
+    @Test
+    void rejectionPromotesWaitersInQueueOrderWithoutOverlaps() {
+        BookingDto blocking = bookingService.createBooking(
+                new BookingRequestDto(item.getId(), start, start.plusDays(2)), booker.getId());
+        join(first, start, start.plusDays(1));
+        WaitlistEntryDto overlapsFirst = join(second, start.plusHours(12), start.plusDays(1).plusHours(12));
+        join(third, start.plusDays(1), start.plusDays(2));
+        double promotedBefore = registry.counter("shareit.waitlist.promoted").count();
+
+        assertThat(waitlistService.promote(blocking.getId())).isEmpty();
+
+        bookingService.approveBooking(blocking.getId(), owner.getId(), false);
+        List<Long> created = waitlistService.promote(blocking.getId());
+
+        assertThat(created).hasSize(2);
+        List<Booking> bookings = bookingRepository.findAllById(created);
+        assertThat(bookings).extracting(booking -> booking.getBooker().getId())
+                .containsExactlyInAnyOrder(first.getId(), third.getId());
+        assertThat(bookings).extracting(Booking::getStatus).containsOnly(BookingStatus.WAITING);
+        assertThat(waitlistService.getEntries(first.getId())).isEmpty();
+        assertThat(waitlistService.getEntries(second.getId())).extracting(WaitlistEntryDto::getId)
+                .containsExactly(overlapsFirst.getId());
+        assertThat(registry.counter("shareit.waitlist.promoted").count() - promotedBefore).isEqualTo(2);
+
+        assertThat(waitlistService.promote(blocking.getId())).isEmpty();
+    }
+
+    @Test
+    void waiterIsPromotedWhenOverlappingBookingIsReleasedLater() {
+        BookingDto blocking = bookingService.createBooking(
+                new BookingRequestDto(item.getId(), start, start.plusDays(1)), booker.getId());
+        join(first, start, start.plusDays(1));
+        BookingDto promoted = bookingService.getBookingById(
+                promoteAfterRejection(blocking).get(0), first.getId());
+        WaitlistEntryDto waiting = join(second, start, start.plusDays(1));
+
+        assertThat(waitlistService.promote(blocking.getId())).isEmpty();
+        assertThat(waitlistRepository.existsById(waiting.getId())).isTrue();
+
+        List<Long> created = promoteAfterRejection(promoted);
+
+        assertThat(created).hasSize(1);
+        assertThat(bookingRepository.findById(created.get(0)).orElseThrow().getBooker().getId())
+                .isEqualTo(second.getId());
+        assertThat(waitlistRepository.existsById(waiting.getId())).isFalse();
+    }
+
+    @Test
+    void conflictingWaiterStaysQueuedWhileOthersArePromoted() {
+        BookingDto blocking = bookingService.createBooking(
+                new BookingRequestDto(item.getId(), start, start.plusDays(2)), booker.getId());
+        WaitlistEntryDto conflicting = join(first, start, start.plusDays(1));
+        join(second, start.plusDays(1), start.plusDays(2));
+        // Удержание, которое видно только в памяти, проходит проверку по базе и срывает createBooking
+        BookingHold memoryOnly = new BookingHold(-1L, item.getId(), third.getId(), start, start.plusHours(1),
+                LocalDateTime.now().plusMinutes(10));
+        holdStore.add(memoryOnly);
+        try {
+            List<Long> created = promoteAfterRejection(blocking);
+
+            assertThat(created).hasSize(1);
+            assertThat(bookingRepository.findById(created.get(0)).orElseThrow().getBooker().getId())
+                    .isEqualTo(second.getId());
+            assertThat(waitlistRepository.existsById(conflicting.getId())).isTrue();
+        } finally {
+            holdStore.remove(List.of(memoryOnly.getId()));
+        }
+    }
+
+    @Test
+    void joinRejectsOwnerDuplicatesAndPastIntervals() {
+        join(first, start, start.plusDays(1));
+
+        assertThatThrownBy(() -> join(first, start, start.plusDays(1)))
+                .isInstanceOf(ConflictException.class);
+        assertThatThrownBy(() -> join(owner, start, start.plusDays(1)))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> join(second, start.minusDays(2), start))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void onlyWaiterCanLeaveQueue() {
+        WaitlistEntryDto entry = join(first, start, start.plusDays(1));
+
+        assertThatThrownBy(() -> waitlistService.leave(entry.getId(), second.getId()))
+                .isInstanceOf(AccessDeniedException.class);
+
+        waitlistService.leave(entry.getId(), first.getId());
+
+        assertThat(waitlistService.getEntries(first.getId())).isEmpty();
+    }
+
+    private List<Long> promoteAfterRejection(BookingDto booking) {
+        bookingService.approveBooking(booking.getId(), owner.getId(), false);
+        return waitlistService.promote(booking.getId());
+    }
+
+    private WaitlistEntryDto join(User user, LocalDateTime from, LocalDateTime to) {
+        return waitlistService.join(new WaitlistRequestDto(item.getId(), from, to), user.getId());
+    }
+}
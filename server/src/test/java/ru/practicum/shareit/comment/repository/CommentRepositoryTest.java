@@ -4,7 +4,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.comment.dto.CommentCountDto;
 import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.comment.dto.CommentView;
 import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -13,6 +16,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @DataJpaTest
 class CommentRepositoryTest {
@@ -294,6 +298,110 @@ class CommentRepositoryTest {
         assertThat(dto.getCreated()).isEqualTo(createdTime);
     }
 
+    @Test
+    void shouldFindLatestCommentDtosNewestFirst() {
+        User author = createUser("Author", "author@example.com");
+        User owner = createUser("Owner", "owner@example.com");
+        Item item = createItem("Item", "Desc", owner, true);
+
+        entityManager.persist(author);
+        entityManager.persist(owner);
+        entityManager.persist(item);
+
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 1; i <= 5; i++) {
+            entityManager.persist(createComment("Comment " + i, author, item, base.plusHours(i)));
+        }
+        entityManager.flush();
+
+        List<CommentDto> latest = commentRepository.findLatestCommentDtos(item.getId(), PageRequest.of(0, 3));
+
+        assertThat(latest).extracting(CommentDto::getText)
+                .containsExactly("Comment 5", "Comment 4", "Comment 3");
+        assertThat(commentRepository.countByItemId(item.getId())).isEqualTo(5);
+    }
+
+    @Test
+    void shouldPageCommentsByKeysetIncludingEqualTimestamps() {
+        User author = createUser("Author", "author@example.com");
+        User owner = createUser("Owner", "owner@example.com");
+        Item item = createItem("Item", "Desc", owner, true);
+
+        entityManager.persist(author);
+        entityManager.persist(owner);
+        entityManager.persist(item);
+
+        LocalDateTime sameTime = LocalDateTime.of(2024, 1, 1, 12, 0);
+        Comment first = createComment("First", author, item, sameTime);
+        Comment second = createComment("Second", author, item, sameTime);
+        Comment older = createComment("Older", author, item, sameTime.minusDays(1));
+        entityManager.persist(first);
+        entityManager.persist(second);
+        entityManager.persist(older);
+        entityManager.flush();
+
+        List<CommentDto> page = commentRepository.findCommentDtosBefore(
+                item.getId(), second.getCreated(), second.getId(), PageRequest.of(0, 10));
+
+        assertThat(page).extracting(CommentDto::getText).containsExactly("First", "Older");
+    }
+
+    @Test
+    void shouldCountCommentsPerItem() {
+        User author = createUser("Author", "author@example.com");
+        User owner = createUser("Owner", "owner@example.com");
+        Item item1 = createItem("Item1", "Desc1", owner, true);
+        Item item2 = createItem("Item2", "Desc2", owner, true);
+        Item item3 = createItem("Item3", "Desc3", owner, true);
+
+        entityManager.persist(author);
+        entityManager.persist(owner);
+        entityManager.persist(item1);
+        entityManager.persist(item2);
+        entityManager.persist(item3);
+        entityManager.persist(createComment("A", author, item1, LocalDateTime.now()));
+        entityManager.persist(createComment("B", author, item1, LocalDateTime.now()));
+        entityManager.persist(createComment("C", author, item2, LocalDateTime.now()));
+        entityManager.flush();
+
+        List<CommentCountDto> counts = commentRepository.countByItemIds(
+                List.of(item1.getId(), item2.getId(), item3.getId()));
+
+        assertThat(counts).extracting(CommentCountDto::getItemId, CommentCountDto::getCount)
+                .containsExactlyInAnyOrder(
+                        tuple(item1.getId(), 2L),
+                        tuple(item2.getId(), 1L));
+    }
+
+    @Test
+    void shouldFindLatestCommentsPerItemWithLimit() {
+        User author = createUser("Author", "author@example.com");
+        User owner = createUser("Owner", "owner@example.com");
+        Item item1 = createItem("Item1", "Desc1", owner, true);
+        Item item2 = createItem("Item2", "Desc2", owner, true);
+
+        entityManager.persist(author);
+        entityManager.persist(owner);
+        entityManager.persist(item1);
+        entityManager.persist(item2);
+
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 1; i <= 4; i++) {
+            entityManager.persist(createComment("Item1 comment " + i, author, item1, base.plusHours(i)));
+        }
+        entityManager.persist(createComment("Item2 comment", author, item2, base));
+        entityManager.flush();
+
+        List<CommentView> views = commentRepository.findLatestByItemIds(List.of(item1.getId(), item2.getId()), 2);
+
+        assertThat(views).extracting(CommentView::getText)
+                .containsExactly("Item1 comment 4", "Item1 comment 3", "Item2 comment");
+        assertThat(views).extracting(CommentView::getItemId)
+                .containsExactly(item1.getId(), item1.getId(), item2.getId());
+        assertThat(views).extracting(CommentView::getAuthorName).containsOnly("Author");
+        assertThat(views.getFirst().getCreated()).isEqualTo(base.plusHours(4));
+    }
+
     private User createUser(String name, String email) {
         User user = new User();
         user.setName(name);
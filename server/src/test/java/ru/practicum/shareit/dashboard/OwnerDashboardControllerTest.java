@@ -0,0 +1,52 @@
+package ru.practicum.shareit.dashboard;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.dashboard.dto.OwnerDashboardDto;
+import ru.practicum.shareit.dashboard.service.OwnerDashboardService;
+import ru.practicum.shareit.exception.UserNotFoundException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(OwnerDashboardController.class)
+class OwnerDashboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private OwnerDashboardService dashboardService;
+
+    @Test
+    void getDashboard() throws Exception {
+        OwnerDashboardDto dashboard = new OwnerDashboardDto(1L, 3, 2, Map.of(BookingStatus.WAITING, 4L), 1, 5,
+                List.of(), List.of());
+        when(dashboardService.getDashboard(eq(1L))).thenReturn(dashboard);
+
+        mockMvc.perform(get("/bookings/owner/dashboard")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemCount").value(3))
+                .andExpect(jsonPath("$.bookingsByStatus.WAITING").value(4))
+                .andExpect(jsonPath("$.futureBookings").value(5));
+    }
+
+    @Test
+    void getDashboardWhenUserNotFound() throws Exception {
+        when(dashboardService.getDashboard(eq(99L))).thenThrow(new UserNotFoundException("Пользователь с ID 99 не найден"));
+
+        mockMvc.perform(get("/bookings/owner/dashboard")
+                        .header("X-Sharer-User-Id", 99L))
+                .andExpect(status().isNotFound());
+    }
+}
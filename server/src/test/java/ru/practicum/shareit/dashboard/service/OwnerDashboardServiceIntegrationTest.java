@@ -0,0 +1,203 @@
+package ru.practicum.shareit.dashboard.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.expiry.WaitingBookingExpiryService;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.dashboard.dto.OwnerDashboardDto;
+import ru.practicum.shareit.dashboard.model.OwnerDashboard;
+import ru.practicum.shareit.dashboard.repository.OwnerDashboardEntryRepository;
+import ru.practicum.shareit.dashboard.repository.OwnerDashboardRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "shareit.booking-pointers.roll-forward-enabled=false",
+        "shareit.booking-expiry.enabled=false"
+})
+@ActiveProfiles("test")
+@Transactional
+class OwnerDashboardServiceIntegrationTest {
+
+    @Autowired
+    private OwnerDashboardService dashboardService;
+
+    @Autowired
+    private OwnerDashboardRepository dashboardRepository;
+
+    @Autowired
+    private OwnerDashboardEntryRepository entryRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private WaitingBookingExpiryService expiryService;
+
+    private Long ownerId;
+    private Long bookerId;
+    private Long itemId;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userService.createUser(new UserDto(null, "Owner", "dashboard-owner@example.com")).getId();
+        bookerId = userService.createUser(new UserDto(null, "Booker", "dashboard-booker@example.com")).getId();
+        itemId = createItem("Drill");
+        start = LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    @Test
+    void eventsKeepDashboardEqualToRebuild() {
+        Long spareItemId = createItem("Saw");
+        ItemDto unavailable = new ItemDto();
+        unavailable.setAvailable(false);
+        itemService.updateItem(spareItemId, unavailable, ownerId);
+        BookingDto waiting = book(itemId, start.plusDays(2));
+        BookingDto approved = book(itemId, start);
+        BookingDto rejected = book(itemId, start.plusDays(4));
+        bookingService.approveBooking(approved.getId(), ownerId, true);
+        bookingService.approveBooking(rejected.getId(), ownerId, false);
+
+        OwnerDashboardDto dashboard = dashboardService.getDashboard(ownerId);
+
+        assertThat(dashboard.getItemCount()).isEqualTo(2);
+        assertThat(dashboard.getAvailableItemCount()).isEqualTo(1);
+        assertThat(dashboard.getBookingsByStatus())
+                .containsEntry(BookingStatus.WAITING, 1L)
+                .containsEntry(BookingStatus.APPROVED, 1L)
+                .containsEntry(BookingStatus.REJECTED, 1L)
+                .containsEntry(BookingStatus.EXPIRED, 0L);
+        assertThat(dashboard.getFutureBookings()).isEqualTo(2);
+        assertThat(dashboard.getCurrentBookings()).isZero();
+        assertThat(dashboard.getPendingApprovals()).extracting(BookingDto::getId).containsExactly(waiting.getId());
+        assertThat(dashboard.getUpcomingPickups()).extracting(BookingDto::getId).containsExactly(approved.getId());
+
+        dashboardService.rebuild(ownerId, LocalDateTime.now());
+
+        assertThat(dashboardService.getDashboard(ownerId)).usingRecursiveComparison().isEqualTo(dashboard);
+    }
+
+    @Test
+    void renamesReachDashboardEntries() {
+        book(itemId, start);
+        ItemDto rename = new ItemDto();
+        rename.setName("Hammer drill");
+        itemService.updateItem(itemId, rename, ownerId);
+        userService.updateUser(bookerId, new UserDto(null, "Renamed booker", null));
+
+        BookingDto pending = dashboardService.getDashboard(ownerId).getPendingApprovals().getFirst();
+
+        assertThat(pending.getItem().getName()).isEqualTo("Hammer drill");
+        assertThat(pending.getBooker().getName()).isEqualTo("Renamed booker");
+    }
+
+    @Test
+    void expiredBookingsLeavePendingApprovals() {
+        BookingDto booking = book(itemId, start);
+
+        expiryService.expireBatch(start.plusMinutes(1), 100);
+
+        OwnerDashboardDto dashboard = dashboardService.getDashboard(ownerId);
+        assertThat(dashboard.getBookingsByStatus())
+                .containsEntry(BookingStatus.WAITING, 0L)
+                .containsEntry(BookingStatus.EXPIRED, 1L);
+        assertThat(dashboard.getPendingApprovals()).extracting(BookingDto::getId).doesNotContain(booking.getId());
+    }
+
+    @Test
+    void endedBookingsArePrunedFromEntriesButStayCounted() {
+        BookingDto ended = book(itemId, start);
+        bookingService.approveBooking(ended.getId(), ownerId, true);
+        BookingDto later = book(itemId, start.plusDays(1));
+
+        assertThat(dashboardService.pruneEnded(start.plusHours(3), 100)).isPositive();
+
+        assertThat(entryRepository.existsById(ended.getId())).isFalse();
+        assertThat(entryRepository.existsById(later.getId())).isTrue();
+        assertThat(dashboardService.getDashboard(ownerId).getBookingsByStatus())
+                .containsEntry(BookingStatus.APPROVED, 1L)
+                .containsEntry(BookingStatus.WAITING, 1L);
+    }
+
+    @Test
+    void deletingItemRebuildsDashboard() {
+        Long spareItemId = createItem("Saw");
+        book(spareItemId, start);
+
+        itemService.deleteItem(spareItemId, ownerId);
+
+        OwnerDashboardDto dashboard = dashboardService.getDashboard(ownerId);
+        assertThat(dashboard.getItemCount()).isEqualTo(1);
+        assertThat(dashboard.getBookingsByStatus()).containsEntry(BookingStatus.WAITING, 0L);
+        assertThat(dashboard.getPendingApprovals()).isEmpty();
+    }
+
+    @Test
+    void invalidatedDashboardIsRebuiltByNextEvent() {
+        book(itemId, start);
+        dashboardService.invalidateAll();
+
+        BookingDto second = book(itemId, start.plusDays(1));
+
+        OwnerDashboard stored = dashboardRepository.findById(ownerId).orElseThrow();
+        assertThat(stored.isBuilt()).isTrue();
+        assertThat(stored.getBookingCounts()).containsEntry(BookingStatus.WAITING, 2L);
+        assertThat(dashboardService.getDashboard(ownerId).getPendingApprovals())
+                .extracting(BookingDto::getId).contains(second.getId());
+    }
+
+    @Test
+    void ownerWithoutDashboardRowIsBuiltOnFirstRead() {
+        User legacyOwner = userRepository.save(new User(null, "Legacy", "dashboard-legacy@example.com"));
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Ladder");
+        itemDto.setDescription("Tall ladder");
+        itemDto.setAvailable(true);
+        Long legacyItemId = itemService.createItem(itemDto, legacyOwner.getId()).getId();
+        book(legacyItemId, start);
+
+        OwnerDashboardDto dashboard = dashboardService.getDashboard(legacyOwner.getId());
+
+        assertThat(dashboard.getItemCount()).isEqualTo(1);
+        assertThat(dashboard.getBookingsByStatus()).containsEntry(BookingStatus.WAITING, 1L);
+        assertThat(dashboardRepository.findById(legacyOwner.getId()).orElseThrow().isBuilt()).isTrue();
+    }
+
+    private Long createItem(String name) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName(name);
+        itemDto.setDescription(name + " for rent");
+        itemDto.setAvailable(true);
+        return itemService.createItem(itemDto, ownerId).getId();
+    }
+
+    private BookingDto book(Long bookedItemId, LocalDateTime from) {
+        return bookingService.createBooking(new BookingRequestDto(bookedItemId, from, from.plusHours(2)), bookerId);
+    }
+}
@@ -9,14 +9,21 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.comment.dto.CommentCreateDto;
 import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.comment.dto.CommentPageDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemFacetedSearchDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookings;
+import ru.practicum.shareit.item.dto.ItemNameSuggestionDto;
+import ru.practicum.shareit.item.dto.ItemSearchResultDto;
+import ru.practicum.shareit.item.dto.TagFacetDto;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -90,6 +97,36 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.name").value("Drill"));
     }
 
+    @Test
+    void getItemByIdSetsETag() throws Exception {
+        ItemDtoWithBookings itemDto = new ItemDtoWithBookings();
+        itemDto.setId(itemId);
+
+        when(itemService.getItemETag(anyLong(), anyLong()))
+                .thenReturn("item-1-v3");
+        when(itemService.getItemById(anyLong(), anyLong()))
+                .thenReturn(itemDto);
+
+        mockMvc.perform(get("/items/{itemId}", itemId)
+                        .header(USER_ID_HEADER, userId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"item-1-v3\""));
+    }
+
+    @Test
+    void getItemByIdWhenNotModified() throws Exception {
+        when(itemService.getItemETag(anyLong(), anyLong()))
+                .thenReturn("item-1-v3");
+
+        mockMvc.perform(get("/items/{itemId}", itemId)
+                        .header(USER_ID_HEADER, userId)
+                        .header("If-None-Match", "\"item-1-v3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"item-1-v3\""));
+
+        verify(itemService, never()).getItemById(anyLong(), anyLong());
+    }
+
     @Test
     void getItemsByOwner() throws Exception {
         ItemDtoWithBookings itemDto = new ItemDtoWithBookings();
@@ -122,6 +159,89 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Drill"));
     }
 
+    @Test
+    void searchItemsNearPassesLocation() throws Exception {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setId(itemId);
+        itemDto.setName("Drill");
+
+        when(itemService.searchItemsNear("drill", 55.75, 37.62, 5.0))
+                .thenReturn(List.of(itemDto));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "drill")
+                        .param("lat", "55.75")
+                        .param("lon", "37.62")
+                        .param("radius", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(itemId));
+    }
+
+    @Test
+    void searchAvailableItemsPassesPeriod() throws Exception {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setId(itemId);
+        itemDto.setName("Drill");
+        LocalDateTime start = LocalDateTime.of(2030, 5, 10, 10, 0);
+        LocalDateTime end = LocalDateTime.of(2030, 5, 12, 10, 0);
+
+        when(itemService.searchAvailableItems("drill", start, end))
+                .thenReturn(List.of(itemDto));
+
+        mockMvc.perform(get("/items/search/available")
+                        .param("text", "drill")
+                        .param("start", "2030-05-10T10:00:00")
+                        .param("end", "2030-05-12T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(itemId));
+    }
+
+    @Test
+    void searchItemsFacetedReturnsItemsAndCounts() throws Exception {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setId(itemId);
+        itemDto.setName("Drill");
+        itemDto.setTags(List.of("tools"));
+
+        when(itemService.searchItemsFaceted("drill", List.of("tools"), 20))
+                .thenReturn(new ItemFacetedSearchDto(1, List.of(itemDto), List.of(new TagFacetDto("tools", 1))));
+
+        mockMvc.perform(get("/items/search/facets")
+                        .param("text", "drill")
+                        .param("tags", "tools"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.items[0].tags[0]").value("tools"))
+                .andExpect(jsonPath("$.facets[0].tag").value("tools"))
+                .andExpect(jsonPath("$.facets[0].count").value(1));
+    }
+
+    @Test
+    void fuzzySearchItems() throws Exception {
+        when(itemService.fuzzySearchItems("drel", 0.4, 20))
+                .thenReturn(List.of(new ItemSearchResultDto(itemId, "Дрель", "Ударная дрель", true, null, 0.5)));
+
+        mockMvc.perform(get("/items/search/fuzzy")
+                        .param("text", "drel")
+                        .param("threshold", "0.4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(itemId))
+                .andExpect(jsonPath("$[0].score").value(0.5));
+    }
+
+    @Test
+    void suggestItems() throws Exception {
+        when(itemService.suggestItems("дре", 5))
+                .thenReturn(List.of(new ItemNameSuggestionDto(itemId, "Дрель")));
+
+        mockMvc.perform(get("/items/suggest")
+                        .param("prefix", "дре")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(itemId))
+                .andExpect(jsonPath("$[0].name").value("Дрель"));
+    }
+
     @Test
     void deleteItem() throws Exception {
         mockMvc.perform(delete("/items/{itemId}", itemId)
@@ -150,4 +270,19 @@ class ItemControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.text").value("Great item!"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getComments() throws Exception {
+        CommentDto commentDto = new CommentDto(5L, "Great item!", "User", LocalDateTime.now());
+        when(itemService.getComments(itemId, "abc", 1))
+                .thenReturn(new CommentPageDto(List.of(commentDto), "next"));
+
+        mockMvc.perform(get("/items/{itemId}/comments", itemId)
+                        .header(USER_ID_HEADER, userId)
+                        .param("cursor", "abc")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments[0].id").value(5))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+}
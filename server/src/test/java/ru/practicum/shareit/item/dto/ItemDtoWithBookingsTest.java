@@ -48,7 +48,7 @@ class ItemDtoWithBookingsTest {
 
         ItemDtoWithBookings dto = new ItemDtoWithBookings(
                 id, name, description, available, requestId,
-                lastBooking, nextBooking, comments
+                lastBooking, nextBooking, comments, comments.size()
         );
 
         assertNotNull(dto);
@@ -106,7 +106,7 @@ class ItemDtoWithBookingsTest {
     void shouldHandleNullBookingsAndComments() {
         ItemDtoWithBookings dto = new ItemDtoWithBookings(
                 1L, "Item", "Desc", true, 5L,
-                null, null, null
+                null, null, null, 0
         );
 
         assertNotNull(dto);
@@ -120,7 +120,7 @@ class ItemDtoWithBookingsTest {
     void shouldReturnCorrectToString() {
         ItemDtoWithBookings dto = new ItemDtoWithBookings(
                 1L, "Drill", "Powerful drill", true, 10L,
-                null, null, null
+                null, null, null, 0
         );
 
         String stringRepresentation = dto.toString();
@@ -142,13 +142,13 @@ class ItemDtoWithBookingsTest {
         List<CommentDto> comments2 = List.of(new CommentDto(1L, "Good", "User", now));
 
         ItemDtoWithBookings dto1 = new ItemDtoWithBookings(
-                1L, "Item", "Desc", true, 5L, booking1, null, comments1
+                1L, "Item", "Desc", true, 5L, booking1, null, comments1, 1
         );
         ItemDtoWithBookings dto2 = new ItemDtoWithBookings(
-                1L, "Item", "Desc", true, 5L, booking2, null, comments2
+                1L, "Item", "Desc", true, 5L, booking2, null, comments2, 1
         );
         ItemDtoWithBookings dto3 = new ItemDtoWithBookings(
-                2L, "Another", "Diff", false, 6L, null, null, null
+                2L, "Another", "Diff", false, 6L, null, null, null, 0
         );
 
         assertEquals(dto1, dto2);
@@ -223,7 +223,7 @@ class ItemDtoWithBookingsTest {
     void shouldHandleEmptyCommentsList() {
         ItemDtoWithBookings dto = new ItemDtoWithBookings(
                 1L, "Item", "Desc", true, null,
-                null, null, List.of()
+                null, null, List.of(), 0
         );
 
         assertNotNull(dto.getComments());
@@ -234,7 +234,7 @@ class ItemDtoWithBookingsTest {
     void shouldCreateWithRequestIdNull() {
         ItemDtoWithBookings dto = new ItemDtoWithBookings(
                 1L, "Item", "Description", true, null,
-                null, null, null
+                null, null, null, 0
         );
 
         assertNull(dto.getRequestId());
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.item.fuzzy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchResultDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ItemFuzzySearchIntegrationTest {
+
+    @Autowired
+    private ItemFuzzySearch fuzzySearch;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "fuzzy-owner@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    void h2UsesInMemoryIndex() {
+        assertThat(fuzzySearch).isInstanceOf(InMemoryItemFuzzySearch.class);
+    }
+
+    @Test
+    void typoAndLatinQueriesFindItemRankedBySimilarity() {
+        Long exact = createItem("Кувалдометр", "Тяжёлый инструмент");
+        Long description = createItem("Молот", "Почти кувалдометр, но легче");
+        createItem("Отвёртка", "Крестовая");
+
+        assertThat(ids(itemService.fuzzySearchItems("кувалдаметр", null, 20))).containsExactly(exact, description);
+        assertThat(ids(itemService.fuzzySearchItems("kuvaldometr", 0.5, 20))).containsExactly(exact, description);
+        assertThat(ids(itemService.fuzzySearchItems("kuvaldometr", 0.5, 1))).containsExactly(exact);
+        assertThat(itemService.fuzzySearchItems("кувалдаметр", null, 20).getFirst().getScore())
+                .isGreaterThan(0.3).isLessThan(1.0);
+    }
+
+    @Test
+    void indexFollowsUpdatesAfterCommit() {
+        Long itemId = createItem("Гвоздодёрище", "Для гвоздей");
+        assertThat(ids(itemService.fuzzySearchItems("гвоздодерище", 0.9, 20))).containsExactly(itemId);
+
+        ItemDto rename = new ItemDto();
+        rename.setName("Шпателище");
+        itemService.updateItem(itemId, rename, owner.getId());
+        assertThat(itemService.fuzzySearchItems("гвоздодерище", 0.9, 20)).isEmpty();
+        assertThat(ids(itemService.fuzzySearchItems("шпателище", 0.9, 20))).containsExactly(itemId);
+
+        ItemDto hide = new ItemDto();
+        hide.setAvailable(false);
+        itemService.updateItem(itemId, hide, owner.getId());
+        assertThat(itemService.fuzzySearchItems("шпателище", 0.9, 20)).isEmpty();
+    }
+
+    @Test
+    void thresholdOutsideRangeIsRejected() {
+        assertThatThrownBy(() -> itemService.fuzzySearchItems("дрель", 1.5, 20))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    private Long createItem(String name, String description) {
+        ItemDto dto = new ItemDto();
+        dto.setName(name);
+        dto.setDescription(description);
+        dto.setAvailable(true);
+        return itemService.createItem(dto, owner.getId()).getId();
+    }
+
+    private static List<Long> ids(List<ItemSearchResultDto> results) {
+        return results.stream().map(ItemSearchResultDto::getId).toList();
+    }
+}
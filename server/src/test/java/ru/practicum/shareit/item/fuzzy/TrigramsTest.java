@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item.fuzzy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TrigramsTest {
+
+    @Test
+    void trigramsArePaddedLikePgTrgm() {
+        assertThat(Trigrams.of(List.of("cat"))).containsExactlyInAnyOrder("  c", " ca", "cat", "at ");
+    }
+
+    @Test
+    void similarityIsSharedShareOfUnion() {
+        Set<String> word = Trigrams.of(List.of("word"));
+        Set<String> two = Trigrams.of(List.of("two", "words"));
+
+        assertThat(Trigrams.similarity(word, word)).isEqualTo(1.0);
+        // pg_trgm: similarity('word', 'two words') = 0.363636
+        assertThat(Trigrams.similarity(word, two)).isCloseTo(0.3636, within(0.001));
+    }
+
+    @Test
+    void wordSimilarityComparesQueryWithBestExtent() {
+        Set<String> query = Trigrams.of(List.of("дрел"));
+        List<String> description = Trigrams.words("Мощная ударная дрель для бетона");
+
+        assertThat(Trigrams.wordSimilarity(query, 1, description))
+                .isEqualTo(Trigrams.similarity(query, Trigrams.of(List.of("дрель"))))
+                .isGreaterThan(0.3);
+    }
+
+    @Test
+    void latinQueryIsAlsoTransliterated() {
+        assertThat(Trigrams.variants("Drel!")).containsExactly("drel", "дрел");
+        assertThat(Trigrams.variants("Дрель")).containsExactly("дрель");
+        assertThat(Trigrams.variants(" ,; ")).isEmpty();
+    }
+}
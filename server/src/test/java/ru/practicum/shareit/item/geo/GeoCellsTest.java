@@ -0,0 +1,68 @@
+package ru.practicum.shareit.item.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GeoCellsTest {
+
+    @Test
+    void distanceMatchesKnownCities() {
+        // Москва — Санкт-Петербург
+        assertThat(GeoCells.distanceKm(55.7558, 37.6173, 59.9343, 30.3351)).isCloseTo(634, within(5.0));
+        assertThat(GeoCells.distanceKm(10, 20, 10, 20)).isZero();
+    }
+
+    @Test
+    void coverHasAtMostFourRangesAndContainsEveryPointInRadius() {
+        Random random = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            double lat = random.nextDouble() * 170 - 85;
+            double lon = random.nextDouble() * 360 - 180;
+            double radius = Math.pow(10, random.nextDouble() * 3 - 1);
+            List<GeoCells.Range> ranges = GeoCells.cover(lat, lon, radius);
+
+            assertThat(ranges).hasSizeLessThanOrEqualTo(GeoCells.MAX_RANGES);
+            for (int j = 0; j < 20; j++) {
+                double bearing = random.nextDouble() * 2 * Math.PI;
+                double distance = random.nextDouble() * radius;
+                double pointLat = lat + Math.toDegrees(distance / GeoCells.EARTH_RADIUS_KM) * Math.cos(bearing);
+                double pointLon = lon + Math.toDegrees(distance / GeoCells.EARTH_RADIUS_KM) * Math.sin(bearing)
+                        / Math.cos(Math.toRadians(pointLat));
+                pointLon = ((pointLon + 540) % 360) - 180;
+                if (GeoCells.distanceKm(lat, lon, pointLat, pointLon) > radius) {
+                    continue;
+                }
+                long cell = GeoCells.encode(pointLat, pointLon);
+                assertThat(ranges).anyMatch(range -> range.from() <= cell && cell <= range.to());
+            }
+        }
+    }
+
+    @Test
+    void coverWrapsAroundAntimeridianAndPoles() {
+        List<GeoCells.Range> dateLine = GeoCells.cover(0, 179.99, 10);
+        long east = GeoCells.encode(0, -179.99);
+        long west = GeoCells.encode(0, 179.95);
+        assertThat(dateLine).anyMatch(range -> range.from() <= east && east <= range.to());
+        assertThat(dateLine).anyMatch(range -> range.from() <= west && west <= range.to());
+
+        List<GeoCells.Range> pole = GeoCells.cover(89.99, 0, 50);
+        long opposite = GeoCells.encode(89.9, 180);
+        assertThat(pole).hasSizeLessThanOrEqualTo(GeoCells.MAX_RANGES);
+        assertThat(pole).anyMatch(range -> range.from() <= opposite && opposite <= range.to());
+    }
+
+    @Test
+    void nearbyPointsShareCellPrefix() {
+        long a = GeoCells.encode(55.7558, 37.6173);
+        long b = GeoCells.encode(55.7559, 37.6174);
+        long far = GeoCells.encode(-33.86, 151.21);
+
+        assertThat(Long.numberOfLeadingZeros(a ^ b)).isGreaterThan(Long.numberOfLeadingZeros(a ^ far) + 20);
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.item.geo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ItemGeoSearchIntegrationTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "geo-owner@example.com"));
+    }
+
+    @Test
+    void searchNearReturnsItemsWithinRadiusOrderedByDistance() {
+        // Красная площадь, Парк Горького, Химки и Санкт-Петербург
+        Long far = createItem("Геодрель дальняя", 55.8890, 37.4450);
+        Long center = createItem("Геодрель центр", 55.7539, 37.6208);
+        Long park = createItem("Геодрель парк", 55.7298, 37.6010);
+        createItem("Геодрель питер", 59.9343, 30.3351);
+        createItem("Геодрель без места", null, null);
+
+        assertThat(ids(itemService.searchItemsNear("геодрель", 55.7558, 37.6173, 5.0)))
+                .containsExactly(center, park);
+        assertThat(ids(itemService.searchItemsNear("геодрель", 55.7558, 37.6173, 30.0)))
+                .containsExactly(center, park, far);
+        assertThat(itemService.searchItems("геодрель")).hasSize(5);
+    }
+
+    @Test
+    void updateMovesItemToNewCell() {
+        Long itemId = createItem("Геопила", 55.7539, 37.6208);
+
+        ItemDto move = new ItemDto();
+        move.setLatitude(59.9343);
+        move.setLongitude(30.3351);
+        ItemDto moved = itemService.updateItem(itemId, move, owner.getId());
+
+        assertThat(moved.getLatitude()).isEqualTo(59.9343);
+        assertThat(itemRepository.findById(itemId).orElseThrow().getLocation().getCell())
+                .isEqualTo(GeoCells.encode(59.9343, 30.3351));
+        assertThat(itemService.searchItemsNear("геопила", 55.7558, 37.6173, 10.0)).isEmpty();
+        assertThat(ids(itemService.searchItemsNear("геопила", 59.93, 30.33, 10.0))).containsExactly(itemId);
+    }
+
+    @Test
+    void invalidLocationIsRejected() {
+        assertThatThrownBy(() -> createItem("Геоотвёртка", 55.75, null))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> createItem("Геоотвёртка", 91.0, 37.6))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> itemService.searchItemsNear("геоотвёртка", 55.75, 37.6, null))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> itemService.searchItemsNear("геоотвёртка", 55.75, 37.6, 1000.0))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    private Long createItem(String name, Double latitude, Double longitude) {
+        ItemDto dto = new ItemDto();
+        dto.setName(name);
+        dto.setDescription("Инструмент");
+        dto.setAvailable(true);
+        dto.setLatitude(latitude);
+        dto.setLongitude(longitude);
+        return itemService.createItem(dto, owner.getId()).getId();
+    }
+
+    private static List<Long> ids(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).toList();
+    }
+}
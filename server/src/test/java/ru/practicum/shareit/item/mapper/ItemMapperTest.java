@@ -12,7 +12,7 @@ class ItemMapperTest {
     @Test
     void toItemDto() {
         User owner = new User(1L, "Owner", "owner@example.com");
-        Item item = new Item(1L, "Drill", "Powerful drill", true, owner, null);
+        Item item = new Item(1L, "Drill", "Powerful drill", true, owner, null, 0L, null);
 
         ItemDto dto = ItemMapper.toItemDto(item);
 
@@ -26,7 +26,7 @@ class ItemMapperTest {
 
     @Test
     void toItem() {
-        ItemDto dto = new ItemDto(1L, "Drill", "Powerful drill", true, null);
+        ItemDto dto = new ItemDto(1L, "Drill", "Powerful drill", true, null, null, null, null);
 
         Item item = ItemMapper.toItem(dto);
 
@@ -24,7 +24,7 @@ class ItemTest {
     void shouldHaveWorkingAllArgsConstructor() {
         User owner = new User();
 
-        Item item = new Item(1L, "Drill", "Powerful drill", true, owner, null);
+        Item item = new Item(1L, "Drill", "Powerful drill", true, owner, null, 0L, null);
 
         assertThat(item.getId()).isEqualTo(1L);
         assertThat(item.getName()).isEqualTo("Drill");
@@ -0,0 +1,178 @@
+package ru.practicum.shareit.item.pointer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoWithBookings;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "shareit.booking-pointers.roll-forward-enabled=false")
+@ActiveProfiles("test")
+@Transactional
+class BookingPointerServiceIntegrationTest {
+
+    @Autowired
+    private BookingPointerService pointerService;
+
+    @Autowired
+    private ItemBookingPointerRepository pointerRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private User booker;
+    private Long itemId;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "owner@example.com"));
+        booker = userRepository.save(new User(null, "Booker", "booker@example.com"));
+
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Drill");
+        itemDto.setDescription("Powerful drill");
+        itemDto.setAvailable(true);
+        itemId = itemService.createItem(itemDto, owner.getId()).getId();
+
+        start = LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    @Test
+    void createItemStoresEmptyPointer() {
+        ItemBookingPointer pointer = pointerRepository.findById(itemId).orElseThrow();
+
+        assertThat(pointer.getLastBooking()).isNull();
+        assertThat(pointer.getNextBooking()).isNull();
+        assertThat(pointer.getRollAt()).isNull();
+    }
+
+    @Test
+    void createBookingMovesNextPointerToEarliestBooking() {
+        BookingDto later = book(start.plusDays(2), start.plusDays(3));
+        BookingDto earlier = book(start, start.plusHours(2));
+        book(start.plusDays(1), start.plusDays(2));
+
+        ItemBookingPointer pointer = pointerRepository.findById(itemId).orElseThrow();
+
+        assertThat(pointer.getNextBooking().getBookingId()).isEqualTo(earlier.getId());
+        assertThat(pointer.getNextBooking().getBookerId()).isEqualTo(booker.getId());
+        assertThat(pointer.getRollAt()).isEqualTo(start);
+        assertThat(later.getId()).isNotEqualTo(earlier.getId());
+    }
+
+    @Test
+    void rollForwardMovesBookingFromNextToLast() {
+        BookingDto booking = book(start, start.plusHours(2));
+        BookingDto following = book(start.plusDays(1), start.plusDays(2));
+
+        assertThat(pointerService.rollForward(start.minusMinutes(1), 10)).isZero();
+        assertThat(pointerService.rollForward(start.plusHours(1), 10)).isEqualTo(1);
+
+        ItemBookingPointer current = pointerRepository.findById(itemId).orElseThrow();
+        assertThat(current.getLastBooking()).isNull();
+        assertThat(current.getNextBooking().getBookingId()).isEqualTo(following.getId());
+        assertThat(current.getRollAt()).isEqualTo(start.plusHours(2));
+
+        pointerService.rollForward(start.plusHours(3), 10);
+
+        ItemBookingPointer finished = pointerRepository.findById(itemId).orElseThrow();
+        assertThat(finished.getLastBooking().getBookingId()).isEqualTo(booking.getId());
+        assertThat(finished.getNextBooking().getBookingId()).isEqualTo(following.getId());
+        assertThat(finished.getRollAt()).isEqualTo(start.plusDays(1));
+    }
+
+    @Test
+    void rejectingNextBookingRecomputesPointer() {
+        BookingDto first = book(start, start.plusHours(2));
+        BookingDto second = book(start.plusDays(1), start.plusDays(2));
+
+        bookingService.approveBooking(first.getId(), owner.getId(), false);
+
+        ItemBookingPointer pointer = pointerRepository.findById(itemId).orElseThrow();
+        assertThat(pointer.getNextBooking().getBookingId()).isEqualTo(second.getId());
+    }
+
+    @Test
+    void ownerViewReadsPointer() {
+        BookingDto booking = book(start, start.plusHours(2));
+        bookingService.approveBooking(booking.getId(), owner.getId(), true);
+
+        ItemDtoWithBookings view = itemService.getItemById(itemId, owner.getId());
+
+        assertThat(view.getLastBooking()).isNull();
+        assertThat(view.getNextBooking().getId()).isEqualTo(booking.getId());
+        assertThat(view.getNextBooking().getStart()).isEqualTo(start);
+    }
+
+    @Test
+    void stalePointerFallsBackToBookings() {
+        BookingDto booking = book(start, start.plusHours(2));
+
+        ItemBookingPointer pointer = pointerService.getPointer(itemId, start.plusHours(3));
+
+        assertThat(pointer.getLastBooking().getBookingId()).isEqualTo(booking.getId());
+        assertThat(pointer.getNextBooking()).isNull();
+    }
+
+    @Test
+    void checkFindsAndRepairsPointersChangedOutsideServices() {
+        Item item = itemRepository.findById(itemId).orElseThrow();
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(start.plusHours(2));
+        booking.setStatus(BookingStatus.APPROVED);
+        bookingRepository.save(booking);
+
+        LocalDateTime now = LocalDateTime.now();
+        BookingPointerReport report = pointerService.check(itemId - 1, 1, false, now);
+
+        assertThat(report.getChecked()).isEqualTo(1);
+        assertThat(report.getMismatched()).isEqualTo(1);
+        assertThat(report.getInconsistentItemIds()).containsExactly(itemId);
+
+        pointerService.check(itemId - 1, 1, true, now);
+
+        assertThat(pointerRepository.findById(itemId).orElseThrow().getNextBooking().getBookingId())
+                .isEqualTo(booking.getId());
+        assertThat(pointerService.check(itemId - 1, 1, false, now).getMismatched()).isZero();
+    }
+
+    private BookingDto book(LocalDateTime from, LocalDateTime to) {
+        return bookingService.createBooking(new BookingRequestDto(itemId, from, to), booker.getId());
+    }
+}
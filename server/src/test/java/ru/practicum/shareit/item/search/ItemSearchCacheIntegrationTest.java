@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "shareit.search-cache.poll-interval=PT1H")
+@ActiveProfiles("test")
+class ItemSearchCacheIntegrationTest {
+
+    @Autowired
+    private ItemSearchCache cache;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "search-cache-owner@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    void queriesDifferingInCaseAndSpacesShareEntry() {
+        Long itemId = createItem("Перфоратор", "Ударный");
+
+        assertThat(ids(itemService.searchItems("ПЕРФОРАТОР"))).containsExactly(itemId);
+        assertThat(cache.contains("перфоратор")).isTrue();
+        assertThat(ids(itemService.searchItems("  перфоратор "))).containsExactly(itemId);
+    }
+
+    @Test
+    void writeDropsOnlyQueriesMatchingChangedItem() {
+        Long saw = createItem("Ножовка", "По дереву");
+        createItem("Стамеска", "Плоская");
+        itemService.searchItems("ножовка");
+        itemService.searchItems("стамеска");
+        itemService.searchItems("рубанок");
+
+        Long plane = createItem("Рубанок", "Ручной");
+
+        assertThat(cache.contains("ножовка")).isTrue();
+        assertThat(cache.contains("стамеска")).isTrue();
+        assertThat(cache.contains("рубанок")).isFalse();
+        assertThat(ids(itemService.searchItems("рубанок"))).containsExactly(plane);
+
+        ItemDto rename = new ItemDto();
+        rename.setName("Лобзик");
+        itemService.updateItem(saw, rename, owner.getId());
+
+        assertThat(cache.contains("ножовка")).isFalse();
+        assertThat(cache.contains("стамеска")).isTrue();
+        assertThat(itemService.searchItems("ножовка")).isEmpty();
+
+        itemService.deleteItem(plane, owner.getId());
+
+        assertThat(cache.contains("рубанок")).isFalse();
+        assertThat(itemService.searchItems("рубанок")).isEmpty();
+    }
+
+    @Test
+    void resultComputedBeforeInvalidationIsNotCached() {
+        long generation = cache.generation();
+        cache.invalidate(List.of(-1L));
+
+        cache.put("киянка", List.of(), generation);
+
+        assertThat(cache.contains("киянка")).isFalse();
+    }
+
+    @Test
+    void likeWildcardsBypassCache() {
+        assertThat(ItemSearchCache.normalize(" 100% ")).isNull();
+        assertThat(ItemSearchCache.normalize("a_b")).isNull();
+        assertThat(ItemSearchCache.normalize(" Дрель ")).isEqualTo("дрель");
+    }
+
+    private Long createItem(String name, String description) {
+        ItemDto dto = new ItemDto();
+        dto.setName(name);
+        dto.setDescription(description);
+        dto.setAvailable(true);
+        return itemService.createItem(dto, owner.getId()).getId();
+    }
+
+    private static List<Long> ids(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).toList();
+    }
+}
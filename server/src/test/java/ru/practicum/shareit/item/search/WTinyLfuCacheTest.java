@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WTinyLfuCacheTest {
+
+    @Test
+    void frequentKeysSurviveScanOfOneTimeKeys() {
+        WTinyLfuCache<String, Integer> cache = new WTinyLfuCache<>(100);
+        for (int i = 0; i < 50; i++) {
+            cache.put("hot" + i, i);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.get("hot" + i);
+            }
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            if (cache.get("scan" + i) == null) {
+                cache.put("scan" + i, i);
+            }
+            if (i % 500 == 0) {
+                for (int j = 0; j < 50; j++) {
+                    cache.get("hot" + j);
+                }
+            }
+        }
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(cache.get("hot" + i)).isEqualTo(i);
+        }
+        assertThat(cache.size()).isLessThanOrEqualTo(100);
+        assertThat(cache.evictions()).isPositive();
+    }
+
+    @Test
+    void repeatedKeyIsAdmittedOverColdVictim() {
+        WTinyLfuCache<String, Integer> cache = new WTinyLfuCache<>(100);
+        for (int i = 0; i < 100; i++) {
+            cache.put("cold" + i, i);
+        }
+        for (int i = 0; i < 3; i++) {
+            cache.get("popular");
+        }
+
+        cache.put("popular", 1);
+        cache.put("next", 2);
+
+        assertThat(cache.containsKey("popular")).isTrue();
+        assertThat(cache.size()).isEqualTo(100);
+    }
+
+    @Test
+    void removeIfDropsMatchingEntriesFromAllSegments() {
+        WTinyLfuCache<String, List<Long>> cache = new WTinyLfuCache<>(10);
+        for (long i = 0; i < 10; i++) {
+            cache.put("q" + i, List.of(i, 100L));
+        }
+        cache.get("q3");
+
+        int removed = cache.removeIf((key, ids) -> ids.contains(3L) || key.equals("q9"));
+
+        assertThat(removed).isEqualTo(2);
+        assertThat(cache.containsKey("q3")).isFalse();
+        assertThat(cache.containsKey("q9")).isFalse();
+        assertThat(cache.size()).isEqualTo(8);
+    }
+
+    @Test
+    void sketchAgesCountsOverTime() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 10; i++) {
+            sketch.increment("key");
+        }
+        assertThat(sketch.frequency("key")).isEqualTo(10);
+
+        for (int i = 0; i < 200; i++) {
+            sketch.increment("other" + i);
+        }
+
+        assertThat(sketch.frequency("key")).isLessThan(10);
+    }
+}
@@ -232,6 +232,41 @@ class ItemServiceImplIntegrationTest {
         assertThat(result.getNextBooking()).isNull();
     }
 
+    @Test
+    void getItemETagChangesOnUpdateAndComment() {
+        Item item = new Item();
+        item.setName("Test Item");
+        item.setDescription("Test Description");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+
+        Booking booking = new Booking();
+        booking.setStart(LocalDateTime.now().minusDays(10));
+        booking.setEnd(LocalDateTime.now().minusDays(5));
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(BookingStatus.APPROVED);
+        bookingRepository.save(booking);
+
+        String initial = itemService.getItemETag(item.getId(), booker.getId());
+        assertThat(itemService.getItemETag(item.getId(), booker.getId())).isEqualTo(initial);
+        assertThat(itemService.getItemETag(item.getId(), owner.getId())).isNotEqualTo(initial);
+
+        CommentCreateDto commentDto = new CommentCreateDto();
+        commentDto.setText("Great item!");
+        itemService.addComment(item.getId(), commentDto, booker.getId());
+        String afterComment = itemService.getItemETag(item.getId(), booker.getId());
+        assertThat(afterComment).isNotEqualTo(initial);
+
+        ItemDto updateDto = new ItemDto();
+        updateDto.setName("New Name");
+        itemService.updateItem(item.getId(), updateDto, owner.getId());
+        assertThat(itemService.getItemETag(item.getId(), booker.getId()))
+                .isNotEqualTo(initial)
+                .isNotEqualTo(afterComment);
+    }
+
     @Test
     void getItemsByOwnerWhenOwnerHasItems() {
         Item item1 = new Item();
@@ -277,6 +312,39 @@ class ItemServiceImplIntegrationTest {
         assertThat(result.getFirst().getName()).isEqualTo("Drill Machine");
     }
 
+    @Test
+    void searchAvailableItemsExcludesItemsWithOverlappingApprovedBooking() {
+        Item booked = saveItem("Drill Machine", "Powerful electric drill");
+        Item waiting = saveItem("Cordless Drill", "Light drill");
+        Item adjacent = saveItem("Hammer Drill", "Heavy drill");
+        Item historic = saveItem("Drill Press", "Bench drill");
+        LocalDateTime start = LocalDateTime.now().plusDays(5).withNano(0);
+        LocalDateTime end = start.plusDays(2);
+
+        saveBooking(booked, start.plusDays(1), end.plusDays(1), BookingStatus.APPROVED);
+        saveBooking(waiting, start, end, BookingStatus.WAITING);
+        saveBooking(waiting, start, end, BookingStatus.REJECTED);
+        saveBooking(adjacent, start.minusDays(1), start, BookingStatus.APPROVED);
+        saveBooking(adjacent, end, end.plusDays(1), BookingStatus.APPROVED);
+        for (int i = 1; i <= 20; i++) {
+            saveBooking(historic, start.minusDays(10L * i), start.minusDays(10L * i - 1), BookingStatus.APPROVED);
+        }
+
+        List<ItemDto> result = itemService.searchAvailableItems("drill", start, end);
+
+        assertThat(result).extracting(ItemDto::getId)
+                .containsExactlyInAnyOrder(waiting.getId(), adjacent.getId(), historic.getId());
+    }
+
+    @Test
+    void searchAvailableItemsWhenPeriodIsEmpty() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        assertThatThrownBy(() -> itemService.searchAvailableItems("drill", start, start))
+                .isInstanceOf(ValidationException.class);
+        assertThat(itemService.searchAvailableItems(" ", start, start.plusDays(1))).isEmpty();
+    }
+
     @Test
     void searchItemsWhenTextIsBlank() {
         List<ItemDto> result = itemService.searchItems("   ");
@@ -361,4 +429,23 @@ class ItemServiceImplIntegrationTest {
                 .isInstanceOf(ValidationException.class)
                 .hasMessageContaining("Пользователь не брал вещь в аренду или аренда еще не завершена");
     }
-}
\ No newline at end of file
+
+    private Item saveItem(String name, String description) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(true);
+        item.setOwner(owner);
+        return itemRepository.save(item);
+    }
+
+    private void saveBooking(Item item, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(status);
+        bookingRepository.save(booking);
+    }
+}
@@ -6,20 +6,36 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.archive.BookingArchiveRepository;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.comment.dto.CommentCreateDto;
+import ru.practicum.shareit.comment.dto.CommentCursor;
 import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.comment.dto.CommentPageDto;
 import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.comment.repository.CommentRepository;
 import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBookings;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.pointer.BookingPointerService;
+import ru.practicum.shareit.item.pointer.BookingSnapshot;
+import ru.practicum.shareit.item.pointer.ItemBookingPointer;
+import ru.practicum.shareit.item.fuzzy.ItemFuzzySearch;
+import ru.practicum.shareit.item.fuzzy.ItemSearchProperties;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.tag.ItemTagIndex;
+import ru.practicum.shareit.item.tag.ItemTagProperties;
+import ru.practicum.shareit.item.tag.ItemTagRepository;
+import ru.practicum.shareit.item.suggest.ItemSuggestIndex;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -28,6 +44,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -53,6 +70,36 @@ class ItemServiceImplTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private BookingPointerService bookingPointerService;
+
+    @Mock
+    private BookingArchiveRepository bookingArchiveRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ItemSuggestIndex suggestIndex;
+
+    @Mock
+    private ItemFuzzySearch fuzzySearch;
+
+    @Mock
+    private ItemSearchProperties searchProperties;
+
+    @Mock
+    private ItemSearchCache searchCache;
+
+    @Mock
+    private ItemTagRepository tagRepository;
+
+    @Mock
+    private ItemTagIndex tagIndex;
+
+    @Mock
+    private ItemTagProperties tagProperties;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -198,42 +245,31 @@ class ItemServiceImplTest {
     void getItemByIdWhenOwnerRequests() {
         when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
 
-        Booking pastBooking = new Booking();
-        pastBooking.setId(10L);
-        pastBooking.setStart(LocalDateTime.now().minusDays(2));
-        pastBooking.setEnd(LocalDateTime.now().minusDays(1));
-        pastBooking.setItem(item);
-        pastBooking.setBooker(booker);
-        pastBooking.setStatus(BookingStatus.APPROVED);
-
-        Booking futureBooking = new Booking();
-        futureBooking.setId(11L);
-        futureBooking.setStart(LocalDateTime.now().plusDays(1));
-        futureBooking.setEnd(LocalDateTime.now().plusDays(2));
-        futureBooking.setItem(item);
-        futureBooking.setBooker(booker);
-        futureBooking.setStatus(BookingStatus.APPROVED);
-
-        when(bookingRepository.findPastBookingsForItem(1L)).thenReturn(List.of(pastBooking));
-        when(bookingRepository.findFutureBookingsForItem(1L)).thenReturn(List.of(futureBooking));
-        when(commentRepository.findCommentDtoByItemId(1L)).thenReturn(Collections.emptyList());
+        BookingSnapshot pastBooking = new BookingSnapshot(10L, booker.getId(),
+                LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1));
+        BookingSnapshot futureBooking = new BookingSnapshot(11L, booker.getId(),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+        ItemBookingPointer pointer = new ItemBookingPointer(1L, pastBooking, futureBooking, futureBooking.getStart());
+
+        when(bookingPointerService.getPointer(eq(1L), any(LocalDateTime.class))).thenReturn(pointer);
+        when(commentRepository.findLatestCommentDtos(eq(1L), any(Pageable.class))).thenReturn(Collections.emptyList());
 
         ItemDtoWithBookings result = itemService.getItemById(1L, owner.getId());
 
         assertThat(result).isNotNull();
-        assertThat(result.getLastBooking()).isNotNull();
-        assertThat(result.getNextBooking()).isNotNull();
+        assertThat(result.getLastBooking().getId()).isEqualTo(10L);
+        assertThat(result.getNextBooking().getId()).isEqualTo(11L);
+        assertThat(result.getNextBooking().getBookerId()).isEqualTo(booker.getId());
 
         verify(itemRepository).findById(1L);
-        verify(bookingRepository).findPastBookingsForItem(1L);
-        verify(bookingRepository).findFutureBookingsForItem(1L);
-        verify(commentRepository).findCommentDtoByItemId(1L);
+        verify(bookingPointerService).getPointer(eq(1L), any(LocalDateTime.class));
+        verify(commentRepository).findLatestCommentDtos(eq(1L), any(Pageable.class));
     }
 
     @Test
     void getItemByIdWhenNotOwnerRequests() {
         when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
-        when(commentRepository.findCommentDtoByItemId(1L)).thenReturn(Collections.emptyList());
+        when(commentRepository.findLatestCommentDtos(eq(1L), any(Pageable.class))).thenReturn(Collections.emptyList());
 
         ItemDtoWithBookings result = itemService.getItemById(1L, booker.getId());
 
@@ -242,18 +278,17 @@ class ItemServiceImplTest {
         assertThat(result.getNextBooking()).isNull();
 
         verify(itemRepository).findById(1L);
-        verify(bookingRepository, never()).findPastBookingsForItem(any());
-        verify(bookingRepository, never()).findFutureBookingsForItem(any());
-        verify(commentRepository).findCommentDtoByItemId(1L);
+        verify(bookingPointerService, never()).getPointer(any(), any());
+        verify(commentRepository).findLatestCommentDtos(eq(1L), any(Pageable.class));
     }
 
     @Test
     void getItemsByOwnerWhenItemsExist() {
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
         when(itemRepository.findByOwnerIdWithRequest(owner.getId())).thenReturn(List.of(item));
-        when(bookingRepository.findPastBookingsByItemIds(anyList())).thenReturn(Collections.emptyList());
-        when(bookingRepository.findFutureBookingsByItemIds(anyList())).thenReturn(Collections.emptyList());
-        when(commentRepository.findByItemIdsWithAuthor(anyList())).thenReturn(Collections.emptyList());
+        when(bookingPointerService.getPointers(anyList(), any(LocalDateTime.class)))
+                .thenReturn(Map.of(1L, new ItemBookingPointer(1L)));
+        when(commentRepository.findLatestByItemIds(anyList(), anyInt())).thenReturn(Collections.emptyList());
 
         List<ItemDtoWithBookings> result = itemService.getItemsByOwner(owner.getId());
 
@@ -276,6 +311,33 @@ class ItemServiceImplTest {
         verify(itemRepository).searchWithRequest("drill");
     }
 
+    @Test
+    void searchItemsNormalizesTextAndCachesFoundIds() {
+        when(searchCache.isEnabled()).thenReturn(true);
+        when(searchCache.get("drill")).thenReturn(null);
+        when(searchCache.generation()).thenReturn(7L);
+        when(itemRepository.searchWithRequest("drill")).thenReturn(List.of(item));
+
+        List<ItemDto> result = itemService.searchItems("  DRILL ");
+
+        assertThat(result).hasSize(1);
+        verify(searchCache).get("drill");
+        verify(searchCache).put("drill", List.of(item.getId()), 7L);
+    }
+
+    @Test
+    void searchItemsReadsCachedIdsAndSkipsUnavailableItems() {
+        Item hidden = new Item(2L, "Old drill", "Broken", false, owner, null, 0, null);
+        when(searchCache.isEnabled()).thenReturn(true);
+        when(searchCache.get("drill")).thenReturn(List.of(2L, 1L));
+        when(itemRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(item, hidden));
+
+        List<ItemDto> result = itemService.searchItems("Drill");
+
+        assertThat(result).extracting(ItemDto::getId).containsExactly(1L);
+        verify(itemRepository, never()).searchWithRequest(any());
+    }
+
     @Test
     void searchItemsWhenTextIsBlank() {
         List<ItemDto> result = itemService.searchItems("   ");
@@ -329,4 +391,60 @@ class ItemServiceImplTest {
 
         verify(commentRepository, never()).save(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getCommentsReturnsCursorWhenMoreCommentsExist() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<CommentDto> rows = List.of(
+                new CommentDto(3L, "Third", "Booker", now),
+                new CommentDto(2L, "Second", "Booker", now.minusHours(1)),
+                new CommentDto(1L, "First", "Booker", now.minusHours(2)));
+        when(itemRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findLatestCommentDtos(eq(1L), any(Pageable.class))).thenReturn(rows);
+
+        CommentPageDto page = itemService.getComments(1L, null, 2);
+
+        assertThat(page.getComments()).extracting(CommentDto::getId).containsExactly(3L, 2L);
+        CommentCursor cursor = CommentCursor.decode(page.getNextCursor());
+        assertThat(cursor.getId()).isEqualTo(2L);
+        assertThat(cursor.getCreated()).isEqualTo(now.minusHours(1));
+    }
+
+    @Test
+    void getCommentsContinuesFromCursor() {
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 11, 0);
+        String cursor = new CommentCursor(created, 2L).encode();
+        when(itemRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findCommentDtosBefore(eq(1L), eq(created), eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(new CommentDto(1L, "First", "Booker", created.minusHours(1))));
+
+        CommentPageDto page = itemService.getComments(1L, cursor, 2);
+
+        assertThat(page.getComments()).extracting(CommentDto::getId).containsExactly(1L);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getCommentsWhenCursorIsInvalid() {
+        when(itemRepository.existsById(1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> itemService.getComments(1L, "not-a-cursor", 10))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Некорректный курсор");
+    }
+
+    @Test
+    void getCommentsWhenSizeIsOutOfRange() {
+        assertThatThrownBy(() -> itemService.getComments(1L, null, 0))
+                .isInstanceOf(ValidationException.class);
+        verify(commentRepository, never()).findLatestCommentDtos(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void getCommentsWhenItemNotFound() {
+        when(itemRepository.existsById(99L)).thenReturn(false);
+
+        assertThatThrownBy(() -> itemService.getComments(99L, null, 10))
+                .isInstanceOf(ItemNotFoundException.class);
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.item.suggest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemNameTrieTest {
+
+    @Test
+    void findReturnsMostPopularEntriesUnderPrefix() {
+        ItemNameTrie trie = new ItemNameTrie(3);
+        trie.add("дрель", entry(1, "Дрель", 5));
+        trie.add("дрель ударная", entry(2, "Дрель ударная", 9));
+        trie.add("домкрат", entry(3, "Домкрат", 1));
+        trie.add("палатка", entry(4, "Палатка", 7));
+
+        assertThat(ids(trie.find("д", 10))).containsExactly(2L, 1L, 3L);
+        assertThat(ids(trie.find("дре", 10))).containsExactly(2L, 1L);
+        assertThat(ids(trie.find("дрель у", 10))).containsExactly(2L);
+        assertThat(ids(trie.find("дрель", 1))).containsExactly(2L);
+        assertThat(trie.find("дрек", 10)).isEmpty();
+        assertThat(trie.find("дрель ударная и", 10)).isEmpty();
+    }
+
+    @Test
+    void topIsLimitedAndTiesAreBrokenById() {
+        ItemNameTrie trie = new ItemNameTrie(2);
+        trie.add("пила", entry(3, "Пила", 4));
+        trie.add("пила торцовочная", entry(1, "Пила торцовочная", 4));
+        trie.add("пилка", entry(2, "Пилка", 4));
+
+        assertThat(ids(trie.find("пи", 10))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void removeRestoresNextBestAndCompactsNodes() {
+        ItemNameTrie trie = new ItemNameTrie(1);
+        trie.add("каяк", entry(1, "Каяк", 10));
+        trie.add("каяк надувной", entry(2, "Каяк надувной", 3));
+        trie.add("катамаран", entry(3, "Катамаран", 1));
+        int nodes = trie.getNodes();
+
+        trie.remove("каяк", 1);
+
+        assertThat(ids(trie.find("ка", 10))).containsExactly(2L);
+        assertThat(trie.getNodes()).isLessThan(nodes);
+
+        trie.remove("каяк надувной", 2);
+        trie.remove("катамаран", 3);
+
+        assertThat(trie.find("к", 10)).isEmpty();
+        assertThat(trie.getNodes()).isEqualTo(1);
+    }
+
+    @Test
+    void itemReachableByTwoKeysIsReportedOnce() {
+        ItemNameTrie trie = new ItemNameTrie(5);
+        ItemNameTrie.Entry entry = entry(1, "Лопата лопата", 2);
+        trie.add("лопата лопата", entry);
+        trie.add("лопата", entry);
+
+        assertThat(ids(trie.find("лоп", 10))).containsExactly(1L);
+    }
+
+    private static ItemNameTrie.Entry entry(long id, String name, long weight) {
+        return new ItemNameTrie.Entry(id, name, weight);
+    }
+
+    private static List<Long> ids(List<ItemNameTrie.Entry> entries) {
+        return entries.stream().map(ItemNameTrie.Entry::itemId).toList();
+    }
+}
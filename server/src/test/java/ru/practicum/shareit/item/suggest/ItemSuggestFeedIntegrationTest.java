@@ -0,0 +1,96 @@
+package ru.practicum.shareit.item.suggest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemNameSuggestionDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "shareit.item-suggest.poll-interval=PT1H")
+@ActiveProfiles("test")
+class ItemSuggestFeedIntegrationTest {
+
+    @Autowired
+    private ItemSuggestFeed feed;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "suggest-owner@example.com"));
+        booker = userRepository.save(new User(null, "Booker", "suggest-booker@example.com"));
+        feed.poll(LocalDateTime.now());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(owner.getId());
+        userRepository.deleteById(booker.getId());
+    }
+
+    @Test
+    void feedFollowsItemChangesAndBookings() {
+        Long quiet = createItem("Зубропила тихая");
+        Long popular = createItem("Зубропила мощная");
+        feed.poll(LocalDateTime.now());
+
+        assertThat(ids(itemService.suggestItems("зуброп", 10))).containsExactly(quiet, popular);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingService.createBooking(new BookingRequestDto(popular, start, start.plusDays(1)), booker.getId());
+        ItemDto hide = new ItemDto();
+        hide.setAvailable(false);
+        itemService.updateItem(quiet, hide, owner.getId());
+        feed.poll(LocalDateTime.now());
+
+        assertThat(ids(itemService.suggestItems("зуброп", 10))).containsExactly(popular);
+        assertThat(ids(itemService.suggestItems("мощ", 10))).containsExactly(popular);
+    }
+
+    @Test
+    void deletedItemDisappearsFromSuggestions() {
+        Long itemId = createItem("Зубропила складная");
+        feed.poll(LocalDateTime.now());
+        assertThat(ids(itemService.suggestItems("зубропила скл", 10))).containsExactly(itemId);
+
+        itemService.deleteItem(itemId, owner.getId());
+        feed.poll(LocalDateTime.now());
+
+        assertThat(itemService.suggestItems("зубропила скл", 10)).isEmpty();
+    }
+
+    private Long createItem(String name) {
+        ItemDto dto = new ItemDto();
+        dto.setName(name);
+        dto.setDescription("Для проверки подсказок");
+        dto.setAvailable(true);
+        return itemService.createItem(dto, owner.getId()).getId();
+    }
+
+    private static List<Long> ids(List<ItemNameSuggestionDto> suggestions) {
+        return suggestions.stream().map(ItemNameSuggestionDto::getId).toList();
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.item.suggest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+@Tag("benchmark")
+class ItemSuggestIndexBenchmark {
+    private static final int ITEMS = 200_000;
+    private static final int WARMUP = 500_000;
+    private static final int ITERATIONS = 2_000_000;
+    private static final String[] WORDS = {"дрель", "перфоратор", "палатка", "велосипед", "шуруповерт", "лестница",
+            "самокат", "пила", "каяк", "гирлянда", "проектор", "сапборд", "макита", "бош", "детский", "складной"};
+
+    @Test
+    void lookup() {
+        Random random = new Random(42);
+        ItemSuggestProperties properties = new ItemSuggestProperties();
+        properties.setMaxItems(ITEMS);
+        ItemSuggestIndex index = new ItemSuggestIndex(properties, new SimpleMeterRegistry());
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        long buildStart = System.nanoTime();
+        for (long id = 1; id <= ITEMS; id++) {
+            index.put(new ItemNameSource(id, name(random, id), random.nextInt(100)));
+        }
+        long buildNanos = System.nanoTime() - buildStart;
+        System.gc();
+        long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+
+        String[] prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            prefixes[i] = word.substring(0, 1 + random.nextInt(Math.min(4, word.length())));
+        }
+
+        System.out.printf("ItemSuggestIndex: %d items, %d nodes, build %.0f ms, heap ~%d MB%n",
+                index.size(), index.nodes(), buildNanos / 1e6, (heapAfter - heapBefore) >> 20);
+        for (int round = 0; round < 3; round++) {
+            System.out.printf("ItemSuggestIndex round %d: suggest %.0f ns/op, update %.0f ns/op%n",
+                    round, measureLookup(index, prefixes), measureUpdate(index, random));
+        }
+    }
+
+    private static double measureLookup(ItemSuggestIndex index, String[] prefixes) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += index.suggest(prefixes[i & 1023], 10).size();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += index.suggest(prefixes[i & 1023], 10).size();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) {
+            System.out.println(sink);
+        }
+        return (double) elapsed / ITERATIONS;
+    }
+
+    private static double measureUpdate(ItemSuggestIndex index, Random random) {
+        int updates = 100_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < updates; i++) {
+            long id = 1 + random.nextInt(ITEMS);
+            index.put(new ItemNameSource(id, name(random, id), random.nextInt(100)));
+        }
+        return (double) (System.nanoTime() - start) / updates;
+    }
+
+    private static String name(Random random, long id) {
+        return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + id;
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.item.suggest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemNameSuggestionDto;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemSuggestIndexTest {
+    private ItemSuggestProperties properties;
+    private ItemSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ItemSuggestProperties();
+        properties.setMaxItems(3);
+        properties.setMaxResults(5);
+        index = new ItemSuggestIndex(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void suggestMatchesNameStartAndLaterWordsIgnoringCase() {
+        index.put(new ItemNameSource(1L, "Дрель Макита", 2));
+        index.put(new ItemNameSource(2L, "Ёлочная  гирлянда", 0));
+
+        assertThat(ids(index.suggest("ДРЕ", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("мак", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("елочная г", 10))).containsExactly(2L);
+        assertThat(index.suggest("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void putReplacesRenamedItemAndRemoveDropsIt() {
+        index.put(new ItemNameSource(1L, "Палатка", 0));
+        index.put(new ItemNameSource(1L, "Тент", 0));
+
+        assertThat(index.suggest("пал", 10)).isEmpty();
+        assertThat(ids(index.suggest("те", 10))).containsExactly(1L);
+
+        index.remove(1L);
+
+        assertThat(index.suggest("те", 10)).isEmpty();
+        assertThat(index.size()).isZero();
+        assertThat(index.nodes()).isEqualTo(1);
+    }
+
+    @Test
+    void fullIndexEvictsLeastPopularItem() {
+        index.put(new ItemNameSource(1L, "Сап борд", 5));
+        index.put(new ItemNameSource(2L, "Сапоги", 1));
+        index.put(new ItemNameSource(3L, "Сачок", 3));
+
+        index.put(new ItemNameSource(4L, "Санки", 0));
+        assertThat(ids(index.suggest("са", 10))).containsExactly(1L, 3L, 2L);
+
+        index.put(new ItemNameSource(5L, "Самокат", 2));
+        assertThat(ids(index.suggest("са", 10))).containsExactly(1L, 3L, 5L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void limitTrimsSuggestions() {
+        for (long id = 1; id <= 3; id++) {
+            index.put(new ItemNameSource(id, "Ведро " + id, id));
+        }
+
+        assertThat(ids(index.suggest("вед", 2))).containsExactly(3L, 2L);
+        assertThat(index.suggest("вед", 10)).hasSize(3);
+    }
+
+    private static List<Long> ids(List<ItemNameSuggestionDto> suggestions) {
+        return suggestions.stream().map(ItemNameSuggestionDto::getId).toList();
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.item.tag;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemFacetedSearchDto;
+import ru.practicum.shareit.item.dto.TagFacetDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "shareit.item-tags.poll-interval=PT1H")
+@ActiveProfiles("test")
+class ItemTagFeedIntegrationTest {
+
+    @Autowired
+    private ItemTagFeed feed;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "tags-owner@example.com"));
+        feed.poll(LocalDateTime.now());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    void facetsCountTaggedItemsMatchingTextAndTags() {
+        Long drill = createItem("Тегодрель ударная", List.of("Инструмент", "ремонт"));
+        Long saw = createItem("Тегопила", List.of("инструмент", "сад"));
+        createItem("Тегопалатка", List.of("туризм"));
+        feed.poll(LocalDateTime.now());
+
+        ItemFacetedSearchDto tools = itemService.searchItemsFaceted("тего", List.of("инструмент"), 20);
+        assertThat(tools.getTotal()).isEqualTo(2);
+        assertThat(tools.getItems()).extracting(ItemDto::getId).containsExactly(drill, saw);
+        assertThat(tools.getItems().getFirst().getTags()).containsExactly("инструмент", "ремонт");
+        assertThat(tools.getFacets()).extracting(TagFacetDto::getTag, TagFacetDto::getCount)
+                .contains(org.assertj.core.groups.Tuple.tuple("инструмент", 2),
+                        org.assertj.core.groups.Tuple.tuple("ремонт", 1),
+                        org.assertj.core.groups.Tuple.tuple("сад", 1));
+
+        ItemFacetedSearchDto all = itemService.searchItemsFaceted("тего", null, 1);
+        assertThat(all.getTotal()).isEqualTo(3);
+        assertThat(all.getItems()).hasSize(1);
+        assertThat(all.getFacets()).extracting(TagFacetDto::getTag).contains("туризм");
+    }
+
+    @Test
+    void indexFollowsTagAndAvailabilityChanges() {
+        Long itemId = createItem("Тегоящик", List.of("хранение"));
+        feed.poll(LocalDateTime.now());
+        assertThat(itemService.searchItemsFaceted("тегоящик", List.of("хранение"), 20).getTotal()).isEqualTo(1);
+
+        ItemDto retag = new ItemDto();
+        retag.setTags(List.of("переезд"));
+        assertThat(itemService.updateItem(itemId, retag, owner.getId()).getTags()).containsExactly("переезд");
+        feed.poll(LocalDateTime.now());
+        assertThat(itemService.searchItemsFaceted("тегоящик", List.of("хранение"), 20).getTotal()).isZero();
+        assertThat(itemService.searchItemsFaceted("тегоящик", List.of("переезд"), 20).getTotal()).isEqualTo(1);
+
+        ItemDto hide = new ItemDto();
+        hide.setAvailable(false);
+        itemService.updateItem(itemId, hide, owner.getId());
+        feed.poll(LocalDateTime.now());
+        assertThat(itemService.searchItemsFaceted("тегоящик", List.of("переезд"), 20).getTotal()).isZero();
+
+        itemService.deleteItem(itemId, owner.getId());
+        feed.poll(LocalDateTime.now());
+        assertThat(itemService.searchItemsFaceted(null, List.of("переезд"), 20).getItems())
+                .extracting(ItemDto::getId).doesNotContain(itemId);
+    }
+
+    @Test
+    void invalidTagsAreRejected() {
+        assertThatThrownBy(() -> createItem("Теговесы", List.of(" ")))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> createItem("Теговесы", List.of("x".repeat(51))))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> createItem("Теговесы",
+                List.of("a", "b", "c", "d", "e", "f", "g", "h", "i", "j", "k")))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    private Long createItem(String name, List<String> tags) {
+        ItemDto dto = new ItemDto();
+        dto.setName(name);
+        dto.setDescription("Для проверки тегов");
+        dto.setAvailable(true);
+        dto.setTags(tags);
+        return itemService.createItem(dto, owner.getId()).getId();
+    }
+}
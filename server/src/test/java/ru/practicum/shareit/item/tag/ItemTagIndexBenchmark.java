@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item.tag;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+@Tag("benchmark")
+class ItemTagIndexBenchmark {
+    private static final int ITEMS = 1_000_000;
+    private static final int TAGS = 200;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1_000;
+
+    @Test
+    void facets() {
+        Random random = new Random(42);
+        ItemTagIndex index = new ItemTagIndex(new SimpleMeterRegistry());
+
+        long buildStart = System.nanoTime();
+        ItemTagIndex.Builder builder = ItemTagIndex.builder();
+        for (long id = 1; id <= ITEMS; id++) {
+            builder.put(id, random.nextInt(10) != 0, tags(random));
+        }
+        index.replaceAll(builder);
+        long buildNanos = System.nanoTime() - buildStart;
+
+        List<List<String>> filters = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            filters.add(i % 4 == 0 ? List.of() : List.of(tag(random)));
+        }
+        RoaringBitmap textMatches = new RoaringBitmap();
+        for (int i = 0; i < 20_000; i++) {
+            textMatches.add(1 + random.nextInt(ITEMS));
+        }
+
+        System.out.printf("ItemTagIndex: %d items, %d tags, build %.0f ms, bitmaps ~%d MB%n",
+                ITEMS, index.tagCount(), buildNanos / 1e6, index.sizeInBytes() >> 20);
+        for (int round = 0; round < 3; round++) {
+            System.out.printf("ItemTagIndex round %d: tag filter %.0f us/op, text candidates %.0f us/op, "
+                            + "update %.0f ns/op%n",
+                    round, measure(index, null, filters), measure(index, textMatches, filters),
+                    measureUpdate(index, random));
+        }
+    }
+
+    private static double measure(ItemTagIndex index, RoaringBitmap candidates, List<List<String>> filters) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += index.search(candidates, filters.get(i & 63), 20, 50).getTotal();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += index.search(candidates, filters.get(i & 63), 20, 50).getTotal();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) {
+            System.out.println(sink);
+        }
+        return elapsed / 1e3 / ITERATIONS;
+    }
+
+    private static double measureUpdate(ItemTagIndex index, Random random) {
+        int updates = 20_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < updates; i++) {
+            index.put(1L + random.nextInt(ITEMS), true, tags(random));
+        }
+        return (double) (System.nanoTime() - start) / updates;
+    }
+
+    private static List<String> tags(Random random) {
+        int count = 1 + random.nextInt(3);
+        List<String> tags = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tags.add(tag(random));
+        }
+        return tags;
+    }
+
+    private static String tag(Random random) {
+        // Популярность тегов убывает: первые теги встречаются гораздо чаще последних
+        return "tag" + (int) (TAGS * Math.pow(random.nextDouble(), 3));
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.item.tag;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoaringBitmapTest {
+
+    @Test
+    void matchesBitSetForSparseAndDenseBlocks() {
+        Random random = new Random(7);
+        RoaringBitmap a = new RoaringBitmap();
+        RoaringBitmap b = new RoaringBitmap();
+        BitSet expectedA = new BitSet();
+        BitSet expectedB = new BitSet();
+        for (int i = 0; i < 60_000; i++) {
+            // Первый блок плотный, остальные разреженные
+            int value = i % 3 == 0 ? random.nextInt(65_536) : random.nextInt(1_000_000);
+            a.add(value);
+            expectedA.set(value);
+            int other = random.nextInt(2) == 0 ? random.nextInt(65_536) : random.nextInt(1_000_000);
+            b.add(other);
+            expectedB.set(other);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            int value = random.nextInt(65_536);
+            a.remove(value);
+            expectedA.clear(value);
+        }
+
+        BitSet intersection = (BitSet) expectedA.clone();
+        intersection.and(expectedB);
+
+        assertThat(a.cardinality()).isEqualTo(expectedA.cardinality());
+        assertThat(a.andCardinality(b)).isEqualTo(intersection.cardinality());
+        assertThat(values(a.and(b))).isEqualTo(intersection.stream().boxed().toList());
+        assertThat(values(a)).isEqualTo(expectedA.stream().boxed().toList());
+    }
+
+    @Test
+    void addAndRemoveReportChanges() {
+        RoaringBitmap bitmap = RoaringBitmap.of(5, 70_000);
+
+        assertThat(bitmap.add(5)).isFalse();
+        assertThat(bitmap.contains(70_000)).isTrue();
+        assertThat(bitmap.remove(70_000)).isTrue();
+        assertThat(bitmap.remove(70_000)).isFalse();
+        assertThat(bitmap.remove(5)).isTrue();
+        assertThat(bitmap.isEmpty()).isTrue();
+    }
+
+    @Test
+    void denseBlockShrinksBackToArray() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int i = 0; i < 10_000; i++) {
+            bitmap.add(i);
+        }
+        long dense = bitmap.sizeInBytes();
+        for (int i = 0; i < 9_990; i++) {
+            bitmap.remove(i);
+        }
+
+        assertThat(bitmap.cardinality()).isEqualTo(10);
+        assertThat(bitmap.sizeInBytes()).isLessThan(dense);
+        assertThat(bitmap.toArray(3)).containsExactly(9_990, 9_991, 9_992);
+    }
+
+    private static List<Integer> values(RoaringBitmap bitmap) {
+        List<Integer> values = new ArrayList<>();
+        bitmap.forEach(values::add);
+        return values;
+    }
+}
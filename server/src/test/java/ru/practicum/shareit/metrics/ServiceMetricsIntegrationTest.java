@@ -0,0 +1,52 @@
+package ru.practicum.shareit.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@Transactional
+class ServiceMetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private BookingServiceImpl bookingService;
+
+    @Test
+    void exportsServiceAndRepositoryTimersInPrometheusFormat() throws Exception {
+        UserDto user = userService.createUser(new UserDto(null, "Metrics User", "metrics@example.com"));
+        bookingService.getBookingsByBooker(user.getId(), BookingState.WAITING, 0, 10);
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "shareit_service_calls_seconds_bucket{method=\"createUser\",outcome=\"success\","
+                                + "service=\"UserServiceImpl\",state=\"none\"")))
+                .andExpect(content().string(containsString(
+                        "method=\"getBookingsByBooker\",outcome=\"success\",service=\"BookingServiceImpl\","
+                                + "state=\"WAITING\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket")));
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import ru.practicum.shareit.booking.model.BookingState;
+
+@Tag("benchmark")
+class ServiceMetricsInterceptorBenchmark {
+    private static final int WARMUP = 2_000_000;
+    private static final int ITERATIONS = 10_000_000;
+
+    @Test
+    void overhead() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", new SimpleMeterRegistry());
+        MethodInterceptor noOp = invocation -> invocation.proceed();
+        Target plain = proxy(noOp);
+        Target timed = proxy(new ServiceMetricsInterceptor(beanFactory.getBeanProvider(MeterRegistry.class)));
+
+        for (int round = 0; round < 3; round++) {
+            double plainNanos = measure(plain);
+            double timedNanos = measure(timed);
+            System.out.printf("ServiceMetricsInterceptor round %d: no-op advice %.1f ns/op, timed %.1f ns/op, overhead %.1f ns/op%n",
+                    round, plainNanos, timedNanos, timedNanos - plainNanos);
+        }
+    }
+
+    private static Target proxy(MethodInterceptor interceptor) {
+        ProxyFactory factory = new ProxyFactory(new Target());
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(interceptor);
+        return (Target) factory.getProxy();
+    }
+
+    private static double measure(Target target) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += target.call(i, BookingState.ALL);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += target.call(i, BookingState.ALL);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) {
+            System.out.println(sink);
+        }
+        return (double) elapsed / ITERATIONS;
+    }
+
+    static class Target {
+        public int call(int value, BookingState state) {
+            return value + state.ordinal();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.exception.ValidationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ServiceMetricsInterceptorTest {
+    private MeterRegistry registry;
+    private SampleService service;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", registry);
+        ServiceMetricsPostProcessor postProcessor = new ServiceMetricsPostProcessor(
+                beanFactory.getBeanProvider(MeterRegistry.class));
+        postProcessor.setBeanFactory(beanFactory);
+        service = (SampleService) postProcessor.postProcessAfterInitialization(new SampleService(), "sampleService");
+    }
+
+    @Test
+    void timesSuccessfulCallWithBookingState() {
+        service.findBookings(1L, BookingState.WAITING);
+        service.findBookings(1L, BookingState.WAITING);
+
+        Timer timer = registry.get(ServiceMetricsInterceptor.METRIC_NAME)
+                .tag("service", "SampleService")
+                .tag("method", "findBookings")
+                .tag("state", "WAITING")
+                .tag("outcome", "success")
+                .timer();
+        assertThat(timer.count()).isEqualTo(2);
+    }
+
+    @Test
+    void tagsFailedCallWithExceptionName() {
+        assertThatThrownBy(() -> service.fail()).isInstanceOf(ValidationException.class);
+
+        Timer timer = registry.get(ServiceMetricsInterceptor.METRIC_NAME)
+                .tag("method", "fail")
+                .tag("state", "none")
+                .tag("outcome", "ValidationException")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void skipsClassesWithoutServiceAnnotation() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        ServiceMetricsPostProcessor postProcessor = new ServiceMetricsPostProcessor(
+                beanFactory.getBeanProvider(MeterRegistry.class));
+        postProcessor.setBeanFactory(beanFactory);
+        Object helper = new Object();
+
+        assertThat(postProcessor.postProcessAfterInitialization(helper, "helper")).isSameAs(helper);
+    }
+
+    @Service
+    static class SampleService {
+        public int findBookings(Long userId, BookingState state) {
+            return state.ordinal();
+        }
+
+        public void fail() {
+            throw new ValidationException("Ошибка");
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package ru.practicum.shareit.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.event.UserCreatedEvent;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = {
+        "shareit.outbox.enabled=true",
+        "shareit.outbox.dispatch-on-commit=false",
+        "shareit.outbox.interval=PT1H",
+        "shareit.outbox.retry-delay=PT10S"
+})
+@ActiveProfiles("test")
+class OutboxDispatcherIntegrationTest {
+
+    @Autowired
+    private OutboxDispatcher dispatcher;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxRecorder recorder;
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    @Autowired
+    private RecordingSubscriber subscriber;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private Long ownerId;
+    private Long itemId;
+
+    @BeforeEach
+    void setUp() {
+        subscriber.reset();
+        ownerId = userService.createUser(new UserDto(null, "Owner", "outbox-owner@example.com")).getId();
+        itemId = itemService.createItem(item("Drill"), ownerId).getId();
+        itemService.updateItem(itemId, item("Hammer drill"), ownerId);
+        subscriber.track(OutboxRecorder.ITEM, itemId);
+        subscriber.track(OutboxRecorder.USER, ownerId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(ownerId);
+    }
+
+    @Test
+    void dispatchDeliversEventsOfAggregateInOrderAndMarksThemDispatched() {
+        double dispatchedBefore = registry.counter("shareit.outbox.dispatched").count();
+
+        dispatcher.dispatchAll(LocalDateTime.now());
+
+        assertThat(subscriber.received(OutboxRecorder.ITEM, itemId))
+                .containsExactly("ItemCreatedEvent", "ItemUpdatedEvent");
+        assertThat(subscriber.received(OutboxRecorder.USER, ownerId)).containsExactly("UserCreatedEvent");
+        assertThat(eventsOf(OutboxRecorder.ITEM, itemId))
+                .allSatisfy(event -> assertThat(event.getStatus()).isEqualTo(OutboxStatus.DISPATCHED));
+        assertThat(eventsOf(OutboxRecorder.ITEM, itemId).getLast().getPayload()).contains("\"name\":\"Hammer drill\"");
+        assertThat(registry.counter("shareit.outbox.dispatched").count() - dispatchedBefore).isGreaterThanOrEqualTo(3);
+        assertThat(registry.get("shareit.outbox.backlog").gauge().value())
+                .isEqualTo((double) outboxService.getBacklog().getPending());
+    }
+
+    @Test
+    void rolledBackChangeLeavesNoEvent() {
+        long before = outboxRepository.count();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.createUser(new UserDto(null, "Ghost", "outbox-ghost@example.com"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(outboxRepository.count()).isEqualTo(before);
+    }
+
+    @Test
+    void recorderRequiresPublishingTransaction() {
+        assertThatThrownBy(() -> recorder.on(new UserCreatedEvent(ownerId)))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    @Test
+    void failedDeliveryIsRetriedBeforeLaterEventsOfSameAggregate() {
+        subscriber.failOnce("ItemCreatedEvent", itemId);
+        LocalDateTime now = LocalDateTime.now();
+
+        dispatcher.dispatchAll(now);
+
+        assertThat(subscriber.received(OutboxRecorder.ITEM, itemId)).isEmpty();
+        assertThat(subscriber.received(OutboxRecorder.USER, ownerId)).containsExactly("UserCreatedEvent");
+        OutboxEvent failed = eventsOf(OutboxRecorder.ITEM, itemId).getFirst();
+        assertThat(failed.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getLastError()).contains("сбой подписчика");
+
+        dispatcher.dispatchAll(now.plusSeconds(5));
+        assertThat(subscriber.received(OutboxRecorder.ITEM, itemId)).isEmpty();
+
+        dispatcher.dispatchAll(now.plusSeconds(11));
+        assertThat(subscriber.received(OutboxRecorder.ITEM, itemId))
+                .containsExactly("ItemCreatedEvent", "ItemUpdatedEvent");
+    }
+
+    @Test
+    void laterEventsWaitWhileEarlierEventIsLockedByAnotherNode() throws Exception {
+        Long firstId = eventsOf(OutboxRecorder.ITEM, itemId).getFirst().getId();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> otherNode = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.queryForList("SELECT id FROM outbox_events WHERE id = ? FOR UPDATE", firstId);
+                    locked.countDown();
+                    await(release);
+                }));
+
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+        LocalDateTime now = LocalDateTime.now();
+        OutboxBatch batch = outboxService.claimBatch(now, 1000);
+        release.countDown();
+        otherNode.get(5, TimeUnit.SECONDS);
+
+        assertThat(batch.getEvents()).extracting(OutboxEvent::getAggregateId, OutboxEvent::getAggregateType)
+                .doesNotContain(tuple(itemId, OutboxRecorder.ITEM));
+        assertThat(batch.getEvents()).extracting(OutboxEvent::getId).doesNotContain(firstId);
+        assertThat(eventsOf(OutboxRecorder.ITEM, itemId))
+                .allSatisfy(event -> assertThat(event.getStatus()).isEqualTo(OutboxStatus.PENDING));
+    }
+
+    private List<OutboxEvent> eventsOf(String aggregateType, Long aggregateId) {
+        return outboxRepository.findAll().stream()
+                .filter(event -> event.getAggregateType().equals(aggregateType) && event.getAggregateId().equals(aggregateId))
+                .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                .toList();
+    }
+
+    private static ItemDto item(String name) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName(name);
+        itemDto.setDescription("Powerful drill");
+        itemDto.setAvailable(true);
+        return itemDto;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @TestConfiguration
+    static class SubscriberConfig {
+
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+    }
+
+    static class RecordingSubscriber implements OutboxSubscriber {
+        private final Set<String> tracked = Collections.synchronizedSet(new HashSet<>());
+        private final List<OutboxEvent> received = Collections.synchronizedList(new ArrayList<>());
+        private final Set<String> failures = Collections.synchronizedSet(new HashSet<>());
+
+        void reset() {
+            tracked.clear();
+            received.clear();
+            failures.clear();
+        }
+
+        void track(String aggregateType, Long aggregateId) {
+            tracked.add(aggregateType + ":" + aggregateId);
+        }
+
+        void failOnce(String eventType, Long aggregateId) {
+            failures.add(eventType + ":" + aggregateId);
+        }
+
+        List<String> received(String aggregateType, Long aggregateId) {
+            synchronized (received) {
+                return received.stream()
+                        .filter(event -> event.getAggregateType().equals(aggregateType)
+                                && event.getAggregateId().equals(aggregateId))
+                        .map(OutboxEvent::getEventType)
+                        .toList();
+            }
+        }
+
+        @Override
+        public boolean supports(OutboxEvent event) {
+            return tracked.contains(OutboxService.aggregateKey(event));
+        }
+
+        @Override
+        public void handle(OutboxEvent event) {
+            if (failures.remove(event.getEventType() + ":" + event.getAggregateId())) {
+                throw new IllegalStateException("сбой подписчика");
+            }
+            received.add(event);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package ru.practicum.shareit.request.matching;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class RequestMatcherIntegrationTest {
+
+    @Autowired
+    private ItemTextIndexer indexer;
+
+    @Autowired
+    private RequestMatcher matcher;
+
+    @Autowired
+    private ItemTermRepository termRepository;
+
+    @Autowired
+    private IndexedItemRepository indexedItemRepository;
+
+    @Autowired
+    private RequestMatchingProperties properties;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+    private User requester;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "matching-owner@example.com"));
+        requester = userRepository.save(new User(null, "Requester", "matching-requester@example.com"));
+    }
+
+    @Test
+    void textAnalyzerNormalizesWordForms() {
+        assertThat(TextAnalyzer.termFrequencies("Нужна дрель для ремонта, дрели с перфоратором!"))
+                .containsOnlyKeys("дрел", "ремонт", "перфоратор")
+                .containsEntry("дрел", 2);
+    }
+
+    @Test
+    void matchRanksIndexedItemsBySimilarity() {
+        Long perforator = createItem(owner, "Перфоратор Макита", "Мощный перфоратор для бетона", true);
+        Long screwdriver = createItem(owner, "Шуруповёрт", "Аккумуляторный шуруповёрт, сверлит бетон", true);
+        Long tent = createItem(owner, "Палатка", "Трёхместная палатка для походов", true);
+        Long hidden = createItem(owner, "Перфоратор Бош", "Перфоратор для бетона", false);
+        Long ownItem = createItem(requester, "Перфоратор", "Свой перфоратор для бетона", true);
+        List.of(perforator, screwdriver, tent, hidden, ownItem).forEach(indexer::reindex);
+
+        ItemRequestResponseDto request = createRequest("Ищу перфоратор, чтобы сверлить бетон");
+        long version = itemRequestRepository.findVersionById(request.getId()).orElseThrow();
+
+        List<RequestSuggestion> suggestions = matcher.match(request.getId());
+
+        assertThat(suggestions).extracting(RequestSuggestion::getItemId).containsExactly(perforator, screwdriver);
+        assertThat(suggestions.getFirst().getScore()).isGreaterThan(suggestions.get(1).getScore()).isLessThanOrEqualTo(1.0);
+        assertThat(itemRequestRepository.findVersionById(request.getId()).orElseThrow()).isGreaterThan(version);
+
+        entityManager.flush();
+        entityManager.clear();
+        ItemRequestResponseDto view = itemRequestService.getRequestById(requester.getId(), request.getId());
+        assertThat(view.getSuggestions()).extracting("itemId").containsExactly(perforator, screwdriver);
+        assertThat(itemRequestService.getRequestById(owner.getId(), request.getId()).getSuggestions()).isNull();
+    }
+
+    @Test
+    void reindexDropsTermsOfUnavailableItem() {
+        Long itemId = createItem(owner, "Перфоратор", "Перфоратор для бетона", true);
+        indexer.reindex(itemId);
+        assertThat(indexedItemRepository.existsById(itemId)).isTrue();
+
+        ItemDto update = new ItemDto();
+        update.setAvailable(false);
+        itemService.updateItem(itemId, update, owner.getId());
+        indexer.reindex(itemId);
+
+        assertThat(indexedItemRepository.existsById(itemId)).isFalse();
+        assertThat(termRepository.findPostings(List.of("перфоратор")))
+                .extracting(ItemTerm::getItemId).doesNotContain(itemId);
+    }
+
+    @Test
+    void reconcilerIndexesItemsMissingFromIndex() {
+        Long itemId = createItem(owner, "Бетономешалка", "Бетономешалка на 120 литров", true);
+        ItemIndexReconciler reconciler = new ItemIndexReconciler(indexedItemRepository, indexer, properties,
+                new SimpleMeterRegistry());
+
+        assertThat(reconciler.run()).isPositive();
+
+        assertThat(indexedItemRepository.existsById(itemId)).isTrue();
+        assertThat(indexedItemRepository.findStaleItemIds(itemId - 1, 1)).doesNotContain(itemId);
+        assertThat(termRepository.findPostings(List.of("бетономешалк")))
+                .extracting(ItemTerm::getItemId).contains(itemId);
+    }
+
+    private Long createItem(User user, String name, String description, boolean available) {
+        ItemDto dto = new ItemDto();
+        dto.setName(name);
+        dto.setDescription(description);
+        dto.setAvailable(available);
+        return itemService.createItem(dto, user.getId()).getId();
+    }
+
+    private ItemRequestResponseDto createRequest(String description) {
+        ItemRequestCreateDto dto = new ItemRequestCreateDto();
+        dto.setDescription(description);
+        return itemRequestService.createRequest(requester.getId(), dto);
+    }
+}
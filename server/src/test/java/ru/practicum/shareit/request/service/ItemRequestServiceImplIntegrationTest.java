@@ -9,10 +9,14 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.matching.RequestSuggestion;
+import ru.practicum.shareit.request.matching.RequestSuggestionRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -41,6 +45,12 @@ class ItemRequestServiceImplIntegrationTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private RequestSuggestionRepository suggestionRepository;
+
     private User requester;
     private User anotherUser;
     private ItemRequestCreateDto createDto;
@@ -298,4 +308,40 @@ class ItemRequestServiceImplIntegrationTest {
 
         assertThat(secondPageResults).hasSize(5);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getRequestETagChangesWhenItemAttached() {
+        ItemRequestResponseDto createdRequest = itemRequestService.createRequest(requester.getId(), createDto);
+        String initial = itemRequestService.getRequestETag(anotherUser.getId(), createdRequest.getId());
+
+        ItemDto itemDto = new ItemDto(null, "Drill", "Cordless drill", true, createdRequest.getId(), null, null, null);
+        itemService.createItem(itemDto, anotherUser.getId());
+
+        assertThat(itemRequestService.getRequestETag(anotherUser.getId(), createdRequest.getId()))
+                .isNotEqualTo(initial);
+    }
+
+    @Test
+    void getRequestETagDiffersByViewerAndFollowsSuggestedItems() {
+        ItemRequestResponseDto createdRequest = itemRequestService.createRequest(requester.getId(), createDto);
+        ItemDto suggested = itemService.createItem(
+                new ItemDto(null, "Drill", "Cordless drill", true, null, null, null, null), anotherUser.getId());
+        suggestionRepository.save(new RequestSuggestion(createdRequest.getId(), suggested.getId(), 1.0));
+
+        String own = itemRequestService.getRequestETag(requester.getId(), createdRequest.getId());
+        String other = itemRequestService.getRequestETag(anotherUser.getId(), createdRequest.getId());
+        assertThat(own).isNotEqualTo(other);
+
+        itemService.updateItem(suggested.getId(),
+                new ItemDto(null, null, null, false, null, null, null, null), anotherUser.getId());
+
+        assertThat(itemRequestService.getRequestETag(requester.getId(), createdRequest.getId())).isNotEqualTo(own);
+        assertThat(itemRequestService.getRequestETag(anotherUser.getId(), createdRequest.getId())).isEqualTo(other);
+    }
+
+    @Test
+    void getRequestETagWhenRequestNotFound() {
+        assertThatThrownBy(() -> itemRequestService.getRequestETag(requester.getId(), 999L))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+}
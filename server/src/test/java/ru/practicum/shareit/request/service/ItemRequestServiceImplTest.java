@@ -6,6 +6,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.exception.AccessDeniedException;
@@ -14,6 +15,9 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.event.ItemRequestCreatedEvent;
+import ru.practicum.shareit.request.matching.RequestSuggestion;
+import ru.practicum.shareit.request.matching.RequestSuggestionRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -41,6 +45,12 @@ class ItemRequestServiceImplTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private RequestSuggestionRepository suggestionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
 
@@ -94,6 +104,7 @@ class ItemRequestServiceImplTest {
 
         verify(userRepository).findById(eq(requester.getId()));
         verify(itemRequestRepository).save(any(ItemRequest.class));
+        verify(eventPublisher).publishEvent(any(ItemRequestCreatedEvent.class));
     }
 
     @Test
@@ -297,4 +308,25 @@ class ItemRequestServiceImplTest {
         verify(itemRequestRepository).findById(eq(itemRequest.getId()));
         verify(itemRepository).findAllByRequestId(eq(itemRequest.getId()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getRequestByIdShowsSuggestionsToRequesterOnly() {
+        RequestSuggestion suggestion = new RequestSuggestion(itemRequest.getId(), item.getId(), 0.8);
+        suggestion.setItem(item);
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(requester));
+        when(itemRequestRepository.findById(eq(itemRequest.getId()))).thenReturn(Optional.of(itemRequest));
+        when(itemRepository.findAllByRequestId(eq(itemRequest.getId()))).thenReturn(Collections.emptyList());
+        when(suggestionRepository.findAvailableByRequestIds(eq(List.of(itemRequest.getId()))))
+                .thenReturn(List.of(suggestion));
+
+        ItemRequestResponseDto own = itemRequestService.getRequestById(requester.getId(), itemRequest.getId());
+        ItemRequestResponseDto foreign = itemRequestService.getRequestById(anotherUser.getId(), itemRequest.getId());
+
+        assertThat(own.getSuggestions()).hasSize(1);
+        assertThat(own.getSuggestions().getFirst().getItemId()).isEqualTo(item.getId());
+        assertThat(own.getSuggestions().getFirst().getName()).isEqualTo("Power Drill");
+        assertThat(own.getSuggestions().getFirst().getScore()).isEqualTo(0.8);
+        assertThat(foreign.getSuggestions()).isNull();
+        verify(suggestionRepository).findAvailableByRequestIds(any());
+    }
+}
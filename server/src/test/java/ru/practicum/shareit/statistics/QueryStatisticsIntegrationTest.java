@@ -0,0 +1,69 @@
+package ru.practicum.shareit.statistics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "shareit.queries.slow-threshold=0ms")
+@ExtendWith(OutputCaptureExtension.class)
+@Transactional
+class QueryStatisticsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void logsSlowQueryWithRepositoryMethodAndCaller(CapturedOutput output) {
+        User owner = userRepository.save(new User(null, "Owner", "slow-owner@example.com"));
+
+        bookingService.getBookingsByOwner(owner.getId(), BookingState.ALL, 0, 10);
+
+        assertThat(output.getOut())
+                .contains("Медленный запрос BookingRepository.findByItemOwnerIdWithRelations")
+                .contains("вызван из BookingServiceImpl.getBookingsByOwner")
+                .containsIgnoringCase("from bookings");
+    }
+
+    @Test
+    void exposesQueryAndEntityStatistics() throws Exception {
+        User owner = userRepository.save(new User(null, "Owner", "stats-owner@example.com"));
+        bookingService.getBookingsByOwner(owner.getId(), BookingState.ALL, 0, 10);
+
+        mockMvc.perform(get("/actuator/queries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.queryExecutionCount", greaterThan(0)))
+                .andExpect(jsonPath("$.queries[0].executionCount", greaterThan(0)))
+                .andExpect(jsonPath("$.queries[0].meanTimeMs").exists())
+                .andExpect(jsonPath("$.queries[0].rowsFetched").exists())
+                .andExpect(jsonPath("$.entities[*].entity", hasItem("Booking")));
+    }
+}
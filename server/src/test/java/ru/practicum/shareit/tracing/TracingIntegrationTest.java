@@ -0,0 +1,66 @@
+package ru.practicum.shareit.tracing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class TracingIntegrationTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String PARENT_SPAN_ID = "00f067aa0ba902b7";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LocalSpanCollector collector;
+
+    @Test
+    void continuesIncomingTraceAndRecordsRepositorySpans() throws Exception {
+        User owner = userRepository.save(new User(null, "Owner", "tracing-owner@example.com"));
+
+        try {
+            mockMvc.perform(get("/bookings/owner")
+                            .header("X-Sharer-User-Id", owner.getId())
+                            .header("traceparent", "00-" + TRACE_ID + "-" + PARENT_SPAN_ID + "-01"))
+                    .andExpect(status().isOk());
+
+            List<SpanRecord> spans = collector.findByTraceId(TRACE_ID);
+            SpanRecord server = spans.stream()
+                    .filter(span -> span.getKind().equals("SERVER"))
+                    .findFirst()
+                    .orElseThrow();
+            assertThat(server.getParentSpanId()).isEqualTo(PARENT_SPAN_ID);
+            assertThat(spans)
+                    .filteredOn(span -> span.getName().startsWith("BookingRepository."))
+                    .isNotEmpty()
+                    .allSatisfy(span -> assertThat(span.getParentSpanId()).isEqualTo(server.getSpanId()));
+
+            mockMvc.perform(get("/actuator/spans").param("traceId", TRACE_ID))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[*].name", hasItem(server.getName())));
+        } finally {
+            userRepository.delete(owner);
+        }
+    }
+}